@@ -0,0 +1,100 @@
+package com.netflix.eureka.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.ActionType;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.util.EurekaEntityFunctions;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Client side processing of a registry fetch: a delta of modified instances is merged into the local copy the
+ * same way DiscoveryClient does it, and the instances are shuffled again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ClientDeltaBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int instanceCount;
+
+    @Param({"10", "100"})
+    int deltaSize;
+
+    private Applications applications;
+    private Applications delta;
+
+    @Setup
+    public void setUp() {
+        InstanceInfoGenerator generator = Registries.generator(instanceCount);
+        applications = generator.toApplications();
+
+        delta = new Applications();
+        for (int i = 0; i < Math.min(deltaSize, instanceCount); i++) {
+            InstanceInfo instance = new InstanceInfo(generator.take(i));
+            instance.setActionType(ActionType.MODIFIED);
+            Application app = delta.getRegisteredApplications(instance.getAppName());
+            if (app == null) {
+                app = new Application(instance.getAppName());
+                delta.addApplication(app);
+            }
+            app.addInstance(instance);
+        }
+        delta.setVersion(2L);
+    }
+
+    /**
+     * The local copy of the registry the delta is merged into, reset before each merge so that every merge starts
+     * from the same registry. The copy shares the instances of the fetched registry, which the merge only replaces.
+     */
+    @State(Scope.Thread)
+    public static class LocalRegistry {
+        private Applications applications;
+
+        @Setup(Level.Invocation)
+        public void reset(ClientDeltaBenchmark benchmark) {
+            applications = EurekaEntityFunctions.copyApplications(benchmark.applications);
+        }
+    }
+
+    @Benchmark
+    public Applications applyDelta(LocalRegistry localRegistry) {
+        Applications applications = localRegistry.applications;
+        for (Application app : delta.getRegisteredApplications()) {
+            for (InstanceInfo instance : app.getInstances()) {
+                Application existingApp = applications.getRegisteredApplications(instance.getAppName());
+                if (existingApp == null) {
+                    applications.addApplication(EurekaEntityFunctions.copyApplication(app));
+                }
+                applications.getRegisteredApplications(instance.getAppName()).addInstance(instance);
+            }
+        }
+        applications.setVersion(delta.getVersion());
+        applications.shuffleInstances(true);
+        return applications;
+    }
+
+    @Benchmark
+    public Applications shuffleInstances() {
+        applications.shuffleInstances(true);
+        return applications;
+    }
+}
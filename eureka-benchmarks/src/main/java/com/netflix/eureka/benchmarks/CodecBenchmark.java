@@ -0,0 +1,63 @@
+package com.netflix.eureka.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.discovery.converters.wrappers.CodecWrapper;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Applications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of a full registry with each of the codecs served by eureka. The decoding benchmarks of
+ * the Jackson codecs include the string interning done by DeserializerStringCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodecBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int instanceCount;
+
+    @Param({"LegacyJacksonJson", "JacksonJson", "JacksonXml", "XStreamXml", "JacksonSmile"})
+    String codecName;
+
+    private CodecWrapper codec;
+    private Applications applications;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = CodecWrappers.getCodec(codecName);
+        applications = Registries.generator(instanceCount).toApplications();
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded == null ? 8192 : encoded.length);
+        codec.encode(applications, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Applications decode() throws IOException {
+        return codec.decode(new ByteArrayInputStream(encoded), Applications.class);
+    }
+}
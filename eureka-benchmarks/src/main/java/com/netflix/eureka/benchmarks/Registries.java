@@ -0,0 +1,60 @@
+package com.netflix.eureka.benchmarks;
+
+import java.util.List;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.DefaultEurekaClientConfig;
+import com.netflix.discovery.EurekaClientConfig;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import com.netflix.eureka.DefaultEurekaServerConfig;
+import com.netflix.eureka.EurekaServerConfig;
+import com.netflix.eureka.cluster.PeerEurekaNodes;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
+import com.netflix.eureka.resources.DefaultServerCodecs;
+import com.netflix.eureka.resources.ServerCodecs;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class Registries {
+
+    private static final int INSTANCES_PER_APPLICATION = 10;
+
+    private Registries() {
+    }
+
+    /**
+     * @return a generator of the given number of instances, spread over applications of
+     * {@value #INSTANCES_PER_APPLICATION} instances.
+     */
+    static InstanceInfoGenerator generator(int instanceCount) {
+        return InstanceInfoGenerator.newBuilder(instanceCount, Math.max(1, instanceCount / INSTANCES_PER_APPLICATION))
+                .withMetaData(true)
+                .build();
+    }
+
+    /**
+     * @return a server registry holding the given instances. It has no peers, and must be shut down once done.
+     */
+    static PeerAwareInstanceRegistryImpl newRegistry(List<InstanceInfo> instances) throws Exception {
+        EurekaServerConfig serverConfig = new DefaultEurekaServerConfig();
+        EurekaClientConfig clientConfig = new DefaultEurekaClientConfig();
+        ServerCodecs serverCodecs = new DefaultServerCodecs(serverConfig);
+        PeerAwareInstanceRegistryImpl registry = new PeerAwareInstanceRegistryImpl(
+                serverConfig,
+                clientConfig,
+                serverCodecs,
+                null
+        );
+        registry.init(new PeerEurekaNodes(registry, serverConfig, clientConfig, serverCodecs, null) {
+            @Override
+            public void shutdown() {
+                // never started, as there are no peers
+            }
+        });
+        for (InstanceInfo instance : instances) {
+            registry.register(instance, InstanceInfoGenerator.RENEW_INTERVAL * 3, false);
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,86 @@
+package com.netflix.eureka.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mutations and snapshots of the server registry. Run with <code>-t</code> to measure them under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RegistryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int instanceCount;
+
+    private List<InstanceInfo> instances;
+    private PeerAwareInstanceRegistryImpl registry;
+
+    @Setup
+    public void setUp() throws Exception {
+        instances = Registries.generator(instanceCount).toInstanceList();
+        registry = Registries.newRegistry(instances);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    /**
+     * Walks through the registered instances, separately in each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        InstanceInfo next(List<InstanceInfo> instances) {
+            InstanceInfo instance = instances.get(next);
+            next = (next + 1) % instances.size();
+            return instance;
+        }
+    }
+
+    @Benchmark
+    public void register(Cursor cursor) {
+        registry.register(cursor.next(instances), InstanceInfoGenerator.RENEW_INTERVAL * 3, false);
+    }
+
+    @Benchmark
+    public boolean renew(Cursor cursor) {
+        InstanceInfo instance = cursor.next(instances);
+        // as a replication, so no peer is contacted
+        return registry.renew(instance.getAppName(), instance.getId(), true);
+    }
+
+    @Benchmark
+    public Applications getApplications() {
+        return registry.getApplications();
+    }
+
+    @Benchmark
+    public Applications getApplicationDeltas() {
+        return registry.getApplicationDeltas();
+    }
+}
@@ -0,0 +1,79 @@
+package com.netflix.eureka.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.appinfo.EurekaAccept;
+import com.netflix.config.ConfigurationManager;
+import com.netflix.eureka.Version;
+import com.netflix.eureka.registry.Key;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
+import com.netflix.eureka.registry.ResponseCacheImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full registry fetches served from the response cache. With the read-only cache enabled, an invalidated payload
+ * keeps being served until it is refreshed in the background, so {@link #invalidateAndGet()} measures the payload
+ * regeneration only when <code>useReadOnlyCache</code> is false.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResponseCacheBenchmark {
+
+    private static final Key ALL_APPS_KEY = new Key(
+            Key.EntityType.Application, ResponseCacheImpl.ALL_APPS, Key.KeyType.JSON, Version.V2, EurekaAccept.full
+    );
+
+    @Param({"1000", "10000", "100000"})
+    int instanceCount;
+
+    @Param({"true", "false"})
+    boolean useReadOnlyCache;
+
+    private PeerAwareInstanceRegistryImpl registry;
+    private ResponseCacheImpl responseCache;
+
+    @Setup
+    public void setUp() throws Exception {
+        ConfigurationManager.getConfigInstance().setProperty("eureka.shouldUseReadOnlyResponseCache", useReadOnlyCache);
+        registry = Registries.newRegistry(Registries.generator(instanceCount).toInstanceList());
+        responseCache = (ResponseCacheImpl) registry.getResponseCache();
+        responseCache.getBytes(ALL_APPS_KEY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.shutdown();
+        ConfigurationManager.getConfigInstance().clearProperty("eureka.shouldUseReadOnlyResponseCache");
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return responseCache.getBytes(ALL_APPS_KEY);
+    }
+
+    @Benchmark
+    public byte[] getGZIP() {
+        return responseCache.getGZIP(ALL_APPS_KEY);
+    }
+
+    @Benchmark
+    public byte[] invalidateAndGet() {
+        responseCache.invalidate(ALL_APPS_KEY);
+        return responseCache.getBytes(ALL_APPS_KEY);
+    }
+}
@@ -139,6 +139,18 @@ public class EurekaArchaius2ClientConfig implements EurekaClientConfig {
         return prefixedConfig.getBoolean(SHOULD_DISABLE_DELTA_KEY, false);
     }
 
+    public boolean shouldFetchIncrementalDelta() {
+        return prefixedConfig.getBoolean(SHOULD_FETCH_INCREMENTAL_DELTA_KEY, false);
+    }
+
+    public boolean shouldWatchRegistry() {
+        return prefixedConfig.getBoolean(SHOULD_WATCH_REGISTRY_KEY, false);
+    }
+
+    public int getRegistryWatchTimeoutSeconds() {
+        return prefixedConfig.getInteger(REGISTRY_WATCH_TIMEOUT_KEY, 5);
+    }
+
     public String fetchRegistryForRemoteRegions() {
         return prefixedConfig.getString(SHOULD_FETCH_REMOTE_REGION_KEY, null);
     }
@@ -201,6 +213,11 @@ public class EurekaArchaius2ClientConfig implements EurekaClientConfig {
         return prefixedConfig.getInteger(CACHEREFRESH_BACKOFF_BOUND_KEY, Values.DEFAULT_EXECUTOR_THREAD_POOL_BACKOFF_BOUND);
     }
 
+    @Override
+    public boolean shouldUseVirtualThreads() {
+        return prefixedConfig.getBoolean(SHOULD_USE_VIRTUAL_THREADS_KEY, false);
+    }
+
     public String getDollarReplacement() {
         return prefixedConfig.getString(CONFIG_DOLLAR_REPLACEMENT_KEY, Values.CONFIG_DOLLAR_REPLACEMENT);
     }
@@ -227,6 +244,11 @@ public class EurekaArchaius2ClientConfig implements EurekaClientConfig {
         return prefixedConfig.getString(CLIENT_DECODER_NAME_KEY, null);
     }
 
+    @Override
+    public boolean shouldDecodeRegistryInParallel() {
+        return prefixedConfig.getBoolean(SHOULD_DECODE_REGISTRY_IN_PARALLEL_KEY, false);
+    }
+
     @Override
     public String getClientDataAccept() {
         return prefixedConfig.getString(CLIENT_DATA_ACCEPT_KEY, EurekaAccept.full.name());
@@ -43,6 +43,16 @@ public class EurekaArchaius2TransportConfig implements EurekaTransportConfig {
         return prefixedConfig.getDouble(QUARANTINE_REFRESH_PERCENTAGE_KEY, Values.QUARANTINE_REFRESH_PERCENTAGE);
     }
 
+    @Override
+    public boolean useRetryableClientLatencyAwareOrdering() {
+        return prefixedConfig.getBoolean(LATENCY_AWARE_ORDERING_KEY, false);
+    }
+
+    @Override
+    public double getRetryableClientHedgingPercentile() {
+        return prefixedConfig.getDouble(HEDGING_PERCENTILE_KEY, Values.HEDGING_PERCENTILE);
+    }
+
     @Override
     public int getApplicationsResolverDataStalenessThresholdSeconds() {
         return prefixedConfig.getInteger(DATA_STALENESS_THRESHOLD_KEY, Values.DATA_STALENESS_TRHESHOLD);
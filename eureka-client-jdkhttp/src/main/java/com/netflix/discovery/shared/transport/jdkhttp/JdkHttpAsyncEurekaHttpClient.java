@@ -0,0 +1,349 @@
+package com.netflix.discovery.shared.transport.jdkhttp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
+import com.netflix.discovery.converters.wrappers.DecoderWrapper;
+import com.netflix.discovery.converters.wrappers.EncoderWrapper;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.discovery.shared.transport.EurekaHttpResponse.anEurekaHttpResponse;
+
+/**
+ * {@link AsyncEurekaHttpClient} on top of the JDK {@link HttpClient}. The {@link HttpClient} is owned by the
+ * {@link JdkHttpClientFactory}, and shared by the clients of all the servers, so a client does not own any
+ * connection, and the requests to a server are multiplexed over one HTTP/2 connection when the server supports it.
+ * The body of a response is received without blocking any thread, and is decoded once it is complete. A request
+ * fails if its response, body included, is not received within the read timeout.
+ */
+public class JdkHttpAsyncEurekaHttpClient implements AsyncEurekaHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpAsyncEurekaHttpClient.class);
+
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String SMILE_REGISTRY_ACCEPT = JacksonSmile.MEDIA_TYPE_VALUE + ", " + APPLICATION_JSON;
+
+    private final HttpClient httpClient;
+    private final URI serviceURI;
+    private final String authorization;
+    private final Map<String, String> additionalHeaders;
+    private final EncoderWrapper encoder;
+    private final DecoderWrapper decoder;
+    private final DecoderWrapper smileDecoder;
+    private final Duration readTimeout;
+
+    JdkHttpAsyncEurekaHttpClient(HttpClient httpClient,
+                                 String serviceUrl,
+                                 Map<String, String> additionalHeaders,
+                                 EncoderWrapper encoder,
+                                 DecoderWrapper decoder,
+                                 DecoderWrapper smileDecoder,
+                                 Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.additionalHeaders = additionalHeaders;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.smileDecoder = smileDecoder;
+        this.readTimeout = readTimeout;
+
+        // The JDK HttpClient does not read credentials from the URI. We extract them here and send them ourselves.
+        URI uri = URI.create(serviceUrl.endsWith("/") ? serviceUrl : serviceUrl + '/');
+        String userInfo = uri.getUserInfo();
+        this.authorization = userInfo == null || userInfo.indexOf(':') < 0
+                ? null
+                : "Basic " + Base64.getEncoder().encodeToString(userInfo.getBytes(StandardCharsets.UTF_8));
+        String authority = uri.getRawAuthority();
+        try {
+            this.serviceURI = new URI(uri.getScheme(), authority.substring(authority.indexOf('@') + 1), uri.getPath(), null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid service URL " + serviceUrl, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> register(InstanceInfo info) {
+        HttpRequest request = newRequest("apps/" + info.getAppName(), null)
+                .header("Accept", APPLICATION_JSON)
+                .header("Content-Type", APPLICATION_JSON)
+                .POST(jsonBody(info))
+                .build();
+        return execute(request);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> cancel(String appName, String id) {
+        return execute(newRequest("apps/" + appName + '/' + id, null).DELETE().build());
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> sendHeartBeat(String appName, String id, InstanceInfo info, InstanceStatus overriddenStatus) {
+        StringBuilder query = new StringBuilder()
+                .append("status=").append(encode(info.getStatus().toString()))
+                .append("&lastDirtyTimestamp=").append(info.getLastDirtyTimestamp());
+        if (overriddenStatus != null) {
+            query.append("&overriddenstatus=").append(overriddenStatus.name());
+        }
+        HttpRequest request = newRequest("apps/" + appName + '/' + id, query.toString())
+                .header("Accept", APPLICATION_JSON)
+                .PUT(BodyPublishers.noBody())
+                .build();
+        return execute(request, InstanceInfo.class, false);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<HeartBeatListResponse>> sendHeartBeats(HeartBeatList heartBeats) {
+        HttpRequest request = newRequest("apps/heartbeats", null)
+                .header("Accept", APPLICATION_JSON)
+                .header("Content-Type", APPLICATION_JSON)
+                .POST(jsonBody(heartBeats))
+                .build();
+        return execute(request, HeartBeatListResponse.class, true);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info) {
+        String query = "value=" + newStatus.name() + "&lastDirtyTimestamp=" + info.getLastDirtyTimestamp();
+        return execute(newRequest("apps/" + appName + '/' + id + "/status", query).PUT(BodyPublishers.noBody()).build());
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> deleteStatusOverride(String appName, String id, InstanceInfo info) {
+        String query = "lastDirtyTimestamp=" + info.getLastDirtyTimestamp();
+        return execute(newRequest("apps/" + appName + '/' + id + "/status", query).DELETE().build());
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getApplications(String... regions) {
+        return getApplicationsInternal("apps/", null, regions);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getDelta(String... regions) {
+        return getApplicationsInternal("apps/delta", null, regions);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getDelta(long sinceVersion, String... regions) {
+        return getApplicationsInternal("apps/delta", sinceVersion, regions);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> watchDelta(long sinceVersion, long timeoutMs) {
+        HttpRequest.Builder requestBuilder = newRequest("apps/delta/watch", "since=" + sinceVersion + "&timeoutMs=" + timeoutMs);
+        if (readTimeout != null) {
+            // the server holds the request up to timeoutMs before it answers
+            requestBuilder.timeout(readTimeout.plusMillis(timeoutMs));
+        }
+        return execute(requestBuilder.GET().build());
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getVip(String vipAddress, String... regions) {
+        return getApplicationsInternal("vips/" + vipAddress, null, regions);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getSecureVip(String secureVipAddress, String... regions) {
+        return getApplicationsInternal("svips/" + secureVipAddress, null, regions);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Application>> getApplication(String appName) {
+        HttpRequest request = newRequest("apps/" + appName, null).header("Accept", APPLICATION_JSON).GET().build();
+        return execute(request, Application.class, true);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String appName, String id) {
+        return getInstanceInternal("apps/" + appName + '/' + id);
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String id) {
+        return getInstanceInternal("instances/" + id);
+    }
+
+    @Override
+    public void shutdown() {
+        // Do not close the HttpClient, as it is owned by the corresponding JdkHttpClientFactory
+    }
+
+    private CompletableFuture<EurekaHttpResponse<Applications>> getApplicationsInternal(String urlPath, Long sinceVersion, String[] regions) {
+        StringBuilder query = new StringBuilder();
+        if (regions != null && regions.length > 0) {
+            query.append("regions=").append(encode(StringUtil.join(regions)));
+        }
+        if (sinceVersion != null) {
+            query.append(query.length() == 0 ? "" : "&").append("since=").append(sinceVersion);
+        }
+        HttpRequest request = newRequest(urlPath, query.length() == 0 ? null : query.toString())
+                .header("Accept", smileDecoder == null ? APPLICATION_JSON : SMILE_REGISTRY_ACCEPT)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return execute(request, Applications.class, true);
+    }
+
+    private CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstanceInternal(String urlPath) {
+        HttpRequest request = newRequest(urlPath, null).header("Accept", APPLICATION_JSON).GET().build();
+        return execute(request, InstanceInfo.class, true);
+    }
+
+    private HttpRequest.Builder newRequest(String urlPath, String query) {
+        URI uri;
+        try {
+            uri = new URI(serviceURI.getScheme(), serviceURI.getRawAuthority(), serviceURI.getPath() + urlPath, null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid request path " + urlPath, e);
+        }
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(query == null ? uri : URI.create(uri + "?" + query));
+        if (readTimeout != null) {
+            requestBuilder.timeout(readTimeout);
+        }
+        if (authorization != null) {
+            requestBuilder.header("Authorization", authorization);
+        }
+        for (Map.Entry<String, String> entry : additionalHeaders.entrySet()) {
+            requestBuilder.header(entry.getKey(), entry.getValue());
+        }
+        return requestBuilder;
+    }
+
+    private BodyPublisher jsonBody(Object entity) {
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            encoder.encode(entity, bos);
+            return BodyPublishers.ofByteArray(bos.toByteArray());
+        } catch (IOException e) {
+            throw new TransportException("Cannot encode " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    private CompletableFuture<EurekaHttpResponse<Void>> execute(HttpRequest request) {
+        return send(request, BodyHandlers.discarding())
+                .thenApply(response -> anEurekaHttpResponse(response.statusCode()).headers(headersOf(response)).build());
+    }
+
+    /**
+     * @param okOnly whether the entity is read from 200 responses only, or from any response that has one
+     */
+    private <T> CompletableFuture<EurekaHttpResponse<T>> execute(HttpRequest request, Class<T> entityType, boolean okOnly) {
+        return send(request, BodyHandlers.ofByteArray()).thenApply(response -> {
+            T entity = null;
+            try {
+                if (!okOnly || response.statusCode() == 200) {
+                    entity = readEntity(response, new ByteArrayInputStream(response.body()), entityType);
+                }
+            } catch (IOException e) {
+                throw new TransportException("Cannot decode the response of " + request.method() + ' ' + request.uri(), e);
+            }
+            return anEurekaHttpResponse(response.statusCode(), entity).headers(headersOf(response)).build();
+        });
+    }
+
+    /**
+     * The response is completed on a thread of the {@link HttpClient} executor, and a failure is reported as a
+     * {@link TransportException}. {@link HttpRequest#timeout()} only bounds the wait for the response headers, so
+     * the exchange is also cancelled if its body is not received within that timeout, which releases its connection.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        CompletableFuture<HttpResponse<T>> exchange = httpClient.sendAsync(request, bodyHandler);
+        CompletableFuture<HttpResponse<T>> bounded = exchange;
+        Optional<Duration> timeout = request.timeout();
+        if (timeout.isPresent()) {
+            bounded = exchange.thenApply(Function.identity()).orTimeout(timeout.get().toMillis(), TimeUnit.MILLISECONDS);
+            bounded.whenComplete((response, error) -> {
+                if (error instanceof TimeoutException) {
+                    exchange.cancel(true);
+                }
+            });
+        }
+        return bounded.handle((response, error) -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDK HTTP {} {}; statusCode={}", request.method(), request.uri(),
+                        response == null ? "N/A" : response.statusCode());
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                throw new TransportException("Cannot execute " + request.method() + ' ' + request.uri(), cause);
+            }
+            return response;
+        });
+    }
+
+    /**
+     * @return the decoded entity, or null if the response has none
+     */
+    private <T> T readEntity(HttpResponse<?> response, InputStream body, Class<T> entityType) throws IOException {
+        PushbackInputStream bodyStream = new PushbackInputStream(body);
+        int firstByte = bodyStream.read();
+        if (firstByte < 0) {
+            return null;
+        }
+        bodyStream.unread(firstByte);
+        InputStream entityStream = "gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(null))
+                ? new GZIPInputStream(bodyStream)
+                : bodyStream;
+        String contentType = response.headers().firstValue("Content-Type").orElse(APPLICATION_JSON);
+        DecoderWrapper entityDecoder = smileDecoder != null && contentType.startsWith(JacksonSmile.MEDIA_TYPE_VALUE)
+                ? smileDecoder
+                : decoder;
+        return entityDecoder.decode(entityStream, entityType);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> headersOf(HttpResponse<?> response) {
+        Map<String, List<String>> jdkHeaders = response.headers().map();
+        if (jdkHeaders.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : jdkHeaders.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                headers.put(entry.getKey(), entry.getValue().get(0));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,229 @@
+package com.netflix.discovery.shared.transport.jdkhttp;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.netflix.appinfo.AbstractEurekaIdentity;
+import com.netflix.appinfo.EurekaAccept;
+import com.netflix.appinfo.EurekaClientIdentity;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClientConfig;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.LegacyJacksonJson;
+import com.netflix.discovery.converters.wrappers.DecoderWrapper;
+import com.netflix.discovery.converters.wrappers.EncoderWrapper;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.EurekaClientFactoryBuilder;
+import com.netflix.discovery.shared.transport.EurekaHttpClient;
+import com.netflix.discovery.shared.transport.TransportClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.discovery.util.DiscoveryBuildInfo.buildVersion;
+
+/**
+ * {@link TransportClientFactory} of {@link JdkHttpEurekaHttpClient}s. All the clients share one JDK
+ * {@link HttpClient}, which negotiates HTTP/2 with each server and multiplexes the heartbeats, registrations and
+ * registry fetches over a single connection to it. The connections outlive the clients, so the clients recreated
+ * periodically by the sessioned client reuse them, and do not pay for new TLS handshakes.
+ */
+public class JdkHttpClientFactory implements TransportClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpClientFactory.class);
+
+    public static final String HTTP_X_DISCOVERY_ALLOW_REDIRECT = "X-Discovery-AllowRedirect";
+    private static final String KEY_STORE_TYPE = "JKS";
+
+    private final HttpClient httpClient;
+    private final Map<String, String> additionalHeaders;
+    private final EncoderWrapper encoder;
+    private final DecoderWrapper decoder;
+    private final DecoderWrapper smileDecoder;
+    private final Duration readTimeout;
+
+    JdkHttpClientFactory(HttpClient httpClient,
+                         Map<String, String> additionalHeaders,
+                         EncoderWrapper encoder,
+                         DecoderWrapper decoder,
+                         Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.additionalHeaders = additionalHeaders;
+        this.encoder = encoder == null ? CodecWrappers.getEncoder(LegacyJacksonJson.class) : encoder;
+        // a Smile decoder only selects the binary encoding of the registry, JSON content is still decoded as such
+        this.decoder = decoder == null || decoder instanceof JacksonSmile
+                ? CodecWrappers.getDecoder(LegacyJacksonJson.class) : decoder;
+        this.smileDecoder = decoder instanceof JacksonSmile ? decoder : null;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public EurekaHttpClient newClient(EurekaEndpoint endpoint) {
+        return new JdkHttpEurekaHttpClient(newAsyncClient(endpoint));
+    }
+
+    public JdkHttpAsyncEurekaHttpClient newAsyncClient(EurekaEndpoint endpoint) {
+        return new JdkHttpAsyncEurekaHttpClient(httpClient, endpoint.getServiceUrl(), additionalHeaders,
+                encoder, decoder, smileDecoder, readTimeout);
+    }
+
+    /**
+     * @return a factory of {@link JdkHttpAsyncEurekaHttpClient}s sharing the {@link HttpClient} of this factory
+     */
+    public AsyncTransportClientFactory asAsyncFactory() {
+        return new AsyncTransportClientFactory() {
+            @Override
+            public AsyncEurekaHttpClient newClient(EurekaEndpoint endpoint) {
+                return newAsyncClient(endpoint);
+            }
+
+            @Override
+            public void shutdown() {
+                JdkHttpClientFactory.this.shutdown();
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        // The HttpClient has no close method before Java 21; its connections are released once it is unreachable
+    }
+
+    public static JdkHttpClientFactory create(EurekaClientConfig clientConfig,
+                                              InstanceInfo myInstanceInfo,
+                                              AbstractEurekaIdentity clientIdentity) {
+        return create(clientConfig, myInstanceInfo, clientIdentity, Optional.empty(), Optional.empty());
+    }
+
+    public static JdkHttpClientFactory create(EurekaClientConfig clientConfig,
+                                              InstanceInfo myInstanceInfo,
+                                              AbstractEurekaIdentity clientIdentity,
+                                              Optional<SSLContext> sslContext,
+                                              Optional<HostnameVerifier> hostnameVerifier) {
+        JdkHttpClientFactoryBuilder clientBuilder = newBuilder();
+        clientBuilder.withMyInstanceInfo(myInstanceInfo);
+        clientBuilder.withUserAgent("Java-EurekaClient");
+        clientBuilder.withClientConfig(clientConfig);
+        clientBuilder.withClientIdentity(clientIdentity);
+
+        sslContext.ifPresent(clientBuilder::withSSLContext);
+        hostnameVerifier.ifPresent(clientBuilder::withHostnameVerifier);
+
+        if ("true".equals(System.getProperty("com.netflix.eureka.shouldSSLConnectionsUseSystemSocketFactory"))) {
+            clientBuilder.withClientName("DiscoveryClient-HTTPClient-System").withSystemSSLConfiguration();
+        } else if (clientConfig.getProxyHost() != null && clientConfig.getProxyPort() != null) {
+            clientBuilder.withClientName("Proxy-DiscoveryClient-HTTPClient")
+                    .withProxy(
+                            clientConfig.getProxyHost(), Integer.parseInt(clientConfig.getProxyPort()),
+                            clientConfig.getProxyUserName(), clientConfig.getProxyPassword());
+        } else {
+            clientBuilder.withClientName("DiscoveryClient-HTTPClient");
+        }
+
+        return clientBuilder.build();
+    }
+
+    public static JdkHttpClientFactoryBuilder newBuilder() {
+        return new JdkHttpClientFactoryBuilder();
+    }
+
+    public static class JdkHttpClientFactoryBuilder extends EurekaClientFactoryBuilder<JdkHttpClientFactory, JdkHttpClientFactoryBuilder> {
+
+        @Override
+        public JdkHttpClientFactory build() {
+            HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(allowRedirect ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+            if (connectionTimeout > 0) {
+                clientBuilder.connectTimeout(Duration.ofMillis(connectionTimeout));
+            }
+            addSSLConfiguration(clientBuilder);
+            addProxyConfiguration(clientBuilder);
+
+            if (hostnameVerifier != null) {
+                logger.warn("The JDK HttpClient does not support custom hostname verifiers; {} is ignored", hostnameVerifier);
+            }
+
+            Map<String, String> additionalHeaders = new HashMap<>();
+            additionalHeaders.put("User-Agent", (userAgent == null ? clientName : userAgent) + "/v" + buildVersion());
+            if (allowRedirect) {
+                additionalHeaders.put(HTTP_X_DISCOVERY_ALLOW_REDIRECT, "true");
+            }
+            if (EurekaAccept.compact == eurekaAccept) {
+                additionalHeaders.put(EurekaAccept.HTTP_X_EUREKA_ACCEPT, eurekaAccept.name());
+            }
+
+            // always enable client identity headers
+            String ip = myInstanceInfo == null ? null : myInstanceInfo.getIPAddr();
+            AbstractEurekaIdentity identity = clientIdentity == null ? new EurekaClientIdentity(ip) : clientIdentity;
+            additionalHeaders.put(AbstractEurekaIdentity.AUTH_NAME_HEADER_KEY, identity.getName());
+            additionalHeaders.put(AbstractEurekaIdentity.AUTH_VERSION_HEADER_KEY, identity.getVersion());
+            if (identity.getId() != null) {
+                additionalHeaders.put(AbstractEurekaIdentity.AUTH_ID_HEADER_KEY, identity.getId());
+            }
+
+            return new JdkHttpClientFactory(
+                    clientBuilder.build(),
+                    Collections.unmodifiableMap(additionalHeaders),
+                    encoderWrapper,
+                    decoderWrapper,
+                    readTimeout > 0 ? Duration.ofMillis(readTimeout) : null
+            );
+        }
+
+        private void addSSLConfiguration(HttpClient.Builder clientBuilder) {
+            try {
+                if (systemSSL) {
+                    clientBuilder.sslContext(SSLContext.getDefault());
+                } else if (trustStoreFileName != null) {
+                    KeyStore trustStore = KeyStore.getInstance(KEY_STORE_TYPE);
+                    try (FileInputStream fin = new FileInputStream(trustStoreFileName)) {
+                        trustStore.load(fin, trustStorePassword.toCharArray());
+                    }
+                    TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                    trustManagerFactory.init(trustStore);
+                    SSLContext trustStoreContext = SSLContext.getInstance("TLS");
+                    trustStoreContext.init(null, trustManagerFactory.getTrustManagers(), null);
+                    clientBuilder.sslContext(trustStoreContext);
+                } else if (sslContext != null) {
+                    clientBuilder.sslContext(sslContext);
+                }
+            } catch (Exception ex) {
+                throw new IllegalArgumentException("Cannot setup SSL for JDK HTTP client", ex);
+            }
+        }
+
+        private void addProxyConfiguration(HttpClient.Builder clientBuilder) {
+            if (proxyHost != null) {
+                clientBuilder.proxy(ProxySelector.of(new InetSocketAddress(proxyHost, proxyPort > 0 ? proxyPort : 80)));
+                if (proxyUserName != null) {
+                    if (proxyPassword == null) {
+                        throw new IllegalArgumentException("Proxy user name provided but not password");
+                    }
+                    final PasswordAuthentication credentials = new PasswordAuthentication(proxyUserName, proxyPassword.toCharArray());
+                    clientBuilder.authenticator(new Authenticator() {
+                        @Override
+                        protected PasswordAuthentication getPasswordAuthentication() {
+                            return getRequestorType() == RequestorType.PROXY ? credentials : null;
+                        }
+                    });
+                }
+            }
+        }
+    }
+}
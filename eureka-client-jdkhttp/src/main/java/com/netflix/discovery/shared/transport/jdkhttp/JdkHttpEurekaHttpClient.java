@@ -0,0 +1,128 @@
+package com.netflix.discovery.shared.transport.jdkhttp;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.EurekaHttpClient;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
+import com.netflix.discovery.shared.transport.TransportException;
+
+/**
+ * {@link EurekaHttpClient} on top of the JDK {@link HttpClient}, which waits for the responses of a
+ * {@link JdkHttpAsyncEurekaHttpClient}. The {@link HttpClient} is owned by the {@link JdkHttpClientFactory}, and
+ * shared by the clients of all the servers, so a client does not own any connection, and the requests to a server
+ * are multiplexed over one HTTP/2 connection when the server supports it.
+ */
+public class JdkHttpEurekaHttpClient implements EurekaHttpClient {
+
+    private final JdkHttpAsyncEurekaHttpClient asyncClient;
+
+    JdkHttpEurekaHttpClient(JdkHttpAsyncEurekaHttpClient asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> register(InstanceInfo info) {
+        return await(asyncClient.register(info));
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> cancel(String appName, String id) {
+        return await(asyncClient.cancel(appName, id));
+    }
+
+    @Override
+    public EurekaHttpResponse<InstanceInfo> sendHeartBeat(String appName, String id, InstanceInfo info, InstanceStatus overriddenStatus) {
+        return await(asyncClient.sendHeartBeat(appName, id, info, overriddenStatus));
+    }
+
+    @Override
+    public EurekaHttpResponse<HeartBeatListResponse> sendHeartBeats(HeartBeatList heartBeats) {
+        return await(asyncClient.sendHeartBeats(heartBeats));
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info) {
+        return await(asyncClient.statusUpdate(appName, id, newStatus, info));
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> deleteStatusOverride(String appName, String id, InstanceInfo info) {
+        return await(asyncClient.deleteStatusOverride(appName, id, info));
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getApplications(String... regions) {
+        return await(asyncClient.getApplications(regions));
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getDelta(String... regions) {
+        return await(asyncClient.getDelta(regions));
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getDelta(long sinceVersion, String... regions) {
+        return await(asyncClient.getDelta(sinceVersion, regions));
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> watchDelta(long sinceVersion, long timeoutMs) {
+        return await(asyncClient.watchDelta(sinceVersion, timeoutMs));
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getVip(String vipAddress, String... regions) {
+        return await(asyncClient.getVip(vipAddress, regions));
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getSecureVip(String secureVipAddress, String... regions) {
+        return await(asyncClient.getSecureVip(secureVipAddress, regions));
+    }
+
+    @Override
+    public EurekaHttpResponse<Application> getApplication(String appName) {
+        return await(asyncClient.getApplication(appName));
+    }
+
+    @Override
+    public EurekaHttpResponse<InstanceInfo> getInstance(String appName, String id) {
+        return await(asyncClient.getInstance(appName, id));
+    }
+
+    @Override
+    public EurekaHttpResponse<InstanceInfo> getInstance(String id) {
+        return await(asyncClient.getInstance(id));
+    }
+
+    @Override
+    public void shutdown() {
+        asyncClient.shutdown();
+    }
+
+    /**
+     * The future fails on its own once the read timeout of the request has elapsed, so it is not bounded here again.
+     */
+    private static <T> EurekaHttpResponse<T> await(CompletableFuture<EurekaHttpResponse<T>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TransportException("Request execution failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new TransportException("Interrupted while waiting for a response", e);
+        }
+    }
+}
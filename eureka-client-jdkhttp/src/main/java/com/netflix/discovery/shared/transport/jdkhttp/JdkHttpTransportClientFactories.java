@@ -0,0 +1,78 @@
+package com.netflix.discovery.shared.transport.jdkhttp;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import com.netflix.appinfo.EurekaClientIdentity;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClientConfig;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.EurekaHttpClient;
+import com.netflix.discovery.shared.transport.TransportClientFactory;
+import com.netflix.discovery.shared.transport.decorator.MetricsCollectingEurekaHttpClient;
+import com.netflix.discovery.shared.transport.jersey.EurekaJerseyClient;
+import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plugs the {@link JdkHttpClientFactory} into the discovery client, with
+ * {@code AbstractDiscoveryClientOptionalArgs#setTransportClientFactories}. The JDK HttpClient has no request
+ * filters, so the additional filters of the optional arguments are ignored.
+ */
+public class JdkHttpTransportClientFactories implements TransportClientFactories<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpTransportClientFactories.class);
+
+    private static final JdkHttpTransportClientFactories INSTANCE = new JdkHttpTransportClientFactories();
+
+    public static JdkHttpTransportClientFactories getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public TransportClientFactory newTransportClientFactory(final EurekaClientConfig clientConfig,
+                                                            final Collection<Object> additionalFilters,
+                                                            final InstanceInfo myInstanceInfo) {
+        return newTransportClientFactory(clientConfig, additionalFilters, myInstanceInfo, Optional.empty(), Optional.empty());
+    }
+
+    @Override
+    public TransportClientFactory newTransportClientFactory(EurekaClientConfig clientConfig,
+            Collection<Object> additionalFilters, InstanceInfo myInstanceInfo,
+            Optional<SSLContext> sslContext, Optional<HostnameVerifier> hostnameVerifier) {
+        if (additionalFilters != null && !additionalFilters.isEmpty()) {
+            logger.warn("The JDK HTTP transport does not support request filters; ignoring {}", additionalFilters);
+        }
+        final TransportClientFactory jdkHttpFactory = JdkHttpClientFactory.create(
+                clientConfig,
+                myInstanceInfo,
+                new EurekaClientIdentity(myInstanceInfo.getIPAddr(), "JdkHttpDefaultClient"),
+                sslContext,
+                hostnameVerifier
+        );
+        final TransportClientFactory metricsFactory = MetricsCollectingEurekaHttpClient.createFactory(jdkHttpFactory);
+
+        return new TransportClientFactory() {
+            @Override
+            public EurekaHttpClient newClient(EurekaEndpoint serviceUrl) {
+                return metricsFactory.newClient(serviceUrl);
+            }
+
+            @Override
+            public void shutdown() {
+                metricsFactory.shutdown();
+                jdkHttpFactory.shutdown();
+            }
+        };
+    }
+
+    @Override
+    public TransportClientFactory newTransportClientFactory(Collection<Object> additionalFilters,
+            EurekaJerseyClient providedJerseyClient) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,34 @@
+package com.netflix.discovery.shared.transport.jdkhttp;
+
+import java.net.URI;
+
+import com.netflix.discovery.shared.resolver.DefaultEndpoint;
+import com.netflix.discovery.shared.transport.EurekaHttpClient;
+import com.netflix.discovery.shared.transport.EurekaHttpClientCompatibilityTestSuite;
+import com.netflix.discovery.shared.transport.TransportClientFactory;
+import org.junit.After;
+
+public class JdkHttpEurekaHttpClientTest extends EurekaHttpClientCompatibilityTestSuite {
+
+    private TransportClientFactory clientFactory;
+    private EurekaHttpClient jdkHttpClient;
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        if (jdkHttpClient != null) {
+            jdkHttpClient.shutdown();
+            clientFactory.shutdown();
+        }
+        super.tearDown();
+    }
+
+    @Override
+    protected EurekaHttpClient getEurekaHttpClient(URI serviceURI) {
+        clientFactory = JdkHttpClientFactory.newBuilder()
+                .withClientName("compatibilityTestClient")
+                .build();
+        jdkHttpClient = clientFactory.newClient(new DefaultEndpoint(serviceURI.toString()));
+        return jdkHttpClient;
+    }
+}
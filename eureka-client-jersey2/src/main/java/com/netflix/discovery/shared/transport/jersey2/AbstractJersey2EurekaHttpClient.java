@@ -40,6 +40,8 @@ import com.netflix.discovery.shared.Applications;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse.EurekaHttpResponseBuilder;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
 import com.netflix.discovery.util.StringUtil;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
 import org.slf4j.Logger;
@@ -157,6 +159,34 @@ public abstract class AbstractJersey2EurekaHttpClient implements EurekaHttpClien
         }
     }
 
+    @Override
+    public EurekaHttpResponse<HeartBeatListResponse> sendHeartBeats(HeartBeatList heartBeats) {
+        String urlPath = "apps/heartbeats";
+        Response response = null;
+        try {
+            Builder requestBuilder = jerseyClient.target(serviceUrl).path(urlPath).request();
+            addExtraProperties(requestBuilder);
+            addExtraHeaders(requestBuilder);
+            response = requestBuilder
+                    .accept(MediaType.APPLICATION_JSON_TYPE)
+                    .post(Entity.json(heartBeats));
+            EurekaHttpResponseBuilder<HeartBeatListResponse> eurekaResponseBuilder =
+                    anEurekaHttpResponse(response.getStatus(), HeartBeatListResponse.class).headers(headersOf(response));
+            if (response.getStatus() == Status.OK.getStatusCode() && response.hasEntity()) {
+                eurekaResponseBuilder.entity(response.readEntity(HeartBeatListResponse.class));
+            }
+            return eurekaResponseBuilder.build();
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Jersey2 HTTP POST {}/{} with {} heartbeats; statusCode={}", serviceUrl, urlPath,
+                        heartBeats.getHeartBeats().size(), response == null ? "N/A" : response.getStatus());
+            }
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
     @Override
     public EurekaHttpResponse<Void> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info) {
         String urlPath = "apps/" + appName + '/' + id + "/status";
@@ -214,6 +244,36 @@ public abstract class AbstractJersey2EurekaHttpClient implements EurekaHttpClien
         return getApplicationsInternal("apps/delta", regions);
     }
 
+    @Override
+    public EurekaHttpResponse<Applications> getDelta(long sinceVersion, String... regions) {
+        return getApplicationsInternal("apps/delta", sinceVersion, regions);
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> watchDelta(long sinceVersion, long timeoutMs) {
+        String urlPath = "apps/delta/watch";
+        Response response = null;
+        try {
+            Builder requestBuilder = jerseyClient.target(serviceUrl)
+                    .path(urlPath)
+                    .queryParam("since", Long.toString(sinceVersion))
+                    .queryParam("timeoutMs", Long.toString(timeoutMs))
+                    .request();
+            addExtraProperties(requestBuilder);
+            addExtraHeaders(requestBuilder);
+            response = requestBuilder.get();
+            return anEurekaHttpResponse(response.getStatus()).headers(headersOf(response)).build();
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Jersey2 HTTP GET {}/{}?since={}; statusCode={}",
+                        serviceUrl, urlPath, sinceVersion, response == null ? "N/A" : response.getStatus());
+            }
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
     @Override
     public EurekaHttpResponse<Applications> getVip(String vipAddress, String... regions) {
         return getApplicationsInternal("vips/" + vipAddress, regions);
@@ -250,12 +310,19 @@ public abstract class AbstractJersey2EurekaHttpClient implements EurekaHttpClien
     }
 
     private EurekaHttpResponse<Applications> getApplicationsInternal(String urlPath, String[] regions) {
+        return getApplicationsInternal(urlPath, null, regions);
+    }
+
+    private EurekaHttpResponse<Applications> getApplicationsInternal(String urlPath, Long sinceVersion, String[] regions) {
         Response response = null;
         try {
             WebTarget webTarget = jerseyClient.target(serviceUrl).path(urlPath);
             if (regions != null && regions.length > 0) {
                 webTarget = webTarget.queryParam("regions", StringUtil.join(regions));
             }
+            if (sinceVersion != null) {
+                webTarget = webTarget.queryParam("since", Long.toString(sinceVersion));
+            }
             Builder requestBuilder = webTarget.request();
             addExtraProperties(requestBuilder);
             addExtraHeaders(requestBuilder);
@@ -13,6 +13,7 @@ import javax.net.ssl.SSLContext;
 import com.google.inject.Inject;
 import com.netflix.appinfo.HealthCheckCallback;
 import com.netflix.appinfo.HealthCheckHandler;
+import com.netflix.discovery.shared.selector.InstanceSelector;
 import com.netflix.discovery.shared.transport.TransportClientFactory;
 import com.netflix.discovery.shared.transport.jersey.EurekaJerseyClient;
 import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
@@ -36,6 +37,8 @@ public abstract class AbstractDiscoveryClientOptionalArgs<T> {
     
     TransportClientFactories transportClientFactories;
 
+    InstanceSelector instanceSelector;
+
     private Set<EurekaEventListener> eventListeners;
 
     private Optional<SSLContext> sslContext = Optional.empty();
@@ -80,6 +83,11 @@ public abstract class AbstractDiscoveryClientOptionalArgs<T> {
     }
 
 
+    @Inject(optional = true)
+    public void setInstanceSelector(InstanceSelector instanceSelector) {
+        this.instanceSelector = instanceSelector;
+    }
+
     @Inject(optional = true) 
     public void setAdditionalFilters(Collection<T> additionalFilters) {
         this.additionalFilters = additionalFilters;
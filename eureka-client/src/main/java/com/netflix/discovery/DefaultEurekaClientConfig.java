@@ -342,6 +342,23 @@ public class DefaultEurekaClientConfig implements EurekaClientConfig {
                 false).get();
     }
 
+    @Override
+    public boolean shouldFetchIncrementalDelta() {
+        return configInstance.getBooleanProperty(namespace + SHOULD_FETCH_INCREMENTAL_DELTA_KEY,
+                false).get();
+    }
+
+    @Override
+    public boolean shouldWatchRegistry() {
+        return configInstance.getBooleanProperty(namespace + SHOULD_WATCH_REGISTRY_KEY,
+                false).get();
+    }
+
+    @Override
+    public int getRegistryWatchTimeoutSeconds() {
+        return configInstance.getIntProperty(namespace + REGISTRY_WATCH_TIMEOUT_KEY, 5).get();
+    }
+
     @Nullable
     @Override
     public String fetchRegistryForRemoteRegions() {
@@ -476,6 +493,11 @@ public class DefaultEurekaClientConfig implements EurekaClientConfig {
                 namespace + CACHEREFRESH_BACKOFF_BOUND_KEY, Values.DEFAULT_EXECUTOR_THREAD_POOL_BACKOFF_BOUND).get();
     }
 
+    @Override
+    public boolean shouldUseVirtualThreads() {
+        return configInstance.getBooleanProperty(namespace + SHOULD_USE_VIRTUAL_THREADS_KEY, false).get();
+    }
+
     @Override
     public String getDollarReplacement() {
         return configInstance.getStringProperty(
@@ -512,6 +534,12 @@ public class DefaultEurekaClientConfig implements EurekaClientConfig {
                 namespace + CLIENT_DECODER_NAME_KEY, null).get();
     }
 
+    @Override
+    public boolean shouldDecodeRegistryInParallel() {
+        return configInstance.getBooleanProperty(namespace + SHOULD_DECODE_REGISTRY_IN_PARALLEL_KEY,
+                false).get();
+    }
+
     @Override
     public String getClientDataAccept() {
         return configInstance.getStringProperty(
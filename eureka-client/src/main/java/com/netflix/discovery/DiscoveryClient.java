@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -58,7 +59,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.netflix.appinfo.ApplicationInfoManager;
 import com.netflix.appinfo.HealthCheckCallback;
@@ -72,6 +72,8 @@ import com.netflix.discovery.shared.Application;
 import com.netflix.discovery.shared.Applications;
 import com.netflix.discovery.shared.resolver.ClosableResolver;
 import com.netflix.discovery.shared.resolver.aws.ApplicationsResolver;
+import com.netflix.discovery.shared.selector.InstanceSelector;
+import com.netflix.discovery.shared.selector.RoundRobinInstanceSelector;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
 import com.netflix.discovery.shared.transport.EurekaHttpClientFactory;
 import com.netflix.discovery.shared.transport.EurekaHttpClients;
@@ -83,6 +85,7 @@ import com.netflix.discovery.shared.transport.jersey.Jersey1DiscoveryClientOptio
 import com.netflix.discovery.shared.transport.jersey.Jersey1TransportClientFactories;
 import com.netflix.discovery.shared.transport.jersey.TransportClientFactories;
 import com.netflix.discovery.util.ThresholdLevelsMetric;
+import com.netflix.discovery.util.VirtualThreads;
 import com.netflix.servo.annotations.DataSourceType;
 import com.netflix.servo.monitor.Counter;
 import com.netflix.servo.monitor.Monitors;
@@ -163,6 +166,7 @@ public class DiscoveryClient implements EurekaClient {
     private final Provider<HealthCheckHandler> healthCheckHandlerProvider;
     private final Provider<HealthCheckCallback> healthCheckCallbackProvider;
     private final PreRegistrationHandler preRegistrationHandler;
+    private final InstanceSelector instanceSelector;
     private final AtomicReference<Applications> localRegionApps = new AtomicReference<>();
     private final Lock fetchRegistryUpdateLock = new ReentrantLock();
     // monotonically increasing generation counter to ensure stale threads do not reset registry to an older version
@@ -187,6 +191,7 @@ public class DiscoveryClient implements EurekaClient {
     private ApplicationInfoManager.StatusChangeListener statusChangeListener;
 
     private InstanceInfoReplicator instanceInfoReplicator;
+    private RegistryWatcher registryWatcher;
 
     private volatile int registrySize = 0;
     private volatile long lastSuccessfulRegistryFetchTimestamp = -1;
@@ -343,6 +348,9 @@ public class DiscoveryClient implements EurekaClient {
             this.healthCheckHandlerProvider = null;
             this.preRegistrationHandler = null;
         }
+        this.instanceSelector = args != null && args.instanceSelector != null
+                ? args.instanceSelector
+                : new RoundRobinInstanceSelector();
         
         this.applicationInfoManager = applicationInfoManager;
         InstanceInfo myInfo = applicationInfoManager.getInfo();
@@ -405,28 +413,20 @@ public class DiscoveryClient implements EurekaClient {
 
         try {
             // default size of 2 - 1 each for heartbeat and cacheRefresh
+            boolean useVirtualThreads = clientConfig.shouldUseVirtualThreads();
             scheduler = Executors.newScheduledThreadPool(2,
-                    new ThreadFactoryBuilder()
-                            .setNameFormat("DiscoveryClient-%d")
-                            .setDaemon(true)
-                            .build());
+                    VirtualThreads.newThreadFactory("DiscoveryClient-%d", useVirtualThreads));
 
             heartbeatExecutor = new ThreadPoolExecutor(
                     1, clientConfig.getHeartbeatExecutorThreadPoolSize(), 0, TimeUnit.SECONDS,
                     new SynchronousQueue<Runnable>(),
-                    new ThreadFactoryBuilder()
-                            .setNameFormat("DiscoveryClient-HeartbeatExecutor-%d")
-                            .setDaemon(true)
-                            .build()
+                    VirtualThreads.newThreadFactory("DiscoveryClient-HeartbeatExecutor-%d", useVirtualThreads)
             );  // use direct handoff
 
             cacheRefreshExecutor = new ThreadPoolExecutor(
                     1, clientConfig.getCacheRefreshExecutorThreadPoolSize(), 0, TimeUnit.SECONDS,
                     new SynchronousQueue<Runnable>(),
-                    new ThreadFactoryBuilder()
-                            .setNameFormat("DiscoveryClient-CacheRefreshExecutor-%d")
-                            .setDaemon(true)
-                            .build()
+                    VirtualThreads.newThreadFactory("DiscoveryClient-CacheRefreshExecutor-%d", useVirtualThreads)
             );  // use direct handoff
 
             eurekaTransport = new EurekaTransport();
@@ -844,6 +844,20 @@ public class DiscoveryClient implements EurekaClient {
      */
     @Override
     public InstanceInfo getNextServerFromEureka(String virtualHostname, boolean secure) {
+        return getNextServerFromEureka(virtualHostname, secure, instanceSelector);
+    }
+
+    /**
+     * Gets the next instance to send a request to for the given VIP address, as picked by the given selector
+     * rather than the one this client was configured with.
+     *
+     * @param virtualHostname the virtual host name that is associated to the servers.
+     * @param secure indicates whether this is a HTTP or a HTTPS request - secure means HTTPS.
+     * @param selector the selector picking among the instances of the VIP address.
+     * @return the {@link InstanceInfo} information which contains the public host name of the next server in line
+     * to process the request based on the selector.
+     */
+    public InstanceInfo getNextServerFromEureka(String virtualHostname, boolean secure, InstanceSelector selector) {
         LOOKUP_GET_NEXT_SERVER.increment();
         List<InstanceInfo> instanceInfoList = this.getInstancesByVipAddress(
                 virtualHostname, secure);
@@ -851,10 +865,7 @@ public class DiscoveryClient implements EurekaClient {
             throw new RuntimeException("No matches for the virtual host name :"
                     + virtualHostname);
         }
-        Applications apps = this.localRegionApps.get();
-        int index = (int) (apps.getNextIndex(virtualHostname,
-                secure).incrementAndGet() % instanceInfoList.size());
-        return instanceInfoList.get(index);
+        return selector.select(virtualHostname, instanceInfoList);
     }
 
     /**
@@ -1033,7 +1044,6 @@ public class DiscoveryClient implements EurekaClient {
             } else {
                 getAndUpdateDelta(applications);
             }
-            applications.setAppsHashCode(applications.getReconcileHashCode());
             logTotalInstances();
         } catch (Throwable e) {
             logger.info(PREFIX + "{} - was unable to refresh its cache! This periodic background refresh will be retried in {} seconds. status = {} stacktrace = {}",
@@ -1126,8 +1136,10 @@ public class DiscoveryClient implements EurekaClient {
         if (apps == null) {
             logger.error("The application is null for some reason. Not storing this information");
         } else if (fetchRegistryGeneration.compareAndSet(currentUpdateGeneration, currentUpdateGeneration + 1)) {
-            localRegionApps.set(this.filterAndShuffle(apps));
             logger.debug("Got full registry with apps hashcode {}", apps.getAppsHashCode());
+            Applications filtered = this.filterAndShuffle(apps);
+            filtered.setAppsHashCode(filtered.getReconcileHashCode());
+            localRegionApps.set(filtered);
         } else {
             logger.warn("Not updating applications as another thread is updating it already");
         }
@@ -1150,7 +1162,15 @@ public class DiscoveryClient implements EurekaClient {
         long currentUpdateGeneration = fetchRegistryGeneration.get();
 
         Applications delta = null;
-        EurekaHttpResponse<Applications> httpResponse = eurekaTransport.queryClient.getDelta(remoteRegionsRef.get());
+        EurekaHttpResponse<Applications> httpResponse;
+        Long sinceVersion = applications.getVersion();
+        boolean incremental = clientConfig.shouldFetchIncrementalDelta() || clientConfig.shouldWatchRegistry();
+        if (incremental && sinceVersion != null && sinceVersion >= 0) {
+            // a 404 tells that the changes since our version are gone, and leads to the full registry fetch below
+            httpResponse = eurekaTransport.queryClient.getDelta(sinceVersion, remoteRegionsRef.get());
+        } else {
+            httpResponse = eurekaTransport.queryClient.getDelta(remoteRegionsRef.get());
+        }
         if (httpResponse.getStatusCode() == Status.OK.getStatusCode()) {
             delta = httpResponse.getEntity();
         }
@@ -1165,7 +1185,7 @@ public class DiscoveryClient implements EurekaClient {
             if (fetchRegistryUpdateLock.tryLock()) {
                 try {
                     updateDelta(delta);
-                    reconcileHashCode = getReconcileHashCode(applications);
+                    reconcileHashCode = getReconcileHashCode(getApplications());
                 } finally {
                     fetchRegistryUpdateLock.unlock();
                 }
@@ -1233,11 +1253,13 @@ public class DiscoveryClient implements EurekaClient {
         }
 
         if (fetchRegistryGeneration.compareAndSet(currentUpdateGeneration, currentUpdateGeneration + 1)) {
-            localRegionApps.set(this.filterAndShuffle(serverApps));
-            getApplications().setVersion(delta.getVersion());
+            Applications filtered = this.filterAndShuffle(serverApps);
+            filtered.setVersion(delta.getVersion());
+            filtered.setAppsHashCode(filtered.getReconcileHashCode());
+            localRegionApps.set(filtered);
             logger.debug(
                     "The Reconcile hashcodes after complete sync up, client : {}, server : {}.",
-                    getApplications().getReconcileHashCode(),
+                    filtered.getAppsHashCode(),
                     delta.getAppsHashCode());
         } else {
             logger.warn("Not setting the applications map as another thread has advanced the update generation");
@@ -1248,23 +1270,33 @@ public class DiscoveryClient implements EurekaClient {
      * Updates the delta information fetches from the eureka server into the
      * local cache.
      *
+     * <p>
+     * The registries held locally are never modified, as lookups read them without locking. The delta is applied to
+     * copies sharing the applications it does not touch, which are then published at once.
+     * </p>
+     *
      * @param delta
      *            the delta information received from eureka server in the last
      *            poll cycle.
      */
     private void updateDelta(Applications delta) {
+        Set<String> changedAppNames = new HashSet<>();
+        for (Application app : delta.getRegisteredApplications()) {
+            changedAppNames.add(app.getName().toUpperCase(Locale.ROOT));
+        }
+        Applications localApps = copyForUpdate(getApplications(), changedAppNames);
+        Map<String, Applications> remoteApps = new ConcurrentHashMap<>();
+        for (Map.Entry<String, Applications> entry : remoteRegionVsApps.entrySet()) {
+            remoteApps.put(entry.getKey(), copyForUpdate(entry.getValue(), changedAppNames));
+        }
+
         int deltaCount = 0;
         for (Application app : delta.getRegisteredApplications()) {
             for (InstanceInfo instance : app.getInstances()) {
-                Applications applications = getApplications();
+                Applications applications = localApps;
                 String instanceRegion = instanceRegionChecker.getInstanceRegion(instance);
                 if (!instanceRegionChecker.isLocalRegion(instanceRegion)) {
-                    Applications remoteApps = remoteRegionVsApps.get(instanceRegion);
-                    if (null == remoteApps) {
-                        remoteApps = new Applications();
-                        remoteRegionVsApps.put(instanceRegion, remoteApps);
-                    }
-                    applications = remoteApps;
+                    applications = remoteApps.computeIfAbsent(instanceRegion, region -> new Applications());
                 }
 
                 ++deltaCount;
@@ -1302,13 +1334,21 @@ public class DiscoveryClient implements EurekaClient {
         }
         logger.debug("The total number of instances fetched by the delta processor : {}", deltaCount);
 
-        getApplications().setVersion(delta.getVersion());
-        getApplications().shuffleInstances(clientConfig.shouldFilterOnlyUpInstances());
+        localApps.setVersion(delta.getVersion());
+        localApps.shuffleInstances(clientConfig.shouldFilterOnlyUpInstances());
+        localApps.setAppsHashCode(localApps.getReconcileHashCode());
 
-        for (Applications applications : remoteRegionVsApps.values()) {
+        for (Applications applications : remoteApps.values()) {
             applications.setVersion(delta.getVersion());
             applications.shuffleInstances(clientConfig.shouldFilterOnlyUpInstances());
         }
+
+        this.remoteRegionVsApps = remoteApps;
+        localRegionApps.set(localApps);
+    }
+
+    private static Applications copyForUpdate(@Nullable Applications source, Set<String> appNamesToUpdate) {
+        return source == null ? new Applications() : source.copyForUpdate(appNamesToUpdate);
     }
 
     /**
@@ -1331,6 +1371,11 @@ public class DiscoveryClient implements EurekaClient {
             scheduler.schedule(
                     cacheRefreshTask,
                     registryFetchIntervalSeconds, TimeUnit.SECONDS);
+
+            if (clientConfig.shouldWatchRegistry()) {
+                registryWatcher = new RegistryWatcher(this, clientConfig);
+                registryWatcher.start();
+            }
         }
 
         if (clientConfig.shouldRegisterWithEureka()) {
@@ -1357,7 +1402,8 @@ public class DiscoveryClient implements EurekaClient {
                     this,
                     instanceInfo,
                     clientConfig.getInstanceInfoReplicationIntervalSeconds(),
-                    2); // burstSize
+                    2, // burstSize
+                    clientConfig.shouldUseVirtualThreads());
 
             statusChangeListener = new ApplicationInfoManager.StatusChangeListener() {
                 @Override
@@ -1386,6 +1432,9 @@ public class DiscoveryClient implements EurekaClient {
         if (instanceInfoReplicator != null) {
             instanceInfoReplicator.stop();
         }
+        if (registryWatcher != null) {
+            registryWatcher.stop();
+        }
         if (heartbeatExecutor != null) {
             heartbeatExecutor.shutdownNow();
         }
@@ -1507,6 +1556,20 @@ public class DiscoveryClient implements EurekaClient {
         return this.healthCheckHandlerRef.get();
     }
 
+    /**
+     * @return the delta version of the local region registry.
+     */
+    Long getLocalRegistryVersion() {
+        return localRegionApps.get().getVersion();
+    }
+
+    /**
+     * Waits until the eureka server has registry changes after the given delta version.
+     */
+    EurekaHttpResponse<Void> watchRegistry(long sinceVersion, long timeoutMs) {
+        return eurekaTransport.queryClient.watchDelta(sinceVersion, timeoutMs);
+    }
+
     /**
      * The task that fetches the registry information at specified intervals.
      *
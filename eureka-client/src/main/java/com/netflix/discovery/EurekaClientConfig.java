@@ -368,6 +368,56 @@ public interface EurekaClientConfig {
      */
     boolean shouldDisableDelta();
 
+    /**
+     * Indicates whether delta fetches should only ask for the changes that happened after the version of the
+     * last delta applied, instead of all the changes retained by the eureka server.
+     *
+     * <p>
+     * This reduces the size of the deltas, and the time spent applying them, to the changes actually missed by
+     * the client. If the server no longer has all these changes, or does not support versioned deltas, the client
+     * falls back to the full registry fetch or to the regular delta respectively.
+     * </p>
+     * <p>
+     * <em>The changes are effective at runtime at the next registry fetch cycle as specified by
+     * {@link #getRegistryFetchIntervalSeconds()}</em>
+     * </p>
+     *
+     * @return true to fetch the changes since the last applied delta, false to fetch the regular delta.
+     */
+    default boolean shouldFetchIncrementalDelta() {
+        return false;
+    }
+
+    /**
+     * Indicates whether the client should watch the eureka server for registry changes, and fetch them as soon as
+     * they happen rather than at the next registry fetch cycle. Watching implies fetching incremental deltas, see
+     * {@link #shouldFetchIncrementalDelta()}. The periodic registry fetch keeps running, and is what the client
+     * relies on if the server does not support watching.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return true to watch the registry for changes, false otherwise.
+     */
+    default boolean shouldWatchRegistry() {
+        return false;
+    }
+
+    /**
+     * Indicates how long a single registry watch request waits for changes on the eureka server. This must be
+     * lower than {@link #getEurekaServerReadTimeoutSeconds()}.
+     *
+     * <p>
+     * <em>The changes are effective at runtime at the next watch request.</em>
+     * </p>
+     *
+     * @return the registry watch timeout in seconds.
+     */
+    default int getRegistryWatchTimeoutSeconds() {
+        return 5;
+    }
+
     /**
      * Comma separated list of regions for which the eureka registry information will be fetched. It is mandatory to
      * define the availability zones for each of these regions as returned by {@link #getAvailabilityZones(String)}.
@@ -509,6 +559,21 @@ public interface EurekaClientConfig {
      */
     int getCacheRefreshExecutorExponentialBackOffBound();
 
+    /**
+     * Indicates whether the heartbeat, cache refresh, instance info replication and endpoint resolution tasks run on
+     * virtual threads rather than platform threads. The pools keep their configured sizes. Virtual threads are only
+     * available on JDK 21 and later; platform threads are used on older JVMs whatever this setting.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return true to run the client tasks on virtual threads when the JVM supports them, false otherwise.
+     */
+    default boolean shouldUseVirtualThreads() {
+        return false;
+    }
+
     /**
      * Get a replacement string for Dollar sign <code>$</code> during serializing/deserializing information in eureka server.
      *
@@ -554,10 +619,28 @@ public interface EurekaClientConfig {
     /**
      * This is a transient config and once the latest codecs are stable, can be removed (as there will only be one)
      *
+     * Setting it to <code>JacksonSmile</code> makes the client ask the eureka servers for the binary Smile encoding of
+     * the registry, which is smaller and faster to parse. Servers that do not support it fall back to JSON.
+     *
      * @return the class name of the decoding codec to use for the client. If none set a default codec will be used
      */
     String getDecoderName();
 
+    /**
+     * Indicates whether the registry payloads decoded by the Jackson codecs should have their applications
+     * deserialized in parallel, on the common fork-join pool. This shortens the decoding of large registries, most
+     * noticeably the first full fetch at startup, at the cost of using more CPU cores meanwhile.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return true to decode the applications of a registry payload in parallel, false otherwise.
+     */
+    default boolean shouldDecodeRegistryInParallel() {
+        return false;
+    }
+
     /**
      * @return {@link com.netflix.appinfo.EurekaAccept#name()} for client data accept
      */
@@ -1,8 +1,8 @@
 package com.netflix.discovery;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.util.RateLimiter;
+import com.netflix.discovery.util.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,13 +41,15 @@ class InstanceInfoReplicator implements Runnable {
     private final int allowedRatePerMinute;
 
     InstanceInfoReplicator(DiscoveryClient discoveryClient, InstanceInfo instanceInfo, int replicationIntervalSeconds, int burstSize) {
+        this(discoveryClient, instanceInfo, replicationIntervalSeconds, burstSize, false);
+    }
+
+    InstanceInfoReplicator(DiscoveryClient discoveryClient, InstanceInfo instanceInfo, int replicationIntervalSeconds, int burstSize,
+                           boolean useVirtualThreads) {
         this.discoveryClient = discoveryClient;
         this.instanceInfo = instanceInfo;
         this.scheduler = Executors.newScheduledThreadPool(1,
-                new ThreadFactoryBuilder()
-                        .setNameFormat("DiscoveryClient-InstanceInfoReplicator-%d")
-                        .setDaemon(true)
-                        .build());
+                VirtualThreads.newThreadFactory("DiscoveryClient-InstanceInfoReplicator-%d", useVirtualThreads));
 
         this.scheduledPeriodicRef = new AtomicReference<Future>();
 
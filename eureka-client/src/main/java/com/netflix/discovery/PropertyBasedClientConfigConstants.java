@@ -22,16 +22,21 @@ final class PropertyBasedClientConfigConstants {
     static final String HEARTBEAT_BACKOFF_BOUND_KEY = "client.heartbeat.exponentialBackOffBound";
     static final String CACHEREFRESH_THREADPOOL_SIZE_KEY = "client.cacheRefresh.threadPoolSize";
     static final String CACHEREFRESH_BACKOFF_BOUND_KEY = "client.cacheRefresh.exponentialBackOffBound";
+    static final String SHOULD_USE_VIRTUAL_THREADS_KEY = "client.useVirtualThreads";
 
     static final String SHOULD_UNREGISTER_ON_SHUTDOWN_KEY = "shouldUnregisterOnShutdown";
     static final String SHOULD_ONDEMAND_UPDATE_STATUS_KEY = "shouldOnDemandUpdateStatusChange";
     static final String SHOULD_ENFORCE_REGISTRATION_AT_INIT = "shouldEnforceRegistrationAtInit";
     static final String SHOULD_DISABLE_DELTA_KEY = "disableDelta";
+    static final String SHOULD_FETCH_INCREMENTAL_DELTA_KEY = "fetchIncrementalDelta";
+    static final String SHOULD_WATCH_REGISTRY_KEY = "watchRegistry";
+    static final String REGISTRY_WATCH_TIMEOUT_KEY = "registryWatchTimeoutSeconds";
     static final String SHOULD_FETCH_REMOTE_REGION_KEY = "fetchRemoteRegionsRegistry";
     static final String SHOULD_FILTER_ONLY_UP_INSTANCES_KEY = "shouldFilterOnlyUpInstances";
     static final String FETCH_SINGLE_VIP_ONLY_KEY = "registryRefreshSingleVipAddress";
     static final String CLIENT_ENCODER_NAME_KEY = "encoderName";
     static final String CLIENT_DECODER_NAME_KEY = "decoderName";
+    static final String SHOULD_DECODE_REGISTRY_IN_PARALLEL_KEY = "decodeRegistryInParallel";
     static final String CLIENT_DATA_ACCEPT_KEY = "clientDataAccept";
 
     static final String BACKUP_REGISTRY_CLASSNAME_KEY = "backupregistry";
@@ -0,0 +1,101 @@
+package com.netflix.discovery;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A task watching the eureka server for registry changes, and refreshing the local registry as soon as there are
+ * changes after its version. Properties of this task are:
+ * - a single thread runs the watch requests back to back, each of them blocking on the server until the registry
+ *   changes or the watch timeout elapses
+ * - whenever the server is unable to watch, or rejects the watch because too many clients are watching, or a
+ *   refresh triggered by a watch did not advance the local version, the task backs off for a registry fetch
+ *   interval, so it never polls more often than the periodic refresh
+ *
+ * The periodic registry refresh keeps running independently, and covers the changes from remote regions which
+ * are not watched.
+ */
+class RegistryWatcher implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(RegistryWatcher.class);
+
+    private final DiscoveryClient discoveryClient;
+    private final EurekaClientConfig clientConfig;
+    private final ExecutorService executor;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    RegistryWatcher(DiscoveryClient discoveryClient, EurekaClientConfig clientConfig) {
+        this.discoveryClient = discoveryClient;
+        this.clientConfig = clientConfig;
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("DiscoveryClient-RegistryWatcher-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            executor.submit(this);
+        }
+    }
+
+    public void stop() {
+        started.set(false);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void run() {
+        while (started.get() && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (!watchOnce()) {
+                    TimeUnit.SECONDS.sleep(clientConfig.getRegistryFetchIntervalSeconds());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                logger.warn("Registry watch failed", e);
+                try {
+                    TimeUnit.SECONDS.sleep(clientConfig.getRegistryFetchIntervalSeconds());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        logger.info("Registry watcher stopped");
+    }
+
+    /**
+     * @return false if the watch should back off before the next request.
+     */
+    private boolean watchOnce() {
+        Long version = discoveryClient.getLocalRegistryVersion();
+        if (version == null || version < 0) {
+            return false;
+        }
+        EurekaHttpResponse<Void> httpResponse = discoveryClient.watchRegistry(
+                version, TimeUnit.SECONDS.toMillis(clientConfig.getRegistryWatchTimeoutSeconds()));
+        int statusCode = httpResponse.getStatusCode();
+        if (statusCode == 304) {
+            return true;
+        }
+        if (statusCode == 429) {
+            logger.debug("Registry watch rejected as too many clients are watching; relying on the periodic refresh");
+            return false;
+        }
+        if (statusCode != 200) {
+            logger.debug("Registry watch not available (statusCode={})", statusCode);
+            return false;
+        }
+        discoveryClient.refreshRegistry();
+        Long refreshedVersion = discoveryClient.getLocalRegistryVersion();
+        return refreshedVersion != null && !refreshedVersion.equals(version);
+    }
+}
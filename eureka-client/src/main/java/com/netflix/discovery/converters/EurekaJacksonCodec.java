@@ -3,18 +3,25 @@ package com.netflix.discovery.converters;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -36,9 +43,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.netflix.appinfo.AmazonInfo;
 import com.netflix.appinfo.DataCenterInfo;
 import com.netflix.appinfo.DataCenterInfo.Name;
@@ -140,14 +149,35 @@ public class EurekaJacksonCodec {
     }
     
     public EurekaJacksonCodec() {
-        this(formatKey(loadConfig(), VERSIONS_DELTA_TEMPLATE), formatKey(loadConfig(), APPS_HASHCODE_TEMPTE));
+        this(formatKey(loadConfig(), VERSIONS_DELTA_TEMPLATE), formatKey(loadConfig(), APPS_HASHCODE_TEMPTE),
+                isParallelDecode(loadConfig()));
         
     }
     
     public EurekaJacksonCodec(String versionDeltaKey, String appsHashCodeKey) {
+        this(versionDeltaKey, appsHashCodeKey, false);
+    }
+
+    /**
+     * @param parallelDecode whether the applications of a registry are deserialized in parallel, see
+     *                       {@link EurekaClientConfig#shouldDecodeRegistryInParallel()}
+     */
+    public EurekaJacksonCodec(String versionDeltaKey, String appsHashCodeKey, boolean parallelDecode) {
+        this(new ObjectMapper(), versionDeltaKey, appsHashCodeKey, parallelDecode);
+    }
+
+    protected EurekaJacksonCodec(ObjectMapper mapper, String versionDeltaKey, String appsHashCodeKey) {
+        this(mapper, versionDeltaKey, appsHashCodeKey, false);
+    }
+
+    /**
+     * Registers the eureka serializers with the given mapper, which lets other data formats supported by Jackson
+     * reuse them.
+     */
+    protected EurekaJacksonCodec(ObjectMapper mapper, String versionDeltaKey, String appsHashCodeKey, boolean parallelDecode) {
         this.versionDeltaKey = versionDeltaKey;
         this.appHashCodeKey = appsHashCodeKey;
-        this.mapper = new ObjectMapper();
+        this.mapper = mapper;
         this.mapper.setSerializationInclusion(Include.NON_NULL);
 
         SimpleModule module = new SimpleModule("eureka1.x", VERSION);
@@ -159,7 +189,7 @@ public class EurekaJacksonCodec {
         module.addDeserializer(LeaseInfo.class, new LeaseInfoDeserializer());
         module.addDeserializer(InstanceInfo.class, new InstanceInfoDeserializer(this.mapper));
         module.addDeserializer(Application.class, new ApplicationDeserializer(this.mapper));
-        module.addDeserializer(Applications.class, new ApplicationsDeserializer(this.mapper, this.versionDeltaKey, this.appHashCodeKey));
+        module.addDeserializer(Applications.class, new ApplicationsDeserializer(this.mapper, this.versionDeltaKey, this.appHashCodeKey, parallelDecode));
         this.mapper.registerModule(module);
 
         Map<Class<?>, Supplier<ObjectReader>> readers = new HashMap<>();
@@ -187,6 +217,10 @@ public class EurekaJacksonCodec {
         return appHashCodeKey;
     }
 
+    protected static boolean isParallelDecode(EurekaClientConfig clientConfig) {
+        return clientConfig != null && clientConfig.shouldDecodeRegistryInParallel();
+    }
+
     protected static String formatKey(EurekaClientConfig clientConfig, String keyTemplate) {
         String replacement;
         if (clientConfig == null) {
@@ -238,6 +272,79 @@ public class EurekaJacksonCodec {
         }
     }
 
+    /**
+     * Writes a registry in the format of {@link Applications}, straight from the instances of each application, so
+     * the {@link Application}s and their indexes do not have to be built only to be encoded.
+     */
+    public void writeApplicationsTo(long version, String appsHashCode,
+                                    Map<String, ? extends Collection<InstanceInfo>> instancesByApp,
+                                    OutputStream entityStream) throws IOException {
+        ObjectWriter instanceWriter = newInstanceWriter();
+        try (JsonGenerator jgen = mapper.getFactory().createGenerator(entityStream)) {
+            writeApplicationsStart(jgen, version, appsHashCode);
+            for (Map.Entry<String, ? extends Collection<InstanceInfo>> entry : instancesByApp.entrySet()) {
+                writeApplication(jgen, instanceWriter, entry.getKey(), entry.getValue());
+            }
+            writeApplicationsEnd(jgen);
+        }
+    }
+
+    /**
+     * Writes a registry in the format of {@link Applications}, from applications encoded beforehand with
+     * {@link #writeApplicationToString(String, Collection)}.
+     */
+    public void writeApplicationsTo(long version, String appsHashCode, Iterable<String> encodedApplications,
+                                    OutputStream entityStream) throws IOException {
+        try (JsonGenerator jgen = mapper.getFactory().createGenerator(entityStream)) {
+            writeApplicationsStart(jgen, version, appsHashCode);
+            for (String encodedApplication : encodedApplications) {
+                jgen.writeRawValue(encodedApplication);
+            }
+            writeApplicationsEnd(jgen);
+        }
+    }
+
+    /**
+     * Encodes an application in the format of {@link Application}, straight from its instances.
+     */
+    public String writeApplicationToString(String appName, Collection<InstanceInfo> instances) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator jgen = mapper.getFactory().createGenerator(writer)) {
+            writeApplication(jgen, newInstanceWriter(), appName, instances);
+        }
+        return writer.toString();
+    }
+
+    private ObjectWriter newInstanceWriter() {
+        return mapper.writerFor(InstanceInfo.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private void writeApplicationsStart(JsonGenerator jgen, long version, String appsHashCode) throws IOException {
+        jgen.writeStartObject();
+        jgen.writeObjectFieldStart("applications");
+        jgen.writeStringField(versionDeltaKey, Long.toString(version));
+        jgen.writeStringField(appHashCodeKey, appsHashCode);
+        jgen.writeArrayFieldStart(NODE_APP);
+    }
+
+    private static void writeApplicationsEnd(JsonGenerator jgen) throws IOException {
+        jgen.writeEndArray();
+        jgen.writeEndObject();
+        jgen.writeEndObject();
+    }
+
+    private static void writeApplication(JsonGenerator jgen, ObjectWriter instanceWriter, String appName,
+                                         Collection<InstanceInfo> instances) throws IOException {
+        jgen.writeStartObject();
+        jgen.writeStringField(ELEM_NAME, appName);
+        jgen.writeArrayFieldStart(ELEM_INSTANCE);
+        for (InstanceInfo instanceInfo : instances) {
+            instanceWriter.writeValue(jgen, instanceInfo);
+        }
+        jgen.writeEndArray();
+        jgen.writeEndObject();
+    }
+
     public <T> String writeToString(T object) {
         try {
             ObjectWriter writer = objectWriterByClass.get(object.getClass());
@@ -786,15 +893,34 @@ public class EurekaJacksonCodec {
         }
     }
 
+    /**
+     * Deserializes a registry, one application after the other by default.
+     *
+     * <p>
+     * In parallel mode, the applications are still tokenized sequentially, as a parser cannot be shared, but each
+     * one is only buffered as tokens, and the costlier building of the {@link InstanceInfo}s is done on the common
+     * fork-join pool, {@link #PARALLEL_DECODE_CHUNK_SIZE} applications per task. {@link DeserializerStringCache} is
+     * not thread safe, so every task interns its strings in a cache of its own. The applications are added to the
+     * registry in the order they were read.
+     * </p>
+     */
     public static class ApplicationsDeserializer extends JsonDeserializer<Applications> {
+        static final int PARALLEL_DECODE_CHUNK_SIZE = 16;
+
         protected ObjectMapper mapper;
         protected String versionDeltaKey;
         protected String appHashCodeKey;
+        protected boolean parallelDecode;
 
         public ApplicationsDeserializer(ObjectMapper mapper, String versionDeltaKey, String appHashCodeKey) {
+            this(mapper, versionDeltaKey, appHashCodeKey, false);
+        }
+
+        public ApplicationsDeserializer(ObjectMapper mapper, String versionDeltaKey, String appHashCodeKey, boolean parallelDecode) {
             this.mapper = mapper;
             this.versionDeltaKey = versionDeltaKey;
             this.appHashCodeKey = appHashCodeKey;
+            this.parallelDecode = parallelDecode;
         }
 
         @Override
@@ -817,7 +943,10 @@ public class EurekaJacksonCodec {
                     }
                     else if (NODE_APP.equals(fieldName)) {
                         ObjectReader applicationReader = DeserializerStringCache.init(mapper.readerFor(Application.class), context);
-                        if (jsonToken == JsonToken.START_ARRAY) {
+                        if (jsonToken == JsonToken.START_ARRAY && parallelDecode) {
+                            readApplicationsInParallel(jp, context, apps);
+                        }
+                        else if (jsonToken == JsonToken.START_ARRAY) {
                             while (jp.nextToken() != JsonToken.END_ARRAY) {
                                 apps.addApplication(applicationReader.readValue(jp));
                             }                            
@@ -830,6 +959,60 @@ public class EurekaJacksonCodec {
             }
             return apps;
         }
+
+        private void readApplicationsInParallel(JsonParser jp, DeserializationContext context, Applications apps) throws IOException {
+            List<Future<List<Application>>> chunks = new ArrayList<>();
+            List<TokenBuffer> chunk = new ArrayList<>(PARALLEL_DECODE_CHUNK_SIZE);
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                TokenBuffer buffer = new TokenBuffer(jp, context);
+                buffer.copyCurrentStructure(jp);
+                chunk.add(buffer);
+                if (chunk.size() == PARALLEL_DECODE_CHUNK_SIZE) {
+                    chunks.add(submitChunk(chunk));
+                    chunk = new ArrayList<>(PARALLEL_DECODE_CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(submitChunk(chunk));
+            }
+            try {
+                for (Future<List<Application>> future : chunks) {
+                    for (Application application : future.get()) {
+                        apps.addApplication(application);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JsonParseException(jp, "processing aborted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new JsonParseException(jp, "cannot deserialize application", e.getCause());
+            } finally {
+                for (Future<List<Application>> future : chunks) {
+                    future.cancel(false);
+                }
+            }
+        }
+
+        private Future<List<Application>> submitChunk(List<TokenBuffer> chunk) {
+            return ForkJoinPool.commonPool().submit(() -> {
+                ObjectReader applicationReader = DeserializerStringCache.init(mapper.readerFor(Application.class));
+                try {
+                    List<Application> applications = new ArrayList<>(chunk.size());
+                    for (TokenBuffer buffer : chunk) {
+                        try (JsonParser parser = buffer.asParser(mapper)) {
+                            parser.nextToken();
+                            applications.add(applicationReader.readValue(parser));
+                        }
+                    }
+                    return applications;
+                } finally {
+                    DeserializerStringCache.clear(applicationReader, CacheScope.GLOBAL_SCOPE);
+                }
+            });
+        }
     }
 
 }
@@ -0,0 +1,87 @@
+package com.netflix.discovery.converters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.netflix.appinfo.InstanceInfo;
+
+import static com.netflix.discovery.converters.EurekaJacksonCodec.APPS_HASHCODE_TEMPTE;
+import static com.netflix.discovery.converters.EurekaJacksonCodec.VERSIONS_DELTA_TEMPLATE;
+import static com.netflix.discovery.converters.EurekaJacksonCodec.formatKey;
+import static com.netflix.discovery.converters.EurekaJacksonCodec.isParallelDecode;
+import static com.netflix.discovery.converters.EurekaJacksonCodec.loadConfig;
+
+/**
+ * Binary variant of {@link EurekaJacksonCodec}, encoding the same structure with the Jackson Smile format.
+ * Smile payloads are smaller and faster to parse than their JSON counterpart, as field names are back referenced
+ * and numbers are not written as text.
+ *
+ * <p>
+ * Smile content is binary, so its string form maps each byte to the ISO-8859-1 character of the same value.
+ * Applications encoded separately cannot be embedded in a Smile registry, as they would not share its back
+ * references, so only the methods of {@link EurekaJacksonCodec} that hold for Smile are provided.
+ * </p>
+ */
+public class EurekaSmileJacksonCodec {
+
+    private final EurekaJacksonCodec codec;
+
+    public EurekaSmileJacksonCodec() {
+        this(formatKey(loadConfig(), VERSIONS_DELTA_TEMPLATE), formatKey(loadConfig(), APPS_HASHCODE_TEMPTE),
+                isParallelDecode(loadConfig()));
+    }
+
+    public EurekaSmileJacksonCodec(String versionDeltaKey, String appsHashCodeKey) {
+        this(versionDeltaKey, appsHashCodeKey, false);
+    }
+
+    public EurekaSmileJacksonCodec(String versionDeltaKey, String appsHashCodeKey, boolean parallelDecode) {
+        this.codec = new EurekaJacksonCodec(new ObjectMapper(new SmileFactory()), versionDeltaKey, appsHashCodeKey,
+                parallelDecode);
+    }
+
+    public <T> T readValue(Class<T> type, InputStream entityStream) throws IOException {
+        return codec.readValue(type, entityStream);
+    }
+
+    /**
+     * @param text Smile content, with one ISO-8859-1 character per byte as returned by {@link #writeToString(Object)}
+     */
+    public <T> T readValue(Class<T> type, String text) throws IOException {
+        return codec.readValue(type, new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    public <T> void writeTo(T object, OutputStream entityStream) throws IOException {
+        codec.writeTo(object, entityStream);
+    }
+
+    /**
+     * @see EurekaJacksonCodec#writeApplicationsTo(long, String, Map, OutputStream)
+     */
+    public void writeApplicationsTo(long version, String appsHashCode,
+                                    Map<String, ? extends Collection<InstanceInfo>> instancesByApp,
+                                    OutputStream entityStream) throws IOException {
+        codec.writeApplicationsTo(version, appsHashCode, instancesByApp, entityStream);
+    }
+
+    /**
+     * @return the Smile content, with one ISO-8859-1 character per byte
+     */
+    public <T> String writeToString(T object) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            codec.writeTo(object, out);
+            return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot encode provided object", e);
+        }
+    }
+}
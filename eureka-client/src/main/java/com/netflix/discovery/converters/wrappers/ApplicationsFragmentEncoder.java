@@ -0,0 +1,27 @@
+package com.netflix.discovery.converters.wrappers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * An encoder that can write a registry from applications encoded separately, so the encoding of the applications
+ * which did not change can be reused.
+ */
+public interface ApplicationsFragmentEncoder extends ApplicationsStreamEncoder {
+
+    /**
+     * @return the application holding the given instances, encoded for
+     * {@link #encodeApplications(long, String, Iterable, OutputStream)}
+     */
+    String encodeApplication(String appName, Collection<InstanceInfo> instances) throws IOException;
+
+    /**
+     * @param encodedApplications the applications encoded by {@link #encodeApplication(String, Collection)}, in
+     *                            the order to write them
+     */
+    void encodeApplications(long version, String appsHashCode, Iterable<String> encodedApplications,
+                            OutputStream outputStream) throws IOException;
+}
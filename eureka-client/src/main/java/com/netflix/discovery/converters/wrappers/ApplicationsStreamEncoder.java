@@ -0,0 +1,23 @@
+package com.netflix.discovery.converters.wrappers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Applications;
+
+/**
+ * An encoder that can write a registry straight from its instances, in the same format as the
+ * {@link Applications} holding them, so large registries can be encoded without building their object graph first.
+ */
+public interface ApplicationsStreamEncoder extends EncoderWrapper {
+
+    /**
+     * @param instancesByApp the instances of each application, by application name, in the order to encode them
+     */
+    void encodeApplications(long version, String appsHashCode,
+                            Map<String, ? extends Collection<InstanceInfo>> instancesByApp,
+                            OutputStream outputStream) throws IOException;
+}
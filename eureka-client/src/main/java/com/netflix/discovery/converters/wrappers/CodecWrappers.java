@@ -3,12 +3,19 @@ package com.netflix.discovery.converters.wrappers;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.netflix.appinfo.EurekaAccept;
+import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.converters.EurekaJacksonCodec;
+import com.netflix.discovery.converters.EurekaSmileJacksonCodec;
 import com.netflix.discovery.converters.JsonXStream;
 import com.netflix.discovery.converters.KeyFormatter;
 import com.netflix.discovery.converters.XmlXStream;
@@ -131,6 +138,8 @@ public final class CodecWrappers {
             return new JacksonXmlMini();
         } else if (getCodecName(XStreamXml.class).equals(name)) {
             return new XStreamXml();
+        } else if (getCodecName(JacksonSmile.class).equals(name)) {
+            return new JacksonSmile();
         } else {
             return null;
         }
@@ -280,7 +289,7 @@ public final class CodecWrappers {
         }
     }
 
-    public static class LegacyJacksonJson implements CodecWrapper {
+    public static class LegacyJacksonJson implements CodecWrapper, ApplicationsFragmentEncoder {
 
         protected final EurekaJacksonCodec codec = new EurekaJacksonCodec();
 
@@ -304,6 +313,73 @@ public final class CodecWrappers {
             codec.writeTo(object, outputStream);
         }
 
+        @Override
+        public void encodeApplications(long version, String appsHashCode,
+                                       Map<String, ? extends Collection<InstanceInfo>> instancesByApp,
+                                       OutputStream outputStream) throws IOException {
+            codec.writeApplicationsTo(version, appsHashCode, instancesByApp, outputStream);
+        }
+
+        @Override
+        public String encodeApplication(String appName, Collection<InstanceInfo> instances) throws IOException {
+            return codec.writeApplicationToString(appName, instances);
+        }
+
+        @Override
+        public void encodeApplications(long version, String appsHashCode, Iterable<String> encodedApplications,
+                                       OutputStream outputStream) throws IOException {
+            codec.writeApplicationsTo(version, appsHashCode, encodedApplications, outputStream);
+        }
+
+        @Override
+        public <T> T decode(String textValue, Class<T> type) throws IOException {
+            return codec.readValue(type, textValue);
+        }
+
+        @Override
+        public <T> T decode(InputStream inputStream, Class<T> type) throws IOException {
+            return codec.readValue(type, inputStream);
+        }
+    }
+
+    /**
+     * Binary codec encoding the same structure as {@link LegacyJacksonJson} with the Jackson Smile format. The string
+     * based methods hold the binary content with one ISO-8859-1 character per byte.
+     */
+    public static class JacksonSmile implements CodecWrapper, ApplicationsStreamEncoder {
+
+        public static final String MEDIA_TYPE_VALUE = "application/x-jackson-smile";
+        public static final MediaType MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+
+        protected final EurekaSmileJacksonCodec codec = new EurekaSmileJacksonCodec();
+
+        @Override
+        public String codecName() {
+            return getCodecName(this.getClass());
+        }
+
+        @Override
+        public boolean support(MediaType mediaType) {
+            return mediaType.isCompatible(MEDIA_TYPE);
+        }
+
+        @Override
+        public <T> String encode(T object) throws IOException {
+            return codec.writeToString(object);
+        }
+
+        @Override
+        public <T> void encode(T object, OutputStream outputStream) throws IOException {
+            codec.writeTo(object, outputStream);
+        }
+
+        @Override
+        public void encodeApplications(long version, String appsHashCode,
+                                       Map<String, ? extends Collection<InstanceInfo>> instancesByApp,
+                                       OutputStream outputStream) throws IOException {
+            codec.writeApplicationsTo(version, appsHashCode, instancesByApp, outputStream);
+        }
+
         @Override
         public <T> T decode(String textValue, Class<T> type) throws IOException {
             return codec.readValue(type, textValue);
@@ -336,7 +412,10 @@ public final class CodecWrappers {
 
         @Override
         public <T> void encode(T object, OutputStream outputStream) throws IOException {
-            codec.toXML(object, outputStream);
+            // XStream streams use the platform charset by default
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            codec.toXML(object, writer);
+            writer.flush();
         }
 
         @Override
@@ -346,7 +425,7 @@ public final class CodecWrappers {
 
         @Override
         public <T> T decode(InputStream inputStream, Class<T> type) throws IOException {
-            return (T) codec.fromXML(inputStream, type);
+            return (T) codec.fromXML(new InputStreamReader(inputStream, StandardCharsets.UTF_8), type);
         }
     }
 
@@ -374,7 +453,10 @@ public final class CodecWrappers {
 
         @Override
         public <T> void encode(T object, OutputStream outputStream) throws IOException {
-            codec.toXML(object, outputStream);
+            // XStream streams use the platform charset by default
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            codec.toXML(object, writer);
+            writer.flush();
         }
 
         @Override
@@ -384,7 +466,7 @@ public final class CodecWrappers {
 
         @Override
         public <T> T decode(InputStream inputStream, Class<T> type) throws IOException {
-            return (T) codec.fromXML(inputStream, type);
+            return (T) codec.fromXML(new InputStreamReader(inputStream, StandardCharsets.UTF_8), type);
         }
     }
 }
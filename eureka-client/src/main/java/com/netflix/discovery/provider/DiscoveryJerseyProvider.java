@@ -33,6 +33,7 @@ import java.lang.reflect.Type;
 import java.util.Map;
 
 import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
 import com.netflix.discovery.converters.wrappers.CodecWrappers.LegacyJacksonJson;
 import com.netflix.discovery.converters.wrappers.DecoderWrapper;
 import com.netflix.discovery.converters.wrappers.EncoderWrapper;
@@ -60,13 +61,19 @@ public class DiscoveryJerseyProvider implements MessageBodyWriter<Object>, Messa
     private final EncoderWrapper xmlEncoder;
     private final DecoderWrapper xmlDecoder;
 
+    // Binary registry encoding, only ever read by the client
+    private final DecoderWrapper smileDecoder;
+
     public DiscoveryJerseyProvider() {
         this(null, null);
     }
 
     public DiscoveryJerseyProvider(EncoderWrapper jsonEncoder, DecoderWrapper jsonDecoder) {
         this.jsonEncoder = jsonEncoder == null ? CodecWrappers.getEncoder(LegacyJacksonJson.class) : jsonEncoder;
-        this.jsonDecoder = jsonDecoder == null ? CodecWrappers.getDecoder(LegacyJacksonJson.class) : jsonDecoder;
+        // a Smile decoder only selects the binary encoding of the registry, JSON content is still decoded as such
+        this.jsonDecoder = jsonDecoder == null || jsonDecoder instanceof JacksonSmile
+                ? CodecWrappers.getDecoder(LegacyJacksonJson.class) : jsonDecoder;
+        this.smileDecoder = CodecWrappers.getDecoder(JacksonSmile.class);
         LOGGER.info("Using JSON encoding codec {}", this.jsonEncoder.codecName());
         LOGGER.info("Using JSON decoding codec {}", this.jsonDecoder.codecName());
 
@@ -95,6 +102,8 @@ public class DiscoveryJerseyProvider implements MessageBodyWriter<Object>, Messa
             decoder = xmlDecoder;
         } else if ("json".equalsIgnoreCase(mediaType.getSubtype())) {
             decoder = jsonDecoder;
+        } else if (isSmile(mediaType)) {
+            decoder = smileDecoder;
         } else {
             decoder = xmlDecoder; // default
         }
@@ -118,7 +127,7 @@ public class DiscoveryJerseyProvider implements MessageBodyWriter<Object>, Messa
 
     @Override
     public boolean isWriteable(Class serializableClass, Type type, Annotation[] annotations, MediaType mediaType) {
-        return isSupportedMediaType(mediaType) && isSupportedEntity(serializableClass);
+        return isSupportedMediaType(mediaType) && !isSmile(mediaType) && isSupportedEntity(serializableClass);
     }
 
     @Override
@@ -142,9 +151,17 @@ public class DiscoveryJerseyProvider implements MessageBodyWriter<Object>, Messa
         if (MediaType.APPLICATION_XML_TYPE.isCompatible(mediaType)) {
             return xmlDecoder != null;
         }
+        if (isSmile(mediaType)) {
+            return smileDecoder != null;
+        }
         return false;
     }
 
+    private static boolean isSmile(MediaType mediaType) {
+        return JacksonSmile.MEDIA_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+                && JacksonSmile.MEDIA_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
     /**
      * As content is cached, we expect both ends use UTF-8 always. If no content charset encoding is explicitly
      * defined, UTF-8 is assumed as a default.
@@ -20,14 +20,18 @@ import javax.annotation.Nullable;
 import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -70,6 +74,7 @@ public class Applications {
         // This avoids CLQ and Node allocations. 56% of VIPs have exactly 1 instance.
         private List<InstanceInfo> instances = Collections.emptyList();
         final AtomicLong roundRobinIndex = new AtomicLong(0);
+        // null when the instances are to be shuffled on first read
         private volatile List<InstanceInfo> vipList = Collections.emptyList();
 
         void addInstance(InstanceInfo info) {
@@ -107,12 +112,29 @@ public class Applications {
         }
 
         List<InstanceInfo> getVipList() {
-            return vipList;
+            List<InstanceInfo> list = vipList;
+            if (list == null) {
+                synchronized (this) {
+                    list = vipList;
+                    if (list == null) {
+                        if (instances.size() > 1) {
+                            Collections.shuffle(instances, ThreadLocalRandom.current());
+                        }
+                        list = instances;
+                        vipList = list;
+                    }
+                }
+            }
+            return list;
         }
 
         void setVipList(List<InstanceInfo> vipList) {
             this.vipList = vipList;
         }
+
+        void shuffleOnFirstRead() {
+            this.vipList = null;
+        }
     }
 
     private static final String STATUS_DELIMITER = "_";
@@ -124,6 +146,8 @@ public class Applications {
     private final Map<String, Application> appNameApplicationMap;
     private final Map<String, VipIndexSupport> virtualHostNameAppMap;
     private final Map<String, VipIndexSupport> secureVirtualHostNameAppMap;
+    // set in a copy made by copyForUpdate: the indexed instances of the updated applications, before the update
+    private Map<String, List<InstanceInfo>> instancesBeforeUpdate;
 
     /**
      * Create a new, empty Eureka application list.
@@ -159,11 +183,58 @@ public class Applications {
      *            the <em>application</em> to be added.
      */
     public void addApplication(Application app) {
-        appNameApplicationMap.put(app.getName().toUpperCase(Locale.ROOT), app);
-        addInstancesToVIPMaps(app, this.virtualHostNameAppMap, this.secureVirtualHostNameAppMap);
+        String appName = app.getName().toUpperCase(Locale.ROOT);
+        if (instancesBeforeUpdate == null) {
+            addInstancesToVIPMaps(app, this.virtualHostNameAppMap, this.secureVirtualHostNameAppMap);
+        } else {
+            markUpdated(appName);
+        }
+        appNameApplicationMap.put(appName, app);
         applications.add(app);
     }
 
+    /**
+     * Creates a copy of these applications to apply a delta to, leaving these applications untouched.
+     *
+     * <p>
+     * Only the applications with the given names are copied, and only those may be modified in the copy, besides
+     * adding or removing applications. The other applications and the VIP index are shared with these applications
+     * until {@link #shuffleInstances(boolean)} is called on the copy, which then reindexes only the VIP addresses
+     * of the updated applications, rather than the whole registry.
+     * </p>
+     *
+     * @param appNames the names of the applications to update.
+     * @return the copy.
+     */
+    public Applications copyForUpdate(Set<String> appNames) {
+        Applications copy = new Applications(appsHashCode, versionDelta, Collections.emptyList());
+        copy.instancesBeforeUpdate = new HashMap<>();
+        for (String appName : appNames) {
+            copy.instancesBeforeUpdate.put(appName.toUpperCase(Locale.ROOT), Collections.emptyList());
+        }
+        for (Application app : applications) {
+            String appName = app.getName().toUpperCase(Locale.ROOT);
+            if (copy.instancesBeforeUpdate.containsKey(appName)) {
+                copy.instancesBeforeUpdate.put(appName, app.getInstances());
+                Application appCopy = new Application(app.getName());
+                app.forEachInstance(appCopy::addInstance);
+                app = appCopy;
+            }
+            copy.appNameApplicationMap.put(appName, app);
+            copy.applications.add(app);
+        }
+        copy.virtualHostNameAppMap.putAll(virtualHostNameAppMap);
+        copy.secureVirtualHostNameAppMap.putAll(secureVirtualHostNameAppMap);
+        return copy;
+    }
+
+    private void markUpdated(String appName) {
+        if (!instancesBeforeUpdate.containsKey(appName)) {
+            Application existing = appNameApplicationMap.get(appName);
+            instancesBeforeUpdate.put(appName, existing == null ? Collections.emptyList() : existing.getInstances());
+        }
+    }
+
     /**
      * Gets the list of all registered <em>applications</em> from eureka.
      *
@@ -328,12 +399,21 @@ public class Applications {
     /**
      * Shuffles the provided instances so that they will not always be returned
      * in the same order.
+     *
+     * <p>
+     * On a copy made by {@link #copyForUpdate(Set)}, only the updated applications and their VIP addresses are
+     * reindexed, and the instances of a reindexed VIP address are shuffled when first read.
+     * </p>
      * 
      * @param filterUpInstances
      *            whether to return only UP instances
      */
     public void shuffleInstances(boolean filterUpInstances) {
-        shuffleInstances(filterUpInstances, false, null, null, null);
+        if (instancesBeforeUpdate != null) {
+            reindexUpdatedApplications(filterUpInstances);
+        } else {
+            shuffleInstances(filterUpInstances, false, null, null, null);
+        }
     }
 
     /**
@@ -359,6 +439,8 @@ public class Applications {
             @Nullable Map<String, Applications> remoteRegionsRegistry, 
             @Nullable EurekaClientConfig clientConfig,
             @Nullable InstanceRegionChecker instanceRegionChecker) {
+        // the whole index is rebuilt below
+        instancesBeforeUpdate = null;
         Map<String, VipIndexSupport> secureVirtualHostNameAppMap = MapUtil.newHashMapWithExpectedSize(this.secureVirtualHostNameAppMap.size());
         Map<String, VipIndexSupport> virtualHostNameAppMap = MapUtil.newHashMapWithExpectedSize(this.virtualHostNameAppMap.size());
         for (Application application : appNameApplicationMap.values()) {
@@ -378,9 +460,70 @@ public class Applications {
         this.secureVirtualHostNameAppMap.keySet().retainAll(secureVirtualHostNameAppMap.keySet());
     }
 
+    private void reindexUpdatedApplications(boolean filterUpInstances) {
+        Map<String, List<InstanceInfo>> updated = instancesBeforeUpdate;
+        instancesBeforeUpdate = null;
+
+        Map<String, VipIndexSupport> staleVips = new HashMap<>();
+        Map<String, VipIndexSupport> staleSecureVips = new HashMap<>();
+        Map<String, VipIndexSupport> updatedVips = new HashMap<>();
+        Map<String, VipIndexSupport> updatedSecureVips = new HashMap<>();
+        for (Map.Entry<String, List<InstanceInfo>> entry : updated.entrySet()) {
+            for (InstanceInfo info : entry.getValue()) {
+                addInstanceToMap(info, info.getVIPAddress(), staleVips);
+                addInstanceToMap(info, info.getSecureVipAddress(), staleSecureVips);
+            }
+            Application app = appNameApplicationMap.get(entry.getKey());
+            if (app != null) {
+                app.shuffleAndStoreInstances(filterUpInstances);
+                addInstancesToVIPMaps(app, updatedVips, updatedSecureVips);
+            }
+        }
+        reindexVips(virtualHostNameAppMap, staleVips.keySet(), updatedVips, updated.keySet(), filterUpInstances);
+        reindexVips(secureVirtualHostNameAppMap, staleSecureVips.keySet(), updatedSecureVips, updated.keySet(), filterUpInstances);
+    }
+
+    /**
+     * Replaces the index entries of the given VIP addresses. The instances of the applications which were not
+     * updated are kept, and the instances of the updated applications are replaced with their current ones.
+     */
+    private static void reindexVips(Map<String, VipIndexSupport> index, Set<String> staleVips,
+                                    Map<String, VipIndexSupport> updatedVips, Set<String> updatedAppNames,
+                                    boolean filterUpInstances) {
+        Set<String> vips = new HashSet<>(staleVips);
+        vips.addAll(updatedVips.keySet());
+        for (String vip : vips) {
+            VipIndexSupport reindexed = new VipIndexSupport();
+            VipIndexSupport current = index.get(vip);
+            if (current != null) {
+                for (InstanceInfo info : current.getVipList()) {
+                    String appName = info.getAppName();
+                    if (appName == null || !updatedAppNames.contains(appName.toUpperCase(Locale.ROOT))) {
+                        reindexed.addInstance(info);
+                    }
+                }
+            }
+            VipIndexSupport updated = updatedVips.get(vip);
+            if (updated != null) {
+                for (InstanceInfo info : updated.getInstances()) {
+                    if (!filterUpInstances || info.getStatus() == InstanceStatus.UP) {
+                        reindexed.addInstance(info);
+                    }
+                }
+            }
+            if (updated == null && reindexed.instanceCount() == 0) {
+                index.remove(vip);
+            } else {
+                reindexed.shuffleOnFirstRead();
+                index.put(vip, reindexed);
+            }
+        }
+    }
+
     /**
      * Gets the next round-robin index for the given virtual host name. This
-     * index is reset after every registry fetch cycle.
+     * index is reset after every registry fetch cycle changing the instances
+     * of the virtual host name.
      *
      * @param virtualHostname
      *            the virtual host name.
@@ -547,7 +690,11 @@ public class Applications {
      * @param app the <em>application</em>
      */
     public void removeApplication(Application app) {
-        this.appNameApplicationMap.remove(app.getName().toUpperCase(Locale.ROOT));
+        String appName = app.getName().toUpperCase(Locale.ROOT);
+        if (instancesBeforeUpdate != null) {
+            markUpdated(appName);
+        }
+        this.appNameApplicationMap.remove(appName);
         this.applications.remove(app);
     }
 }
@@ -1,7 +1,7 @@
 package com.netflix.discovery.shared.resolver;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.discovery.TimedSupervisorTask;
+import com.netflix.discovery.util.VirtualThreads;
 import com.netflix.servo.annotations.DataSourceType;
 import com.netflix.servo.annotations.Monitor;
 import com.netflix.servo.monitor.Monitors;
@@ -57,13 +57,26 @@ public class AsyncResolver<T extends EurekaEndpoint> implements ClosableResolver
                          int executorThreadPoolSize,
                          int refreshIntervalMs,
                          int warmUpTimeoutMs) {
+        this(name, delegate, executorThreadPoolSize, refreshIntervalMs, warmUpTimeoutMs, false);
+    }
+
+    /**
+     * @param useVirtualThreads whether the resolution runs on virtual threads, when the JVM supports them
+     */
+    public AsyncResolver(String name,
+                         ClusterResolver<T> delegate,
+                         int executorThreadPoolSize,
+                         int refreshIntervalMs,
+                         int warmUpTimeoutMs,
+                         boolean useVirtualThreads) {
         this(
                 name,
                 delegate,
                 Collections.<T>emptyList(),
                 executorThreadPoolSize,
                 refreshIntervalMs,
-                warmUpTimeoutMs
+                warmUpTimeoutMs,
+                useVirtualThreads
         );
     }
 
@@ -77,13 +90,26 @@ public class AsyncResolver<T extends EurekaEndpoint> implements ClosableResolver
                          List<T> initialValues,
                          int executorThreadPoolSize,
                          int refreshIntervalMs) {
+        this(name, delegate, initialValues, executorThreadPoolSize, refreshIntervalMs, false);
+    }
+
+    /**
+     * @param useVirtualThreads whether the resolution runs on virtual threads, when the JVM supports them
+     */
+    public AsyncResolver(String name,
+                         ClusterResolver<T> delegate,
+                         List<T> initialValues,
+                         int executorThreadPoolSize,
+                         int refreshIntervalMs,
+                         boolean useVirtualThreads) {
         this(
                 name,
                 delegate,
                 initialValues,
                 executorThreadPoolSize,
                 refreshIntervalMs,
-                0
+                0,
+                useVirtualThreads
         );
 
         warmedUp.set(true);
@@ -95,31 +121,27 @@ public class AsyncResolver<T extends EurekaEndpoint> implements ClosableResolver
      * @param executorThreadPoolSize the max number of threads for the threadpool
      * @param refreshIntervalMs the async refresh interval
      * @param warmUpTimeoutMs the time to wait for the initial warm up
+     * @param useVirtualThreads whether the resolution runs on virtual threads, when the JVM supports them
      */
     AsyncResolver(String name,
                   ClusterResolver<T> delegate,
                   List<T> initialValue,
                   int executorThreadPoolSize,
                   int refreshIntervalMs,
-                  int warmUpTimeoutMs) {
+                  int warmUpTimeoutMs,
+                  boolean useVirtualThreads) {
         this.name = name;
         this.delegate = delegate;
         this.refreshIntervalMs = refreshIntervalMs;
         this.warmUpTimeoutMs = warmUpTimeoutMs;
 
         this.executorService = Executors.newScheduledThreadPool(1,
-                new ThreadFactoryBuilder()
-                        .setNameFormat("AsyncResolver-" + name + "-%d")
-                        .setDaemon(true)
-                        .build());
+                VirtualThreads.newThreadFactory("AsyncResolver-" + name + "-%d", useVirtualThreads));
 
         this.threadPoolExecutor = new ThreadPoolExecutor(
                 1, executorThreadPoolSize, 0, TimeUnit.SECONDS,
                 new SynchronousQueue<Runnable>(),  // use direct handoff
-                new ThreadFactoryBuilder()
-                        .setNameFormat("AsyncResolver-" + name + "-executor-%d")
-                        .setDaemon(true)
-                        .build()
+                VirtualThreads.newThreadFactory("AsyncResolver-" + name + "-executor-%d", useVirtualThreads)
         );
 
         this.backgroundTask = new TimedSupervisorTask(
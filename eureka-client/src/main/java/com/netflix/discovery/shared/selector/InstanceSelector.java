@@ -0,0 +1,21 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.List;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * Picks the instance to send a request to, among the instances of a VIP address. Used by
+ * {@link com.netflix.discovery.DiscoveryClient#getNextServerFromEureka(String, boolean)} on every call, so
+ * implementations should neither allocate nor contend on shared state.
+ */
+public interface InstanceSelector {
+
+    /**
+     * @param vipAddress the VIP address the instances were looked up for.
+     * @param instances the instances of the VIP address, as held in the registry index. The list is never empty,
+     *                  and must not be modified nor kept.
+     * @return one of the given instances.
+     */
+    InstanceInfo select(String vipAddress, List<InstanceInfo> instances);
+}
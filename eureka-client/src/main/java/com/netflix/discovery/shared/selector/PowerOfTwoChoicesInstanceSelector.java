@@ -0,0 +1,38 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * Picks two instances at random and selects the less loaded one, as told by a load function supplied by the
+ * caller, typically the number of requests in flight to each instance. This avoids the overloaded instances
+ * almost as well as picking the least loaded one, without looking at all of them.
+ */
+public class PowerOfTwoChoicesInstanceSelector implements InstanceSelector {
+
+    private final ToLongFunction<InstanceInfo> load;
+
+    public PowerOfTwoChoicesInstanceSelector(ToLongFunction<InstanceInfo> load) {
+        this.load = load;
+    }
+
+    @Override
+    public InstanceInfo select(String vipAddress, List<InstanceInfo> instances) {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        InstanceInfo firstInstance = instances.get(first);
+        InstanceInfo secondInstance = instances.get(second);
+        return load.applyAsLong(secondInstance) < load.applyAsLong(firstInstance) ? secondInstance : firstInstance;
+    }
+}
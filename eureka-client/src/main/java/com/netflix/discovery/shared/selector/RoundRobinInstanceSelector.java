@@ -0,0 +1,28 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * Round-robin over the instances of a VIP address, with counters per thread instead of ones shared by all the
+ * threads. Each thread keeps a counter per VIP address, starting at a random position, so a thread alternating
+ * between VIP addresses still rotates over the instances of each of them. As the instances of a VIP address are
+ * shuffled on every registry fetch, the load is spread evenly without the threads ever contending.
+ */
+public class RoundRobinInstanceSelector implements InstanceSelector {
+
+    private final ThreadLocal<Map<String, int[]>> countersByVip = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public InstanceInfo select(String vipAddress, List<InstanceInfo> instances) {
+        int[] counter = countersByVip.get().computeIfAbsent(
+                vipAddress, vip -> new int[]{ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)}
+        );
+        int next = counter[0]++ & Integer.MAX_VALUE;
+        return instances.get(next % instances.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * Weighted random selection favoring the instances in the zone of the client: each instance in the local zone
+ * weighs <code>localZoneWeight</code>, and the others weigh 1. A large weight keeps the traffic in the zone,
+ * while still sending a share to the other zones, which takes over entirely when the local zone has no instance.
+ *
+ * <p>
+ * The zone of an instance is read with {@link InstanceInfo#getZone(String[], InstanceInfo)}. Instances outside of
+ * AWS have no zone, which reads as {@value #NO_ZONE}, and are never favored: a client without a zone selects
+ * uniformly. Selecting walks the instances of the VIP address twice, but allocates nothing.
+ * </p>
+ */
+public class ZoneAwareInstanceSelector implements InstanceSelector {
+
+    static final String NO_ZONE = "default";
+
+    private final String localZone;
+    private final int localZoneWeight;
+
+    public ZoneAwareInstanceSelector(String localZone, int localZoneWeight) {
+        if (localZone == null) {
+            throw new IllegalArgumentException("Local zone must be set, use \"" + NO_ZONE + "\" when there is none");
+        }
+        if (localZoneWeight < 1) {
+            throw new IllegalArgumentException("Local zone weight must be at least 1, got " + localZoneWeight);
+        }
+        this.localZone = localZone;
+        this.localZoneWeight = localZoneWeight;
+    }
+
+    @Override
+    public InstanceInfo select(String vipAddress, List<InstanceInfo> instances) {
+        int size = instances.size();
+        long totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            totalWeight += weightOf(instances.get(i));
+        }
+        long target = ThreadLocalRandom.current().nextLong(totalWeight);
+        for (int i = 0; i < size; i++) {
+            InstanceInfo instance = instances.get(i);
+            target -= weightOf(instance);
+            if (target < 0) {
+                return instance;
+            }
+        }
+        return instances.get(size - 1);
+    }
+
+    private int weightOf(InstanceInfo instance) {
+        String zone = InstanceInfo.getZone(null, instance);
+        return localZone.equals(zone) && !NO_ZONE.equals(zone) ? localZoneWeight : 1;
+    }
+}
@@ -0,0 +1,64 @@
+package com.netflix.discovery.shared.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+
+/**
+ * Non-blocking variant of {@link EurekaHttpClient}. Each method sends the request and returns right away, with
+ * a future completed by the response, or completed exceptionally if the request could not be executed. The
+ * future must not be completed on the caller thread by a blocking transport, so a single thread can drive many
+ * requests at once.
+ */
+public interface AsyncEurekaHttpClient {
+
+    CompletableFuture<EurekaHttpResponse<Void>> register(InstanceInfo info);
+
+    CompletableFuture<EurekaHttpResponse<Void>> cancel(String appName, String id);
+
+    CompletableFuture<EurekaHttpResponse<InstanceInfo>> sendHeartBeat(String appName, String id, InstanceInfo info, InstanceStatus overriddenStatus);
+
+    /**
+     * @see EurekaHttpClient#sendHeartBeats(HeartBeatList)
+     */
+    default CompletableFuture<EurekaHttpResponse<HeartBeatListResponse>> sendHeartBeats(HeartBeatList heartBeats) {
+        return CompletableFuture.completedFuture(EurekaHttpResponse.anEurekaHttpResponse(404, HeartBeatListResponse.class).build());
+    }
+
+    CompletableFuture<EurekaHttpResponse<Void>> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info);
+
+    CompletableFuture<EurekaHttpResponse<Void>> deleteStatusOverride(String appName, String id, InstanceInfo info);
+
+    CompletableFuture<EurekaHttpResponse<Applications>> getApplications(String... regions);
+
+    CompletableFuture<EurekaHttpResponse<Applications>> getDelta(String... regions);
+
+    /**
+     * @see EurekaHttpClient#getDelta(long, String...)
+     */
+    default CompletableFuture<EurekaHttpResponse<Applications>> getDelta(long sinceVersion, String... regions) {
+        return getDelta(regions);
+    }
+
+    /**
+     * @see EurekaHttpClient#watchDelta(long, long)
+     */
+    default CompletableFuture<EurekaHttpResponse<Void>> watchDelta(long sinceVersion, long timeoutMs) {
+        return CompletableFuture.completedFuture(EurekaHttpResponse.status(404));
+    }
+
+    CompletableFuture<EurekaHttpResponse<Applications>> getVip(String vipAddress, String... regions);
+
+    CompletableFuture<EurekaHttpResponse<Applications>> getSecureVip(String secureVipAddress, String... regions);
+
+    CompletableFuture<EurekaHttpResponse<Application>> getApplication(String appName);
+
+    CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String appName, String id);
+
+    CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String id);
+
+    void shutdown();
+}
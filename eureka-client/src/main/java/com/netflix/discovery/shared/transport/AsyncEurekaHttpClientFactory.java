@@ -0,0 +1,9 @@
+package com.netflix.discovery.shared.transport;
+
+public interface AsyncEurekaHttpClientFactory {
+
+    AsyncEurekaHttpClient newClient();
+
+    void shutdown();
+
+}
@@ -0,0 +1,11 @@
+package com.netflix.discovery.shared.transport;
+
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+
+public interface AsyncTransportClientFactory {
+
+    AsyncEurekaHttpClient newClient(EurekaEndpoint serviceUrl);
+
+    void shutdown();
+
+}
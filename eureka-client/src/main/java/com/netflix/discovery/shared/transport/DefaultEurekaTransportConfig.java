@@ -32,6 +32,16 @@ public class DefaultEurekaTransportConfig implements EurekaTransportConfig {
         return configInstance.getDoubleProperty(namespace + QUARANTINE_REFRESH_PERCENTAGE_KEY, Values.QUARANTINE_REFRESH_PERCENTAGE).get();
     }
 
+    @Override
+    public boolean useRetryableClientLatencyAwareOrdering() {
+        return configInstance.getBooleanProperty(namespace + LATENCY_AWARE_ORDERING_KEY, false).get();
+    }
+
+    @Override
+    public double getRetryableClientHedgingPercentile() {
+        return configInstance.getDoubleProperty(namespace + HEDGING_PERCENTILE_KEY, Values.HEDGING_PERCENTILE).get();
+    }
+
     @Override
     public int getApplicationsResolverDataStalenessThresholdSeconds() {
         return configInstance.getIntProperty(namespace + DATA_STALENESS_THRESHOLD_KEY, Values.DATA_STALENESS_TRHESHOLD).get();
@@ -18,6 +18,15 @@ public interface EurekaHttpClient {
 
     EurekaHttpResponse<InstanceInfo> sendHeartBeat(String appName, String id, InstanceInfo info, InstanceStatus overriddenStatus);
 
+    /**
+     * Renews the leases of many instances in a single request. The response tells the outcome of each renewal, in
+     * the order of the heartbeats. Transports that do not support it answer with status 404, in which case the
+     * heartbeats must be sent one by one with {@link #sendHeartBeat}.
+     */
+    default EurekaHttpResponse<HeartBeatListResponse> sendHeartBeats(HeartBeatList heartBeats) {
+        return EurekaHttpResponse.anEurekaHttpResponse(404, HeartBeatListResponse.class).build();
+    }
+
     EurekaHttpResponse<Void> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info);
 
     EurekaHttpResponse<Void> deleteStatusOverride(String appName, String id, InstanceInfo info);
@@ -26,6 +35,26 @@ public interface EurekaHttpClient {
 
     EurekaHttpResponse<Applications> getDelta(String... regions);
 
+    /**
+     * Gets only the changes that happened after the given delta version, as returned by
+     * {@link Applications#getVersion()} of the last delta applied. The server answers with status 404 if these
+     * changes are no longer available, in which case the full registry must be fetched instead. Transports that do
+     * not support it fall back to a regular delta, which is a superset of the requested changes.
+     */
+    default EurekaHttpResponse<Applications> getDelta(long sinceVersion, String... regions) {
+        return getDelta(regions);
+    }
+
+    /**
+     * Waits until the server has registry changes after the given delta version, or the timeout elapses. The
+     * server answers with status 200 if there are changes to fetch, and 304 if nothing changed before the timeout.
+     * The timeout must be lower than the read timeout of the transport. Transports that do not support it answer
+     * with status 404.
+     */
+    default EurekaHttpResponse<Void> watchDelta(long sinceVersion, long timeoutMs) {
+        return EurekaHttpResponse.status(404);
+    }
+
     EurekaHttpResponse<Applications> getVip(String vipAddress, String... regions);
 
     EurekaHttpResponse<Applications> getSecureVip(String secureVipAddress, String... regions);
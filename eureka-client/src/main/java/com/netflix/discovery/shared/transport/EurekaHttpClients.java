@@ -159,7 +159,8 @@ public final class EurekaHttpClients {
                 delegateResolver,
                 initialValue,
                 1,
-                clientConfig.getEurekaServiceUrlPollIntervalSeconds() * 1000
+                clientConfig.getEurekaServiceUrlPollIntervalSeconds() * 1000,
+                clientConfig.shouldUseVirtualThreads()
         );
     }
 
@@ -224,7 +225,8 @@ public final class EurekaHttpClients {
                 new ZoneAffinityClusterResolver(compositeResolver, myZone, true, randomizer),
                 initialValue,
                 transportConfig.getAsyncExecutorThreadPoolSize(),
-                transportConfig.getAsyncResolverRefreshIntervalMs()
+                transportConfig.getAsyncResolverRefreshIntervalMs(),
+                clientConfig.shouldUseVirtualThreads()
         );
     }
 
@@ -300,7 +302,8 @@ public final class EurekaHttpClients {
                 new ZoneAffinityClusterResolver(compositeResolver, myZone, true, randomizer),
                 transportConfig.getAsyncExecutorThreadPoolSize(),
                 transportConfig.getAsyncResolverRefreshIntervalMs(),
-                transportConfig.getAsyncResolverWarmUpTimeoutMs()
+                transportConfig.getAsyncResolverWarmUpTimeoutMs(),
+                clientConfig.shouldUseVirtualThreads()
         );
     }
 
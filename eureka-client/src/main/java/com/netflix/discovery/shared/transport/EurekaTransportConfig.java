@@ -17,6 +17,23 @@ public interface EurekaTransportConfig {
      */
     double getRetryableClientQuarantineRefreshPercentage();
 
+    /**
+     * By default, the retryable client tries the servers in the order given by the cluster resolver.
+     * Set this to true to try first the servers with the lowest average response time instead, servers
+     * never tried coming first.
+     *
+     * @return false by default
+     */
+    boolean useRetryableClientLatencyAwareOrdering();
+
+    /**
+     * The percentile of the recent response times after which the retryable client sends a full registry or
+     * a delta fetch that has not completed yet to a second server as well, using the first response received.
+     *
+     * @return the percentile in the range ]0, 1.0[, or 0 (the default) to disable hedged fetches
+     */
+    double getRetryableClientHedgingPercentile();
+
     /**
      * @return the max staleness threshold tolerated by the applications resolver
      */
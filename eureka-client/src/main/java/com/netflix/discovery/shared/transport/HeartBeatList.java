@@ -0,0 +1,122 @@
+package com.netflix.discovery.shared.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.provider.Serializer;
+
+/**
+ * The lease renewals sent at once with {@link EurekaHttpClient#sendHeartBeats(HeartBeatList)}.
+ *
+ * @see HeartBeatListResponse
+ */
+@Serializer("jackson") // For backwards compatibility with DiscoveryJerseyProvider
+public class HeartBeatList {
+    private final List<HeartBeat> heartBeats;
+
+    public HeartBeatList() {
+        this.heartBeats = new ArrayList<>();
+    }
+
+    @JsonCreator
+    public HeartBeatList(@JsonProperty("heartBeats") List<HeartBeat> heartBeats) {
+        this.heartBeats = heartBeats;
+    }
+
+    /**
+     * Adds the renewal of the given instance lease, with the same arguments as
+     * {@link EurekaHttpClient#sendHeartBeat(String, String, InstanceInfo, InstanceStatus)}.
+     */
+    public HeartBeatList addHeartBeat(String appName, String id, InstanceInfo info, InstanceStatus overriddenStatus) {
+        heartBeats.add(new HeartBeat(appName, id, info.getStatus(), overriddenStatus, info.getLastDirtyTimestamp()));
+        return this;
+    }
+
+    public List<HeartBeat> getHeartBeats() {
+        return heartBeats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        HeartBeatList that = (HeartBeatList) o;
+
+        return !(heartBeats != null ? !heartBeats.equals(that.heartBeats) : that.heartBeats != null);
+    }
+
+    @Override
+    public int hashCode() {
+        return heartBeats != null ? heartBeats.hashCode() : 0;
+    }
+
+    public static class HeartBeat {
+        private final String appName;
+        private final String id;
+        private final InstanceStatus status;
+        private final InstanceStatus overriddenStatus;
+        private final Long lastDirtyTimestamp;
+
+        @JsonCreator
+        public HeartBeat(@JsonProperty("appName") String appName,
+                         @JsonProperty("id") String id,
+                         @JsonProperty("status") InstanceStatus status,
+                         @JsonProperty("overriddenStatus") InstanceStatus overriddenStatus,
+                         @JsonProperty("lastDirtyTimestamp") Long lastDirtyTimestamp) {
+            this.appName = appName;
+            this.id = id;
+            this.status = status;
+            this.overriddenStatus = overriddenStatus;
+            this.lastDirtyTimestamp = lastDirtyTimestamp;
+        }
+
+        public String getAppName() {
+            return appName;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public InstanceStatus getStatus() {
+            return status;
+        }
+
+        public InstanceStatus getOverriddenStatus() {
+            return overriddenStatus;
+        }
+
+        public Long getLastDirtyTimestamp() {
+            return lastDirtyTimestamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            HeartBeat that = (HeartBeat) o;
+
+            return Objects.equals(appName, that.appName)
+                    && Objects.equals(id, that.id)
+                    && status == that.status
+                    && overriddenStatus == that.overriddenStatus
+                    && Objects.equals(lastDirtyTimestamp, that.lastDirtyTimestamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(appName, id, status, overriddenStatus, lastDirtyTimestamp);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.netflix.discovery.shared.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netflix.discovery.provider.Serializer;
+
+/**
+ * The outcome of each lease renewal of a {@link HeartBeatList}, in the same order. A renewal has the status code
+ * a single {@link EurekaHttpClient#sendHeartBeat} request would have had, so 404 tells that the instance must
+ * register again.
+ */
+@Serializer("jackson") // For backwards compatibility with DiscoveryJerseyProvider
+public class HeartBeatListResponse {
+    private final List<Integer> statusCodes;
+
+    public HeartBeatListResponse() {
+        this.statusCodes = new ArrayList<>();
+    }
+
+    @JsonCreator
+    public HeartBeatListResponse(@JsonProperty("statusCodes") List<Integer> statusCodes) {
+        this.statusCodes = statusCodes;
+    }
+
+    public List<Integer> getStatusCodes() {
+        return statusCodes;
+    }
+
+    public void addStatusCode(int statusCode) {
+        statusCodes.add(statusCode);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        HeartBeatListResponse that = (HeartBeatListResponse) o;
+
+        return !(statusCodes != null ? !statusCodes.equals(that.statusCodes) : that.statusCodes != null);
+    }
+
+    @Override
+    public int hashCode() {
+        return statusCodes != null ? statusCodes.hashCode() : 0;
+    }
+}
@@ -10,6 +10,8 @@ final class PropertyBasedTransportConfigConstants {
     // NOTE: all keys are before any prefixes are applied
     static final String SESSION_RECONNECT_INTERVAL_KEY = "sessionedClientReconnectIntervalSeconds";
     static final String QUARANTINE_REFRESH_PERCENTAGE_KEY = "retryableClientQuarantineRefreshPercentage";
+    static final String LATENCY_AWARE_ORDERING_KEY = "retryableClientLatencyAwareOrdering";
+    static final String HEDGING_PERCENTILE_KEY = "retryableClientHedgingPercentile";
     static final String DATA_STALENESS_THRESHOLD_KEY = "applicationsResolverDataStalenessThresholdSeconds";
     static final String APPLICATION_RESOLVER_USE_IP_KEY = "applicationsResolverUseIp";
     static final String ASYNC_RESOLVER_REFRESH_INTERVAL_KEY = "asyncResolverRefreshIntervalMs";
@@ -26,6 +28,7 @@ final class PropertyBasedTransportConfigConstants {
     static class Values {
         static final int SESSION_RECONNECT_INTERVAL = 20*60;
         static final double QUARANTINE_REFRESH_PERCENTAGE = 0.66;
+        static final double HEDGING_PERCENTILE = 0;
         static final int DATA_STALENESS_TRHESHOLD = 5*60;
         static final int ASYNC_RESOLVER_REFRESH_INTERVAL = 5*60*1000;
         static final int ASYNC_RESOLVER_WARMUP_TIMEOUT = 5000;
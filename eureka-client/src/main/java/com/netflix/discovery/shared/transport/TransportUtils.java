@@ -16,6 +16,7 @@
 
 package com.netflix.discovery.shared.transport;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -40,4 +41,28 @@ public final class TransportUtils {
             eurekaHttpClient.shutdown();
         }
     }
+
+    public static AsyncEurekaHttpClient getOrSetAnotherClient(AtomicReference<AsyncEurekaHttpClient> eurekaHttpClientRef, AsyncEurekaHttpClient another) {
+        AsyncEurekaHttpClient existing = eurekaHttpClientRef.get();
+        if (eurekaHttpClientRef.compareAndSet(null, another)) {
+            return another;
+        }
+        another.shutdown();
+        return existing;
+    }
+
+    public static void shutdown(AsyncEurekaHttpClient eurekaHttpClient) {
+        if (eurekaHttpClient != null) {
+            eurekaHttpClient.shutdown();
+        }
+    }
+
+    /**
+     * @return a future completed exceptionally with the given error
+     */
+    public static <T> CompletableFuture<T> failedFuture(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
 }
@@ -0,0 +1,135 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import com.netflix.discovery.shared.transport.decorator.EurekaHttpClientDecorator.RequestType;
+
+/**
+ * {@link AsyncEurekaHttpClient} counterpart of {@link EurekaHttpClientDecorator}. A decorator must not block in
+ * {@link #execute(AsyncRequestExecutor)}, but chain its processing to the future of the delegate instead.
+ */
+public abstract class AsyncEurekaHttpClientDecorator implements AsyncEurekaHttpClient {
+
+    public interface AsyncRequestExecutor<R> {
+        CompletableFuture<EurekaHttpResponse<R>> execute(AsyncEurekaHttpClient delegate);
+
+        RequestType getRequestType();
+    }
+
+    protected abstract <R> CompletableFuture<EurekaHttpResponse<R>> execute(AsyncRequestExecutor<R> requestExecutor);
+
+    /**
+     * Executes the request on the given client, turning an exception thrown right away into a failed future.
+     */
+    protected static <R> CompletableFuture<EurekaHttpResponse<R>> invoke(AsyncRequestExecutor<R> requestExecutor,
+                                                                         AsyncEurekaHttpClient delegate) {
+        try {
+            return requestExecutor.execute(delegate);
+        } catch (Exception e) {
+            return TransportUtils.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> register(InstanceInfo info) {
+        return execute(RequestType.Register, delegate -> delegate.register(info));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> cancel(String appName, String id) {
+        return execute(RequestType.Cancel, delegate -> delegate.cancel(appName, id));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> sendHeartBeat(String appName,
+                                                                             String id,
+                                                                             InstanceInfo info,
+                                                                             InstanceStatus overriddenStatus) {
+        return execute(RequestType.SendHeartBeat, delegate -> delegate.sendHeartBeat(appName, id, info, overriddenStatus));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<HeartBeatListResponse>> sendHeartBeats(HeartBeatList heartBeats) {
+        return execute(RequestType.SendHeartBeats, delegate -> delegate.sendHeartBeats(heartBeats));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info) {
+        return execute(RequestType.StatusUpdate, delegate -> delegate.statusUpdate(appName, id, newStatus, info));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> deleteStatusOverride(String appName, String id, InstanceInfo info) {
+        return execute(RequestType.DeleteStatusOverride, delegate -> delegate.deleteStatusOverride(appName, id, info));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getApplications(String... regions) {
+        return execute(RequestType.GetApplications, delegate -> delegate.getApplications(regions));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getDelta(String... regions) {
+        return execute(RequestType.GetDelta, delegate -> delegate.getDelta(regions));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getDelta(long sinceVersion, String... regions) {
+        return execute(RequestType.GetDelta, delegate -> delegate.getDelta(sinceVersion, regions));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Void>> watchDelta(long sinceVersion, long timeoutMs) {
+        return execute(RequestType.WatchDelta, delegate -> delegate.watchDelta(sinceVersion, timeoutMs));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getVip(String vipAddress, String... regions) {
+        return execute(RequestType.GetVip, delegate -> delegate.getVip(vipAddress, regions));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Applications>> getSecureVip(String secureVipAddress, String... regions) {
+        return execute(RequestType.GetSecureVip, delegate -> delegate.getSecureVip(secureVipAddress, regions));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<Application>> getApplication(String appName) {
+        return execute(RequestType.GetApplication, delegate -> delegate.getApplication(appName));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String id) {
+        return execute(RequestType.GetInstance, delegate -> delegate.getInstance(id));
+    }
+
+    @Override
+    public CompletableFuture<EurekaHttpResponse<InstanceInfo>> getInstance(String appName, String id) {
+        return execute(RequestType.GetApplicationInstance, delegate -> delegate.getInstance(appName, id));
+    }
+
+    private <R> CompletableFuture<EurekaHttpResponse<R>> execute(final RequestType requestType,
+                                                                 final Function<AsyncEurekaHttpClient, CompletableFuture<EurekaHttpResponse<R>>> request) {
+        return execute(new AsyncRequestExecutor<R>() {
+            @Override
+            public CompletableFuture<EurekaHttpResponse<R>> execute(AsyncEurekaHttpClient delegate) {
+                return request.apply(delegate);
+            }
+
+            @Override
+            public RequestType getRequestType() {
+                return requestType;
+            }
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.netflix.discovery.EurekaClientNames;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClientFactory;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.decorator.EurekaHttpClientDecorator.RequestType;
+import com.netflix.discovery.shared.transport.decorator.MetricsCollectingEurekaHttpClient.EurekaHttpClientRequestMetrics;
+import com.netflix.discovery.util.ExceptionsMetric;
+import com.netflix.servo.monitor.Stopwatch;
+
+/**
+ * {@link AsyncEurekaHttpClient} counterpart of {@link MetricsCollectingEurekaHttpClient}. The latency of a request
+ * is measured until its future completes.
+ */
+public class AsyncMetricsCollectingEurekaHttpClient extends AsyncEurekaHttpClientDecorator {
+
+    private final AsyncEurekaHttpClient delegate;
+
+    private final Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType;
+    private final ExceptionsMetric exceptionsMetric;
+    private final boolean shutdownMetrics;
+
+    public AsyncMetricsCollectingEurekaHttpClient(AsyncEurekaHttpClient delegate) {
+        this(delegate, MetricsCollectingEurekaHttpClient.initializeMetrics(AsyncMetricsCollectingEurekaHttpClient.class),
+                new ExceptionsMetric(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "asyncExceptions"), true);
+    }
+
+    AsyncMetricsCollectingEurekaHttpClient(AsyncEurekaHttpClient delegate,
+                                           Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType,
+                                           ExceptionsMetric exceptionsMetric,
+                                           boolean shutdownMetrics) {
+        this.delegate = delegate;
+        this.metricsByRequestType = metricsByRequestType;
+        this.exceptionsMetric = exceptionsMetric;
+        this.shutdownMetrics = shutdownMetrics;
+    }
+
+    @Override
+    protected <R> CompletableFuture<EurekaHttpResponse<R>> execute(AsyncRequestExecutor<R> requestExecutor) {
+        EurekaHttpClientRequestMetrics requestMetrics = metricsByRequestType.get(requestExecutor.getRequestType());
+        Stopwatch stopwatch = requestMetrics.startLatencyTimer();
+        return invoke(requestExecutor, delegate).whenComplete((httpResponse, error) -> {
+            stopwatch.stop();
+            if (error == null) {
+                requestMetrics.countResponse(httpResponse);
+            } else {
+                requestMetrics.countConnectionError();
+                exceptionsMetric.count(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        if (shutdownMetrics) {
+            MetricsCollectingEurekaHttpClient.shutdownMetrics(metricsByRequestType);
+            exceptionsMetric.shutdown();
+        }
+    }
+
+    public static AsyncEurekaHttpClientFactory createFactory(final AsyncEurekaHttpClientFactory delegateFactory) {
+        final Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType =
+                MetricsCollectingEurekaHttpClient.initializeMetrics(AsyncMetricsCollectingEurekaHttpClient.class);
+        final ExceptionsMetric exceptionMetrics = new ExceptionsMetric(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "asyncExceptions");
+        return new AsyncEurekaHttpClientFactory() {
+            @Override
+            public AsyncEurekaHttpClient newClient() {
+                return new AsyncMetricsCollectingEurekaHttpClient(
+                        delegateFactory.newClient(),
+                        metricsByRequestType,
+                        exceptionMetrics,
+                        false
+                );
+            }
+
+            @Override
+            public void shutdown() {
+                MetricsCollectingEurekaHttpClient.shutdownMetrics(metricsByRequestType);
+                exceptionMetrics.shutdown();
+            }
+        };
+    }
+
+    public static AsyncTransportClientFactory createFactory(final AsyncTransportClientFactory delegateFactory) {
+        final Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType =
+                MetricsCollectingEurekaHttpClient.initializeMetrics(AsyncMetricsCollectingEurekaHttpClient.class);
+        final ExceptionsMetric exceptionMetrics = new ExceptionsMetric(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "asyncExceptions");
+        return new AsyncTransportClientFactory() {
+            @Override
+            public AsyncEurekaHttpClient newClient(EurekaEndpoint endpoint) {
+                return new AsyncMetricsCollectingEurekaHttpClient(
+                        delegateFactory.newClient(endpoint),
+                        metricsByRequestType,
+                        exceptionMetrics,
+                        false
+                );
+            }
+
+            @Override
+            public void shutdown() {
+                MetricsCollectingEurekaHttpClient.shutdownMetrics(metricsByRequestType);
+                exceptionMetrics.shutdown();
+            }
+        };
+    }
+}
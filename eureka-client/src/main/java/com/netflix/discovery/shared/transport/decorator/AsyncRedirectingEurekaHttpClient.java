@@ -0,0 +1,118 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.discovery.shared.dns.DnsService;
+import com.netflix.discovery.shared.dns.DnsServiceImpl;
+import com.netflix.discovery.shared.resolver.DefaultEndpoint;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.discovery.shared.transport.decorator.RedirectingEurekaHttpClient.MAX_FOLLOWED_REDIRECTS;
+import static com.netflix.discovery.shared.transport.decorator.RedirectingEurekaHttpClient.getRedirectBaseUri;
+
+/**
+ * {@link AsyncEurekaHttpClient} counterpart of {@link RedirectingEurekaHttpClient}. Each redirect is followed
+ * once the response of the previous server completes.
+ * <h3>Thread safety</h3>
+ * Methods in this class may be called concurrently.
+ */
+public class AsyncRedirectingEurekaHttpClient extends AsyncEurekaHttpClientDecorator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRedirectingEurekaHttpClient.class);
+
+    private final EurekaEndpoint serviceEndpoint;
+    private final AsyncTransportClientFactory factory;
+    private final DnsService dnsService;
+
+    private final AtomicReference<AsyncEurekaHttpClient> delegateRef = new AtomicReference<>();
+
+    /**
+     * The delegate client should pass through 3xx responses without further processing.
+     */
+    public AsyncRedirectingEurekaHttpClient(String serviceUrl, AsyncTransportClientFactory factory, DnsService dnsService) {
+        this.serviceEndpoint = new DefaultEndpoint(serviceUrl);
+        this.factory = factory;
+        this.dnsService = dnsService;
+    }
+
+    @Override
+    public void shutdown() {
+        TransportUtils.shutdown(delegateRef.getAndSet(null));
+    }
+
+    @Override
+    protected <R> CompletableFuture<EurekaHttpResponse<R>> execute(AsyncRequestExecutor<R> requestExecutor) {
+        final AsyncEurekaHttpClient currentEurekaClient = delegateRef.get();
+        if (currentEurekaClient == null) {
+            final AtomicReference<AsyncEurekaHttpClient> currentEurekaClientRef = new AtomicReference<>(factory.newClient(serviceEndpoint));
+            return executeOnNewServer(requestExecutor, currentEurekaClientRef, 0).whenComplete((response, error) -> {
+                if (error == null) {
+                    TransportUtils.shutdown(delegateRef.getAndSet(currentEurekaClientRef.get()));
+                } else {
+                    logger.info("Request execution error. endpoint={}, exception={}", serviceEndpoint, error.getMessage());
+                    TransportUtils.shutdown(currentEurekaClientRef.get());
+                }
+            });
+        }
+        return invoke(requestExecutor, currentEurekaClient).whenComplete((response, error) -> {
+            if (error != null) {
+                logger.info("Request execution error. endpoint={} exception={}", serviceEndpoint, error.getMessage());
+                delegateRef.compareAndSet(currentEurekaClient, null);
+                currentEurekaClient.shutdown();
+            }
+        });
+    }
+
+    public static AsyncTransportClientFactory createFactory(final AsyncTransportClientFactory delegateFactory) {
+        final DnsServiceImpl dnsService = new DnsServiceImpl();
+        return new AsyncTransportClientFactory() {
+            @Override
+            public AsyncEurekaHttpClient newClient(EurekaEndpoint endpoint) {
+                return new AsyncRedirectingEurekaHttpClient(endpoint.getServiceUrl(), delegateFactory, dnsService);
+            }
+
+            @Override
+            public void shutdown() {
+                delegateFactory.shutdown();
+            }
+        };
+    }
+
+    private <R> CompletableFuture<EurekaHttpResponse<R>> executeOnNewServer(final AsyncRequestExecutor<R> requestExecutor,
+                                                                            final AtomicReference<AsyncEurekaHttpClient> currentHttpClientRef,
+                                                                            final int followRedirectCount) {
+        if (followRedirectCount >= MAX_FOLLOWED_REDIRECTS) {
+            String message = "Follow redirect limit crossed for URI " + serviceEndpoint.getServiceUrl();
+            logger.warn(message);
+            return TransportUtils.failedFuture(new TransportException(message));
+        }
+        return invoke(requestExecutor, currentHttpClientRef.get()).thenCompose(httpResponse -> {
+            if (httpResponse.getStatusCode() != 302) {
+                if (followRedirectCount == 0) {
+                    logger.debug("Pinning to endpoint {}", serviceEndpoint);
+                } else {
+                    logger.info("Pinning to the endpoint redirected to, after {} redirect(s)", followRedirectCount);
+                }
+                return CompletableFuture.completedFuture(httpResponse);
+            }
+
+            URI targetUrl = getRedirectBaseUri(httpResponse.getLocation(), dnsService);
+            if (targetUrl == null) {
+                throw new TransportException("Invalid redirect URL " + httpResponse.getLocation());
+            }
+
+            currentHttpClientRef.getAndSet(null).shutdown();
+            currentHttpClientRef.set(factory.newClient(new DefaultEndpoint(targetUrl.toString())));
+            return executeOnNewServer(requestExecutor, currentHttpClientRef, followRedirectCount + 1);
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.netflix.discovery.shared.resolver.ClusterResolver;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClientFactory;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.EurekaTransportConfig;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import com.netflix.servo.annotations.DataSourceType;
+import com.netflix.servo.annotations.Monitor;
+import com.netflix.servo.monitor.Monitors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.discovery.EurekaClientNames.METRIC_TRANSPORT_PREFIX;
+
+/**
+ * {@link AsyncEurekaHttpClient} counterpart of {@link RetryableEurekaHttpClient}, with the same quarantine and
+ * latency aware ordering of the servers. The next server is tried once the request on the previous one completed,
+ * so no thread waits on a retry. Hedging is not supported.
+ */
+public class AsyncRetryableEurekaHttpClient extends AsyncEurekaHttpClientDecorator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRetryableEurekaHttpClient.class);
+
+    private final String name;
+    private final AsyncTransportClientFactory clientFactory;
+    private final ServerStatusEvaluator serverStatusEvaluator;
+    private final int numberOfRetries;
+    private final EndpointLatencies latencies;
+
+    private final AtomicReference<EndpointClient> delegate = new AtomicReference<>();
+
+    private final ServerQuarantine quarantine;
+
+    public AsyncRetryableEurekaHttpClient(String name,
+                                          EurekaTransportConfig transportConfig,
+                                          ClusterResolver clusterResolver,
+                                          AsyncTransportClientFactory clientFactory,
+                                          ServerStatusEvaluator serverStatusEvaluator,
+                                          int numberOfRetries) {
+        this(name, transportConfig, clusterResolver, clientFactory, serverStatusEvaluator, numberOfRetries,
+                new EndpointLatencies());
+    }
+
+    AsyncRetryableEurekaHttpClient(String name,
+                                   EurekaTransportConfig transportConfig,
+                                   ClusterResolver clusterResolver,
+                                   AsyncTransportClientFactory clientFactory,
+                                   ServerStatusEvaluator serverStatusEvaluator,
+                                   int numberOfRetries,
+                                   EndpointLatencies latencies) {
+        this.name = name;
+        this.clientFactory = clientFactory;
+        this.serverStatusEvaluator = serverStatusEvaluator;
+        this.numberOfRetries = numberOfRetries;
+        this.latencies = latencies;
+        this.quarantine = new ServerQuarantine(transportConfig, clusterResolver, latencies);
+        Monitors.registerObject(name, this);
+    }
+
+    @Override
+    public void shutdown() {
+        EndpointClient current = delegate.get();
+        if (current != null) {
+            TransportUtils.shutdown(current.client);
+        }
+        if(Monitors.isObjectRegistered(name, this)) {
+            Monitors.unregisterObject(name, this);
+        }
+    }
+
+    @Override
+    protected <R> CompletableFuture<EurekaHttpResponse<R>> execute(AsyncRequestExecutor<R> requestExecutor) {
+        return execute(requestExecutor, new Candidates(), 0);
+    }
+
+    private <R> CompletableFuture<EurekaHttpResponse<R>> execute(final AsyncRequestExecutor<R> requestExecutor,
+                                                                 final Candidates candidates,
+                                                                 final int retry) {
+        if (retry >= numberOfRetries) {
+            return TransportUtils.failedFuture(new TransportException("Retry limit reached; giving up on completing the request"));
+        }
+        EndpointClient currentClient = delegate.get();
+        EurekaEndpoint currentEndpoint = null;
+        if (currentClient == null) {
+            if (candidates.hosts == null) {
+                candidates.hosts = quarantine.getHostCandidates();
+                if (candidates.hosts.isEmpty()) {
+                    return TransportUtils.failedFuture(new TransportException("There is no known eureka server; cluster server list is empty"));
+                }
+            }
+            if (candidates.nextIdx >= candidates.hosts.size()) {
+                return TransportUtils.failedFuture(new TransportException("Cannot execute request on any known server"));
+            }
+
+            currentEndpoint = candidates.hosts.get(candidates.nextIdx++);
+            currentClient = new EndpointClient(currentEndpoint, clientFactory.newClient(currentEndpoint));
+        }
+
+        final EndpointClient attemptClient = currentClient;
+        final EurekaEndpoint newEndpoint = currentEndpoint;
+        final long startTime = System.currentTimeMillis();
+        return invoke(requestExecutor, attemptClient.client).handle((response, error) -> {
+            if (error == null && serverStatusEvaluator.accept(response.getStatusCode(), requestExecutor.getRequestType())) {
+                latencies.record(attemptClient.endpoint, requestExecutor.getRequestType(),
+                        System.currentTimeMillis() - startTime);
+                delegate.set(attemptClient);
+                if (retry > 0) {
+                    logger.info("Request execution succeeded on retry #{}", retry);
+                }
+                return CompletableFuture.completedFuture(response);
+            }
+            if (error == null) {
+                logger.warn("Request execution failure with status code {}; retrying on another server if available", response.getStatusCode());
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                logger.warn("Request execution failed with message: {}", cause.getMessage());  // just log message as the underlying client should log the stacktrace
+            }
+
+            // Connection error or 5xx from the server that must be retried on another server
+            delegate.compareAndSet(attemptClient, null);
+            if (newEndpoint != null) {
+                quarantine.add(newEndpoint);
+                TransportUtils.shutdown(attemptClient.client);
+            }
+            return execute(requestExecutor, candidates, retry + 1);
+        }).thenCompose(Function.identity());
+    }
+
+    public static AsyncEurekaHttpClientFactory createFactory(final String name,
+                                                             final EurekaTransportConfig transportConfig,
+                                                             final ClusterResolver<EurekaEndpoint> clusterResolver,
+                                                             final AsyncTransportClientFactory delegateFactory,
+                                                             final ServerStatusEvaluator serverStatusEvaluator) {
+        final EndpointLatencies latencies = new EndpointLatencies();
+        return new AsyncEurekaHttpClientFactory() {
+            @Override
+            public AsyncEurekaHttpClient newClient() {
+                return new AsyncRetryableEurekaHttpClient(name, transportConfig, clusterResolver, delegateFactory,
+                        serverStatusEvaluator, RetryableEurekaHttpClient.DEFAULT_NUMBER_OF_RETRIES, latencies);
+            }
+
+            @Override
+            public void shutdown() {
+                delegateFactory.shutdown();
+            }
+        };
+    }
+
+
+    @Monitor(name = METRIC_TRANSPORT_PREFIX + "asyncQuarantineSize",
+            description = "number of servers quarantined", type = DataSourceType.GAUGE)
+    public long getQuarantineSetSize() {
+        return quarantine.size();
+    }
+
+    private static final class EndpointClient {
+        private final EurekaEndpoint endpoint;
+        private final AsyncEurekaHttpClient client;
+
+        private EndpointClient(EurekaEndpoint endpoint, AsyncEurekaHttpClient client) {
+            this.endpoint = endpoint;
+            this.client = client;
+        }
+    }
+
+    /**
+     * Servers left to try for one request. The attempts of a request run one after another, so no synchronization
+     * is needed.
+     */
+    private static final class Candidates {
+        private List<EurekaEndpoint> hosts;
+        private int nextIdx;
+    }
+}
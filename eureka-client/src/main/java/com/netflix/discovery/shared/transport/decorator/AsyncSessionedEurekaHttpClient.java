@@ -0,0 +1,83 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import com.netflix.servo.annotations.DataSourceType;
+import com.netflix.servo.annotations.Monitor;
+import com.netflix.servo.monitor.Monitors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.discovery.EurekaClientNames.METRIC_TRANSPORT_PREFIX;
+
+/**
+ * {@link AsyncEurekaHttpClient} counterpart of {@link SessionedEurekaHttpClient}. The client of the session that
+ * ended is shut down right away, so the transport must let the requests already sent on it complete.
+ */
+public class AsyncSessionedEurekaHttpClient extends AsyncEurekaHttpClientDecorator {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncSessionedEurekaHttpClient.class);
+
+    private final Random random = new Random();
+
+    private final String name;
+    private final AsyncEurekaHttpClientFactory clientFactory;
+    private final long sessionDurationMs;
+    private volatile long currentSessionDurationMs;
+
+    private volatile long lastReconnectTimeStamp = -1;
+    private final AtomicReference<AsyncEurekaHttpClient> eurekaHttpClientRef = new AtomicReference<>();
+
+    public AsyncSessionedEurekaHttpClient(String name, AsyncEurekaHttpClientFactory clientFactory, long sessionDurationMs) {
+        this.name = name;
+        this.clientFactory = clientFactory;
+        this.sessionDurationMs = sessionDurationMs;
+        this.currentSessionDurationMs = randomizeSessionDuration(sessionDurationMs);
+        Monitors.registerObject(name, this);
+    }
+
+    @Override
+    protected <R> CompletableFuture<EurekaHttpResponse<R>> execute(AsyncRequestExecutor<R> requestExecutor) {
+        long now = System.currentTimeMillis();
+        long delay = now - lastReconnectTimeStamp;
+        if (delay >= currentSessionDurationMs) {
+            logger.debug("Ending a session and starting anew");
+            lastReconnectTimeStamp = now;
+            currentSessionDurationMs = randomizeSessionDuration(sessionDurationMs);
+            TransportUtils.shutdown(eurekaHttpClientRef.getAndSet(null));
+        }
+
+        AsyncEurekaHttpClient eurekaHttpClient = eurekaHttpClientRef.get();
+        if (eurekaHttpClient == null) {
+            eurekaHttpClient = TransportUtils.getOrSetAnotherClient(eurekaHttpClientRef, clientFactory.newClient());
+        }
+        return invoke(requestExecutor, eurekaHttpClient);
+    }
+
+    @Override
+    public void shutdown() {
+        if(Monitors.isObjectRegistered(name, this)) {
+            Monitors.unregisterObject(name, this);
+        }
+        TransportUtils.shutdown(eurekaHttpClientRef.getAndSet(null));
+    }
+
+    /**
+     * @return a randomized sessionDuration in ms calculated as +/- an additional amount in [0, sessionDurationMs/2]
+     */
+    protected long randomizeSessionDuration(long sessionDurationMs) {
+        long delta = (long) (sessionDurationMs * (random.nextDouble() - 0.5));
+        return sessionDurationMs + delta;
+    }
+
+    @Monitor(name = METRIC_TRANSPORT_PREFIX + "currentAsyncSessionDuration",
+            description = "Duration of the current session", type = DataSourceType.GAUGE)
+    public long getCurrentSessionDuration() {
+        return lastReconnectTimeStamp < 0 ? 0 : System.currentTimeMillis() - lastReconnectTimeStamp;
+    }
+}
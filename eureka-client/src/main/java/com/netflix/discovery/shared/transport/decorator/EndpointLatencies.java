@@ -0,0 +1,95 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.decorator.EurekaHttpClientDecorator.RequestType;
+
+/**
+ * Response times observed by {@link RetryableEurekaHttpClient}. It keeps the average response time of each server,
+ * to try the fastest servers first, and the recent response times of each request type, to decide when to hedge
+ * a request that has not completed yet.
+ *
+ * <p>
+ * Long polling requests are not tracked, as their response time tells how long the server waited for a change.
+ * </p>
+ */
+class EndpointLatencies {
+
+    /**
+     * Weight of the last observation in the average response time of a server.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    static final int WINDOW_SIZE = 100;
+    static final int MIN_SAMPLES = 10;
+
+    private final ConcurrentMap<EurekaEndpoint, Double> averageLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RequestType, Window> windows = new ConcurrentHashMap<>();
+
+    void record(EurekaEndpoint endpoint, RequestType requestType, long latencyMs) {
+        if (requestType == null || requestType == RequestType.WatchDelta) {
+            return;
+        }
+        if (endpoint != null) {
+            averageLatencies.merge(endpoint, (double) latencyMs,
+                    (average, latency) -> LATENCY_SMOOTHING * latency + (1 - LATENCY_SMOOTHING) * average);
+        }
+        windows.computeIfAbsent(requestType, type -> new Window()).add(latencyMs);
+    }
+
+    /**
+     * @return the given percentile of the recent response times of the request type, or -1 if there are not
+     * enough of them yet
+     */
+    long getPercentile(RequestType requestType, double percentile) {
+        Window window = requestType == null ? null : windows.get(requestType);
+        return window == null ? -1 : window.getPercentile(percentile);
+    }
+
+    /**
+     * @return the endpoints from the fastest to the slowest on average. Endpoints not tried yet come first, and
+     * otherwise keep their order.
+     */
+    List<EurekaEndpoint> sort(List<EurekaEndpoint> endpoints) {
+        List<EurekaEndpoint> sorted = new ArrayList<>(endpoints);
+        sorted.sort((first, second) -> Double.compare(averageLatencies.getOrDefault(first, 0.0),
+                averageLatencies.getOrDefault(second, 0.0)));
+        return sorted;
+    }
+
+    /**
+     * Forgets the servers no longer in the cluster.
+     */
+    void retain(Collection<EurekaEndpoint> endpoints) {
+        averageLatencies.keySet().retainAll(endpoints);
+    }
+
+    private static final class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+
+        synchronized void add(long latencyMs) {
+            samples[count++ % WINDOW_SIZE] = latencyMs;
+            if (count == 2 * WINDOW_SIZE) {
+                count = WINDOW_SIZE;
+            }
+        }
+
+        synchronized long getPercentile(double percentile) {
+            int size = Math.min(count, WINDOW_SIZE);
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
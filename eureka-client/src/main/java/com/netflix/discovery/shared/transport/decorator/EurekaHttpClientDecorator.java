@@ -22,6 +22,8 @@ import com.netflix.discovery.shared.Application;
 import com.netflix.discovery.shared.Applications;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
 
 /**
  * @author Tomasz Bak
@@ -32,10 +34,12 @@ public abstract class EurekaHttpClientDecorator implements EurekaHttpClient {
         Register,
         Cancel,
         SendHeartBeat,
+        SendHeartBeats,
         StatusUpdate,
         DeleteStatusOverride,
         GetApplications,
         GetDelta,
+        WatchDelta,
         GetVip,
         GetSecureVip,
         GetApplication,
@@ -99,6 +103,21 @@ public abstract class EurekaHttpClientDecorator implements EurekaHttpClient {
         });
     }
 
+    @Override
+    public EurekaHttpResponse<HeartBeatListResponse> sendHeartBeats(final HeartBeatList heartBeats) {
+        return execute(new RequestExecutor<HeartBeatListResponse>() {
+            @Override
+            public EurekaHttpResponse<HeartBeatListResponse> execute(EurekaHttpClient delegate) {
+                return delegate.sendHeartBeats(heartBeats);
+            }
+
+            @Override
+            public RequestType getRequestType() {
+                return RequestType.SendHeartBeats;
+            }
+        });
+    }
+
     @Override
     public EurekaHttpResponse<Void> statusUpdate(final String appName, final String id, final InstanceStatus newStatus, final InstanceInfo info) {
         return execute(new RequestExecutor<Void>() {
@@ -159,6 +178,36 @@ public abstract class EurekaHttpClientDecorator implements EurekaHttpClient {
         });
     }
 
+    @Override
+    public EurekaHttpResponse<Void> watchDelta(final long sinceVersion, final long timeoutMs) {
+        return execute(new RequestExecutor<Void>() {
+            @Override
+            public EurekaHttpResponse<Void> execute(EurekaHttpClient delegate) {
+                return delegate.watchDelta(sinceVersion, timeoutMs);
+            }
+
+            @Override
+            public RequestType getRequestType() {
+                return RequestType.WatchDelta;
+            }
+        });
+    }
+
+    @Override
+    public EurekaHttpResponse<Applications> getDelta(final long sinceVersion, final String... regions) {
+        return execute(new RequestExecutor<Applications>() {
+            @Override
+            public EurekaHttpResponse<Applications> execute(EurekaHttpClient delegate) {
+                return delegate.getDelta(sinceVersion, regions);
+            }
+
+            @Override
+            public RequestType getRequestType() {
+                return RequestType.GetDelta;
+            }
+        });
+    }
+
     @Override
     public EurekaHttpResponse<Applications> getVip(final String vipAddress, final String... regions) {
         return execute(new RequestExecutor<Applications>() {
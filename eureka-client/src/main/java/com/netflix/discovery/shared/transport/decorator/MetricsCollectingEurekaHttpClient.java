@@ -68,13 +68,13 @@ public class MetricsCollectingEurekaHttpClient extends EurekaHttpClientDecorator
     @Override
     protected <R> EurekaHttpResponse<R> execute(RequestExecutor<R> requestExecutor) {
         EurekaHttpClientRequestMetrics requestMetrics = metricsByRequestType.get(requestExecutor.getRequestType());
-        Stopwatch stopwatch = requestMetrics.latencyTimer.start();
+        Stopwatch stopwatch = requestMetrics.startLatencyTimer();
         try {
             EurekaHttpResponse<R> httpResponse = requestExecutor.execute(delegate);
-            requestMetrics.countersByStatus.get(mappedStatus(httpResponse)).increment();
+            requestMetrics.countResponse(httpResponse);
             return httpResponse;
         } catch (Exception e) {
-            requestMetrics.connectionErrors.increment();
+            requestMetrics.countConnectionError();
             exceptionsMetric.count(e);
             throw e;
         } finally {
@@ -135,10 +135,17 @@ public class MetricsCollectingEurekaHttpClient extends EurekaHttpClientDecorator
     }
 
     private static Map<RequestType, EurekaHttpClientRequestMetrics> initializeMetrics() {
+        return initializeMetrics(MetricsCollectingEurekaHttpClient.class);
+    }
+
+    /**
+     * @param owner the decorator class, which tags the metrics
+     */
+    static Map<RequestType, EurekaHttpClientRequestMetrics> initializeMetrics(Class<?> owner) {
         Map<RequestType, EurekaHttpClientRequestMetrics> result = new EnumMap<>(RequestType.class);
         try {
             for (RequestType requestType : RequestType.values()) {
-                result.put(requestType, new EurekaHttpClientRequestMetrics(requestType.name()));
+                result.put(requestType, new EurekaHttpClientRequestMetrics(requestType.name(), owner));
             }
         } catch (Exception e) {
             logger.warn("Metrics initialization failure", e);
@@ -146,13 +153,13 @@ public class MetricsCollectingEurekaHttpClient extends EurekaHttpClientDecorator
         return result;
     }
 
-    private static void shutdownMetrics(Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType) {
+    static void shutdownMetrics(Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType) {
         for (EurekaHttpClientRequestMetrics metrics : metricsByRequestType.values()) {
             metrics.shutdown();
         }
     }
 
-    private static Status mappedStatus(EurekaHttpResponse<?> httpResponse) {
+    static Status mappedStatus(EurekaHttpResponse<?> httpResponse) {
         int category = httpResponse.getStatusCode() / 100;
         switch (category) {
             case 1:
@@ -177,13 +184,13 @@ public class MetricsCollectingEurekaHttpClient extends EurekaHttpClientDecorator
         private final Counter connectionErrors;
         private final Map<Status, Counter> countersByStatus;
 
-        EurekaHttpClientRequestMetrics(String resourceName) {
-            this.countersByStatus = createStatusCounters(resourceName);
+        EurekaHttpClientRequestMetrics(String resourceName, Class<?> owner) {
+            this.countersByStatus = createStatusCounters(resourceName, owner);
 
             latencyTimer = new BasicTimer(
                     MonitorConfig.builder(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "latency")
                             .withTag("id", resourceName)
-                            .withTag("class", MetricsCollectingEurekaHttpClient.class.getSimpleName())
+                            .withTag("class", owner.getSimpleName())
                             .build(),
                     TimeUnit.MILLISECONDS
             );
@@ -192,25 +199,37 @@ public class MetricsCollectingEurekaHttpClient extends EurekaHttpClientDecorator
             this.connectionErrors = new BasicCounter(
                     MonitorConfig.builder(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "connectionErrors")
                             .withTag("id", resourceName)
-                            .withTag("class", MetricsCollectingEurekaHttpClient.class.getSimpleName())
+                            .withTag("class", owner.getSimpleName())
                             .build()
             );
             ServoUtil.register(connectionErrors);
         }
 
+        Stopwatch startLatencyTimer() {
+            return latencyTimer.start();
+        }
+
+        void countResponse(EurekaHttpResponse<?> httpResponse) {
+            countersByStatus.get(mappedStatus(httpResponse)).increment();
+        }
+
+        void countConnectionError() {
+            connectionErrors.increment();
+        }
+
         void shutdown() {
             ServoUtil.unregister(latencyTimer, connectionErrors);
             ServoUtil.unregister(countersByStatus.values());
         }
 
-        private static Map<Status, Counter> createStatusCounters(String resourceName) {
+        private static Map<Status, Counter> createStatusCounters(String resourceName, Class<?> owner) {
             Map<Status, Counter> result = new EnumMap<>(Status.class);
 
             for (Status status : Status.values()) {
                 BasicCounter counter = new BasicCounter(
                         MonitorConfig.builder(EurekaClientNames.METRIC_TRANSPORT_PREFIX + "request")
                                 .withTag("id", resourceName)
-                                .withTag("class", MetricsCollectingEurekaHttpClient.class.getSimpleName())
+                                .withTag("class", owner.getSimpleName())
                                 .withTag("status", status.name())
                                 .build()
                 );
@@ -128,7 +128,7 @@ public class RedirectingEurekaHttpClient extends EurekaHttpClientDecorator {
                 return httpResponse;
             }
 
-            targetUrl = getRedirectBaseUri(httpResponse.getLocation());
+            targetUrl = getRedirectBaseUri(httpResponse.getLocation(), dnsService);
             if (targetUrl == null) {
                 throw new TransportException("Invalid redirect URL " + httpResponse.getLocation());
             }
@@ -141,7 +141,7 @@ public class RedirectingEurekaHttpClient extends EurekaHttpClientDecorator {
         throw new TransportException(message);
     }
 
-    private URI getRedirectBaseUri(URI locationURI) {
+    static URI getRedirectBaseUri(URI locationURI, DnsService dnsService) {
         if (locationURI == null) {
             throw new TransportException("Missing Location header in the redirect reply");
         }
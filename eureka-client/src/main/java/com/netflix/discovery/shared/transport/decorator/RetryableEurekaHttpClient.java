@@ -18,10 +18,18 @@ package com.netflix.discovery.shared.transport.decorator;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.discovery.shared.resolver.ClusterResolver;
 import com.netflix.discovery.shared.resolver.EurekaEndpoint;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
@@ -50,6 +58,12 @@ import static com.netflix.discovery.EurekaClientNames.METRIC_TRANSPORT_PREFIX;
  * <h3>5xx</h3>
  * If 5xx status code is returned, {@link ServerStatusEvaluator} predicate evaluates if the retries should be
  * retried on another server, or the response with this status code returned to the client.
+ * <h3>Latency</h3>
+ * The response times of each server are tracked, and shared by the clients of a {@link #createFactory factory}.
+ * If {@link EurekaTransportConfig#useRetryableClientLatencyAwareOrdering()} is set, a new server is picked
+ * from the fastest on average. If {@link EurekaTransportConfig#getRetryableClientHedgingPercentile()} is set,
+ * a full registry or delta fetch still running after this percentile of the recent fetch times is sent to another
+ * server as well, and the first acceptable response is returned. The server that answered it is used from then on.
  *
  * @author Tomasz Bak
  * @author Li gang
@@ -61,15 +75,17 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
     public static final int DEFAULT_NUMBER_OF_RETRIES = 3;
 
     private final String name;
-    private final EurekaTransportConfig transportConfig;
-    private final ClusterResolver clusterResolver;
     private final TransportClientFactory clientFactory;
     private final ServerStatusEvaluator serverStatusEvaluator;
     private final int numberOfRetries;
 
-    private final AtomicReference<EurekaHttpClient> delegate = new AtomicReference<>();
+    private final EndpointLatencies latencies;
+    private final double hedgingPercentile;
+    private final ExecutorService hedgingExecutor;
 
-    private final Set<EurekaEndpoint> quarantineSet = new ConcurrentSkipListSet<>();
+    private final AtomicReference<EndpointClient> delegate = new AtomicReference<>();
+
+    private final ServerQuarantine quarantine;
 
     public RetryableEurekaHttpClient(String name,
                                      EurekaTransportConfig transportConfig,
@@ -77,18 +93,42 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
                                      TransportClientFactory clientFactory,
                                      ServerStatusEvaluator serverStatusEvaluator,
                                      int numberOfRetries) {
+        this(name, transportConfig, clusterResolver, clientFactory, serverStatusEvaluator, numberOfRetries,
+                new EndpointLatencies());
+    }
+
+    RetryableEurekaHttpClient(String name,
+                              EurekaTransportConfig transportConfig,
+                              ClusterResolver clusterResolver,
+                              TransportClientFactory clientFactory,
+                              ServerStatusEvaluator serverStatusEvaluator,
+                              int numberOfRetries,
+                              EndpointLatencies latencies) {
         this.name = name;
-        this.transportConfig = transportConfig;
-        this.clusterResolver = clusterResolver;
         this.clientFactory = clientFactory;
         this.serverStatusEvaluator = serverStatusEvaluator;
         this.numberOfRetries = numberOfRetries;
+        this.latencies = latencies;
+        this.quarantine = new ServerQuarantine(transportConfig, clusterResolver, latencies);
+        this.hedgingPercentile = transportConfig.getRetryableClientHedgingPercentile();
+        this.hedgingExecutor = hedgingPercentile > 0 && hedgingPercentile < 1
+                ? Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                        .setNameFormat("RetryableEurekaHttpClient-" + name + "-hedging-%d")
+                        .setDaemon(true)
+                        .build())
+                : null;
         Monitors.registerObject(name, this);
     }
 
     @Override
     public void shutdown() {
-        TransportUtils.shutdown(delegate.get());
+        EndpointClient current = delegate.get();
+        if (current != null) {
+            TransportUtils.shutdown(current.client);
+        }
+        if (hedgingExecutor != null) {
+            hedgingExecutor.shutdownNow();
+        }
         if(Monitors.isObjectRegistered(name, this)) {
             Monitors.unregisterObject(name, this);
         }
@@ -96,14 +136,27 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
 
     @Override
     protected <R> EurekaHttpResponse<R> execute(RequestExecutor<R> requestExecutor) {
+        int retry = 0;
+        if (hedgingExecutor != null && isHedgeable(requestExecutor.getRequestType())) {
+            long hedgingDelay = latencies.getPercentile(requestExecutor.getRequestType(), hedgingPercentile);
+            if (hedgingDelay >= 0) {
+                HedgedResult<R> result = executeHedged(requestExecutor, hedgingDelay);
+                if (result.response != null) {
+                    return result.response;
+                }
+                // the failed hedged requests count as tries
+                retry = result.attempts;
+            }
+        }
+
         List<EurekaEndpoint> candidateHosts = null;
         int endpointIdx = 0;
-        for (int retry = 0; retry < numberOfRetries; retry++) {
-            EurekaHttpClient currentHttpClient = delegate.get();
+        for (; retry < numberOfRetries; retry++) {
+            EndpointClient currentClient = delegate.get();
             EurekaEndpoint currentEndpoint = null;
-            if (currentHttpClient == null) {
+            if (currentClient == null) {
                 if (candidateHosts == null) {
-                    candidateHosts = getHostCandidates();
+                    candidateHosts = quarantine.getHostCandidates();
                     if (candidateHosts.isEmpty()) {
                         throw new TransportException("There is no known eureka server; cluster server list is empty");
                     }
@@ -113,13 +166,16 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
                 }
 
                 currentEndpoint = candidateHosts.get(endpointIdx++);
-                currentHttpClient = clientFactory.newClient(currentEndpoint);
+                currentClient = new EndpointClient(currentEndpoint, clientFactory.newClient(currentEndpoint));
             }
 
             try {
-                EurekaHttpResponse<R> response = requestExecutor.execute(currentHttpClient);
+                long startTime = System.currentTimeMillis();
+                EurekaHttpResponse<R> response = requestExecutor.execute(currentClient.client);
                 if (serverStatusEvaluator.accept(response.getStatusCode(), requestExecutor.getRequestType())) {
-                    delegate.set(currentHttpClient);
+                    latencies.record(currentClient.endpoint, requestExecutor.getRequestType(),
+                            System.currentTimeMillis() - startTime);
+                    delegate.set(currentClient);
                     if (retry > 0) {
                         logger.info("Request execution succeeded on retry #{}", retry);
                     }
@@ -131,24 +187,120 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
             }
 
             // Connection error or 5xx from the server that must be retried on another server
-            delegate.compareAndSet(currentHttpClient, null);
+            delegate.compareAndSet(currentClient, null);
             if (currentEndpoint != null) {
-                quarantineSet.add(currentEndpoint);
+                quarantine.add(currentEndpoint);
             }
         }
         throw new TransportException("Retry limit reached; giving up on completing the request");
     }
 
+    private static boolean isHedgeable(RequestType requestType) {
+        return requestType == RequestType.GetApplications || requestType == RequestType.GetDelta;
+    }
+
+    /**
+     * Executes the request on the current server, or the first candidate, and on the next candidate as well if no
+     * acceptable response is received within the hedging delay.
+     *
+     * @return the first acceptable response, if any, and otherwise the number of requests that failed, so the request
+     * is retried as usual on the remaining tries
+     */
+    private <R> HedgedResult<R> executeHedged(RequestExecutor<R> requestExecutor, long hedgingDelay) {
+        EndpointClient primaryClient = delegate.get();
+        List<EurekaEndpoint> candidateHosts = quarantine.getHostCandidates();
+        boolean primaryCreated = false;
+        if (primaryClient == null) {
+            if (candidateHosts.isEmpty()) {
+                throw new TransportException("There is no known eureka server; cluster server list is empty");
+            }
+            primaryClient = new EndpointClient(candidateHosts.get(0), clientFactory.newClient(candidateHosts.get(0)));
+            primaryCreated = true;
+        }
+        EurekaEndpoint backupEndpoint = null;
+        for (EurekaEndpoint candidate : candidateHosts) {
+            if (!candidate.equals(primaryClient.endpoint)) {
+                backupEndpoint = candidate;
+                break;
+            }
+        }
+
+        CompletionService<EurekaHttpResponse<R>> completionService = new ExecutorCompletionService<>(hedgingExecutor);
+        List<Attempt<R>> attempts = new ArrayList<>(2);
+        try {
+            attempts.add(new Attempt<>(primaryClient, primaryCreated, requestExecutor, completionService));
+            Future<EurekaHttpResponse<R>> completed = completionService.poll(hedgingDelay, TimeUnit.MILLISECONDS);
+            if (completed == null && backupEndpoint != null) {
+                logger.debug("No response from {} after {}ms; sending the request to {} as well",
+                        primaryClient.endpoint, hedgingDelay, backupEndpoint);
+                EndpointClient backupClient = new EndpointClient(backupEndpoint, clientFactory.newClient(backupEndpoint));
+                attempts.add(new Attempt<>(backupClient, true, requestExecutor, completionService));
+            }
+            for (int pending = attempts.size(); pending > 0; pending--) {
+                if (completed == null) {
+                    completed = completionService.take();
+                }
+                Attempt<R> attempt = findAttempt(attempts, completed);
+                EurekaHttpResponse<R> response = attempt.getAcceptedResponse();
+                if (response != null) {
+                    attempts.remove(attempt);
+                    EndpointClient replaced = delegate.getAndSet(attempt.endpointClient);
+                    if (replaced != null && replaced != attempt.endpointClient) {
+                        shutdownReplaced(replaced, attempts);
+                    }
+                    return new HedgedResult<>(response, attempts.size() + 1);
+                }
+                if (!attempt.created) {
+                    delegate.compareAndSet(attempt.endpointClient, null);
+                }
+                quarantine.add(attempt.endpointClient.endpoint);
+                completed = null;
+            }
+            return new HedgedResult<>(null, attempts.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransportException("Interrupted while waiting for a response");
+        } finally {
+            // Created clients that lost are shut down once they complete
+            for (Attempt<R> attempt : attempts) {
+                attempt.release();
+            }
+        }
+    }
+
+    /**
+     * Shuts down a client that is no longer pinned, once its pending hedged request completes if it has one.
+     */
+    private static <R> void shutdownReplaced(EndpointClient replaced, List<Attempt<R>> pendingAttempts) {
+        for (Attempt<R> attempt : pendingAttempts) {
+            if (attempt.endpointClient == replaced) {
+                attempt.shutdownClientOnRelease();
+                return;
+            }
+        }
+        TransportUtils.shutdown(replaced.client);
+    }
+
+    private static <R> Attempt<R> findAttempt(List<Attempt<R>> attempts, Future<EurekaHttpResponse<R>> completed) {
+        for (Attempt<R> attempt : attempts) {
+            if (attempt.future == completed) {
+                return attempt;
+            }
+        }
+        throw new IllegalStateException("Unknown request completion");
+    }
+
     public static EurekaHttpClientFactory createFactory(final String name,
                                                         final EurekaTransportConfig transportConfig,
                                                         final ClusterResolver<EurekaEndpoint> clusterResolver,
                                                         final TransportClientFactory delegateFactory,
                                                         final ServerStatusEvaluator serverStatusEvaluator) {
+        final EndpointLatencies latencies = new EndpointLatencies();
         return new EurekaHttpClientFactory() {
             @Override
             public EurekaHttpClient newClient() {
                 return new RetryableEurekaHttpClient(name, transportConfig, clusterResolver, delegateFactory,
-                        serverStatusEvaluator, DEFAULT_NUMBER_OF_RETRIES);
+                        serverStatusEvaluator, DEFAULT_NUMBER_OF_RETRIES, latencies);
             }
 
             @Override
@@ -158,37 +310,96 @@ public class RetryableEurekaHttpClient extends EurekaHttpClientDecorator {
         };
     }
 
-    private List<EurekaEndpoint> getHostCandidates() {
-        List<EurekaEndpoint> candidateHosts = clusterResolver.getClusterEndpoints();
-        quarantineSet.retainAll(candidateHosts);
-
-        // If enough hosts are bad, we have no choice but start over again
-        int threshold = (int) (candidateHosts.size() * transportConfig.getRetryableClientQuarantineRefreshPercentage());
-        //Prevent threshold is too large
-        if (threshold > candidateHosts.size()) {
-            threshold = candidateHosts.size();
-        }
-        if (quarantineSet.isEmpty()) {
-            // no-op
-        } else if (quarantineSet.size() >= threshold) {
-            logger.debug("Clearing quarantined list of size {}", quarantineSet.size());
-            quarantineSet.clear();
-        } else {
-            List<EurekaEndpoint> remainingHosts = new ArrayList<>(candidateHosts.size());
-            for (EurekaEndpoint endpoint : candidateHosts) {
-                if (!quarantineSet.contains(endpoint)) {
-                    remainingHosts.add(endpoint);
+
+    @Monitor(name = METRIC_TRANSPORT_PREFIX + "quarantineSize",
+            description = "number of servers quarantined", type = DataSourceType.GAUGE)
+    public long getQuarantineSetSize() {
+        return quarantine.size();
+    }
+
+    private static final class EndpointClient {
+        private final EurekaEndpoint endpoint;
+        private final EurekaHttpClient client;
+
+        private EndpointClient(EurekaEndpoint endpoint, EurekaHttpClient client) {
+            this.endpoint = endpoint;
+            this.client = client;
+        }
+    }
+
+    private static final class HedgedResult<R> {
+        private final EurekaHttpResponse<R> response;
+        private final int attempts;
+
+        private HedgedResult(EurekaHttpResponse<R> response, int attempts) {
+            this.response = response;
+            this.attempts = attempts;
+        }
+    }
+
+    private final class Attempt<R> implements Callable<EurekaHttpResponse<R>> {
+        private final EndpointClient endpointClient;
+        private final boolean created;
+        private final RequestExecutor<R> requestExecutor;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final Future<EurekaHttpResponse<R>> future;
+        private volatile boolean shutdownClient;
+
+        private Attempt(EndpointClient endpointClient, boolean created, RequestExecutor<R> requestExecutor,
+                        CompletionService<EurekaHttpResponse<R>> completionService) {
+            this.endpointClient = endpointClient;
+            this.created = created;
+            this.shutdownClient = created;
+            this.requestExecutor = requestExecutor;
+            this.future = completionService.submit(this);
+        }
+
+        @Override
+        public EurekaHttpResponse<R> call() {
+            try {
+                long startTime = System.currentTimeMillis();
+                EurekaHttpResponse<R> response = requestExecutor.execute(endpointClient.client);
+                if (serverStatusEvaluator.accept(response.getStatusCode(), requestExecutor.getRequestType())) {
+                    latencies.record(endpointClient.endpoint, requestExecutor.getRequestType(),
+                            System.currentTimeMillis() - startTime);
                 }
+                return response;
+            } finally {
+                release();
             }
-            candidateHosts = remainingHosts;
         }
 
-        return candidateHosts;
-    }
+        /**
+         * @return the response if it completed with an acceptable status code, or null otherwise
+         */
+        private EurekaHttpResponse<R> getAcceptedResponse() throws InterruptedException {
+            try {
+                EurekaHttpResponse<R> response = future.get();
+                if (serverStatusEvaluator.accept(response.getStatusCode(), requestExecutor.getRequestType())) {
+                    return response;
+                }
+                logger.warn("Request execution failure with status code {}", response.getStatusCode());
+            } catch (ExecutionException e) {
+                logger.warn("Request execution failed with message: {}", e.getCause().getMessage());
+            }
+            return null;
+        }
 
-    @Monitor(name = METRIC_TRANSPORT_PREFIX + "quarantineSize",
-            description = "number of servers quarantined", type = DataSourceType.GAUGE)
-    public long getQuarantineSetSize() {
-        return quarantineSet.size();
+        /**
+         * Makes the client shut down on release, as the pinned client it was has been replaced.
+         */
+        private void shutdownClientOnRelease() {
+            shutdownClient = true;
+        }
+
+        /**
+         * Called once when the request completes, and once if the attempt is discarded. A discarded client created
+         * for this attempt, or no longer pinned, is shut down on the second call.
+         */
+        private void release() {
+            if (!released.compareAndSet(false, true) && shutdownClient) {
+                TransportUtils.shutdown(endpointClient.client);
+            }
+        }
     }
 }
@@ -0,0 +1,83 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.netflix.discovery.shared.resolver.ClusterResolver;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.EurekaTransportConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The servers to which communication failed, and the choice of the servers to try next, shared by
+ * {@link RetryableEurekaHttpClient} and {@link AsyncRetryableEurekaHttpClient}.
+ *
+ * <p>
+ * Quarantined servers are not tried again until enough of the cluster is quarantined, as configured by
+ * {@link EurekaTransportConfig#getRetryableClientQuarantineRefreshPercentage()}, at which point the quarantine is
+ * cleared and all the servers are tried again.
+ * </p>
+ */
+class ServerQuarantine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerQuarantine.class);
+
+    private final EurekaTransportConfig transportConfig;
+    private final ClusterResolver clusterResolver;
+    private final EndpointLatencies latencies;
+
+    private final Set<EurekaEndpoint> quarantineSet = new ConcurrentSkipListSet<>();
+
+    ServerQuarantine(EurekaTransportConfig transportConfig, ClusterResolver clusterResolver, EndpointLatencies latencies) {
+        this.transportConfig = transportConfig;
+        this.clusterResolver = clusterResolver;
+        this.latencies = latencies;
+    }
+
+    void add(EurekaEndpoint endpoint) {
+        quarantineSet.add(endpoint);
+    }
+
+    int size() {
+        return quarantineSet.size();
+    }
+
+    /**
+     * @return the servers of the cluster that are not quarantined, the fastest first if latency aware ordering is
+     * enabled.
+     */
+    List<EurekaEndpoint> getHostCandidates() {
+        List<EurekaEndpoint> candidateHosts = clusterResolver.getClusterEndpoints();
+        quarantineSet.retainAll(candidateHosts);
+        latencies.retain(candidateHosts);
+        if (transportConfig.useRetryableClientLatencyAwareOrdering()) {
+            candidateHosts = latencies.sort(candidateHosts);
+        }
+
+        // If enough hosts are bad, we have no choice but start over again
+        int threshold = (int) (candidateHosts.size() * transportConfig.getRetryableClientQuarantineRefreshPercentage());
+        //Prevent threshold is too large
+        if (threshold > candidateHosts.size()) {
+            threshold = candidateHosts.size();
+        }
+        if (quarantineSet.isEmpty()) {
+            // no-op
+        } else if (quarantineSet.size() >= threshold) {
+            logger.debug("Clearing quarantined list of size {}", quarantineSet.size());
+            quarantineSet.clear();
+        } else {
+            List<EurekaEndpoint> remainingHosts = new ArrayList<>(candidateHosts.size());
+            for (EurekaEndpoint endpoint : candidateHosts) {
+                if (!quarantineSet.contains(endpoint)) {
+                    remainingHosts.add(endpoint);
+                }
+            }
+            candidateHosts = remainingHosts;
+        }
+
+        return candidateHosts;
+    }
+}
@@ -32,10 +32,14 @@ public final class ServerStatusEvaluators {
                 return true;
             } else if (requestType == RequestType.SendHeartBeat && statusCode == 404) {
                 return true;
+            } else if (requestType == RequestType.SendHeartBeats && statusCode == 404) {
+                return true;
             } else if (requestType == RequestType.Cancel) {  // cancel is best effort
                 return true;
             } else if (requestType == RequestType.GetDelta && (statusCode == 403 || statusCode == 404)) {
                 return true;
+            } else if (requestType == RequestType.WatchDelta && (statusCode == 304 || statusCode == 403 || statusCode == 404 || statusCode == 429)) {
+                return true;
             }
             return false;
         }
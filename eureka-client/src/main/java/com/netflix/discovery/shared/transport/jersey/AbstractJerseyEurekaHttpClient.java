@@ -7,6 +7,8 @@ import com.netflix.discovery.shared.Applications;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse.EurekaHttpResponseBuilder;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
 import com.netflix.discovery.util.StringUtil;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
@@ -33,6 +35,7 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractJerseyEurekaHttpClient.class);
     protected static final String HTML = "html";
+    private static final MediaType[] JSON_MEDIA_TYPES = {MediaType.APPLICATION_JSON_TYPE};
 
     protected final Client jerseyClient;
     protected final String serviceUrl;
@@ -117,6 +120,34 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
         }
     }
 
+    @Override
+    public EurekaHttpResponse<HeartBeatListResponse> sendHeartBeats(HeartBeatList heartBeats) {
+        String urlPath = "apps/heartbeats";
+        ClientResponse response = null;
+        try {
+            Builder requestBuilder = jerseyClient.resource(serviceUrl).path(urlPath).getRequestBuilder();
+            addExtraHeaders(requestBuilder);
+            response = requestBuilder
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .accept(MediaType.APPLICATION_JSON_TYPE)
+                    .post(ClientResponse.class, heartBeats);
+            EurekaHttpResponseBuilder<HeartBeatListResponse> eurekaResponseBuilder =
+                    anEurekaHttpResponse(response.getStatus(), HeartBeatListResponse.class).headers(headersOf(response));
+            if (response.getStatus() == Status.OK.getStatusCode() && response.hasEntity()) {
+                eurekaResponseBuilder.entity(response.getEntity(HeartBeatListResponse.class));
+            }
+            return eurekaResponseBuilder.build();
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Jersey HTTP POST {}{} with {} heartbeats; statusCode={}", serviceUrl, urlPath,
+                        heartBeats.getHeartBeats().size(), response == null ? "N/A" : response.getStatus());
+            }
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
     @Override
     public EurekaHttpResponse<Void> statusUpdate(String appName, String id, InstanceStatus newStatus, InstanceInfo info) {
         String urlPath = "apps/" + appName + '/' + id + "/status";
@@ -172,6 +203,35 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
         return getApplicationsInternal("apps/delta", regions);
     }
 
+    @Override
+    public EurekaHttpResponse<Applications> getDelta(long sinceVersion, String... regions) {
+        return getApplicationsInternal("apps/delta", sinceVersion, regions);
+    }
+
+    @Override
+    public EurekaHttpResponse<Void> watchDelta(long sinceVersion, long timeoutMs) {
+        String urlPath = "apps/delta/watch";
+        ClientResponse response = null;
+        try {
+            Builder requestBuilder = jerseyClient.resource(serviceUrl)
+                    .path(urlPath)
+                    .queryParam("since", Long.toString(sinceVersion))
+                    .queryParam("timeoutMs", Long.toString(timeoutMs))
+                    .getRequestBuilder();
+            addExtraHeaders(requestBuilder);
+            response = requestBuilder.get(ClientResponse.class);
+            return anEurekaHttpResponse(response.getStatus()).headers(headersOf(response)).build();
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Jersey HTTP GET {}{}?since={}; statusCode={}",
+                        serviceUrl, urlPath, sinceVersion, response == null ? "N/A" : response.getStatus());
+            }
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
     @Override
     public EurekaHttpResponse<Applications> getVip(String vipAddress, String... regions) {
         return getApplicationsInternal("vips/" + vipAddress, regions);
@@ -183,6 +243,10 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
     }
 
     private EurekaHttpResponse<Applications> getApplicationsInternal(String urlPath, String[] regions) {
+        return getApplicationsInternal(urlPath, null, regions);
+    }
+
+    private EurekaHttpResponse<Applications> getApplicationsInternal(String urlPath, Long sinceVersion, String[] regions) {
         ClientResponse response = null;
         String regionsParamValue = null;
         try {
@@ -191,9 +255,12 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
                 regionsParamValue = StringUtil.join(regions);
                 webResource = webResource.queryParam("regions", regionsParamValue);
             }
+            if (sinceVersion != null) {
+                webResource = webResource.queryParam("since", Long.toString(sinceVersion));
+            }
             Builder requestBuilder = webResource.getRequestBuilder();
             addExtraHeaders(requestBuilder);
-            response = requestBuilder.accept(MediaType.APPLICATION_JSON_TYPE).get(ClientResponse.class);
+            response = requestBuilder.accept(getRegistryMediaTypes()).get(ClientResponse.class);
 
             Applications applications = null;
             if (response.getStatus() == Status.OK.getStatusCode() && response.hasEntity()) {
@@ -205,9 +272,10 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
                     .build();
         } finally {
             if (logger.isDebugEnabled()) {
-                logger.debug("Jersey HTTP GET {}{}?{}; statusCode={}",
+                logger.debug("Jersey HTTP GET {}{}?{}{}; statusCode={}",
                         serviceUrl, urlPath,
                         regionsParamValue == null ? "" : "regions=" + regionsParamValue,
+                        sinceVersion == null ? "" : "&since=" + sinceVersion,
                         response == null ? "N/A" : response.getStatus()
                 );
             }
@@ -286,6 +354,13 @@ public abstract class AbstractJerseyEurekaHttpClient implements EurekaHttpClient
 
     protected abstract void addExtraHeaders(Builder webResource);
 
+    /**
+     * @return the media types accepted for the registry fetches, in order of preference.
+     */
+    protected MediaType[] getRegistryMediaTypes() {
+        return JSON_MEDIA_TYPES;
+    }
+
     private static Map<String, String> headersOf(ClientResponse response) {
         MultivaluedMap<String, String> jerseyHeaders = response.getHeaders();
         if (jerseyHeaders == null || jerseyHeaders.isEmpty()) {
@@ -16,10 +16,12 @@
 
 package com.netflix.discovery.shared.transport.jersey;
 
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
 import com.netflix.discovery.shared.transport.EurekaHttpClient;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.WebResource.Builder;
 
+import javax.ws.rs.core.MediaType;
 import java.util.Map;
 
 /**
@@ -29,11 +31,23 @@ import java.util.Map;
  */
 public class JerseyApplicationClient extends AbstractJerseyEurekaHttpClient {
 
+    private static final MediaType[] SMILE_MEDIA_TYPES = {JacksonSmile.MEDIA_TYPE, MediaType.APPLICATION_JSON_TYPE};
+
     private final Map<String, String> additionalHeaders;
+    private final boolean acceptSmile;
 
     public JerseyApplicationClient(Client jerseyClient, String serviceUrl, Map<String, String> additionalHeaders) {
+        this(jerseyClient, serviceUrl, additionalHeaders, false);
+    }
+
+    /**
+     * @param acceptSmile whether the registry is fetched in the binary Smile encoding when the server supports it.
+     */
+    public JerseyApplicationClient(Client jerseyClient, String serviceUrl, Map<String, String> additionalHeaders,
+                                   boolean acceptSmile) {
         super(jerseyClient, serviceUrl);
         this.additionalHeaders = additionalHeaders;
+        this.acceptSmile = acceptSmile;
     }
 
     @Override
@@ -44,4 +58,9 @@ public class JerseyApplicationClient extends AbstractJerseyEurekaHttpClient {
             }
         }
     }
+
+    @Override
+    protected MediaType[] getRegistryMediaTypes() {
+        return acceptSmile ? SMILE_MEDIA_TYPES : super.getRegistryMediaTypes();
+    }
 }
@@ -22,6 +22,7 @@ import com.netflix.appinfo.EurekaClientIdentity;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.EurekaClientConfig;
 import com.netflix.discovery.EurekaIdentityHeaderFilter;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
 import com.netflix.discovery.provider.DiscoveryJerseyProvider;
 import com.netflix.discovery.shared.resolver.EurekaEndpoint;
 import com.netflix.discovery.shared.transport.EurekaClientFactoryBuilder;
@@ -65,6 +66,7 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
     private final ApacheHttpClient4 apacheClient;
     private final ApacheHttpClientConnectionCleaner cleaner;
     private final Map<String, String> additionalHeaders;
+    private final boolean acceptSmile;
 
     /**
      * @deprecated {@link EurekaJerseyClient} is deprecated and will be removed
@@ -75,26 +77,29 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
                 jerseyClient,
                 null,
                 -1,
-                Collections.singletonMap(HTTP_X_DISCOVERY_ALLOW_REDIRECT, allowRedirects ? "true" : "false")
+                Collections.singletonMap(HTTP_X_DISCOVERY_ALLOW_REDIRECT, allowRedirects ? "true" : "false"),
+                false
         );
     }
 
     @Deprecated
     public JerseyEurekaHttpClientFactory(EurekaJerseyClient jerseyClient, Map<String, String> additionalHeaders) {
-        this(jerseyClient, null, -1, additionalHeaders);
+        this(jerseyClient, null, -1, additionalHeaders, false);
     }
 
     public JerseyEurekaHttpClientFactory(ApacheHttpClient4 apacheClient, long connectionIdleTimeout, Map<String, String> additionalHeaders) {
-        this(null, apacheClient, connectionIdleTimeout, additionalHeaders);
+        this(null, apacheClient, connectionIdleTimeout, additionalHeaders, false);
     }
 
     private JerseyEurekaHttpClientFactory(EurekaJerseyClient jerseyClient,
                                           ApacheHttpClient4 apacheClient,
                                           long connectionIdleTimeout,
-                                          Map<String, String> additionalHeaders) {
+                                          Map<String, String> additionalHeaders,
+                                          boolean acceptSmile) {
         this.jerseyClient = jerseyClient;
         this.apacheClient = jerseyClient != null ? jerseyClient.getClient() : apacheClient;
         this.additionalHeaders = additionalHeaders;
+        this.acceptSmile = acceptSmile;
         if (jerseyClient == null) {
             // the jersey client contains a cleaner already so only create this cleaner if we don't have a jersey client
             this.cleaner = new ApacheHttpClientConnectionCleaner(this.apacheClient, connectionIdleTimeout);
@@ -105,7 +110,7 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
 
     @Override
     public EurekaHttpClient newClient(EurekaEndpoint endpoint) {
-        return new JerseyApplicationClient(apacheClient, endpoint.getServiceUrl(), additionalHeaders);
+        return new JerseyApplicationClient(apacheClient, endpoint.getServiceUrl(), additionalHeaders, acceptSmile);
     }
 
     @Override
@@ -204,6 +209,10 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
             return buildLegacy(additionalHeaders, systemSSL);
         }
 
+        private boolean acceptsSmile() {
+            return decoderWrapper instanceof CodecWrappers.JacksonSmile;
+        }
+
         private JerseyEurekaHttpClientFactory buildLegacy(Map<String, String> additionalHeaders, boolean systemSSL) {
             EurekaJerseyClientBuilder clientBuilder = new EurekaJerseyClientBuilder()
                     .withClientName(clientName)
@@ -231,7 +240,7 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
             ApacheHttpClient4 discoveryApacheClient = jerseyClient.getClient();
             addFilters(discoveryApacheClient);
 
-            return new JerseyEurekaHttpClientFactory(jerseyClient, additionalHeaders);
+            return new JerseyEurekaHttpClientFactory(jerseyClient, null, -1, additionalHeaders, acceptsSmile());
         }
 
         private JerseyEurekaHttpClientFactory buildExperimental(Map<String, String> additionalHeaders) {
@@ -261,7 +270,7 @@ public class JerseyEurekaHttpClientFactory implements TransportClientFactory {
             ApacheHttpClient4 apacheClient = ApacheHttpClient4.create(clientConfig);
             addFilters(apacheClient);
 
-            return new JerseyEurekaHttpClientFactory(apacheClient, connectionIdleTimeout, additionalHeaders);
+            return new JerseyEurekaHttpClientFactory(null, apacheClient, connectionIdleTimeout, additionalHeaders, acceptsSmile());
         }
 
         /**
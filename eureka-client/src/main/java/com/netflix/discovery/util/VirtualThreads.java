@@ -0,0 +1,111 @@
+package com.netflix.discovery.util;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the threads of the Eureka executors either as virtual threads, or as daemon platform threads. Eureka is
+ * built for Java 8, so virtual threads are looked up by reflection, and are only available when running on JDK 21
+ * or later.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+
+    private static final AtomicBoolean unsupportedLogged = new AtomicBoolean();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * @param nameFormat a {@link String#format(String, Object...)} format for the thread names, with the thread
+     *                   sequence number as argument, as in {@link ThreadFactoryBuilder#setNameFormat(String)}
+     * @param virtual whether virtual threads are requested. Daemon platform threads are created otherwise, or if
+     *                the JVM does not support them
+     */
+    public static ThreadFactory newThreadFactory(final String nameFormat, boolean virtual) {
+        if (virtual && isSupported(nameFormat)) {
+            final AtomicLong count = new AtomicLong();
+            return runnable -> {
+                Thread thread = VIRTUAL_THREAD_FACTORY.newThread(runnable);
+                thread.setName(String.format(Locale.ROOT, nameFormat, count.getAndIncrement()));
+                return thread;
+            };
+        }
+        return new ThreadFactoryBuilder()
+                .setNameFormat(nameFormat)
+                .setDaemon(true)
+                .build();
+    }
+
+    /**
+     * @return an unstarted thread named <code>name</code>, which is virtual if requested and supported, or a daemon
+     *         platform thread of the given group otherwise
+     */
+    public static Thread newThread(ThreadGroup group, Runnable runnable, String name, boolean virtual) {
+        if (virtual && isSupported(name)) {
+            Thread thread = VIRTUAL_THREAD_FACTORY.newThread(runnable);
+            thread.setName(name);
+            return thread;
+        }
+        Thread thread = new Thread(group, runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static boolean isSupported(String requester) {
+        if (isSupported()) {
+            return true;
+        }
+        if (unsupportedLogged.compareAndSet(false, true)) {
+            logger.warn("Virtual threads requested for {} but not supported by this JVM; using platform threads", requester);
+        }
+        return false;
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory() {
+        // Thread.ofVirtual() is a preview API on JDK 19 and 20, which is not used even if preview features are enabled
+        if (javaFeatureVersion() < 21) {
+            return null;
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Cannot look up the virtual thread factory", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the feature release of the running JVM, as in Runtime.version().feature(), which is not available on
+     *         Java 8. The specification version is "1.8" on Java 8, and the feature release number later on
+     */
+    private static int javaFeatureVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        int dot = version.indexOf('.');
+        try {
+            return Integer.parseInt(dot < 0 ? version : version.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+}
@@ -184,6 +184,27 @@ public class DiscoveryClientRegistryTest {
         assertThat(countInstances(client.getApplications()), is(equalTo(3)));
     }
 
+    @Test
+    public void testDeltaDoesNotModifyPreviousApplications() throws Exception {
+        InstanceInfoGenerator instanceGen = InstanceInfoGenerator.newBuilder(4, "app1", "app2").build();
+        Applications initialApps = instanceGen.takeDelta(2);
+
+        when(requestHandler.getApplications(TEST_REMOTE_REGION)).thenReturn(
+                anEurekaHttpResponse(200, initialApps).type(MediaType.APPLICATION_JSON_TYPE).build()
+        );
+        EurekaClient client = discoveryClientResource.getClient();
+        Applications before = client.getApplications();
+        assertThat(countInstances(before), is(equalTo(2)));
+
+        when(requestHandler.getDelta(TEST_REMOTE_REGION)).thenReturn(
+                anEurekaHttpResponse(200, instanceGen.takeDelta(2)).type(MediaType.APPLICATION_JSON_TYPE).build()
+        );
+        assertThat(discoveryClientResource.awaitCacheUpdate(5, TimeUnit.SECONDS), is(true));
+
+        assertThat(countInstances(client.getApplications()), is(equalTo(4)));
+        assertThat(countInstances(before), is(equalTo(2)));
+    }
+
     @Test
     public void testGetInvalidVIP() throws Exception {
         Applications applications = InstanceInfoGenerator.newBuilder(1, "testApp").build().toApplications();
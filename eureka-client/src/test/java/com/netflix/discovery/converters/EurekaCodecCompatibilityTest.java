@@ -1,6 +1,9 @@
 package com.netflix.discovery.converters;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -269,6 +272,35 @@ public class EurekaCodecCompatibilityTest {
         verifyAllPairs(codingAction, Applications.class, availableXmlWrappers);
     }
 
+    @Test
+    public void testApplicationsSmileEncodeDecode() throws Exception {
+        Applications applications = infoGenerator.takeDelta(2);
+        CodecWrapper smileCodec = new CodecWrappers.JacksonSmile();
+
+        ByteArrayOutputStream smileOut = new ByteArrayOutputStream();
+        smileCodec.encode(applications, smileOut);
+        Applications decodedValue = smileCodec.decode(new ByteArrayInputStream(smileOut.toByteArray()), Applications.class);
+        assertThat(EurekaEntityComparators.equal(applications, decodedValue), is(true));
+
+        ByteArrayOutputStream jsonOut = new ByteArrayOutputStream();
+        new CodecWrappers.LegacyJacksonJson().encode(applications, jsonOut);
+        assertThat(smileOut.size() < jsonOut.size(), is(true));
+    }
+
+    @Test
+    public void testApplicationsSmileStringEncodeDecode() throws Exception {
+        Applications applications = infoGenerator.takeDelta(2);
+        CodecWrapper smileCodec = new CodecWrappers.JacksonSmile();
+
+        ByteArrayOutputStream smileOut = new ByteArrayOutputStream();
+        smileCodec.encode(applications, smileOut);
+        String encoded = smileCodec.encode(applications);
+        assertThat(encoded.getBytes(StandardCharsets.ISO_8859_1), is(smileOut.toByteArray()));
+
+        Applications decodedValue = smileCodec.decode(encoded, Applications.class);
+        assertThat(EurekaEntityComparators.equal(applications, decodedValue), is(true));
+    }
+
     /**
      * For backward compatibility with LegacyJacksonJson codec single item arrays shall not be unwrapped.
      */
@@ -177,6 +177,28 @@ public class EurekaJacksonCodecTest {
         assertTrue(EurekaEntityComparators.equal(decoded, APPLICATIONS));
     }
 
+    @Test
+    public void testApplicationsParallelDecode() throws Exception {
+        // Enough applications for several decode tasks
+        Applications original = InstanceInfoGenerator.newBuilder(200, 50).withMetaData(true).build().toApplications();
+        EurekaJacksonCodec parallelCodec = new EurekaJacksonCodec(
+                EurekaJacksonCodec.formatKey(null, EurekaJacksonCodec.VERSIONS_DELTA_TEMPLATE),
+                EurekaJacksonCodec.formatKey(null, EurekaJacksonCodec.APPS_HASHCODE_TEMPTE),
+                true
+        );
+
+        // Encode
+        ByteArrayOutputStream captureStream = new ByteArrayOutputStream();
+        codec.writeTo(original, captureStream);
+        byte[] encoded = captureStream.toByteArray();
+
+        // Decode
+        Applications decoded = parallelCodec.readValue(Applications.class, new ByteArrayInputStream(encoded));
+
+        assertTrue(EurekaEntityComparators.equal(decoded, original));
+        assertTrue(EurekaEntityComparators.equal(decoded, codec.readValue(Applications.class, new ByteArrayInputStream(encoded))));
+    }
+
     @Test
     public void testApplicationsXStreamEncodeJacksonDecode() throws Exception {
         Applications original = APPLICATIONS;
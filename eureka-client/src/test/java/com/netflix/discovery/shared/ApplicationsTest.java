@@ -11,6 +11,7 @@ import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -1044,4 +1045,68 @@ public class ApplicationsTest {
         assertTrue(apps.getInstancesByVirtualHostName("my.vip").isEmpty());
     }
 
+    @Test
+    public void testCopyForUpdateReindexesOnlyUpdatedApplications() {
+        InstanceInfo app1Inst = newVipInstance("APP1", "host1", "shared.vip", InstanceStatus.UP);
+        InstanceInfo app2Inst = newVipInstance("APP2", "host2", "shared.vip", InstanceStatus.UP);
+        InstanceInfo app3Inst = newVipInstance("APP3", "host3", "app3.vip", InstanceStatus.UP);
+        Applications apps = new Applications();
+        apps.addApplication(newApplication("APP1", app1Inst));
+        apps.addApplication(newApplication("APP2", app2Inst));
+        apps.addApplication(newApplication("APP3", app3Inst));
+        apps.shuffleInstances(true);
+
+        Applications copy = apps.copyForUpdate(new HashSet<>(Arrays.asList("APP1", "APP3", "APP4")));
+        InstanceInfo app1Added = newVipInstance("APP1", "host1b", "shared.vip", InstanceStatus.UP);
+        InstanceInfo app1Down = newVipInstance("APP1", "host1", "shared.vip", InstanceStatus.DOWN);
+        copy.getRegisteredApplications("APP1").addInstance(app1Added);
+        copy.getRegisteredApplications("APP1").addInstance(app1Down);
+        copy.removeApplication(copy.getRegisteredApplications("APP3"));
+        copy.addApplication(newApplication("APP4", newVipInstance("APP4", "host4", "app4.vip", InstanceStatus.UP)));
+        copy.shuffleInstances(true);
+
+        List<InstanceInfo> sharedVip = copy.getInstancesByVirtualHostName("shared.vip");
+        assertEquals(2, sharedVip.size());
+        assertTrue(sharedVip.containsAll(Arrays.asList(app1Added, app2Inst)));
+        assertTrue(copy.getInstancesByVirtualHostName("app3.vip").isEmpty());
+        assertEquals(1, copy.getInstancesByVirtualHostName("app4.vip").size());
+        assertEquals(1, copy.getRegisteredApplications("APP1").getInstances().size());
+        assertTrue(copy.getRegisteredApplications("APP2") == apps.getRegisteredApplications("APP2"));
+
+        // the original applications are left untouched
+        assertEquals(2, apps.getInstancesByVirtualHostName("shared.vip").size());
+        assertTrue(apps.getInstancesByVirtualHostName("shared.vip").containsAll(Arrays.asList(app1Inst, app2Inst)));
+        assertEquals(1, apps.getInstancesByVirtualHostName("app3.vip").size());
+        assertTrue(apps.getInstancesByVirtualHostName("app4.vip").isEmpty());
+        assertEquals(1, apps.getRegisteredApplications("APP1").getInstancesAsIsFromEureka().size());
+    }
+
+    @Test
+    public void testCopyForUpdateKeepsIndexOfUntouchedVips() {
+        Applications apps = new Applications();
+        apps.addApplication(newApplication("APP1", newVipInstance("APP1", "host1", "app1.vip", InstanceStatus.UP)));
+        apps.addApplication(newApplication("APP2", newVipInstance("APP2", "host2", "app2.vip", InstanceStatus.UP)));
+        apps.shuffleInstances(false);
+        apps.getNextIndex("app2.vip", false).incrementAndGet();
+
+        Applications copy = apps.copyForUpdate(Collections.singleton("APP1"));
+        copy.getRegisteredApplications("APP1").addInstance(newVipInstance("APP1", "host1b", "app1.vip", InstanceStatus.UP));
+        copy.shuffleInstances(false);
+
+        assertEquals(2, copy.getInstancesByVirtualHostName("app1.vip").size());
+        assertEquals(0, copy.getNextIndex("app1.vip", false).get());
+        assertEquals(1, copy.getNextIndex("app2.vip", false).get());
+    }
+
+    private static InstanceInfo newVipInstance(String appName, String hostName, String vip, InstanceStatus status) {
+        return InstanceInfo.Builder.newBuilder()
+                .setAppName(appName).setVIPAddress(vip).setDataCenterInfo(TEST_DCI)
+                .setHostName(hostName).setStatus(status).build();
+    }
+
+    private static Application newApplication(String appName, InstanceInfo instance) {
+        Application app = new Application(appName);
+        app.addInstance(instance);
+        return app;
+    }
 }
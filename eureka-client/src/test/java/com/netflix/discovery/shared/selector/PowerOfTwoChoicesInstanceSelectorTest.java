@@ -0,0 +1,35 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.List;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class PowerOfTwoChoicesInstanceSelectorTest {
+
+    @Test
+    public void testMostLoadedInstanceIsNeverSelected() throws Exception {
+        List<InstanceInfo> instances = InstanceInfoGenerator.newBuilder(3, 1).build().toInstanceList();
+        InstanceInfo overloaded = instances.get(1);
+        PowerOfTwoChoicesInstanceSelector selector = new PowerOfTwoChoicesInstanceSelector(
+                instance -> instance == overloaded ? 100 : 0
+        );
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(selector.select("vip", instances), is(not(overloaded)));
+        }
+    }
+
+    @Test
+    public void testSingleInstance() throws Exception {
+        List<InstanceInfo> instances = InstanceInfoGenerator.newBuilder(1, 1).build().toInstanceList();
+        PowerOfTwoChoicesInstanceSelector selector = new PowerOfTwoChoicesInstanceSelector(instance -> 0);
+
+        assertThat(selector.select("vip", instances), is(instances.get(0)));
+    }
+}
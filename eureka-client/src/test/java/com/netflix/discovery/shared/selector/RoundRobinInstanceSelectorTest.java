@@ -0,0 +1,44 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RoundRobinInstanceSelectorTest {
+
+    private final RoundRobinInstanceSelector selector = new RoundRobinInstanceSelector();
+
+    @Test
+    public void testEachInstanceIsSelectedOncePerRound() throws Exception {
+        List<InstanceInfo> instances = InstanceInfoGenerator.newBuilder(5, 1).build().toInstanceList();
+
+        Set<String> selected = new HashSet<>();
+        for (int i = 0; i < instances.size(); i++) {
+            selected.add(selector.select("vip", instances).getId());
+        }
+        assertThat(selected.size(), is(equalTo(instances.size())));
+    }
+
+    @Test
+    public void testEachVipIsRotatedWhenAlternatingBetweenVips() throws Exception {
+        List<InstanceInfo> vip1Instances = InstanceInfoGenerator.newBuilder(2, 1).build().toInstanceList();
+        List<InstanceInfo> vip2Instances = InstanceInfoGenerator.newBuilder(2, 1).build().toInstanceList();
+
+        Set<InstanceInfo> vip1Selected = new HashSet<>();
+        Set<InstanceInfo> vip2Selected = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            vip1Selected.add(selector.select("vip1", vip1Instances));
+            vip2Selected.add(selector.select("vip2", vip2Instances));
+        }
+        assertThat(vip1Selected.size(), is(equalTo(2)));
+        assertThat(vip2Selected.size(), is(equalTo(2)));
+    }
+}
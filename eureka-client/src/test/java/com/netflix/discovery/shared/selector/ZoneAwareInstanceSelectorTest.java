@@ -0,0 +1,71 @@
+package com.netflix.discovery.shared.selector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ZoneAwareInstanceSelectorTest {
+
+    @Test
+    public void testLocalZoneIsFavored() throws Exception {
+        List<InstanceInfo> instances = new ArrayList<>();
+        instances.addAll(InstanceInfoGenerator.newBuilder(2, "app").withZone("us-east-1a").build().toInstanceList());
+        instances.addAll(InstanceInfoGenerator.newBuilder(2, "app").withZone("us-east-1b").build().toInstanceList());
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("us-east-1a", 1000);
+
+        int localCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if ("us-east-1a".equals(InstanceInfo.getZone(null, selector.select("vip", instances)))) {
+                localCount++;
+            }
+        }
+        assertThat(localCount > 950, is(true));
+    }
+
+    @Test
+    public void testOtherZonesAreUsedWithoutLocalInstances() throws Exception {
+        List<InstanceInfo> instances = InstanceInfoGenerator.newBuilder(2, "app").withZone("us-east-1b").build().toInstanceList();
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("us-east-1a", 1000);
+
+        assertThat(InstanceInfo.getZone(null, selector.select("vip", instances)), is(equalTo("us-east-1b")));
+    }
+
+    @Test
+    public void testInstancesWithoutZoneAreNotFavored() throws Exception {
+        List<InstanceInfo> instances = new ArrayList<>();
+        instances.addAll(InstanceInfoGenerator.newBuilder(2, "app").withZone("us-east-1a").build().toInstanceList());
+        for (InstanceInfo instance : InstanceInfoGenerator.newBuilder(2, "app").withZone("us-east-1b").build().toInstanceList()) {
+            instances.add(new InstanceInfo.Builder(instance)
+                    .setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+                    .build());
+        }
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector(ZoneAwareInstanceSelector.NO_ZONE, 1000);
+
+        int zonedCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if ("us-east-1a".equals(InstanceInfo.getZone(null, selector.select("vip", instances)))) {
+                zonedCount++;
+            }
+        }
+        assertThat(zonedCount > 300 && zonedCount < 700, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWeight() throws Exception {
+        new ZoneAwareInstanceSelector("us-east-1a", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingLocalZone() throws Exception {
+        new ZoneAwareInstanceSelector(null, 1000);
+    }
+}
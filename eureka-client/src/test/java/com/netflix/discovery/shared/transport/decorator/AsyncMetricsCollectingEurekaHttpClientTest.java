@@ -0,0 +1,95 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import com.netflix.discovery.shared.transport.decorator.EurekaHttpClientDecorator.RequestType;
+import com.netflix.discovery.shared.transport.decorator.MetricsCollectingEurekaHttpClient.EurekaHttpClientRequestMetrics;
+import com.netflix.discovery.util.ExceptionsMetric;
+import com.netflix.servo.monitor.Stopwatch;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.netflix.discovery.shared.transport.EurekaHttpResponse.anEurekaHttpResponse;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncMetricsCollectingEurekaHttpClientTest {
+
+    private final AsyncEurekaHttpClient delegate = mock(AsyncEurekaHttpClient.class);
+    private final ExceptionsMetric exceptionsMetric = mock(ExceptionsMetric.class);
+    private final Stopwatch stopwatch = mock(Stopwatch.class);
+    private final Map<RequestType, EurekaHttpClientRequestMetrics> metricsByRequestType = new EnumMap<>(RequestType.class);
+
+    private AsyncMetricsCollectingEurekaHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        for (RequestType requestType : RequestType.values()) {
+            EurekaHttpClientRequestMetrics requestMetrics = mock(EurekaHttpClientRequestMetrics.class);
+            when(requestMetrics.startLatencyTimer()).thenReturn(stopwatch);
+            metricsByRequestType.put(requestType, requestMetrics);
+        }
+        httpClient = new AsyncMetricsCollectingEurekaHttpClient(delegate, metricsByRequestType, exceptionsMetric, false);
+    }
+
+    @Test
+    public void testResponseIsCountedWhenItCompletes() throws Exception {
+        EurekaHttpResponse<Applications> response = anEurekaHttpResponse(200, new Applications()).build();
+        CompletableFuture<EurekaHttpResponse<Applications>> responseFuture = new CompletableFuture<>();
+        when(delegate.getApplications()).thenReturn(responseFuture);
+
+        CompletableFuture<EurekaHttpResponse<Applications>> result = httpClient.getApplications();
+        EurekaHttpClientRequestMetrics requestMetrics = metricsByRequestType.get(RequestType.GetApplications);
+        verify(stopwatch, never()).stop();
+
+        responseFuture.complete(response);
+        result.get();
+        verify(stopwatch, times(1)).stop();
+        verify(requestMetrics, times(1)).countResponse(response);
+        verify(requestMetrics, never()).countConnectionError();
+    }
+
+    @Test
+    public void testFailedRequestIsCountedAsConnectionError() throws Exception {
+        TransportException error = new TransportException("simulated network error");
+        when(delegate.getApplications()).thenReturn(TransportUtils.<EurekaHttpResponse<Applications>>failedFuture(error));
+
+        expectFailure(httpClient.getApplications());
+        EurekaHttpClientRequestMetrics requestMetrics = metricsByRequestType.get(RequestType.GetApplications);
+        verify(stopwatch, times(1)).stop();
+        verify(requestMetrics, times(1)).countConnectionError();
+        verify(requestMetrics, never()).countResponse(any(EurekaHttpResponse.class));
+        verify(exceptionsMetric, times(1)).count(error);
+    }
+
+    @Test
+    public void testClientFailureIsCountedAsConnectionError() throws Exception {
+        TransportException error = new TransportException("simulated network error");
+        when(delegate.getApplications()).thenThrow(error);
+
+        expectFailure(httpClient.getApplications());
+        verify(metricsByRequestType.get(RequestType.GetApplications), times(1)).countConnectionError();
+        verify(exceptionsMetric, times(1)).count(error);
+    }
+
+    private static void expectFailure(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("ExecutionException expected");
+        } catch (ExecutionException ignore) {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.concurrent.CompletableFuture;
+
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.dns.DnsService;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import static com.netflix.discovery.shared.transport.EurekaHttpResponse.anEurekaHttpResponse;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncRedirectingEurekaHttpClientTest {
+
+    private static final String SERVICE_URL = "http://mydiscovery.test";
+
+    private final AsyncTransportClientFactory factory = mock(AsyncTransportClientFactory.class);
+
+    private final AsyncEurekaHttpClient sourceClient = mock(AsyncEurekaHttpClient.class);
+    private final AsyncEurekaHttpClient redirectedClient = mock(AsyncEurekaHttpClient.class);
+    private final DnsService dnsService = mock(DnsService.class);
+
+    public void setupRedirect() {
+        when(factory.newClient(Matchers.<EurekaEndpoint>anyVararg())).thenReturn(sourceClient, redirectedClient);
+        when(sourceClient.getApplications()).thenReturn(CompletableFuture.completedFuture(
+                anEurekaHttpResponse(302, Applications.class)
+                        .headers(HttpHeaders.LOCATION, "http://another.discovery.test/eureka/v2/apps")
+                        .build()
+        ));
+        when(dnsService.resolveIp("another.discovery.test")).thenReturn("192.168.0.1");
+        when(redirectedClient.getApplications()).thenReturn(CompletableFuture.completedFuture(
+                anEurekaHttpResponse(200, new Applications()).type(MediaType.APPLICATION_JSON_TYPE).build()
+        ));
+    }
+
+    @Test
+    public void testRedirectsAreFollowedAndClientIsPinnedToTheLastServer() throws Exception {
+        setupRedirect();
+
+        AsyncRedirectingEurekaHttpClient httpClient = new AsyncRedirectingEurekaHttpClient(SERVICE_URL, factory, dnsService);
+
+        // First call pins client to resolved IP
+        assertThat(httpClient.getApplications().get().getStatusCode(), is(equalTo(200)));
+
+        verify(factory, times(2)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+        verify(sourceClient, times(1)).getApplications();
+        verify(sourceClient, times(1)).shutdown();
+        verify(redirectedClient, times(1)).getApplications();
+
+        // Second call goes straight to the same address
+        httpClient.getApplications().get();
+
+        verify(factory, times(2)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+        verify(dnsService, times(1)).resolveIp("another.discovery.test");
+        verify(redirectedClient, times(2)).getApplications();
+    }
+
+    @Test
+    public void testOnConnectionErrorPinnedClientIsDestroyed() throws Exception {
+        setupRedirect();
+
+        AsyncRedirectingEurekaHttpClient httpClient = new AsyncRedirectingEurekaHttpClient(SERVICE_URL, factory, dnsService);
+        httpClient.getApplications().get();
+
+        // Trigger connection error
+        when(redirectedClient.getApplications()).thenReturn(
+                TransportUtils.failedFuture(new TransportException("simulated network error")));
+        assertThat(httpClient.getApplications().isCompletedExceptionally(), is(true));
+        verify(redirectedClient, times(1)).shutdown();
+
+        // Subsequent request shall create new httpClient
+        reset(factory, sourceClient, dnsService, redirectedClient);
+        setupRedirect();
+
+        httpClient.getApplications().get();
+
+        verify(factory, times(2)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+        verify(sourceClient, times(1)).getApplications();
+        verify(redirectedClient, times(1)).getApplications();
+    }
+}
@@ -0,0 +1,142 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.netflix.discovery.shared.resolver.ClusterResolver;
+import com.netflix.discovery.shared.resolver.EurekaEndpoint;
+import com.netflix.discovery.shared.resolver.aws.AwsEndpoint;
+import com.netflix.discovery.shared.resolver.aws.SampleCluster;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncTransportClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.EurekaTransportConfig;
+import com.netflix.discovery.shared.transport.TransportException;
+import com.netflix.discovery.shared.transport.TransportUtils;
+import com.netflix.discovery.shared.transport.decorator.AsyncEurekaHttpClientDecorator.AsyncRequestExecutor;
+import com.netflix.discovery.shared.transport.decorator.EurekaHttpClientDecorator.RequestType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncRetryableEurekaHttpClientTest {
+
+    private static final int NUMBER_OF_RETRIES = 2;
+    private static final int CLUSTER_SIZE = 3;
+
+    private static final List<AwsEndpoint> CLUSTER_ENDPOINTS = SampleCluster.UsEast1a.builder().withServerPool(CLUSTER_SIZE).build();
+
+    private final EurekaTransportConfig transportConfig = mock(EurekaTransportConfig.class);
+    private final ClusterResolver clusterResolver = mock(ClusterResolver.class);
+    private final AsyncTransportClientFactory clientFactory = mock(AsyncTransportClientFactory.class);
+    private final ServerStatusEvaluator serverStatusEvaluator = ServerStatusEvaluators.legacyEvaluator();
+    private final AsyncRequestExecutor<Void> requestExecutor = mock(AsyncRequestExecutor.class);
+
+    private AsyncRetryableEurekaHttpClient retryableClient;
+
+    private List<AsyncEurekaHttpClient> clusterDelegates;
+
+    @Before
+    public void setUp() throws Exception {
+        when(transportConfig.getRetryableClientQuarantineRefreshPercentage()).thenReturn(0.66);
+        when(requestExecutor.getRequestType()).thenReturn(RequestType.Register);
+
+        retryableClient = new AsyncRetryableEurekaHttpClient(
+                "test",
+                transportConfig,
+                clusterResolver,
+                clientFactory,
+                serverStatusEvaluator,
+                NUMBER_OF_RETRIES);
+
+        clusterDelegates = new ArrayList<>(CLUSTER_SIZE);
+        for (int i = 0; i < CLUSTER_SIZE; i++) {
+            clusterDelegates.add(mock(AsyncEurekaHttpClient.class));
+        }
+
+        when(clusterResolver.getClusterEndpoints()).thenReturn(CLUSTER_ENDPOINTS);
+    }
+
+    @After
+    public void tearDown() {
+        retryableClient.shutdown();
+    }
+
+    @Test
+    public void testRequestsReuseSameConnectionIfThereIsNoError() throws Exception {
+        when(clientFactory.newClient(Matchers.<EurekaEndpoint>anyVararg())).thenReturn(clusterDelegates.get(0));
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenReturn(completed(200));
+
+        for (int i = 0; i < 3; i++) {
+            EurekaHttpResponse<Void> httpResponse = retryableClient.execute(requestExecutor).get();
+            assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+        }
+
+        verify(clientFactory, times(1)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+        verify(requestExecutor, times(3)).execute(clusterDelegates.get(0));
+    }
+
+    @Test
+    public void testRequestIsRetriedOnFailedFuture() throws Exception {
+        when(clientFactory.newClient(Matchers.<EurekaEndpoint>anyVararg())).thenReturn(clusterDelegates.get(0), clusterDelegates.get(1));
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenReturn(
+                TransportUtils.<EurekaHttpResponse<Void>>failedFuture(new TransportException("simulated network error")));
+        when(requestExecutor.execute(clusterDelegates.get(1))).thenReturn(completed(200));
+
+        EurekaHttpResponse<Void> httpResponse = retryableClient.execute(requestExecutor).get();
+        assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+
+        verify(clientFactory, times(2)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+        verify(clusterDelegates.get(0), times(1)).shutdown();
+        assertThat(retryableClient.getQuarantineSetSize(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testRequestIsRetriedOnServerErrorOnceTheFirstResponseCompletes() throws Exception {
+        CompletableFuture<EurekaHttpResponse<Void>> firstResponse = new CompletableFuture<>();
+        when(clientFactory.newClient(Matchers.<EurekaEndpoint>anyVararg())).thenReturn(clusterDelegates.get(0), clusterDelegates.get(1));
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenReturn(firstResponse);
+        when(requestExecutor.execute(clusterDelegates.get(1))).thenReturn(completed(200));
+
+        CompletableFuture<EurekaHttpResponse<Void>> response = retryableClient.execute(requestExecutor);
+        assertThat(response.isDone(), is(false));
+        verify(clientFactory, times(1)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+
+        firstResponse.complete(EurekaHttpResponse.<Void>status(500));
+        assertThat(response.get().getStatusCode(), is(equalTo(200)));
+        verify(requestExecutor, times(1)).execute(clusterDelegates.get(1));
+    }
+
+    @Test
+    public void testFutureFailsIfRetryLimitIsReached() throws Exception {
+        when(clientFactory.newClient(Matchers.<EurekaEndpoint>anyVararg())).thenReturn(clusterDelegates.get(0), clusterDelegates.get(1));
+        for (int i = 0; i < 2; i++) {
+            when(requestExecutor.execute(clusterDelegates.get(i))).thenThrow(new TransportException("simulated network error"));
+        }
+
+        try {
+            retryableClient.execute(requestExecutor).get();
+            fail("Expected the retry limit to be reached");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TransportException.class)));
+        }
+        verify(clientFactory, times(NUMBER_OF_RETRIES)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+    }
+
+    private static CompletableFuture<EurekaHttpResponse<Void>> completed(int statusCode) {
+        return CompletableFuture.completedFuture(EurekaHttpResponse.<Void>status(statusCode));
+    }
+}
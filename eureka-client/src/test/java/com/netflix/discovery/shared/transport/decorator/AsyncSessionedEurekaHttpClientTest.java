@@ -0,0 +1,75 @@
+package com.netflix.discovery.shared.transport.decorator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClient;
+import com.netflix.discovery.shared.transport.AsyncEurekaHttpClientFactory;
+import com.netflix.discovery.shared.transport.EurekaHttpResponse;
+import com.netflix.discovery.shared.transport.TransportException;
+import org.junit.Test;
+
+import static com.netflix.discovery.shared.transport.EurekaHttpResponse.anEurekaHttpResponse;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncSessionedEurekaHttpClientTest {
+
+    private final AsyncEurekaHttpClient firstClient = mock(AsyncEurekaHttpClient.class);
+    private final AsyncEurekaHttpClient secondClient = mock(AsyncEurekaHttpClient.class);
+    private final AsyncEurekaHttpClientFactory factory = mock(AsyncEurekaHttpClientFactory.class);
+
+    @Test
+    public void testReconnectIsEnforcedAtConfiguredInterval() throws Exception {
+        final AtomicReference<AsyncEurekaHttpClient> clientRef = new AtomicReference<>(firstClient);
+        when(factory.newClient()).thenAnswer(invocation -> clientRef.get());
+        when(firstClient.getApplications()).thenReturn(completedResponse());
+        when(secondClient.getApplications()).thenReturn(completedResponse());
+
+        AsyncSessionedEurekaHttpClient httpClient = null;
+        try {
+            httpClient = new AsyncSessionedEurekaHttpClient("test", factory, 1);
+            httpClient.getApplications().get();
+            verify(firstClient, times(1)).getApplications();
+
+            clientRef.set(secondClient);
+            Thread.sleep(2);
+
+            httpClient.getApplications().get();
+            verify(secondClient, times(1)).getApplications();
+            verify(firstClient, times(1)).shutdown();
+        } finally {
+            if (httpClient != null) {
+                httpClient.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testClientFailureIsReturnedAsFailedFuture() throws Exception {
+        when(factory.newClient()).thenReturn(firstClient);
+        when(firstClient.getApplications()).thenThrow(new TransportException("simulated network error"));
+
+        AsyncSessionedEurekaHttpClient httpClient = new AsyncSessionedEurekaHttpClient("test", factory, 1000);
+        try {
+            httpClient.getApplications().get();
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TransportException.class)));
+        } finally {
+            httpClient.shutdown();
+        }
+    }
+
+    private static CompletableFuture<EurekaHttpResponse<Applications>> completedResponse() {
+        return CompletableFuture.completedFuture(anEurekaHttpResponse(200, new Applications()).build());
+    }
+}
@@ -41,7 +41,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -186,6 +188,127 @@ public class RetryableEurekaHttpClientTest {
         verify(requestExecutor, times(1)).execute(clusterDelegates.get(1));
     }
 
+    @Test(timeout = 10000)
+    public void testSlowFetchIsHedgedOnAnotherServer() throws Exception {
+        when(transportConfig.getRetryableClientHedgingPercentile()).thenReturn(0.9);
+        EndpointLatencies latencies = new EndpointLatencies();
+        for (int i = 0; i < EndpointLatencies.MIN_SAMPLES; i++) {
+            latencies.record(CLUSTER_ENDPOINTS.get(0), RequestType.GetApplications, 500);
+        }
+        RetryableEurekaHttpClient hedgingClient = new RetryableEurekaHttpClient(
+                "test",
+                transportConfig,
+                clusterResolver,
+                clientFactory,
+                serverStatusEvaluator,
+                NUMBER_OF_RETRIES,
+                latencies);
+
+        final CountDownLatch completeLatch = new CountDownLatch(1);
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(0))).thenReturn(clusterDelegates.get(0));
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(1))).thenReturn(clusterDelegates.get(1));
+        when(requestExecutor.getRequestType()).thenReturn(RequestType.GetApplications);
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenAnswer(invocation -> {
+            completeLatch.await();
+            return EurekaHttpResponse.status(200);
+        });
+        when(requestExecutor.execute(clusterDelegates.get(1))).thenReturn(EurekaHttpResponse.status(200));
+
+        try {
+            // The first server does not answer, so the request is sent to the second one as well
+            EurekaHttpResponse<Void> httpResponse = hedgingClient.execute(requestExecutor);
+            assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+            verify(requestExecutor, times(1)).execute(clusterDelegates.get(1));
+
+            // The second server is used from now on
+            httpResponse = hedgingClient.execute(requestExecutor);
+            assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+            verify(requestExecutor, times(1)).execute(clusterDelegates.get(0));
+            verify(requestExecutor, times(2)).execute(clusterDelegates.get(1));
+        } finally {
+            completeLatch.countDown();
+            hedgingClient.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testPinnedClientIsShutDownWhenHedgedRequestWins() throws Exception {
+        RetryableEurekaHttpClient hedgingClient = newHedgingClient();
+
+        final CountDownLatch completeLatch = new CountDownLatch(1);
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(0))).thenReturn(clusterDelegates.get(0));
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(1))).thenReturn(clusterDelegates.get(1));
+        when(requestExecutor.getRequestType()).thenReturn(RequestType.GetApplications);
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenReturn(EurekaHttpResponse.status(200));
+        when(requestExecutor.execute(clusterDelegates.get(1))).thenReturn(EurekaHttpResponse.status(200));
+
+        try {
+            // The first server answers, and its client is pinned
+            hedgingClient.execute(requestExecutor);
+
+            when(requestExecutor.execute(clusterDelegates.get(0))).thenAnswer(invocation -> {
+                completeLatch.await();
+                return EurekaHttpResponse.status(200);
+            });
+            EurekaHttpResponse<Void> httpResponse = hedgingClient.execute(requestExecutor);
+            assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+
+            // The replaced client is shut down once its request completes
+            verify(clusterDelegates.get(0), never()).shutdown();
+            completeLatch.countDown();
+            verify(clusterDelegates.get(0), timeout(5000)).shutdown();
+            verify(clusterDelegates.get(1), never()).shutdown();
+        } finally {
+            completeLatch.countDown();
+            hedgingClient.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedHedgedRequestsCountAsRetries() throws Exception {
+        RetryableEurekaHttpClient hedgingClient = newHedgingClient();
+
+        final CountDownLatch backupLatch = new CountDownLatch(1);
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(0))).thenReturn(clusterDelegates.get(0));
+        when(clientFactory.newClient(CLUSTER_ENDPOINTS.get(1))).thenReturn(clusterDelegates.get(1));
+        when(requestExecutor.getRequestType()).thenReturn(RequestType.GetApplications);
+        when(requestExecutor.execute(clusterDelegates.get(0))).thenAnswer(invocation -> {
+            backupLatch.await();
+            throw new TransportException("simulated network error");
+        });
+        when(requestExecutor.execute(clusterDelegates.get(1))).thenAnswer(invocation -> {
+            backupLatch.countDown();
+            throw new TransportException("simulated network error");
+        });
+
+        try {
+            hedgingClient.execute(requestExecutor);
+            fail("TransportException expected");
+        } catch (TransportException ignore) {
+        } finally {
+            hedgingClient.shutdown();
+        }
+
+        // Both hedged requests use up the retries, so no other server is tried
+        verify(clientFactory, times(2)).newClient(Matchers.<EurekaEndpoint>anyVararg());
+    }
+
+    private RetryableEurekaHttpClient newHedgingClient() {
+        when(transportConfig.getRetryableClientHedgingPercentile()).thenReturn(0.9);
+        EndpointLatencies latencies = new EndpointLatencies();
+        for (int i = 0; i < EndpointLatencies.MIN_SAMPLES; i++) {
+            latencies.record(CLUSTER_ENDPOINTS.get(0), RequestType.GetApplications, 500);
+        }
+        return new RetryableEurekaHttpClient(
+                "test",
+                transportConfig,
+                clusterResolver,
+                clientFactory,
+                serverStatusEvaluator,
+                NUMBER_OF_RETRIES,
+                latencies);
+    }
+
     private void simulateTransportError(int delegateFrom, int count) {
         for (int i = 0; i < count; i++) {
             int delegateId = delegateFrom + i;
@@ -0,0 +1,57 @@
+package com.netflix.discovery.util;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualThreadsTest {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Test
+    public void testPlatformThreadsAreDaemonsNamedAfterTheFormat() throws Exception {
+        ThreadFactory threadFactory = VirtualThreads.newThreadFactory("test-%d", false);
+
+        Thread first = threadFactory.newThread(NOOP);
+        Thread second = threadFactory.newThread(NOOP);
+
+        assertThat(first.getName(), is(equalTo("test-0")));
+        assertThat(second.getName(), is(equalTo("test-1")));
+        assertTrue(first.isDaemon());
+        assertThat(isVirtual(first), is(false));
+    }
+
+    @Test
+    public void testVirtualThreadsAreCreatedWhenSupported() throws Exception {
+        ThreadFactory threadFactory = VirtualThreads.newThreadFactory("test-%d", true);
+
+        Thread thread = threadFactory.newThread(NOOP);
+
+        assertThat(thread.getName(), is(equalTo("test-0")));
+        assertTrue(thread.isDaemon());
+        assertThat(isVirtual(thread), is(VirtualThreads.isSupported()));
+    }
+
+    @Test
+    public void testSingleThreadIsNamed() throws Exception {
+        Thread thread = VirtualThreads.newThread(new ThreadGroup("test"), NOOP, "worker", true);
+
+        assertThat(thread.getName(), is(equalTo("worker")));
+        assertTrue(thread.isDaemon());
+        assertThat(isVirtual(thread), is(VirtualThreads.isSupported()));
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
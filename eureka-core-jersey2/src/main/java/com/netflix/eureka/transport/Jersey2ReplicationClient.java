@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
 import com.netflix.discovery.shared.transport.jersey2.AbstractJersey2EurekaHttpClient;
 import com.netflix.discovery.shared.transport.jersey2.EurekaIdentityHeaderFilter;
@@ -31,6 +32,7 @@ import com.netflix.eureka.cluster.HttpReplicationClient;
 import com.netflix.eureka.cluster.PeerEurekaNode;
 import com.netflix.eureka.cluster.protocol.ReplicationList;
 import com.netflix.eureka.cluster.protocol.ReplicationListResponse;
+import com.netflix.eureka.cluster.protocol.SmileReplicationListEncoder;
 import com.netflix.eureka.resources.ASGResource.ASGStatus;
 import com.netflix.eureka.resources.ServerCodecs;
 
@@ -43,9 +45,20 @@ public class Jersey2ReplicationClient extends AbstractJersey2EurekaHttpClient im
 
     private final EurekaJersey2Client eurekaJersey2Client;
 
+    // Cleared once the peer turns down a Smile batch, so it is sent JSON batches from then on
+    private volatile boolean smileBatches;
+
     public Jersey2ReplicationClient(EurekaJersey2Client eurekaJersey2Client, String serviceUrl) {
+        this(eurekaJersey2Client, serviceUrl, false);
+    }
+
+    /**
+     * @param smileBatches whether the replication batches are encoded in Smile, as long as the peer accepts them.
+     */
+    public Jersey2ReplicationClient(EurekaJersey2Client eurekaJersey2Client, String serviceUrl, boolean smileBatches) {
         super(eurekaJersey2Client.getClient(), serviceUrl);
         this.eurekaJersey2Client = eurekaJersey2Client;
+        this.smileBatches = smileBatches;
     }
 
     @Override
@@ -108,12 +121,27 @@ public class Jersey2ReplicationClient extends AbstractJersey2EurekaHttpClient im
 
     @Override
     public EurekaHttpResponse<ReplicationListResponse> submitBatchUpdates(ReplicationList replicationList) {
+        if (smileBatches) {
+            EurekaHttpResponse<ReplicationListResponse> httpResponse = submitBatchUpdates(replicationList, JacksonSmile.MEDIA_TYPE);
+            if (httpResponse.getStatusCode() != Status.UNSUPPORTED_MEDIA_TYPE.getStatusCode()) {
+                return httpResponse;
+            }
+            logger.info("Peer {} does not accept Smile replication batches; sending JSON batches from now on", serviceUrl);
+            smileBatches = false;
+        }
+        return submitBatchUpdates(replicationList, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    private EurekaHttpResponse<ReplicationListResponse> submitBatchUpdates(ReplicationList replicationList, MediaType type) {
         Response response = null;
         try {
+            Entity<?> entity = JacksonSmile.MEDIA_TYPE.equals(type)
+                    ? Entity.entity(SmileReplicationListEncoder.encode(replicationList), type)
+                    : Entity.entity(replicationList, type);
             response = jerseyClient.target(serviceUrl)
                     .path(PeerEurekaNode.BATCH_URL_PATH)
                     .request(MediaType.APPLICATION_JSON_TYPE)
-                    .post(Entity.json(replicationList));
+                    .post(entity);
             if (!isSuccess(response.getStatus())) {
                 return anEurekaHttpResponse(response.getStatus(), ReplicationListResponse.class).build();
             }
@@ -178,7 +206,7 @@ public class Jersey2ReplicationClient extends AbstractJersey2EurekaHttpClient im
         EurekaServerIdentity identity = new EurekaServerIdentity(ip);
         jerseyApacheClient.register(new EurekaIdentityHeaderFilter(identity));
 
-        return new Jersey2ReplicationClient(jerseyClient, serviceUrl);
+        return new Jersey2ReplicationClient(jerseyClient, serviceUrl, config.shouldEncodeReplicationBatchesInSmile());
     }
 
     private static boolean isSuccess(int statusCode) {
@@ -221,6 +221,11 @@ public class DefaultEurekaServerConfig implements EurekaServerConfig {
                 (15 * 60 * 1000)).get();
     }
 
+    @Override
+    public boolean shouldUseSlidingRenewalRate() {
+        return configInstance.getBooleanProperty(namespace + "useSlidingRenewalRate", false).get();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -310,6 +315,30 @@ public class DefaultEurekaServerConfig implements EurekaServerConfig {
                 .get();
     }
 
+    @Override
+    public int getRegistryShardCount() {
+        return configInstance.getIntProperty(
+                namespace + "registryShardCount", 32).get();
+    }
+
+    @Override
+    public int getDeltaLogCapacityPerShard() {
+        return configInstance.getIntProperty(
+                namespace + "deltaLogCapacityPerShard", 4096).get();
+    }
+
+    @Override
+    public long getMaxDeltaWatchTimeoutMs() {
+        return configInstance.getLongProperty(
+                namespace + "maxDeltaWatchTimeoutMs", 30 * 1000).get();
+    }
+
+    @Override
+    public int getMaxConcurrentDeltaWatches() {
+        return configInstance.getIntProperty(
+                namespace + "maxConcurrentDeltaWatches", 100).get();
+    }
+
     @Override
     public long getEvictionIntervalTimerInMs() {
         return configInstance.getLongProperty(
@@ -351,12 +380,36 @@ public class DefaultEurekaServerConfig implements EurekaServerConfig {
                 namespace + "responseCacheUpdateIntervalMs", (30 * 1000)).get();
     }
 
+    @Override
+    public long getResponseCacheRefreshDelayMs() {
+        return configInstance.getLongProperty(
+                namespace + "responseCacheRefreshDelayMs", 500L).get();
+    }
+
     @Override
     public boolean shouldUseReadOnlyResponseCache() {
         return configInstance.getBooleanProperty(
                 namespace + "shouldUseReadOnlyResponseCache", true).get();
     }
 
+    @Override
+    public boolean shouldUseDirectBufferResponseCache() {
+        return configInstance.getBooleanProperty(
+                namespace + "shouldUseDirectBufferResponseCache", false).get();
+    }
+
+    @Override
+    public boolean shouldCacheApplicationFragments() {
+        return configInstance.getBooleanProperty(
+                namespace + "shouldCacheApplicationFragments", false).get();
+    }
+
+    @Override
+    public long getResponseCacheInvalidationCoalescingMs() {
+        return configInstance.getLongProperty(
+                namespace + "responseCacheInvalidationCoalescingMs", 0).get();
+    }
+
     @Override
     public boolean shouldDisableDelta() {
         return configInstance.getBooleanProperty(namespace + "disableDelta",
@@ -432,6 +485,11 @@ public class DefaultEurekaServerConfig implements EurekaServerConfig {
                 namespace + "maxThreadsForPeerReplication", 20).get();
     }
 
+    @Override
+    public boolean shouldUseVirtualThreadsForReplication() {
+        return configInstance.getBooleanProperty(namespace + "useVirtualThreadsForReplication", false).get();
+    }
+
     @Override
     public int getMaxTimeForReplication() {
         return configInstance.getIntProperty(
@@ -609,6 +667,16 @@ public class DefaultEurekaServerConfig implements EurekaServerConfig {
         return configInstance.getBooleanProperty(namespace + "shouldBatchReplication", false).get();
     }
 
+    @Override
+    public boolean shouldAdaptReplicationBatching() {
+        return configInstance.getBooleanProperty(namespace + "shouldAdaptReplicationBatching", false).get();
+    }
+
+    @Override
+    public boolean shouldEncodeReplicationBatchesInSmile() {
+        return configInstance.getBooleanProperty(namespace + "shouldEncodeReplicationBatchesInSmile", false).get();
+    }
+
     @Override
     public String getMyUrl() {
         return myUrl.get();
@@ -135,6 +135,19 @@ public interface EurekaServerConfig {
      */
     int getRenewalThresholdUpdateIntervalMs();
 
+    /**
+     * Indicates whether the renewals and the replications of the last minute are counted over a window sliding
+     * every 5 seconds, rather than over the last complete minute. The self preservation then reacts to a drop of
+     * the renewals within seconds, instead of at the next minute boundary.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return {@code true} to count the renewals over a sliding window.
+     */
+    boolean shouldUseSlidingRenewalRate();
+
     /**
      * The interval with which clients are expected to send their heartbeats. Defaults to 30
      * seconds. If clients send heartbeats with different frequency, say, every 15 seconds, then
@@ -257,6 +270,53 @@ public interface EurekaServerConfig {
      */
     long getDeltaRetentionTimerIntervalInMs();
 
+    /**
+     * Get the number of shards the local registry is partitioned into. Registrations, cancellations and status
+     * updates only contend with the generation of deltas on the shard of their application, so a larger number
+     * of shards keeps registrations flowing while deltas are regenerated. The value is rounded up to a power of two.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return the number of registry shards.
+     */
+    int getRegistryShardCount();
+
+    /**
+     * Get the maximum number of recent changes retained for delta generation by each registry shard. Changes are
+     * dropped once they are older than {@link #getRetentionTimeInMSInDeltaQueue()}, or earlier if a shard receives
+     * more changes within the retention time than it can hold. Clients that miss changes this way detect it through
+     * the reconcile hash code and fall back to a full registry fetch.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return the capacity of the delta log of each registry shard.
+     */
+    int getDeltaLogCapacityPerShard();
+
+    /**
+     * Get the maximum time a client watching the registry for changes is kept waiting, whatever the client asked
+     * for. A watching client holds a request thread while it waits.
+     *
+     * @return the maximum delta watch time, in milliseconds.
+     */
+    long getMaxDeltaWatchTimeoutMs();
+
+    /**
+     * Get the maximum number of clients that can wait for registry changes at the same time. The clients over the
+     * limit are answered right away, as if the registry had changed, and fetch the delta as they would when polling.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return the maximum number of concurrent delta watches.
+     */
+    int getMaxConcurrentDeltaWatches();
+
     /**
      * Get the time interval with which the task that expires instances should
      * wake up and run.
@@ -304,13 +364,27 @@ public interface EurekaServerConfig {
     long getResponseCacheAutoExpirationInSeconds();
 
     /**
-     * Gets the time interval with which the payload cache of the client should
-     * be updated.
+     * Gets the time interval with which the payload cache of the client is checked for entries that are out of
+     * date without having been invalidated, for instance because they expired. Invalidated entries are refreshed
+     * after {@link #getResponseCacheRefreshDelayMs()} instead.
      *
      * @return time in milliseconds.
      */
     long getResponseCacheUpdateIntervalMs();
 
+    /**
+     * Gets the time during which invalidations of the response cache are gathered before the affected entries of
+     * the payload cache of the client are rebuilt. A longer delay rebuilds large payloads less often under heavy
+     * churn, at the expense of the time it takes for changes to be visible to the clients.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return time in milliseconds.
+     */
+    long getResponseCacheRefreshDelayMs();
+
     /**
      * The {@link com.netflix.eureka.registry.ResponseCache} currently uses a two level caching
      * strategy to responses. A readWrite cache with an expiration policy, and a readonly cache
@@ -320,6 +394,55 @@ public interface EurekaServerConfig {
      */
     boolean shouldUseReadOnlyResponseCache();
 
+    /**
+     * Indicates whether the payloads of the {@link com.netflix.eureka.registry.ResponseCache} are kept in direct
+     * buffers outside of the java heap, and streamed from there to the clients. This keeps the large registry
+     * payloads out of the garbage collected heap, at the expense of direct memory which must be sized to hold
+     * them (see <code>-XX:MaxDirectMemorySize</code>).
+     *
+     * <p>
+     * Each cached payload takes two direct buffers, for its plain and compressed forms, and a new pair is allocated
+     * every time the payload is regenerated. The replaced buffers are only freed once they are garbage collected, so
+     * the direct memory should allow for at least twice the size of all the cached payloads, that is twice the
+     * plain and compressed full registry for each requested format and region set, with room for the delta and
+     * application payloads.
+     * </p>
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return true if the payloads are to be kept in direct buffers.
+     */
+    boolean shouldUseDirectBufferResponseCache();
+
+    /**
+     * Indicates whether the applications encoded for the full registry payloads are cached one by one, so that a
+     * change to an application only requires that application to be encoded again when the payload is regenerated,
+     * the encoding of the other applications being reused. Only the full JSON payload is assembled this way. Cached
+     * applications expire with the payloads, see {@link #getResponseCacheAutoExpirationInSeconds()}.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return true if the encoded applications are cached for the full registry payloads.
+     */
+    boolean shouldCacheApplicationFragments();
+
+    /**
+     * Gets the delay over which the response cache invalidations caused by registry changes are coalesced, so a
+     * burst of changes invalidates each cached payload once. The cached payloads reflect a change up to this delay
+     * later. A delay of <code>0</code> applies every invalidation right away.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return the delay in milliseconds over which the invalidations are coalesced.
+     */
+    long getResponseCacheInvalidationCoalescingMs();
+
     /**
      * Checks to see if the delta information can be served to client or not.
      * <p>
@@ -427,6 +550,19 @@ public interface EurekaServerConfig {
      */
     int getMaxThreadsForPeerReplication();
 
+    /**
+     * Indicates whether the replication workers of each peer, and the threads feeding them, run on virtual threads
+     * rather than platform threads. The number of workers per peer is unchanged. Virtual threads are only
+     * available on JDK 21 and later; platform threads are used on older JVMs whatever this setting.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return {@code true} to run the replication workers on virtual threads when the JVM supports them.
+     */
+    boolean shouldUseVirtualThreadsForReplication();
+
     /**
      * Get the minimum number of available peer replication instances
      * for this instance to be considered healthy. The design of eureka allows
@@ -590,6 +726,31 @@ public interface EurekaServerConfig {
      */
     boolean shouldBatchReplication();
 
+    /**
+     * Indicates whether the size of the replication batches, and how long the replicated changes wait for others
+     * to join their batch, are tuned for each peer from its response times and the number of pending changes. Both
+     * stay within the fixed size and delay used otherwise.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return {@code true} if the replication batching adapts to each peer.
+     */
+    boolean shouldAdaptReplicationBatching();
+
+    /**
+     * Indicates whether the replication batches are sent to the peers in the binary Smile encoding, which is more
+     * compact than JSON. A peer which does not accept Smile batches is sent JSON batches from then on.
+     *
+     * <p>
+     * <em>The changes are effective only at startup.</em>
+     * </p>
+     *
+     * @return {@code true} if the replication batches are encoded in Smile.
+     */
+    boolean shouldEncodeReplicationBatchesInSmile();
+
     /**
      * Allows to configure URL which Eureka should treat as its own during replication. In some cases Eureka URLs don't
      * match IP address or hostname (for example, when nodes are behind load balancers). Setting this parameter on each
@@ -109,6 +109,8 @@ public class PeerEurekaNode {
                 maxBatchingDelayMs,
                 serverUnavailableSleepTimeMs,
                 retrySleepTimeMs,
+                config.shouldAdaptReplicationBatching(),
+                config.shouldUseVirtualThreadsForReplication(),
                 taskProcessor
         );
         this.nonBatchingDispatcher = TaskDispatchers.createNonBatchingTaskDispatcher(
@@ -118,6 +120,7 @@ public class PeerEurekaNode {
                 maxBatchingDelayMs,
                 serverUnavailableSleepTimeMs,
                 retrySleepTimeMs,
+                config.shouldUseVirtualThreadsForReplication(),
                 taskProcessor
         );
     }
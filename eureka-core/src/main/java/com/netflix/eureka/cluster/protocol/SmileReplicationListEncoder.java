@@ -0,0 +1,30 @@
+package com.netflix.eureka.cluster.protocol;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
+import com.netflix.discovery.converters.wrappers.EncoderWrapper;
+
+/**
+ * Encodes the replication batches sent in Smile. The client side Jersey providers do not write Smile, so the
+ * replication clients post the encoded batch instead.
+ */
+public final class SmileReplicationListEncoder {
+
+    private static final EncoderWrapper SMILE_ENCODER = CodecWrappers.getEncoder(JacksonSmile.class);
+
+    private SmileReplicationListEncoder() {
+    }
+
+    public static byte[] encode(ReplicationList replicationList) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try {
+            SMILE_ENCODER.encode(replicationList, bos);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot encode the replication batch", e);
+        }
+        return bos.toByteArray();
+    }
+}
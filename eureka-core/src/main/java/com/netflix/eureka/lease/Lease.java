@@ -130,6 +130,15 @@ public class Lease<T> {
         return lastUpdateTimestamp;
     }
 
+    /**
+     * Gets the milliseconds since epoch after which the lease expires, unless it is renewed or cancelled before.
+     *
+     * @return the milliseconds since epoch when the lease expires.
+     */
+    public long getExpirationTimestamp() {
+        return lastUpdateTimestamp + duration;
+    }
+
     /**
      * Gets the milliseconds since epoch when the lease was evicted.
      *
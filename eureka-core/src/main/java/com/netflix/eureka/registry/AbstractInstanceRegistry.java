@@ -21,9 +21,12 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.AbstractQueue;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,16 +34,16 @@ import java.util.Random;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.InstanceInfo.ActionType;
@@ -77,8 +80,18 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
     private static final Logger logger = LoggerFactory.getLogger(AbstractInstanceRegistry.class);
 
     private static final String[] EMPTY_STR_ARRAY = new String[0];
-    private final ConcurrentHashMap<String, Map<String, Lease<InstanceInfo>>> registry
-            = new ConcurrentHashMap<String, Map<String, Lease<InstanceInfo>>>();
+    private static final InstanceStatus[] INSTANCE_STATUS_VALUES = InstanceStatus.values();
+    private static final int OPTIMISTIC_SHARD_READ_ATTEMPTS = 2;
+    // same as the sequence of a delta version not issued by this registry, which gets all the retained changes
+    private static final long ALL_RETAINED_CHANGES = -1;
+    private static final long NO_DELTA_SEQUENCE = 0;
+    private static final long LEASE_EXPIRY_TICK_MS = 1000;
+
+    private final ShardedLeaseStore registry;
+    private final DeltaWatch deltaWatch;
+    @Nullable
+    private final InvalidationCoalescer invalidationCoalescer;
+    private final LeaseExpiryIndex leaseExpiryIndex = new LeaseExpiryIndex(LEASE_EXPIRY_TICK_MS);
     protected Map<String, RemoteRegionRegistry> regionNameVSRemoteRegistry = new HashMap<String, RemoteRegionRegistry>();
     protected final ConcurrentMap<String, InstanceStatus> overriddenInstanceStatusMap = CacheBuilder
             .newBuilder().initialCapacity(500)
@@ -88,11 +101,7 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
     // CircularQueues here for debugging/statistics purposes only
     private final CircularQueue<Pair<Long, String>> recentRegisteredQueue;
     private final CircularQueue<Pair<Long, String>> recentCanceledQueue;
-    private ConcurrentLinkedQueue<RecentlyChangedItem> recentlyChangedQueue = new ConcurrentLinkedQueue<>();
 
-    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final Lock read = readWriteLock.readLock();
-    private final Lock write = readWriteLock.writeLock();
     protected final Object lock = new Object();
 
     private Timer deltaRetentionTimer = new Timer("Eureka-DeltaRetentionTimer", true);
@@ -117,10 +126,20 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         this.serverConfig = serverConfig;
         this.clientConfig = clientConfig;
         this.serverCodecs = serverCodecs;
+        this.registry = new ShardedLeaseStore(serverConfig.getRegistryShardCount(),
+                serverConfig.getDeltaLogCapacityPerShard());
+        this.deltaWatch = new DeltaWatch(serverConfig.getMaxConcurrentDeltaWatches());
+        long invalidationCoalescingMs = serverConfig.getResponseCacheInvalidationCoalescingMs();
+        this.invalidationCoalescer = invalidationCoalescingMs > 0
+                ? new InvalidationCoalescer(invalidationCoalescingMs, (appNames, vipAddresses, secureVipAddresses, deltaSequence) -> {
+                    responseCache.invalidate(appNames, vipAddresses, secureVipAddresses);
+                    deltaWatch.publish(deltaSequence);
+                })
+                : null;
         this.recentCanceledQueue = new CircularQueue<Pair<Long, String>>(1000);
         this.recentRegisteredQueue = new CircularQueue<Pair<Long, String>>(1000);
 
-        this.renewsLastMin = new MeasuredRate(1000 * 60 * 1);
+        this.renewsLastMin = new MeasuredRate(1000 * 60 * 1, serverConfig.shouldUseSlidingRenewalRate());
 
         this.deltaRetentionTimer.schedule(getDeltaRetentionTask(),
                 serverConfig.getDeltaRetentionTimerIntervalInMs(),
@@ -175,7 +194,6 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         overriddenInstanceStatusMap.clear();
         recentCanceledQueue.clear();
         recentRegisteredQueue.clear();
-        recentlyChangedQueue.clear();
         registry.clear();
     }
 
@@ -191,7 +209,9 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
      * @see com.netflix.eureka.lease.LeaseManager#register(java.lang.Object, int, boolean)
      */
     public void register(InstanceInfo registrant, int leaseDuration, boolean isReplication) {
-        read.lock();
+        ShardedLeaseStore.Shard shard = registry.shardFor(registrant.getAppName());
+        long deltaSequence = NO_DELTA_SEQUENCE;
+        shard.beginMutation();
         try {
             Map<String, Lease<InstanceInfo>> gMap = registry.get(registrant.getAppName());
             REGISTER.increment(isReplication);
@@ -233,6 +253,7 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                 lease.setServiceUpTimestamp(existingLease.getServiceUpTimestamp());
             }
             gMap.put(registrant.getId(), lease);
+            leaseExpiryIndex.add(lease);
             recentRegisteredQueue.add(new Pair<Long, String>(
                     System.currentTimeMillis(),
                     registrant.getAppName() + "(" + registrant.getId() + ")"));
@@ -259,14 +280,17 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
             if (InstanceStatus.UP.equals(registrant.getStatus())) {
                 lease.serviceUp();
             }
+            shard.recountStatuses(registrant.getAppName());
             registrant.setActionType(ActionType.ADDED);
-            recentlyChangedQueue.add(new RecentlyChangedItem(lease));
+            deltaSequence = shard.getDeltaLog().append(lease);
             registrant.setLastUpdatedTimestamp();
-            invalidateCache(registrant.getAppName(), registrant.getVIPAddress(), registrant.getSecureVipAddress());
+            invalidateCache(registrant.getAppName(), registrant.getVIPAddress(), registrant.getSecureVipAddress(),
+                    deltaSequence);
             logger.info("Registered instance {}/{} with status {} (replication={})",
                     registrant.getAppName(), registrant.getId(), registrant.getStatus(), isReplication);
         } finally {
-            read.unlock();
+            shard.endMutation();
+            publishChange(deltaSequence);
         }
     }
 
@@ -295,7 +319,9 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
      * in the remote peers as valid cancellations, so self preservation mode would not kick-in.
      */
     protected boolean internalCancel(String appName, String id, boolean isReplication) {
-        read.lock();
+        ShardedLeaseStore.Shard shard = registry.shardFor(appName);
+        long deltaSequence = NO_DELTA_SEQUENCE;
+        shard.beginMutation();
         try {
             CANCEL.increment(isReplication);
             Map<String, Lease<InstanceInfo>> gMap = registry.get(appName);
@@ -314,21 +340,23 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                 return false;
             } else {
                 leaseToCancel.cancel();
+                shard.recountStatuses(appName);
                 InstanceInfo instanceInfo = leaseToCancel.getHolder();
                 String vip = null;
                 String svip = null;
                 if (instanceInfo != null) {
                     instanceInfo.setActionType(ActionType.DELETED);
-                    recentlyChangedQueue.add(new RecentlyChangedItem(leaseToCancel));
+                    deltaSequence = shard.getDeltaLog().append(leaseToCancel);
                     instanceInfo.setLastUpdatedTimestamp();
                     vip = instanceInfo.getVIPAddress();
                     svip = instanceInfo.getSecureVipAddress();
                 }
-                invalidateCache(appName, vip, svip);
+                invalidateCache(appName, vip, svip, deltaSequence);
                 logger.info("Cancelled instance {}/{} (replication={})", appName, id, isReplication);
             }
         } finally {
-            read.unlock();
+            shard.endMutation();
+            publishChange(deltaSequence);
         }
 
         synchronized (lock) {
@@ -378,7 +406,7 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                                     overriddenInstanceStatus.name(),
                                     instanceInfo.getId());
                     instanceInfo.setStatusWithoutDirty(overriddenInstanceStatus);
-
+                    registry.shardFor(appName).recountStatuses(appName);
                 }
             }
             renewsLastMin.increment();
@@ -462,7 +490,9 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
     public boolean statusUpdate(String appName, String id,
                                 InstanceStatus newStatus, String lastDirtyTimestamp,
                                 boolean isReplication) {
-        read.lock();
+        ShardedLeaseStore.Shard shard = registry.shardFor(appName);
+        long deltaSequence = NO_DELTA_SEQUENCE;
+        shard.beginMutation();
         try {
             STATUS_UPDATE.increment(isReplication);
             Map<String, Lease<InstanceInfo>> gMap = registry.get(appName);
@@ -500,15 +530,17 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                     if (replicaDirtyTimestamp > info.getLastDirtyTimestamp()) {
                         info.setLastDirtyTimestamp(replicaDirtyTimestamp);
                     }
+                    shard.recountStatuses(appName);
                     info.setActionType(ActionType.MODIFIED);
-                    recentlyChangedQueue.add(new RecentlyChangedItem(lease));
+                    deltaSequence = shard.getDeltaLog().append(lease);
                     info.setLastUpdatedTimestamp();
-                    invalidateCache(appName, info.getVIPAddress(), info.getSecureVipAddress());
+                    invalidateCache(appName, info.getVIPAddress(), info.getSecureVipAddress(), deltaSequence);
                 }
                 return true;
             }
         } finally {
-            read.unlock();
+            shard.endMutation();
+            publishChange(deltaSequence);
         }
     }
 
@@ -528,7 +560,9 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                                         InstanceStatus newStatus,
                                         String lastDirtyTimestamp,
                                         boolean isReplication) {
-        read.lock();
+        ShardedLeaseStore.Shard shard = registry.shardFor(appName);
+        long deltaSequence = NO_DELTA_SEQUENCE;
+        shard.beginMutation();
         try {
             STATUS_OVERRIDE_DELETE.increment(isReplication);
             Map<String, Lease<InstanceInfo>> gMap = registry.get(appName);
@@ -561,15 +595,17 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                     if (replicaDirtyTimestamp > info.getLastDirtyTimestamp()) {
                         info.setLastDirtyTimestamp(replicaDirtyTimestamp);
                     }
+                    shard.recountStatuses(appName);
                     info.setActionType(ActionType.MODIFIED);
-                    recentlyChangedQueue.add(new RecentlyChangedItem(lease));
+                    deltaSequence = shard.getDeltaLog().append(lease);
                     info.setLastUpdatedTimestamp();
-                    invalidateCache(appName, info.getVIPAddress(), info.getSecureVipAddress());
+                    invalidateCache(appName, info.getVIPAddress(), info.getSecureVipAddress(), deltaSequence);
                 }
                 return true;
             }
         } finally {
-            read.unlock();
+            shard.endMutation();
+            publishChange(deltaSequence);
         }
     }
 
@@ -595,15 +631,16 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         // if we do not that, we might wipe out whole apps before self preservation kicks in. By randomizing it,
         // the impact should be evenly distributed across all applications.
         List<Lease<InstanceInfo>> expiredLeases = new ArrayList<>();
-        for (Entry<String, Map<String, Lease<InstanceInfo>>> groupEntry : registry.entrySet()) {
-            Map<String, Lease<InstanceInfo>> leaseMap = groupEntry.getValue();
-            if (leaseMap != null) {
-                for (Entry<String, Lease<InstanceInfo>> leaseEntry : leaseMap.entrySet()) {
-                    Lease<InstanceInfo> lease = leaseEntry.getValue();
-                    if (lease.isExpired(additionalLeaseMs) && lease.getHolder() != null) {
-                        expiredLeases.add(lease);
-                    }
-                }
+        for (Lease<InstanceInfo> lease : leaseExpiryIndex.poll(System.currentTimeMillis() - additionalLeaseMs)) {
+            if (lease.getHolder() == null || !isRegistered(lease)) {
+                // cancelled or replaced by a new registration since it was indexed
+                continue;
+            }
+            if (lease.isExpired(additionalLeaseMs)) {
+                expiredLeases.add(lease);
+            } else {
+                // renewed since it was indexed
+                leaseExpiryIndex.add(lease);
             }
         }
 
@@ -631,6 +668,15 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                 internalCancel(appName, id, false);
             }
         }
+        // keep the expired leases spared by self preservation for the next run
+        for (int i = Math.max(toEvict, 0); i < expiredLeases.size(); i++) {
+            leaseExpiryIndex.add(expiredLeases.get(i));
+        }
+    }
+
+    private boolean isRegistered(Lease<InstanceInfo> lease) {
+        Map<String, Lease<InstanceInfo>> leaseMap = registry.get(lease.getHolder().getAppName());
+        return leaseMap != null && leaseMap.get(lease.getHolder().getId()) == lease;
     }
 
 
@@ -733,6 +779,37 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
      * from remote regions can be only for certain whitelisted apps as explained above.
      */
     public Applications getApplicationsFromMultipleRegions(String[] remoteRegions) {
+        Applications apps = new Applications();
+        apps.setVersion(1L);
+        for (Entry<String, Collection<InstanceInfo>> entry : getInstancesFromMultipleRegions(remoteRegions).entrySet()) {
+            Application app = new Application(entry.getKey());
+            for (InstanceInfo instanceInfo : entry.getValue()) {
+                app.addInstance(instanceInfo);
+            }
+            apps.addApplication(app);
+        }
+        apps.setAppsHashCode(apps.getReconcileHashCode());
+        return apps;
+    }
+
+    /**
+     * Get the instances of all applications, falling back to other regions if allowed in the Eureka config.
+     *
+     * @return the instances of {@link #getApplications()}, by application name
+     */
+    public Map<String, Collection<InstanceInfo>> getInstances() {
+        boolean disableTransparentFallback = serverConfig.disableTransparentFallbackToOtherRegion();
+        return getInstancesFromMultipleRegions(disableTransparentFallback ? EMPTY_STR_ARRAY : allKnownRemoteRegions);
+    }
+
+    /**
+     * Same as {@link #getApplicationsFromMultipleRegions(String[])}, without building the {@link Application}s and
+     * their indexes, for the callers that only encode the registry.
+     *
+     * @return the instances from the passed remote regions as well as local region, by application name and in
+     * the order they would be in the {@link Applications}.
+     */
+    public Map<String, Collection<InstanceInfo>> getInstancesFromMultipleRegions(String[] remoteRegions) {
 
         boolean includeRemoteRegion = null != remoteRegions && remoteRegions.length != 0;
 
@@ -744,23 +821,20 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         } else {
             GET_ALL_CACHE_MISS.increment();
         }
-        Applications apps = new Applications();
-        apps.setVersion(1L);
+        // instances by id, which an application holds at most once
+        Map<String, Map<String, InstanceInfo>> apps = new LinkedHashMap<>();
         for (Entry<String, Map<String, Lease<InstanceInfo>>> entry : registry.entrySet()) {
-            Application app = null;
+            Map<String, InstanceInfo> app = null;
 
             if (entry.getValue() != null) {
                 for (Entry<String, Lease<InstanceInfo>> stringLeaseEntry : entry.getValue().entrySet()) {
                     Lease<InstanceInfo> lease = stringLeaseEntry.getValue();
                     if (app == null) {
-                        app = new Application(lease.getHolder().getAppName());
+                        app = apps.computeIfAbsent(lease.getHolder().getAppName(), name -> new LinkedHashMap<>());
                     }
-                    app.addInstance(decorateInstanceInfo(lease));
+                    addInstance(app, decorateInstanceInfo(lease));
                 }
             }
-            if (app != null) {
-                apps.addApplication(app);
-            }
         }
         if (includeRemoteRegion) {
             for (String remoteRegion : remoteRegions) {
@@ -772,13 +846,10 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                             logger.info("Application {}  fetched from the remote region {}",
                                     application.getName(), remoteRegion);
 
-                            Application appInstanceTillNow = apps.getRegisteredApplications(application.getName());
-                            if (appInstanceTillNow == null) {
-                                appInstanceTillNow = new Application(application.getName());
-                                apps.addApplication(appInstanceTillNow);
-                            }
+                            Map<String, InstanceInfo> appInstanceTillNow =
+                                    apps.computeIfAbsent(application.getName(), name -> new LinkedHashMap<>());
                             for (InstanceInfo instanceInfo : application.getInstances()) {
-                                appInstanceTillNow.addInstance(instanceInfo);
+                                addInstance(appInstanceTillNow, instanceInfo);
                             }
                         } else {
                             logger.debug("Application {} not fetched from the remote region {} as there exists a "
@@ -791,8 +862,19 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
                 }
             }
         }
-        apps.setAppsHashCode(apps.getReconcileHashCode());
-        return apps;
+        Map<String, Collection<InstanceInfo>> instancesByApp = new LinkedHashMap<>();
+        for (Entry<String, Map<String, InstanceInfo>> entry : apps.entrySet()) {
+            instancesByApp.put(entry.getKey(), entry.getValue().values());
+        }
+        return instancesByApp;
+    }
+
+    /**
+     * Adds the instance last, replacing any instance with the same id, as {@link Application#addInstance} does.
+     */
+    private static void addInstance(Map<String, InstanceInfo> app, InstanceInfo instanceInfo) {
+        app.remove(instanceInfo.getId());
+        app.put(instanceInfo.getId(), instanceInfo);
     }
 
     private boolean shouldFetchFromRemoteRegistry(String appName, String remoteRegion) {
@@ -873,51 +955,30 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         GET_ALL_CACHE_MISS_DELTA.increment();
         Applications apps = new Applications();
         apps.setVersion(responseCache.getVersionDelta().get());
-        Map<String, Application> applicationInstancesMap = new HashMap<String, Application>();
-        write.lock();
-        try {
-            Iterator<RecentlyChangedItem> iter = this.recentlyChangedQueue.iterator();
-            logger.debug("The number of elements in the delta queue is : {}",
-                    this.recentlyChangedQueue.size());
-            while (iter.hasNext()) {
-                Lease<InstanceInfo> lease = iter.next().getLeaseInfo();
-                InstanceInfo instanceInfo = lease.getHolder();
-                logger.debug(
-                        "The instance id {} is found with status {} and actiontype {}",
-                        instanceInfo.getId(), instanceInfo.getStatus().name(), instanceInfo.getActionType().name());
-                Application app = applicationInstancesMap.get(instanceInfo
-                        .getAppName());
-                if (app == null) {
-                    app = new Application(instanceInfo.getAppName());
-                    applicationInstancesMap.put(instanceInfo.getAppName(), app);
-                    apps.addApplication(app);
-                }
-                app.addInstance(new InstanceInfo(decorateInstanceInfo(lease)));
-            }
-
-            boolean disableTransparentFallback = serverConfig.disableTransparentFallbackToOtherRegion();
+        int[] statusCounts = new int[INSTANCE_STATUS_VALUES.length];
+        addLocalDeltas(apps, statusCounts, ALL_RETAINED_CHANGES);
 
-            if (!disableTransparentFallback) {
-                Applications allAppsInLocalRegion = getApplications(false);
+        boolean disableTransparentFallback = serverConfig.disableTransparentFallbackToOtherRegion();
 
-                for (RemoteRegionRegistry remoteRegistry : this.regionNameVSRemoteRegistry.values()) {
-                    Applications applications = remoteRegistry.getApplicationDeltas();
-                    for (Application application : applications.getRegisteredApplications()) {
-                        Application appInLocalRegistry =
-                                allAppsInLocalRegion.getRegisteredApplications(application.getName());
-                        if (appInLocalRegistry == null) {
-                            apps.addApplication(application);
-                        }
+        if (!disableTransparentFallback) {
+            Set<String> countedRemoteApps = new HashSet<>();
+            for (RemoteRegionRegistry remoteRegistry : this.regionNameVSRemoteRegistry.values()) {
+                Applications applications = remoteRegistry.getApplicationDeltas();
+                for (Application application : applications.getRegisteredApplications()) {
+                    if (!hasLocalInstances(application.getName())) {
+                        apps.addApplication(application);
+                    }
+                }
+                for (Application application : remoteRegistry.getApplications().getRegisteredApplications()) {
+                    if (!hasLocalInstances(application.getName()) && countedRemoteApps.add(application.getName())) {
+                        countInstances(application, statusCounts);
                     }
                 }
             }
-
-            Applications allApps = getApplications(!disableTransparentFallback);
-            apps.setAppsHashCode(allApps.getReconcileHashCode());
-            return apps;
-        } finally {
-            write.unlock();
         }
+
+        apps.setAppsHashCode(toReconcileHashCode(statusCounts));
+        return apps;
     }
 
     /**
@@ -939,6 +1000,62 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
      * not exist locally or in remote regions.
      */
     public Applications getApplicationDeltasFromMultipleRegions(String[] remoteRegions) {
+        return getApplicationDeltasFromMultipleRegions(remoteRegions, ALL_RETAINED_CHANGES,
+                responseCache.getVersionDeltaWithRegions().get());
+    }
+
+    /**
+     * Gets the changes that happened after the given delta version, that is the version of the last delta or full
+     * registry the caller applied. <br/>
+     *
+     * If the version was issued by this registry only the local changes logged after it are included, and the
+     * returned delta carries the version to pass on the next call. A version this registry does not know about (for
+     * instance one issued by another server, or by this one before a restart) gets all the retained changes, as a
+     * regular delta does. Changes from remote regions are always included in full, as they do not have a version
+     * of their own.
+     *
+     * @param sinceVersion the version of the delta the caller last applied.
+     * @param remoteRegions The remote regions for which the instances are to be queried, as for
+     *                      {@link #getApplicationDeltasFromMultipleRegions(String[])}. If <code>null</code> the
+     *                      remote regions are included only if transparent fallback to other regions is enabled,
+     *                      in line with {@link #getApplications()}.
+     *
+     * @return The delta, or <code>null</code> if some of the changes after the given version were already dropped
+     * and the caller must fetch the full registry.
+     */
+    @Nullable
+    public Applications getApplicationDeltasSince(long sinceVersion, @Nullable String[] remoteRegions) {
+        if (null == remoteRegions && serverConfig.disableTransparentFallbackToOtherRegion()) {
+            remoteRegions = EMPTY_STR_ARRAY;
+        }
+        // read before the shards are snapshotted, so changes racing with the snapshot are sent again next time
+        long version = registry.getDeltaVersion();
+        return getApplicationDeltasFromMultipleRegions(remoteRegions, registry.toDeltaSequence(sinceVersion), version);
+    }
+
+    /**
+     * @return the delta version of the latest local change, as returned with the deltas.
+     */
+    long getDeltaVersion() {
+        return registry.getDeltaVersion();
+    }
+
+    /**
+     * Blocks until the local registry has changes after the given delta version, as returned by
+     * {@link #getApplicationDeltasSince(long, String[])}. A version this registry does not know about is always
+     * behind, so the call returns immediately. The watch is rejected if too many callers are already waiting, as
+     * configured by {@link EurekaServerConfig#getMaxConcurrentDeltaWatches()}.
+     */
+    @Override
+    public DeltaWatchResult awaitChangesSince(long sinceVersion, long timeoutMs) throws InterruptedException {
+        long afterSequence = registry.toDeltaSequence(sinceVersion);
+        if (afterSequence == ALL_RETAINED_CHANGES) {
+            return DeltaWatchResult.Changed;
+        }
+        return deltaWatch.await(afterSequence, timeoutMs);
+    }
+
+    private Applications getApplicationDeltasFromMultipleRegions(String[] remoteRegions, long afterSequence, long version) {
         if (null == remoteRegions) {
             remoteRegions = allKnownRemoteRegions; // null means all remote regions.
         }
@@ -952,56 +1069,122 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         }
 
         Applications apps = new Applications();
-        apps.setVersion(responseCache.getVersionDeltaWithRegions().get());
+        apps.setVersion(version);
+        int[] statusCounts = new int[INSTANCE_STATUS_VALUES.length];
+        if (!addLocalDeltas(apps, statusCounts, afterSequence)) {
+            logger.debug("Changes after delta sequence {} are no longer retained", afterSequence);
+            return null;
+        }
+
+        if (includeRemoteRegion) {
+            for (String remoteRegion : remoteRegions) {
+                RemoteRegionRegistry remoteRegistry = regionNameVSRemoteRegistry.get(remoteRegion);
+                if (null != remoteRegistry) {
+                    Applications remoteAppsDelta = remoteRegistry.getApplicationDeltas();
+                    if (null != remoteAppsDelta) {
+                        for (Application application : remoteAppsDelta.getRegisteredApplications()) {
+                            if (shouldFetchFromRemoteRegistry(application.getName(), remoteRegion)) {
+                                Application appInstanceTillNow =
+                                        apps.getRegisteredApplications(application.getName());
+                                if (appInstanceTillNow == null) {
+                                    appInstanceTillNow = new Application(application.getName());
+                                    apps.addApplication(appInstanceTillNow);
+                                }
+                                for (InstanceInfo instanceInfo : application.getInstances()) {
+                                    appInstanceTillNow.addInstance(new InstanceInfo(instanceInfo));
+                                }
+                            }
+                        }
+                    }
+                    for (Application application : remoteRegistry.getApplications().getRegisteredApplications()) {
+                        if (shouldFetchFromRemoteRegistry(application.getName(), remoteRegion)) {
+                            countInstances(application, statusCounts);
+                        }
+                    }
+                }
+            }
+        }
+
+        apps.setAppsHashCode(toReconcileHashCode(statusCounts));
+        return apps;
+    }
+
+    /**
+     * Adds the recently changed local instances to the given delta, and accumulates the status counts of all local
+     * instances used for the reconcile hash code. Each shard is snapshotted on its own, so the changes and the counts
+     * taken from the same shard are always consistent with each other, which is all the client needs to reconcile,
+     * while registrations to the other shards proceed.
+     *
+     * @param afterSequence only the changes logged after this sequence are added, or all the retained changes if
+     *                      {@link #ALL_RETAINED_CHANGES}.
+     * @return <code>false</code> if some of the changes after the given sequence were already dropped.
+     */
+    private boolean addLocalDeltas(Applications apps, int[] statusCounts, final long afterSequence) {
         Map<String, Application> applicationInstancesMap = new HashMap<String, Application>();
-        write.lock();
-        try {
-            Iterator<RecentlyChangedItem> iter = this.recentlyChangedQueue.iterator();
-            logger.debug("The number of elements in the delta queue is :{}", this.recentlyChangedQueue.size());
-            while (iter.hasNext()) {
-                Lease<InstanceInfo> lease = iter.next().getLeaseInfo();
-                InstanceInfo instanceInfo = lease.getHolder();
-                logger.debug("The instance id {} is found with status {} and actiontype {}",
-                        instanceInfo.getId(), instanceInfo.getStatus().name(), instanceInfo.getActionType().name());
+        for (final ShardedLeaseStore.Shard shard : registry.shards()) {
+            ShardDelta shardDelta = shard.read(() -> snapshotShardDelta(shard, afterSequence), OPTIMISTIC_SHARD_READ_ATTEMPTS);
+            if (shardDelta == null) {
+                return false;
+            }
+            for (InstanceInfo instanceInfo : shardDelta.changedInstances) {
                 Application app = applicationInstancesMap.get(instanceInfo.getAppName());
                 if (app == null) {
                     app = new Application(instanceInfo.getAppName());
                     applicationInstancesMap.put(instanceInfo.getAppName(), app);
                     apps.addApplication(app);
                 }
-                app.addInstance(new InstanceInfo(decorateInstanceInfo(lease)));
+                app.addInstance(instanceInfo);
             }
-
-            if (includeRemoteRegion) {
-                for (String remoteRegion : remoteRegions) {
-                    RemoteRegionRegistry remoteRegistry = regionNameVSRemoteRegistry.get(remoteRegion);
-                    if (null != remoteRegistry) {
-                        Applications remoteAppsDelta = remoteRegistry.getApplicationDeltas();
-                        if (null != remoteAppsDelta) {
-                            for (Application application : remoteAppsDelta.getRegisteredApplications()) {
-                                if (shouldFetchFromRemoteRegistry(application.getName(), remoteRegion)) {
-                                    Application appInstanceTillNow =
-                                            apps.getRegisteredApplications(application.getName());
-                                    if (appInstanceTillNow == null) {
-                                        appInstanceTillNow = new Application(application.getName());
-                                        apps.addApplication(appInstanceTillNow);
-                                    }
-                                    for (InstanceInfo instanceInfo : application.getInstances()) {
-                                        appInstanceTillNow.addInstance(new InstanceInfo(instanceInfo));
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] += shardDelta.statusCounts[i];
             }
+        }
+        return true;
+    }
 
-            Applications allApps = getApplicationsFromMultipleRegions(remoteRegions);
-            apps.setAppsHashCode(allApps.getReconcileHashCode());
-            return apps;
-        } finally {
-            write.unlock();
+    private ShardDelta snapshotShardDelta(ShardedLeaseStore.Shard shard, long afterSequence) {
+        List<InstanceInfo> changedInstances = new ArrayList<>();
+        List<DeltaLog.RecentlyChangedItem> recentlyChangedItems = afterSequence == ALL_RETAINED_CHANGES
+                ? shard.getDeltaLog().all()
+                : shard.getDeltaLog().since(afterSequence);
+        if (recentlyChangedItems == null) {
+            return null;
+        }
+        logger.debug("The number of elements in the delta queue of shard {} is : {}",
+                shard.getIndex(), recentlyChangedItems.size());
+        for (DeltaLog.RecentlyChangedItem recentlyChangedItem : recentlyChangedItems) {
+            Lease<InstanceInfo> lease = recentlyChangedItem.getLeaseInfo();
+            InstanceInfo instanceInfo = lease.getHolder();
+            logger.debug("The instance id {} is found with status {} and actiontype {}",
+                    instanceInfo.getId(), instanceInfo.getStatus().name(), instanceInfo.getActionType().name());
+            changedInstances.add(new InstanceInfo(decorateInstanceInfo(lease)));
+        }
+        return new ShardDelta(changedInstances, shard.getStatusCounts());
+    }
+
+    private boolean hasLocalInstances(String appName) {
+        Map<String, Lease<InstanceInfo>> leaseMap = registry.get(appName);
+        return leaseMap != null && !leaseMap.isEmpty();
+    }
+
+    private static void countInstances(Application application, int[] statusCounts) {
+        for (InstanceInfo instanceInfo : application.getInstances()) {
+            statusCounts[instanceInfo.getStatus().ordinal()]++;
+        }
+    }
+
+    /**
+     * Same as {@link Applications#getReconcileHashCode()} computed over instances with the given status counts.
+     */
+    private static String toReconcileHashCode(int[] statusCounts) {
+        Map<String, AtomicInteger> instanceCountMap = new TreeMap<String, AtomicInteger>();
+        for (InstanceStatus status : INSTANCE_STATUS_VALUES) {
+            int count = statusCounts[status.ordinal()];
+            if (count > 0) {
+                instanceCountMap.put(status.name(), new AtomicInteger(count));
+            }
         }
+        return Applications.getReconcileHashCode(instanceCountMap);
     }
 
     /**
@@ -1106,6 +1289,10 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         return list;
     }
 
+    /*
+     * Renewals change the lease without invalidating the response cache, so the lease info set here is encoded
+     * late: see ApplicationFragmentCache for how stale it can be.
+     */
     private InstanceInfo decorateInstanceInfo(Lease<InstanceInfo> lease) {
         InstanceInfo info = lease.getHolder();
 
@@ -1180,32 +1367,44 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         return list;
     }
 
-    private void invalidateCache(String appName, @Nullable String vipAddress, @Nullable String secureVipAddress) {
-        // invalidate cache
+    /**
+     * Invalidates the cached payloads of the changed application. Coalesced invalidations are published to the delta
+     * watchers once applied, and the others by {@link #publishChange(long)}.
+     */
+    private void invalidateCache(String appName, @Nullable String vipAddress, @Nullable String secureVipAddress,
+                                 long deltaSequence) {
+        if (invalidationCoalescer != null) {
+            invalidationCoalescer.invalidate(appName, vipAddress, secureVipAddress, deltaSequence);
+            return;
+        }
+        CACHE_INVALIDATION.increment();
+        CACHE_INVALIDATION_APPLIED.increment();
         responseCache.invalidate(appName, vipAddress, secureVipAddress);
     }
 
+    /**
+     * Publishes a change to the delta watchers once the cache has been invalidated for it. This is called after the
+     * mutation of the shard has ended, so the watchers are not woken up while the shard is being written.
+     */
+    private void publishChange(long deltaSequence) {
+        if (invalidationCoalescer == null && deltaSequence != NO_DELTA_SEQUENCE) {
+            deltaWatch.publish(deltaSequence);
+        }
+    }
+
     protected void updateRenewsPerMinThreshold() {
         this.numberOfRenewsPerMinThreshold = (int) (this.expectedNumberOfClientsSendingRenews
                 * (60.0 / serverConfig.getExpectedClientRenewalIntervalSeconds())
                 * serverConfig.getRenewalPercentThreshold());
     }
 
-    private static final class RecentlyChangedItem {
-        private long lastUpdateTime;
-        private Lease<InstanceInfo> leaseInfo;
-
-        public RecentlyChangedItem(Lease<InstanceInfo> lease) {
-            this.leaseInfo = lease;
-            lastUpdateTime = System.currentTimeMillis();
-        }
-
-        public long getLastUpdateTime() {
-            return this.lastUpdateTime;
-        }
+    private static final class ShardDelta {
+        private final List<InstanceInfo> changedInstances;
+        private final int[] statusCounts;
 
-        public Lease<InstanceInfo> getLeaseInfo() {
-            return this.leaseInfo;
+        ShardDelta(List<InstanceInfo> changedInstances, int[] statusCounts) {
+            this.changedInstances = changedInstances;
+            this.statusCounts = statusCounts;
         }
     }
 
@@ -1228,9 +1427,18 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
         deltaRetentionTimer.cancel();
         evictionTimer.cancel();
         renewsLastMin.stop();
+        if (invalidationCoalescer != null) {
+            invalidationCoalescer.stop();
+        }
         responseCache.stop();
     }
 
+    @VisibleForTesting
+    @Nullable
+    InvalidationCoalescer getInvalidationCoalescer() {
+        return invalidationCoalescer;
+    }
+
     @com.netflix.servo.annotations.Monitor(name = "numOfElementsinInstanceCache", description = "Number of overrides in the instance Cache", type = DataSourceType.GAUGE)
     public long getNumberofElementsininstanceCache() {
         return overriddenInstanceStatusMap.size();
@@ -1342,14 +1550,9 @@ public abstract class AbstractInstanceRegistry implements InstanceRegistry {
 
             @Override
             public void run() {
-                Iterator<RecentlyChangedItem> it = recentlyChangedQueue.iterator();
-                while (it.hasNext()) {
-                    if (it.next().getLastUpdateTime() <
-                            System.currentTimeMillis() - serverConfig.getRetentionTimeInMSInDeltaQueue()) {
-                        it.remove();
-                    } else {
-                        break;
-                    }
+                long expiryTime = System.currentTimeMillis() - serverConfig.getRetentionTimeInMSInDeltaQueue();
+                for (ShardedLeaseStore.Shard shard : registry.shards()) {
+                    shard.getDeltaLog().expire(expiryTime);
                 }
             }
 
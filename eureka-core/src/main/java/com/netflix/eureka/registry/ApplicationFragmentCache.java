@@ -0,0 +1,112 @@
+package com.netflix.eureka.registry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.converters.wrappers.ApplicationsFragmentEncoder;
+
+/**
+ * Cache of the applications encoded for the full registry payloads, so regenerating a payload after a change only
+ * encodes the applications that changed, and copies the others.
+ *
+ * <p>
+ * An encoded application is reused as long as its application was not {@link #invalidate(String)}d since the
+ * registry was read to encode it, and it is made of the very same instances. The latter catches the changes which
+ * are not followed by an invalidation, such as the instances from remote regions being fetched again. Instances
+ * are compared by identity, as the registry replaces an instance on registration, and invalidates the application
+ * on the other changes of its status or its data.
+ * </p>
+ *
+ * <p>
+ * Lease timestamps are the exception: renewals update them without any invalidation, so an encoded application
+ * keeps the lease timestamps of the time it was encoded until it expires. Like a cached payload, it is encoded
+ * again at least once per expiration time, but a payload built at the end of that time from reused applications is
+ * itself cached for as long, so its lease timestamps may be up to twice the expiration time old. Clients do not
+ * act on lease timestamps, and renewals would otherwise encode nearly every application on each payload update.
+ * </p>
+ */
+class ApplicationFragmentCache {
+
+    private final Cache<Key, Fragment> fragments;
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final ConcurrentMap<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    ApplicationFragmentCache(long expirationInSeconds) {
+        this.fragments = CacheBuilder.newBuilder().expireAfterWrite(expirationInSeconds, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * @return the sequence number to pass to {@link #getEncodedApplications}, which must be read before the
+     * registry instances are.
+     */
+    long getSequence() {
+        return invalidationSequence.get();
+    }
+
+    /**
+     * Discards the encodings of the given application. Must be called after the application changed in the
+     * registry.
+     */
+    void invalidate(String appName) {
+        invalidatedAt.merge(appName, invalidationSequence.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * @param payloadKey the key of the full registry payload the applications are encoded for
+     * @param sequence   the {@link #getSequence()} read before the registry instances were
+     * @return the encoded applications, in the order of the given instances
+     */
+    List<String> getEncodedApplications(Key payloadKey, long sequence,
+                                        Map<String, Collection<InstanceInfo>> instancesByApp,
+                                        ApplicationsFragmentEncoder encoder) throws IOException {
+        List<String> encodedApplications = new ArrayList<>(instancesByApp.size());
+        for (Map.Entry<String, Collection<InstanceInfo>> entry : instancesByApp.entrySet()) {
+            String appName = entry.getKey();
+            InstanceInfo[] instances = entry.getValue().toArray(new InstanceInfo[0]);
+            Key fragmentKey = new Key(Key.EntityType.Application, appName, payloadKey.getType(),
+                    payloadKey.getVersion(), payloadKey.getEurekaAccept(), payloadKey.getRegions());
+
+            Fragment fragment = fragments.getIfPresent(fragmentKey);
+            if (fragment == null || !fragment.isValid(invalidatedAt.getOrDefault(appName, 0L), instances)) {
+                fragment = new Fragment(encoder.encodeApplication(appName, entry.getValue()), sequence, instances);
+                fragments.put(fragmentKey, fragment);
+            }
+            encodedApplications.add(fragment.payload);
+        }
+        return encodedApplications;
+    }
+
+    private static final class Fragment {
+        private final String payload;
+        private final long sequence;
+        private final InstanceInfo[] instances;
+
+        Fragment(String payload, long sequence, InstanceInfo[] instances) {
+            this.payload = payload;
+            this.sequence = sequence;
+            this.instances = instances;
+        }
+
+        boolean isValid(long invalidatedAt, InstanceInfo[] currentInstances) {
+            if (sequence < invalidatedAt || instances.length != currentInstances.length) {
+                return false;
+            }
+            for (int i = 0; i < instances.length; i++) {
+                if (instances[i] != currentInstances[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
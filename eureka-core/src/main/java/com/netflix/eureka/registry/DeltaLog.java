@@ -0,0 +1,153 @@
+package com.netflix.eureka.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.lease.Lease;
+
+/**
+ * Bounded log of the recent changes of a registry shard, backed by a ring buffer.
+ *
+ * <p>
+ * Every change is stamped with a sequence number drawn from a counter shared by all the logs of a registry, so the
+ * sequence numbers are globally ordered and a log can answer "all changes after sequence N" by walking back from its
+ * newest entry, in time proportional to the number of changes returned. Entries are dropped either when they are
+ * older than the delta retention time or when the log is full. The log remembers the sequence number of the newest
+ * entry it dropped, which tells precisely whether a reader asking for changes after a given sequence has fallen off
+ * the log and needs to fetch the full registry instead.
+ * </p>
+ */
+class DeltaLog {
+
+    private final AtomicLong sequence;
+    private final RecentlyChangedItem[] items;
+
+    private int head;
+    private int size;
+    private long lastDroppedSequence;
+
+    DeltaLog(AtomicLong sequence, int capacity) {
+        this.sequence = sequence;
+        this.items = new RecentlyChangedItem[Math.max(1, capacity)];
+    }
+
+    /**
+     * Appends a change of the given lease, dropping the oldest entry if the log is full.
+     *
+     * @return the sequence number of the change.
+     */
+    synchronized long append(Lease<InstanceInfo> lease) {
+        if (size == items.length) {
+            dropOldest();
+        }
+        RecentlyChangedItem item = new RecentlyChangedItem(lease, sequence.incrementAndGet());
+        items[(head + size) % items.length] = item;
+        size++;
+        return item.getSequence();
+    }
+
+    /**
+     * @return all the changes currently retained, oldest first.
+     */
+    synchronized List<RecentlyChangedItem> all() {
+        return copyNewest(size);
+    }
+
+    /**
+     * Gets the changes with a sequence number greater than the given one, oldest first.
+     *
+     * @return the changes, or <code>null</code> if some of the changes after the given sequence were already
+     * dropped from the log.
+     */
+    synchronized List<RecentlyChangedItem> since(long afterSequence) {
+        if (afterSequence < lastDroppedSequence) {
+            return null;
+        }
+        int count = 0;
+        while (count < size && items[(head + size - 1 - count) % items.length].getSequence() > afterSequence) {
+            count++;
+        }
+        return copyNewest(count);
+    }
+
+    /**
+     * Drops all the changes that happened before the given timestamp.
+     *
+     * @return the number of changes dropped.
+     */
+    synchronized int expire(long olderThanTimestamp) {
+        int dropped = 0;
+        while (size > 0 && items[head].getLastUpdateTime() < olderThanTimestamp) {
+            dropOldest();
+            dropped++;
+        }
+        return dropped;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the sequence number of the newest change dropped from the log, or 0 if none was dropped.
+     */
+    synchronized long getLastDroppedSequence() {
+        return lastDroppedSequence;
+    }
+
+    /**
+     * Drops all changes. Readers that have seen none of the changes logged so far are told that they fell off the
+     * log.
+     */
+    synchronized void clear() {
+        while (size > 0) {
+            dropOldest();
+        }
+        lastDroppedSequence = Math.max(lastDroppedSequence, sequence.get());
+    }
+
+    private void dropOldest() {
+        lastDroppedSequence = items[head].getSequence();
+        items[head] = null;
+        head = (head + 1) % items.length;
+        size--;
+    }
+
+    private List<RecentlyChangedItem> copyNewest(int count) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<RecentlyChangedItem> result = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+            result.add(items[(head + i) % items.length]);
+        }
+        return result;
+    }
+
+    static final class RecentlyChangedItem {
+        private final long lastUpdateTime;
+        private final long sequence;
+        private final Lease<InstanceInfo> leaseInfo;
+
+        RecentlyChangedItem(Lease<InstanceInfo> lease, long sequence) {
+            this.leaseInfo = lease;
+            this.sequence = sequence;
+            this.lastUpdateTime = System.currentTimeMillis();
+        }
+
+        public long getLastUpdateTime() {
+            return this.lastUpdateTime;
+        }
+
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        public Lease<InstanceInfo> getLeaseInfo() {
+            return this.leaseInfo;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.netflix.eureka.registry;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.netflix.eureka.registry.InstanceRegistry.DeltaWatchResult;
+
+/**
+ * Lets delta watchers wait until a change newer than the one they have seen is published.
+ *
+ * <p>
+ * Changes are published with their delta log sequence number once the response cache has been invalidated for
+ * them, so a watcher that is woken up never reads a cached delta that predates the change. Publishing does not
+ * take any lock, and only unparks the threads that are waiting, so it stays cheap on the registry write path.
+ * The number of concurrent watchers is bounded, as each of them holds a request thread while waiting. Watchers
+ * over the limit are rejected right away, so they fall back to polling.
+ * </p>
+ */
+class DeltaWatch {
+
+    private final Semaphore watchers;
+    private final AtomicLong publishedSequence = new AtomicLong();
+    private final Queue<Thread> waitingThreads = new ConcurrentLinkedQueue<>();
+
+    DeltaWatch(int maxWatchers) {
+        this.watchers = new Semaphore(Math.max(0, maxWatchers));
+    }
+
+    /**
+     * Publishes the change with the given sequence number, waking up the watchers that have not seen it yet.
+     */
+    void publish(long sequence) {
+        long previous = publishedSequence.getAndAccumulate(sequence, Math::max);
+        if (sequence > previous) {
+            for (Thread thread : waitingThreads) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Waits until a change with a sequence number greater than the given one is published.
+     */
+    DeltaWatchResult await(long afterSequence, long timeoutMs) throws InterruptedException {
+        if (publishedSequence.get() > afterSequence) {
+            return DeltaWatchResult.Changed;
+        }
+        if (!watchers.tryAcquire()) {
+            return DeltaWatchResult.Rejected;
+        }
+        Thread currentThread = Thread.currentThread();
+        waitingThreads.add(currentThread);
+        try {
+            return awaitPublished(afterSequence, timeoutMs) ? DeltaWatchResult.Changed : DeltaWatchResult.TimedOut;
+        } finally {
+            waitingThreads.remove(currentThread);
+            watchers.release();
+        }
+    }
+
+    /**
+     * The thread is queued before the published sequence is read, so a change published after the read unparks it.
+     */
+    private boolean awaitPublished(long afterSequence, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (publishedSequence.get() <= afterSequence) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+}
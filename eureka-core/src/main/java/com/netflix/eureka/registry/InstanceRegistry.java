@@ -17,6 +17,18 @@ import java.util.Map;
  */
 public interface InstanceRegistry extends LeaseManager<InstanceInfo>, LookupService<String> {
 
+    /**
+     * The outcome of {@link #awaitChangesSince(long, long)}.
+     */
+    enum DeltaWatchResult {
+        /** There are changes after the version. */
+        Changed,
+        /** The timeout elapsed without any change. */
+        TimedOut,
+        /** Too many callers are already waiting, so the caller should poll instead. */
+        Rejected
+    }
+
     void openForTraffic(ApplicationInfoManager applicationInfoManager, int count);
 
     void shutdown();
@@ -72,6 +84,16 @@ public interface InstanceRegistry extends LeaseManager<InstanceInfo>, LookupServ
 
     void clearRegistry();
 
+    /**
+     * Blocks until the local registry has changes after the given delta version, or the timeout elapses.
+     *
+     * @param sinceVersion the version of the last delta seen by the caller.
+     * @param timeoutMs the maximum time to wait, in milliseconds.
+     * @return whether there are changes after the given version, or none before the timeout, or the watch was
+     * rejected.
+     */
+    DeltaWatchResult awaitChangesSince(long sinceVersion, long timeoutMs) throws InterruptedException;
+
     void initializedResponseCache();
 
     ResponseCache getResponseCache();
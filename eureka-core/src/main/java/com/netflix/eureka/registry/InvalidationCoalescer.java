@@ -0,0 +1,129 @@
+package com.netflix.eureka.registry;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.eureka.util.EurekaMonitors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the response cache invalidations requested by the registry changes over a short delay, so a burst of
+ * changes, such as a mass deployment, invalidates each cached payload once instead of once per change.
+ *
+ * <p>
+ * The first invalidation requested schedules a flush after the delay. The flush applies the distinct applications
+ * and VIP addresses requested meanwhile in a single batch, then publishes the last delta sequence number of the
+ * batch, so delta watchers are woken up once the payloads reflect the changes. Cached payloads are thus up to the
+ * delay later to reflect a change. A flush that fails is logged, and does not prevent the next ones.
+ * </p>
+ */
+class InvalidationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationCoalescer.class);
+
+    interface Flush {
+        void apply(Set<String> appNames, Set<String> vipAddresses, Set<String> secureVipAddresses, long deltaSequence);
+    }
+
+    private final long delayMs;
+    private final Flush flush;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean stopped;
+
+    private Set<String> appNames = new HashSet<>();
+    private Set<String> vipAddresses = new HashSet<>();
+    private Set<String> secureVipAddresses = new HashSet<>();
+    private long deltaSequence;
+    private boolean flushScheduled;
+
+    InvalidationCoalescer(long delayMs, Flush flush) {
+        this(delayMs, flush, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Eureka-CacheInvalidationTimer").setDaemon(true).build()));
+    }
+
+    /* For testing */ InvalidationCoalescer(long delayMs, Flush flush, ScheduledExecutorService scheduler) {
+        this.delayMs = delayMs;
+        this.flush = flush;
+        this.scheduler = scheduler;
+    }
+
+    void invalidate(String appName, @Nullable String vipAddress, @Nullable String secureVipAddress, long deltaSequence) {
+        EurekaMonitors.CACHE_INVALIDATION.increment();
+        synchronized (this) {
+            appNames.add(appName);
+            if (vipAddress != null) {
+                vipAddresses.add(vipAddress);
+            }
+            if (secureVipAddress != null) {
+                secureVipAddresses.add(secureVipAddress);
+            }
+            this.deltaSequence = Math.max(this.deltaSequence, deltaSequence);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        if (stopped) {
+            flush();
+            return;
+        }
+        try {
+            scheduler.schedule(this::scheduledFlush, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (!stopped) {
+                throw e;
+            }
+            // stopped meanwhile, apply it right away
+            flush();
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Throwable e) {
+            logger.error("Cannot apply the coalesced response cache invalidations", e);
+        }
+    }
+
+    /**
+     * Applies the pending invalidations.
+     */
+    void flush() {
+        Set<String> flushedAppNames;
+        Set<String> flushedVipAddresses;
+        Set<String> flushedSecureVipAddresses;
+        long flushedDeltaSequence;
+        synchronized (this) {
+            flushScheduled = false;
+            if (appNames.isEmpty()) {
+                return;
+            }
+            flushedAppNames = appNames;
+            flushedVipAddresses = vipAddresses;
+            flushedSecureVipAddresses = secureVipAddresses;
+            flushedDeltaSequence = deltaSequence;
+            appNames = new HashSet<>();
+            vipAddresses = new HashSet<>();
+            secureVipAddresses = new HashSet<>();
+        }
+        EurekaMonitors.CACHE_INVALIDATION_APPLIED.increment(flushedAppNames.size());
+        flush.apply(flushedAppNames, flushedVipAddresses, flushedSecureVipAddresses, flushedDeltaSequence);
+    }
+
+    /**
+     * Applies the pending invalidations, and those requested from now on right away.
+     */
+    void stop() {
+        stopped = true;
+        scheduler.shutdownNow();
+        flush();
+    }
+}
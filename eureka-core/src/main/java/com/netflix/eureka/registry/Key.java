@@ -9,7 +9,7 @@ import java.util.Arrays;
 public class Key {
 
     public enum KeyType {
-        JSON, XML
+        JSON, XML, SMILE
     }
 
     /**
@@ -19,6 +19,11 @@ public class Key {
         Application, VIP, SVIP
     }
 
+    /**
+     * Value of {@link #getDeltaSince()} for keys that are not asking for the changes after a given delta version.
+     */
+    public static final long NO_DELTA_SINCE = -1;
+
     private final String entityName;
     private final String[] regions;
     private final KeyType requestType;
@@ -26,20 +31,28 @@ public class Key {
     private final String hashKey;
     private final EntityType entityType;
     private final EurekaAccept eurekaAccept;
+    private final long deltaSince;
 
     public Key(EntityType entityType, String entityName, KeyType type, Version v, EurekaAccept eurekaAccept) {
         this(entityType, entityName, type, v, eurekaAccept, null);
     }
 
     public Key(EntityType entityType, String entityName, KeyType type, Version v, EurekaAccept eurekaAccept, @Nullable String[] regions) {
+        this(entityType, entityName, type, v, eurekaAccept, regions, NO_DELTA_SINCE);
+    }
+
+    public Key(EntityType entityType, String entityName, KeyType type, Version v, EurekaAccept eurekaAccept,
+               @Nullable String[] regions, long deltaSince) {
         this.regions = regions;
+        this.deltaSince = deltaSince;
         this.entityType = entityType;
         this.entityName = entityName;
         this.requestType = type;
         this.requestVersion = v;
         this.eurekaAccept = eurekaAccept;
         hashKey = this.entityType + this.entityName + (null != this.regions ? Arrays.toString(this.regions) : "")
-                + requestType.name() + requestVersion.name() + this.eurekaAccept.name();
+                + requestType.name() + requestVersion.name() + this.eurekaAccept.name()
+                + (NO_DELTA_SINCE != this.deltaSince ? "since" + this.deltaSince : "");
     }
 
     public String getName() {
@@ -74,6 +87,20 @@ public class Key {
         return regions;
     }
 
+    public boolean hasDeltaSince() {
+        return NO_DELTA_SINCE != deltaSince;
+    }
+
+    /**
+     * @return the delta version after which the changes are requested, or {@link #NO_DELTA_SINCE}.
+     */
+    public long getDeltaSince() {
+        return deltaSince;
+    }
+
+    /**
+     * @return a key for the same entity without the regions and the delta version, if any.
+     */
     public Key cloneWithoutRegions() {
         return new Key(entityType, entityName, requestType, requestVersion, eurekaAccept);
     }
@@ -99,6 +126,9 @@ public class Key {
         if(regions != null) {
             sb.append(", regions=").append(Arrays.toString(regions));
         }
+        if (hasDeltaSince()) {
+            sb.append(", since=").append(deltaSince);
+        }
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,92 @@
+package com.netflix.eureka.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.lease.Lease;
+
+/**
+ * Index of the registry leases by expiration time, so the eviction task only visits the leases that may have
+ * expired instead of scanning the whole registry.
+ *
+ * <p>
+ * Leases are put in buckets of <code>tickMs</code> by their {@link Lease#getExpirationTimestamp()}. Renewals do not
+ * move a lease, as they are far more frequent than evictions: the index may hold a lease in a bucket earlier than
+ * its actual expiration, never later. The eviction task {@link #poll(long)}s the buckets that are due, checks each
+ * lease and {@link #add(Lease)}s back the ones that are still alive, which land in the bucket of their renewed
+ * expiration. A live lease is thus visited about once per lease duration, instead of on every eviction run.
+ * Leases that were cancelled or replaced are dropped by the caller when polled.
+ * </p>
+ */
+class LeaseExpiryIndex {
+
+    private final long tickMs;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    LeaseExpiryIndex(long tickMs) {
+        this.tickMs = tickMs;
+    }
+
+    /**
+     * Adds the lease to the bucket of its current expiration time.
+     */
+    void add(Lease<InstanceInfo> lease) {
+        long tick = lease.getExpirationTimestamp() / tickMs;
+        while (!buckets.computeIfAbsent(tick, t -> new Bucket()).add(lease)) {
+            // the bucket was polled in between, and is no longer in the index
+        }
+    }
+
+    /**
+     * Removes all the buckets with leases expiring up to the given time, which may include leases expiring up to
+     * <code>tickMs</code> later.
+     *
+     * @return the leases of the removed buckets, which were renewed since they were added or not.
+     */
+    List<Lease<InstanceInfo>> poll(long expiredBefore) {
+        long lastTick = expiredBefore / tickMs;
+        List<Lease<InstanceInfo>> leases = new ArrayList<>();
+        Map.Entry<Long, Bucket> entry;
+        while ((entry = buckets.firstEntry()) != null && entry.getKey() <= lastTick) {
+            if (buckets.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().drainTo(leases);
+            }
+        }
+        return leases;
+    }
+
+    /**
+     * @return the number of leases in the index, including the ones no longer registered which were not polled yet.
+     */
+    int size() {
+        int size = 0;
+        for (Bucket bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private static final class Bucket {
+        private List<Lease<InstanceInfo>> leases = new ArrayList<>();
+
+        synchronized boolean add(Lease<InstanceInfo> lease) {
+            if (leases == null) {
+                return false;
+            }
+            leases.add(lease);
+            return true;
+        }
+
+        synchronized void drainTo(List<Lease<InstanceInfo>> target) {
+            target.addAll(leases);
+            leases = null;
+        }
+
+        synchronized int size() {
+            return leases == null ? 0 : leases.size();
+        }
+    }
+}
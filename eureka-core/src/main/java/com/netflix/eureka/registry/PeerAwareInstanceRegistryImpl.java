@@ -135,7 +135,7 @@ public class PeerAwareInstanceRegistryImpl extends AbstractInstanceRegistry impl
     ) {
         super(serverConfig, clientConfig, serverCodecs);
         this.eurekaClient = eurekaClient;
-        this.numberOfReplicationsLastMin = new MeasuredRate(1000 * 60 * 1);
+        this.numberOfReplicationsLastMin = new MeasuredRate(1000 * 60 * 1, serverConfig.shouldUseSlidingRenewalRate());
         // We first check if the instance is STARTING or DOWN, then we check explicit overrides,
         // then we check the status of a potentially existing lease.
         this.instanceStatusOverrideRule = new FirstMatchWinsCompositeRule(new DownOrStartingRule(),
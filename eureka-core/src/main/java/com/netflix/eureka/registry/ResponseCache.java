@@ -1,6 +1,9 @@
 package com.netflix.eureka.registry;
 
 import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -10,6 +13,12 @@ public interface ResponseCache {
 
     void invalidate(String appName, @Nullable String vipAddress, @Nullable String secureVipAddress);
 
+    /**
+     * Invalidates the cached information about several applications and VIP addresses at once, the information
+     * about all applications only once.
+     */
+    void invalidate(Set<String> appNames, Set<String> vipAddresses, Set<String> secureVipAddresses);
+
     AtomicLong getVersionDelta();
 
     AtomicLong getVersionDeltaWithRegions();
@@ -28,6 +37,17 @@ public interface ResponseCache {
      */
      String get(Key key);
 
+    /**
+     * Get the cached information about applications, encoded in UTF-8.
+     *
+     * @param key the key for which the cached information needs to be obtained.
+     * @return payload which contains information about the applications.
+     */
+    default byte[] getBytes(Key key) {
+        String payload = get(key);
+        return payload == null ? null : payload.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Get the compressed information about the applications.
      *
@@ -36,6 +56,28 @@ public interface ResponseCache {
      */
     byte[] getGZIP(Key key);
 
+    /**
+     * Get the cached information about applications, encoded in UTF-8, without copying it.
+     *
+     * @param key the key for which the cached information needs to be obtained.
+     * @return a buffer over the payload which contains information about the applications.
+     */
+    default ByteBuffer getBuffer(Key key) {
+        byte[] payload = getBytes(key);
+        return payload == null ? null : ByteBuffer.wrap(payload);
+    }
+
+    /**
+     * Get the compressed information about the applications, without copying it.
+     *
+     * @param key the key for which the compressed cached information needs to be obtained.
+     * @return a buffer over the compressed payload which contains information about the applications.
+     */
+    default ByteBuffer getGZIPBuffer(Key key) {
+        byte[] payload = getGZIP(key);
+        return payload == null ? null : ByteBuffer.wrap(payload);
+    }
+
     /**
      * Performs a shutdown of this cache by stopping internal threads and unregistering
      * Servo monitors.
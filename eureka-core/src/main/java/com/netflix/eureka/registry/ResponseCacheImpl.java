@@ -19,20 +19,31 @@ package com.netflix.eureka.registry;
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimerTask;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.GZIPOutputStream;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -42,6 +53,9 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.netflix.appinfo.EurekaAccept;
 import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.discovery.converters.wrappers.ApplicationsFragmentEncoder;
+import com.netflix.discovery.converters.wrappers.ApplicationsStreamEncoder;
 import com.netflix.discovery.converters.wrappers.EncoderWrapper;
 import com.netflix.discovery.shared.Application;
 import com.netflix.discovery.shared.Applications;
@@ -71,6 +85,18 @@ import org.slf4j.LoggerFactory;
  * formats and for multiple versions too.
  * </p>
  *
+ * <p>
+ * The read only cache is refreshed when entries of the read write cache are invalidated or expire. The keys
+ * removed over {@link EurekaServerConfig#getResponseCacheRefreshDelayMs()} are gathered, so a burst of
+ * invalidations rebuilds each affected payload only once, and the other payloads are left untouched.
+ * </p>
+ *
+ * <p>
+ * Deltas since a given version are kept apart from the other payloads, in a small cache bounded by
+ * {@link #MAX_DELTA_SINCE_PAYLOADS}. Each of them is only served while the registry is still at the version it
+ * was generated at, so clients woken up by the same change share one payload, and none of them is served stale.
+ * </p>
+ *
  * @author Karthik Ranganathan, Greg Kim
  */
 public class ResponseCacheImpl implements ResponseCache {
@@ -86,7 +112,10 @@ public class ResponseCacheImpl implements ResponseCache {
     private static final AtomicLong versionDeltaLegacy = new AtomicLong(0);
     private static final AtomicLong versionDeltaWithRegionsLegacy = new AtomicLong(0);
 
+    static final int MAX_DELTA_SINCE_PAYLOADS = 64;
+
     private static final String EMPTY_PAYLOAD = "";
+    private static final byte[] EMPTY_PAYLOAD_BYTES = new byte[0];
     private final java.util.Timer timer = new java.util.Timer("Eureka-CacheFillTimer", true);
     private final AtomicLong versionDelta = new AtomicLong(0);
     private final AtomicLong versionDeltaWithRegions = new AtomicLong(0);
@@ -95,6 +124,7 @@ public class ResponseCacheImpl implements ResponseCache {
     private final Timer serializeDeltaAppsTimer = Monitors.newTimer("serialize-all-delta");
     private final Timer serializeAllAppsWithRemoteRegionTimer = Monitors.newTimer("serialize-all_remote_region");
     private final Timer serializeDeltaAppsWithRemoteRegionTimer = Monitors.newTimer("serialize-all-delta_remote_region");
+    private final Timer serializeDeltaSinceAppsTimer = Monitors.newTimer("serialize-all-delta_since");
     private final Timer serializeOneApptimer = Monitors.newTimer("serialize-one");
     private final Timer serializeViptimer = Monitors.newTimer("serialize-one-vip");
     private final Timer compressPayloadTimer = Monitors.newTimer("compress-payload");
@@ -115,9 +145,16 @@ public class ResponseCacheImpl implements ResponseCache {
             });
 
     private final ConcurrentMap<Key, Value> readOnlyCacheMap = new ConcurrentHashMap<Key, Value>();
+    private final Set<Key> readOnlyCacheKeysToRefresh = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean readOnlyCacheRefreshScheduled = new AtomicBoolean();
 
     private final LoadingCache<Key, Value> readWriteCacheMap;
+    private final Cache<Key, DeltaSinceValue> deltaSincePayloads;
     private final boolean shouldUseReadOnlyResponseCache;
+    private final boolean shouldUseDirectBuffers;
+    private final long responseCacheRefreshDelayMs;
+    @Nullable
+    private final ApplicationFragmentCache applicationFragments;
     private final AbstractInstanceRegistry registry;
     private final EurekaServerConfig serverConfig;
     private final ServerCodecs serverCodecs;
@@ -126,9 +163,19 @@ public class ResponseCacheImpl implements ResponseCache {
         this.serverConfig = serverConfig;
         this.serverCodecs = serverCodecs;
         this.shouldUseReadOnlyResponseCache = serverConfig.shouldUseReadOnlyResponseCache();
+        this.shouldUseDirectBuffers = serverConfig.shouldUseDirectBufferResponseCache();
+        this.responseCacheRefreshDelayMs = serverConfig.getResponseCacheRefreshDelayMs();
+        this.applicationFragments = serverConfig.shouldCacheApplicationFragments()
+                ? new ApplicationFragmentCache(serverConfig.getResponseCacheAutoExpirationInSeconds())
+                : null;
         this.registry = registry;
 
         long responseCacheUpdateIntervalMs = serverConfig.getResponseCacheUpdateIntervalMs();
+        // the expiry bounds the staleness of the remote region changes, which do not move the local version
+        this.deltaSincePayloads = CacheBuilder.newBuilder()
+                .maximumSize(MAX_DELTA_SINCE_PAYLOADS)
+                .expireAfterWrite(responseCacheUpdateIntervalMs, TimeUnit.MILLISECONDS)
+                .build();
         this.readWriteCacheMap =
                 CacheBuilder.newBuilder().initialCapacity(serverConfig.getInitialCapacityOfResponseCache())
                         .expireAfterWrite(serverConfig.getResponseCacheAutoExpirationInSeconds(), TimeUnit.SECONDS)
@@ -140,6 +187,9 @@ public class ResponseCacheImpl implements ResponseCache {
                                     Key cloneWithNoRegions = removedKey.cloneWithoutRegions();
                                     regionSpecificKeys.remove(cloneWithNoRegions, removedKey);
                                 }
+                                if (shouldUseReadOnlyResponseCache && readOnlyCacheMap.containsKey(removedKey)) {
+                                    scheduleReadOnlyCacheRefresh(removedKey);
+                                }
                             }
                         })
                         .build(new CacheLoader<Key, Value>() {
@@ -172,29 +222,57 @@ public class ResponseCacheImpl implements ResponseCache {
         return new TimerTask() {
             @Override
             public void run() {
-                logger.debug("Updating the client cache from response cache");
-                for (Key key : readOnlyCacheMap.keySet()) {
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Updating the client cache from response cache for key : {} {} {} {}",
-                                key.getEntityType(), key.getName(), key.getVersion(), key.getType());
-                    }
-                    try {
-                        CurrentRequestVersion.set(key.getVersion());
-                        Value cacheValue = readWriteCacheMap.get(key);
-                        Value currentCacheValue = readOnlyCacheMap.get(key);
-                        if (cacheValue != currentCacheValue) {
-                            readOnlyCacheMap.put(key, cacheValue);
-                        }
-                    } catch (Throwable th) {
-                        logger.error("Error while updating the client cache from response cache for key {}", key.toStringCompact(), th);
-                    } finally {
-                        CurrentRequestVersion.remove();
+                logger.debug("Checking the client cache for entries out of date");
+                // evicts the expired entries of the response cache, which schedules their refresh
+                readWriteCacheMap.cleanUp();
+                for (Map.Entry<Key, Value> entry : readOnlyCacheMap.entrySet()) {
+                    if (readWriteCacheMap.getIfPresent(entry.getKey()) != entry.getValue()) {
+                        scheduleReadOnlyCacheRefresh(entry.getKey());
                     }
                 }
             }
         };
     }
 
+    private void scheduleReadOnlyCacheRefresh(Key key) {
+        readOnlyCacheKeysToRefresh.add(key);
+        if (readOnlyCacheRefreshScheduled.compareAndSet(false, true)) {
+            try {
+                timer.schedule(new TimerTask() {
+                    @Override
+                    public void run() {
+                        refreshReadOnlyCache();
+                    }
+                }, responseCacheRefreshDelayMs);
+            } catch (IllegalStateException e) {
+                logger.debug("Not refreshing the client cache as the response cache is stopped");
+            }
+        }
+    }
+
+    private void refreshReadOnlyCache() {
+        // cleared first, so keys invalidated from now on get another refresh scheduled
+        readOnlyCacheRefreshScheduled.set(false);
+        for (Iterator<Key> it = readOnlyCacheKeysToRefresh.iterator(); it.hasNext(); ) {
+            Key key = it.next();
+            it.remove();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Updating the client cache from response cache for key : {} {} {} {}",
+                        key.getEntityType(), key.getName(), key.getVersion(), key.getType());
+            }
+            try {
+                CurrentRequestVersion.set(key.getVersion());
+                readOnlyCacheMap.put(key, readWriteCacheMap.get(key));
+            } catch (Throwable th) {
+                logger.error("Error while updating the client cache from response cache for key {}", key.toStringCompact(), th);
+                // dropped, so the next request loads it again instead of being served a stale payload
+                readOnlyCacheMap.remove(key);
+            } finally {
+                CurrentRequestVersion.remove();
+            }
+        }
+    }
+
     /**
      * Get the cached information about applications.
      *
@@ -214,13 +292,28 @@ public class ResponseCacheImpl implements ResponseCache {
     @VisibleForTesting
     String get(final Key key, boolean useReadOnlyCache) {
         Value payload = getValue(key, useReadOnlyCache);
-        if (payload == null || payload.getPayload().equals(EMPTY_PAYLOAD)) {
+        if (payload == null || payload.isEmpty()) {
             return null;
         } else {
             return payload.getPayload();
         }
     }
 
+    /**
+     * Get the cached information about applications, encoded in UTF-8 as served to the clients.
+     *
+     * @param key the key for which the cached information needs to be obtained.
+     * @return payload which contains information about the applications.
+     */
+    @Override
+    public byte[] getBytes(Key key) {
+        Value payload = getValue(key, shouldUseReadOnlyResponseCache);
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        return payload.getPayloadBytes();
+    }
+
     /**
      * Get the compressed information about the applications.
      *
@@ -238,6 +331,24 @@ public class ResponseCacheImpl implements ResponseCache {
         return payload.getGzipped();
     }
 
+    @Override
+    public ByteBuffer getBuffer(Key key) {
+        Value payload = getValue(key, shouldUseReadOnlyResponseCache);
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        return payload.getPayloadBuffer();
+    }
+
+    @Override
+    public ByteBuffer getGZIPBuffer(Key key) {
+        Value payload = getValue(key, shouldUseReadOnlyResponseCache);
+        if (payload == null) {
+            return null;
+        }
+        return payload.getGzippedBuffer();
+    }
+
     @Override
     public void stop() {
         timer.cancel();
@@ -251,20 +362,40 @@ public class ResponseCacheImpl implements ResponseCache {
      */
     @Override
     public void invalidate(String appName, @Nullable String vipAddress, @Nullable String secureVipAddress) {
+        invalidate(
+                Collections.singleton(appName),
+                vipAddress == null ? Collections.emptySet() : Collections.singleton(vipAddress),
+                secureVipAddress == null ? Collections.emptySet() : Collections.singleton(secureVipAddress)
+        );
+    }
+
+    @Override
+    public void invalidate(Set<String> appNames, Set<String> vipAddresses, Set<String> secureVipAddresses) {
+        // before the payloads, so the ones regenerated from now on do not reuse the applications as encoded before
+        if (applicationFragments != null) {
+            for (String appName : appNames) {
+                applicationFragments.invalidate(appName);
+            }
+        }
+        deltaSincePayloads.invalidateAll();
         for (Key.KeyType type : KEY_TYPE_VALUES) {
             for (Version v : VERSION_VALUES) {
+                for (String appName : appNames) {
+                    invalidate(
+                            new Key(Key.EntityType.Application, appName, type, v, EurekaAccept.full),
+                            new Key(Key.EntityType.Application, appName, type, v, EurekaAccept.compact)
+                    );
+                }
                 invalidate(
-                        new Key(Key.EntityType.Application, appName, type, v, EurekaAccept.full),
-                        new Key(Key.EntityType.Application, appName, type, v, EurekaAccept.compact),
                         new Key(Key.EntityType.Application, ALL_APPS, type, v, EurekaAccept.full),
                         new Key(Key.EntityType.Application, ALL_APPS, type, v, EurekaAccept.compact),
                         new Key(Key.EntityType.Application, ALL_APPS_DELTA, type, v, EurekaAccept.full),
                         new Key(Key.EntityType.Application, ALL_APPS_DELTA, type, v, EurekaAccept.compact)
                 );
-                if (null != vipAddress) {
+                for (String vipAddress : vipAddresses) {
                     invalidate(new Key(Key.EntityType.VIP, vipAddress, type, v, EurekaAccept.full));
                 }
-                if (null != secureVipAddress) {
+                for (String secureVipAddress : secureVipAddresses) {
                     invalidate(new Key(Key.EntityType.SVIP, secureVipAddress, type, v, EurekaAccept.full));
                 }
             }
@@ -354,13 +485,19 @@ public class ResponseCacheImpl implements ResponseCache {
     Value getValue(final Key key, boolean useReadOnlyCache) {
         Value payload = null;
         try {
-            if (useReadOnlyCache) {
+            if (key.hasDeltaSince()) {
+                payload = getDeltaSinceValue(key);
+            } else if (useReadOnlyCache) {
                 final Value currentPayload = readOnlyCacheMap.get(key);
                 if (currentPayload != null) {
                     payload = currentPayload;
                 } else {
                     payload = readWriteCacheMap.get(key);
                     readOnlyCacheMap.put(key, payload);
+                    if (readWriteCacheMap.getIfPresent(key) != payload) {
+                        // invalidated before it made it to the read only cache
+                        scheduleReadOnlyCacheRefresh(key);
+                    }
                 }
             } else {
                 payload = readWriteCacheMap.get(key);
@@ -371,17 +508,41 @@ public class ResponseCacheImpl implements ResponseCache {
         return payload;
     }
 
+    /**
+     * Deltas since a version are specific to the clients at that version, and must never be served stale, so they
+     * are not kept with the other payloads. A cached one is served only if the registry has not changed since.
+     */
+    private Value getDeltaSinceValue(Key key) {
+        // read before the payload is generated, so a change racing with it makes the payload outdated
+        long registryVersion = registry.getDeltaVersion();
+        DeltaSinceValue cached = deltaSincePayloads.getIfPresent(key);
+        if (cached != null && cached.registryVersion == registryVersion) {
+            return cached.value;
+        }
+        Value value = generatePayload(key);
+        deltaSincePayloads.put(key, new DeltaSinceValue(registryVersion, value));
+        return value;
+    }
+
+    @VisibleForTesting
+    long getDeltaSinceCacheSize() {
+        return deltaSincePayloads.size();
+    }
+
     /**
      * Generate pay load with both JSON and XML formats for all applications.
      */
-    private String getPayLoad(Key key, Applications apps) {
-        EncoderWrapper encoderWrapper = serverCodecs.getEncoder(key.getType(), key.getEurekaAccept());
-        String result;
+    private Value getPayLoad(Key key, Applications apps) {
+        if (apps == null) {
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
+        }
+
+        Value result;
         try {
-            result = encoderWrapper.encode(apps);
+            result = encode(key, apps);
         } catch (Exception e) {
             logger.error("Failed to encode the payload for all apps", e);
-            return "";
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
         }
         if(logger.isDebugEnabled()) {
             logger.debug("New application cache entry {} with apps hashcode {}", key.toStringCompact(), apps.getAppsHashCode());
@@ -389,30 +550,104 @@ public class ResponseCacheImpl implements ResponseCache {
         return result;
     }
 
+    /**
+     * Generate pay load for all applications, streaming the registry instances to the encoder when it supports it,
+     * instead of building the {@link Applications} first. When the encoded applications are cached, only the ones
+     * which changed since the last payload are encoded again.
+     */
+    private Value getAllAppsPayLoad(Key key,
+                                    Supplier<Map<String, Collection<InstanceInfo>>> instancesSupplier,
+                                    Supplier<Applications> appsSupplier) {
+        EncoderWrapper encoderWrapper = serverCodecs.getEncoder(key.getType(), key.getEurekaAccept());
+        if (!(encoderWrapper instanceof ApplicationsStreamEncoder)) {
+            return getPayLoad(key, appsSupplier.get());
+        }
+        boolean useFragments = applicationFragments != null && encoderWrapper instanceof ApplicationsFragmentEncoder;
+        long fragmentSequence = useFragments ? applicationFragments.getSequence() : 0;
+        Map<String, Collection<InstanceInfo>> instancesByApp = instancesSupplier.get();
+        if (instancesByApp == null) {
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
+        }
+
+        String appsHashCode = getReconcileHashCode(instancesByApp);
+        try {
+            PayloadOutputStream out = new PayloadOutputStream();
+            if (useFragments) {
+                ApplicationsFragmentEncoder fragmentEncoder = (ApplicationsFragmentEncoder) encoderWrapper;
+                List<String> encodedApplications = applicationFragments.getEncodedApplications(
+                        key, fragmentSequence, instancesByApp, fragmentEncoder);
+                fragmentEncoder.encodeApplications(1L, appsHashCode, encodedApplications, out);
+            } else {
+                ((ApplicationsStreamEncoder) encoderWrapper).encodeApplications(1L, appsHashCode, instancesByApp, out);
+            }
+            out.close();
+            compressPayloadTimer.record(out.getCompressionNanos(), TimeUnit.NANOSECONDS);
+            if (logger.isDebugEnabled()) {
+                logger.debug("New application cache entry {} with apps hashcode {}", key.toStringCompact(), appsHashCode);
+            }
+            return new Value(out.getPayload(), out.getGzipped());
+        } catch (Exception e) {
+            logger.error("Failed to encode the payload for all apps", e);
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
+        }
+    }
+
+    /**
+     * Same as {@link Applications#getReconcileHashCode()}, for the applications holding the given instances.
+     */
+    private static String getReconcileHashCode(Map<String, Collection<InstanceInfo>> instancesByApp) {
+        int[] statusCounts = new int[InstanceStatus.values().length];
+        for (Collection<InstanceInfo> instances : instancesByApp.values()) {
+            for (InstanceInfo instance : instances) {
+                statusCounts[instance.getStatus().ordinal()]++;
+            }
+        }
+        Map<String, AtomicInteger> instanceCountMap = new TreeMap<>();
+        for (InstanceStatus status : InstanceStatus.values()) {
+            if (statusCounts[status.ordinal()] > 0) {
+                instanceCountMap.put(status.name(), new AtomicInteger(statusCounts[status.ordinal()]));
+            }
+        }
+        return Applications.getReconcileHashCode(instanceCountMap);
+    }
+
     /**
      * Generate pay load with both JSON and XML formats for a given application.
      */
-    private String getPayLoad(Key key, Application app) {
+    private Value getPayLoad(Key key, Application app) {
         if (app == null) {
-            return EMPTY_PAYLOAD;
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
         }
 
-        EncoderWrapper encoderWrapper = serverCodecs.getEncoder(key.getType(), key.getEurekaAccept());
         try {
-            return encoderWrapper.encode(app);
+            return encode(key, app);
         } catch (Exception e) {
             logger.error("Failed to encode the payload for application {}", app.getName(), e);
-            return "";
+            return new Value(EMPTY_PAYLOAD_BYTES, null);
         }
     }
 
+    /**
+     * Encodes the given entity straight to UTF-8, compressing it in the same pass.
+     */
+    private Value encode(Key key, Object entity) throws IOException {
+        EncoderWrapper encoderWrapper = serverCodecs.getEncoder(key.getType(), key.getEurekaAccept());
+        PayloadOutputStream out = new PayloadOutputStream();
+        encoderWrapper.encode(entity, out);
+        out.close();
+        compressPayloadTimer.record(out.getCompressionNanos(), TimeUnit.NANOSECONDS);
+        // deltas since a version are only cached while the registry does not change, so they are not worth copying
+        // to direct memory
+        return new Value(out.getPayload(), out.getGzipped(), shouldUseDirectBuffers && !key.hasDeltaSince());
+    }
+
     /*
      * Generate pay load for the given key.
      */
     private Value generatePayload(Key key) {
         Stopwatch tracer = null;
         try {
-            String payload;
+            Value payload;
             switch (key.getEntityType()) {
                 case Application:
                     boolean isRemoteRegionRequested = key.hasRegions();
@@ -420,13 +655,18 @@ public class ResponseCacheImpl implements ResponseCache {
                     if (ALL_APPS.equals(key.getName())) {
                         if (isRemoteRegionRequested) {
                             tracer = serializeAllAppsWithRemoteRegionTimer.start();
-                            payload = getPayLoad(key, registry.getApplicationsFromMultipleRegions(key.getRegions()));
+                            payload = getAllAppsPayLoad(key, () -> registry.getInstancesFromMultipleRegions(key.getRegions()),
+                                    () -> registry.getApplicationsFromMultipleRegions(key.getRegions()));
                         } else {
                             tracer = serializeAllAppsTimer.start();
-                            payload = getPayLoad(key, registry.getApplications());
+                            payload = getAllAppsPayLoad(key, registry::getInstances, registry::getApplications);
                         }
                     } else if (ALL_APPS_DELTA.equals(key.getName())) {
-                        if (isRemoteRegionRequested) {
+                        if (key.hasDeltaSince()) {
+                            tracer = serializeDeltaSinceAppsTimer.start();
+                            payload = getPayLoad(key, registry.getApplicationDeltasSince(key.getDeltaSince(),
+                                    isRemoteRegionRequested ? key.getRegions() : null));
+                        } else if (isRemoteRegionRequested) {
                             tracer = serializeDeltaAppsWithRemoteRegionTimer.start();
                             versionDeltaWithRegions.incrementAndGet();
                             versionDeltaWithRegionsLegacy.incrementAndGet();
@@ -450,10 +690,10 @@ public class ResponseCacheImpl implements ResponseCache {
                     break;
                 default:
                     logger.error("Unidentified entity type: {} found in the cache key.", key.getEntityType());
-                    payload = "";
+                    payload = new Value(EMPTY_PAYLOAD_BYTES, null);
                     break;
             }
-            return new Value(payload);
+            return payload;
         } finally {
             if (tracer != null) {
                 tracer.stop();
@@ -501,48 +741,184 @@ public class ResponseCacheImpl implements ResponseCache {
         return toReturn;
     }
 
+    /**
+     * A delta since a version, with the version of the registry it was generated at.
+     */
+    private static final class DeltaSinceValue {
+        private final long registryVersion;
+        private final Value value;
+
+        DeltaSinceValue(long registryVersion, Value value) {
+            this.registryVersion = registryVersion;
+            this.value = value;
+        }
+    }
+
     /**
      * The class that stores payload in both compressed and uncompressed form.
      *
      */
     public class Value {
-        private final String payload;
-        private byte[] gzipped;
+        private final ByteBuffer payload;
+        private final ByteBuffer gzipped;
+        // decoded on the first call to getPayload(), which the resources serving the bytes never make
+        private volatile String decodedPayload;
 
         public Value(String payload) {
-            this.payload = payload;
-            if (!EMPTY_PAYLOAD.equals(payload)) {
-                Stopwatch tracer = compressPayloadTimer.start();
-                try {
-                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                    GZIPOutputStream out = new GZIPOutputStream(bos);
-                    byte[] rawBytes = payload.getBytes();
-                    out.write(rawBytes);
-                    // Finish creation of gzip file
-                    out.finish();
-                    out.close();
-                    bos.close();
-                    gzipped = bos.toByteArray();
-                } catch (IOException e) {
-                    gzipped = null;
-                } finally {
-                    if (tracer != null) {
-                        tracer.stop();
-                    }
+            byte[] rawBytes = payload.getBytes(StandardCharsets.UTF_8);
+            this.payload = toBuffer(rawBytes, shouldUseDirectBuffers);
+            this.gzipped = rawBytes.length > 0 ? toBuffer(gzip(rawBytes), shouldUseDirectBuffers) : null;
+        }
+
+        Value(byte[] payload, @Nullable byte[] gzipped) {
+            this(payload, gzipped, shouldUseDirectBuffers);
+        }
+
+        Value(byte[] payload, @Nullable byte[] gzipped, boolean direct) {
+            this.payload = toBuffer(payload, direct);
+            this.gzipped = payload.length > 0 ? toBuffer(gzipped, direct) : null;
+        }
+
+        private byte[] gzip(byte[] rawBytes) {
+            Stopwatch tracer = compressPayloadTimer.start();
+            try {
+                PayloadOutputStream out = new PayloadOutputStream();
+                out.write(rawBytes);
+                out.close();
+                return out.getGzipped();
+            } catch (IOException e) {
+                return null;
+            } finally {
+                if (tracer != null) {
+                    tracer.stop();
                 }
-            } else {
-                gzipped = null;
             }
         }
 
+        private ByteBuffer toBuffer(@Nullable byte[] bytes, boolean direct) {
+            if (bytes == null) {
+                return null;
+            }
+            if (!direct || bytes.length == 0) {
+                return ByteBuffer.wrap(bytes);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+            return buffer;
+        }
+
+        private byte[] toBytes(@Nullable ByteBuffer buffer) {
+            if (buffer == null) {
+                return null;
+            }
+            if (buffer.hasArray()) {
+                return buffer.array();
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
+
+        public boolean isEmpty() {
+            return !payload.hasRemaining();
+        }
+
+        /**
+         * @return the payload decoded from UTF-8. Prefer {@link #getPayloadBuffer()}, which serves the cached bytes
+         * without any copy.
+         */
         public String getPayload() {
-            return payload;
+            String decoded = decodedPayload;
+            if (decoded == null) {
+                decoded = new String(getPayloadBytes(), StandardCharsets.UTF_8);
+                decodedPayload = decoded;
+            }
+            return decoded;
+        }
+
+        /**
+         * @return the payload, which is copied if it is kept in a direct buffer.
+         */
+        public byte[] getPayloadBytes() {
+            return toBytes(payload);
         }
 
+        /**
+         * @return the compressed payload, which is copied if it is kept in a direct buffer.
+         */
         public byte[] getGzipped() {
-            return gzipped;
+            return toBytes(gzipped);
         }
 
+        /**
+         * @return a view of the payload with its own position. The content is shared, and must not be modified.
+         */
+        public ByteBuffer getPayloadBuffer() {
+            return payload.duplicate();
+        }
+
+        /**
+         * @return a view of the compressed payload with its own position. The content is shared, and must not be
+         * modified.
+         */
+        public ByteBuffer getGzippedBuffer() {
+            return gzipped == null ? null : gzipped.duplicate();
+        }
+    }
+
+    /**
+     * Collects the encoded payload and its gzipped form in a single pass over the encoder output.
+     */
+    private static final class PayloadOutputStream extends OutputStream {
+        private final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+        private long compressionNanos;
+
+        PayloadOutputStream() {
+            try {
+                this.gzip = new GZIPOutputStream(compressed);
+            } catch (IOException e) {
+                // never thrown when writing to memory
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            raw.write(b);
+            long start = System.nanoTime();
+            gzip.write(b);
+            compressionNanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            raw.write(b, off, len);
+            long start = System.nanoTime();
+            gzip.write(b, off, len);
+            compressionNanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            gzip.finish();
+            compressionNanos += System.nanoTime() - start;
+        }
+
+        long getCompressionNanos() {
+            return compressionNanos;
+        }
+
+        byte[] getPayload() {
+            return raw.toByteArray();
+        }
+
+        byte[] getGzipped() {
+            return compressed.toByteArray();
+        }
     }
 
 }
@@ -0,0 +1,261 @@
+package com.netflix.eureka.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import com.google.common.collect.Iterables;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.eureka.lease.Lease;
+
+/**
+ * Hash-striped store for the leases of the local registry.
+ *
+ * <p>
+ * Applications are partitioned into a fixed number of {@link Shard}s by the hash of their name. Each shard owns
+ * the lease maps of its applications, the {@link DeltaLog} of recent changes used to build deltas, its own
+ * read/write lock and a version that is bumped whenever a mutation of the shard completes. The delta logs of all
+ * shards draw their sequence numbers from a single counter, so changes are globally ordered across shards. Mutations (register, cancel, status
+ * changes) share the read lock of their shard only, and readers that need a consistent view of the leases together
+ * with the recently changed items (delta generation) snapshot one shard at a time, so a registry wide snapshot never
+ * has to stop all registrations at once.
+ * </p>
+ *
+ * <p>
+ * Each shard also keeps the number of its instances in each status, used for the reconcile hash code of the
+ * deltas. The instances of an application are recounted whenever a mutation changes them, so a delta never scans
+ * the whole registry.
+ * </p>
+ */
+class ShardedLeaseStore {
+
+    // delta versions handed out to clients carry a random epoch in their high bits, so versions issued by another
+    // server, or by this one before a restart, are never mistaken for a position in this store's delta logs
+    private static final int SEQUENCE_BITS = 40;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int EPOCH_BITS = 22;
+
+    private static final int STATUS_COUNT = InstanceStatus.values().length;
+
+    private final long deltaVersionEpoch = ((long) (new Random().nextInt((1 << EPOCH_BITS) - 1) + 1)) << SEQUENCE_BITS;
+    private final AtomicLong deltaSequence = new AtomicLong();
+    private final Shard[] shards;
+    private final int mask;
+
+    ShardedLeaseStore(int shardCount, int deltaLogCapacityPerShard) {
+        int size = 1;
+        while (size < shardCount) {
+            size <<= 1;
+        }
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(i, new DeltaLog(deltaSequence, deltaLogCapacityPerShard));
+        }
+        this.mask = size - 1;
+    }
+
+    Shard shardFor(String appName) {
+        int h = appName.hashCode();
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    List<Shard> shards() {
+        return Arrays.asList(shards);
+    }
+
+    /**
+     * @return the sequence number of the latest change logged in any shard.
+     */
+    long getDeltaSequence() {
+        return deltaSequence.get();
+    }
+
+    /**
+     * @return the version of the latest change logged in any shard, as exposed to clients.
+     */
+    long getDeltaVersion() {
+        return deltaVersionEpoch | (deltaSequence.get() & SEQUENCE_MASK);
+    }
+
+    /**
+     * @return the sequence number encoded in the given delta version, or -1 if the version was not issued by
+     * this store.
+     */
+    long toDeltaSequence(long deltaVersion) {
+        if ((deltaVersion & ~SEQUENCE_MASK) != deltaVersionEpoch) {
+            return -1;
+        }
+        return deltaVersion & SEQUENCE_MASK;
+    }
+
+    Map<String, Lease<InstanceInfo>> get(String appName) {
+        return shardFor(appName).leases.get(appName);
+    }
+
+    Map<String, Lease<InstanceInfo>> putIfAbsent(String appName, Map<String, Lease<InstanceInfo>> leaseMap) {
+        return shardFor(appName).leases.putIfAbsent(appName, leaseMap);
+    }
+
+    Iterable<Entry<String, Map<String, Lease<InstanceInfo>>>> entrySet() {
+        List<Iterable<Entry<String, Map<String, Lease<InstanceInfo>>>>> entrySets = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            entrySets.add(shard.leases.entrySet());
+        }
+        return Iterables.concat(entrySets);
+    }
+
+    Iterable<Map<String, Lease<InstanceInfo>>> values() {
+        List<Iterable<Map<String, Lease<InstanceInfo>>>> values = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            values.add(shard.leases.values());
+        }
+        return Iterables.concat(values);
+    }
+
+    void clear() {
+        for (Shard shard : shards) {
+            shard.leases.clear();
+            shard.deltaLog.clear();
+            shard.clearStatusCounts();
+        }
+    }
+
+    /**
+     * A single partition of the registry.
+     */
+    static final class Shard {
+
+        private final int index;
+        private final ConcurrentHashMap<String, Map<String, Lease<InstanceInfo>>> leases = new ConcurrentHashMap<>();
+        private final DeltaLog deltaLog;
+
+        private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+        private final Lock read = readWriteLock.readLock();
+        private final Lock write = readWriteLock.writeLock();
+        private final AtomicInteger activeMutations = new AtomicInteger();
+        private final AtomicLong version = new AtomicLong();
+
+        // both guarded by statusCounts
+        private final int[] statusCounts = new int[STATUS_COUNT];
+        private final Map<String, int[]> statusCountsByApp = new HashMap<>();
+
+        private Shard(int index, DeltaLog deltaLog) {
+            this.index = index;
+            this.deltaLog = deltaLog;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        Map<String, Map<String, Lease<InstanceInfo>>> getLeases() {
+            return leases;
+        }
+
+        DeltaLog getDeltaLog() {
+            return deltaLog;
+        }
+
+        /**
+         * @return the number of mutations completed on this shard so far.
+         */
+        long getVersion() {
+            return version.get();
+        }
+
+        /**
+         * Recounts the statuses of the instances of the given application, once a mutation has changed them. The
+         * recounts of an application are serialized, and each of them counts the instances as they are when it
+         * runs, so the counts reflect the changes of all the mutations that have recounted.
+         */
+        void recountStatuses(String appName) {
+            Map<String, Lease<InstanceInfo>> leaseMap = leases.get(appName);
+            if (leaseMap == null) {
+                return;
+            }
+            synchronized (leaseMap) {
+                int[] appCounts = new int[STATUS_COUNT];
+                for (Lease<InstanceInfo> lease : leaseMap.values()) {
+                    InstanceInfo instanceInfo = lease.getHolder();
+                    if (instanceInfo != null) {
+                        appCounts[instanceInfo.getStatus().ordinal()]++;
+                    }
+                }
+                synchronized (statusCounts) {
+                    int[] previousCounts = statusCountsByApp.put(appName, appCounts);
+                    for (int i = 0; i < STATUS_COUNT; i++) {
+                        statusCounts[i] += appCounts[i] - (previousCounts == null ? 0 : previousCounts[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the number of instances of this shard in each status, indexed by {@link InstanceStatus#ordinal()}.
+         */
+        int[] getStatusCounts() {
+            synchronized (statusCounts) {
+                return statusCounts.clone();
+            }
+        }
+
+        private void clearStatusCounts() {
+            synchronized (statusCounts) {
+                Arrays.fill(statusCounts, 0);
+                statusCountsByApp.clear();
+            }
+        }
+
+        /**
+         * Must be paired with {@link #endMutation()} in a finally block. Mutations of the same shard may run
+         * concurrently with each other, but never with {@link #read(Supplier, int)} falling back to the lock.
+         */
+        void beginMutation() {
+            read.lock();
+            activeMutations.incrementAndGet();
+        }
+
+        void endMutation() {
+            // version is bumped before the mutation is marked as done, so an optimistic reader that observes
+            // no active mutation always observes the version of the last completed one
+            version.incrementAndGet();
+            activeMutations.decrementAndGet();
+            read.unlock();
+        }
+
+        /**
+         * Runs the given reader against a consistent view of this shard. The reader is first tried optimistically
+         * without any locking, and its result is discarded if a mutation was in progress or completed while it ran.
+         * After the given number of failed attempts the shard write lock is taken, which only blocks mutations of
+         * this shard. The reader must therefore tolerate running concurrently with mutations.
+         */
+        <T> T read(Supplier<T> reader, int optimisticAttempts) {
+            for (int i = 0; i < optimisticAttempts; i++) {
+                long stamp = version.get();
+                if (activeMutations.get() == 0) {
+                    T result = reader.get();
+                    if (activeMutations.get() == 0 && version.get() == stamp) {
+                        return result;
+                    }
+                }
+            }
+            write.lock();
+            try {
+                return reader.get();
+            } finally {
+                write.unlock();
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.netflix.eureka.resources;
 import javax.ws.rs.core.Response;
 
 import com.netflix.appinfo.EurekaAccept;
+import com.netflix.eureka.EurekaServerConfig;
 import com.netflix.eureka.EurekaServerContext;
 import com.netflix.eureka.EurekaServerContextHolder;
 import com.netflix.eureka.Version;
@@ -37,10 +38,12 @@ abstract class AbstractVIPResource {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractVIPResource.class);
 
+    private final EurekaServerConfig serverConfig;
     private final PeerAwareInstanceRegistry registry;
     private final ResponseCache responseCache;
 
     AbstractVIPResource(EurekaServerContext server) {
+        this.serverConfig = server.getServerConfig();
         this.registry = server.getRegistry();
         this.responseCache = registry.getResponseCache();
     }
@@ -68,7 +71,9 @@ abstract class AbstractVIPResource {
                 eurekaAccept
         );
 
-        String payLoad = responseCache.get(cacheKey);
+        Object payLoad = serverConfig.shouldUseDirectBufferResponseCache()
+                ? ByteBufferStreamingOutput.of(responseCache.getBuffer(cacheKey))
+                : responseCache.getBytes(cacheKey);
         CurrentRequestVersion.remove();
 
         if (payLoad != null) {
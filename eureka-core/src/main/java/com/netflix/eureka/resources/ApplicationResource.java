@@ -106,7 +106,9 @@ public class ApplicationResource {
                 EurekaAccept.fromString(eurekaAccept)
         );
 
-        String payLoad = responseCache.get(cacheKey);
+        Object payLoad = serverConfig.shouldUseDirectBufferResponseCache()
+                ? ByteBufferStreamingOutput.of(responseCache.getBuffer(cacheKey))
+                : responseCache.getBytes(cacheKey);
         CurrentRequestVersion.remove();
 
         if (payLoad != null) {
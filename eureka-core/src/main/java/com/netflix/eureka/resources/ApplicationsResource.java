@@ -18,8 +18,10 @@ package com.netflix.eureka.resources;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -32,9 +34,15 @@ import javax.ws.rs.core.UriInfo;
 import java.util.Arrays;
 
 import com.netflix.appinfo.EurekaAccept;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatList.HeartBeat;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
 import com.netflix.eureka.EurekaServerContext;
 import com.netflix.eureka.EurekaServerContextHolder;
+import com.netflix.eureka.cluster.PeerEurekaNode;
 import com.netflix.eureka.registry.AbstractInstanceRegistry;
+import com.netflix.eureka.registry.InstanceRegistry.DeltaWatchResult;
 import com.netflix.eureka.EurekaServerConfig;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
 import com.netflix.eureka.Version;
@@ -63,6 +71,8 @@ public class ApplicationsResource {
     private static final String HEADER_CONTENT_TYPE = "Content-Type";
     private static final String HEADER_GZIP_VALUE = "gzip";
     private static final String HEADER_JSON_VALUE = "json";
+    // not defined by Status in JAX-RS 1
+    private static final int TOO_MANY_REQUESTS = 429;
 
     private final EurekaServerConfig serverConfig;
     private final PeerAwareInstanceRegistry registry;
@@ -105,7 +115,7 @@ public class ApplicationsResource {
      * Get information about all {@link com.netflix.discovery.shared.Applications}.
      *
      * @param version the version of the request.
-     * @param acceptHeader the accept header to indicate whether to serve JSON or XML data.
+     * @param acceptHeader the accept header to indicate whether to serve JSON, XML or Smile data.
      * @param acceptEncoding the accept header to indicate whether to serve compressed or uncompressed data.
      * @param eurekaAccept an eureka accept extension, see {@link com.netflix.appinfo.EurekaAccept}
      * @param uriInfo the {@link java.net.URI} information of the request made.
@@ -117,6 +127,7 @@ public class ApplicationsResource {
      *         from the {@link AbstractInstanceRegistry}.
      */
     @GET
+    @Produces({"application/xml", "application/json", JacksonSmile.MEDIA_TYPE_VALUE})
     public Response getContainers(@PathParam("version") String version,
                                   @HeaderParam(HEADER_ACCEPT) String acceptHeader,
                                   @HeaderParam(HEADER_ACCEPT_ENCODING) String acceptEncoding,
@@ -143,7 +154,10 @@ public class ApplicationsResource {
         CurrentRequestVersion.set(Version.toEnum(version));
         KeyType keyType = Key.KeyType.JSON;
         String returnMediaType = MediaType.APPLICATION_JSON;
-        if (acceptHeader == null || !acceptHeader.contains(HEADER_JSON_VALUE)) {
+        if (acceptHeader != null && acceptHeader.contains(JacksonSmile.MEDIA_TYPE_VALUE)) {
+            keyType = Key.KeyType.SMILE;
+            returnMediaType = JacksonSmile.MEDIA_TYPE_VALUE;
+        } else if (acceptHeader == null || !acceptHeader.contains(HEADER_JSON_VALUE)) {
             keyType = Key.KeyType.XML;
             returnMediaType = MediaType.APPLICATION_XML;
         }
@@ -155,12 +169,13 @@ public class ApplicationsResource {
 
         Response response;
         if (acceptEncoding != null && acceptEncoding.contains(HEADER_GZIP_VALUE)) {
-            response = Response.ok(responseCache.getGZIP(cacheKey))
+            response = Response.ok(getGZIPPayload(cacheKey))
                     .header(HEADER_CONTENT_ENCODING, HEADER_GZIP_VALUE)
                     .header(HEADER_CONTENT_TYPE, returnMediaType)
                     .build();
         } else {
-            response = Response.ok(responseCache.get(cacheKey))
+            response = Response.ok(getPayload(cacheKey))
+                    .header(HEADER_CONTENT_TYPE, returnMediaType)
                     .build();
         }
         CurrentRequestVersion.remove();
@@ -188,22 +203,32 @@ public class ApplicationsResource {
      * are expected to handle this duplicate information.
      * <p>
      *
+     * <p>
+     * Clients that pass the version of the last delta they applied get only the changes that happened after it,
+     * or a {@link Status#NOT_FOUND} response if some of these changes are no longer retained, in which case they
+     * are expected to fetch the full registry.
+     * </p>
+     *
      * @param version the version of the request.
      * @param acceptHeader the accept header to indicate whether to serve  JSON or XML data.
      * @param acceptEncoding the accept header to indicate whether to serve compressed or uncompressed data.
      * @param eurekaAccept an eureka accept extension, see {@link com.netflix.appinfo.EurekaAccept}
      * @param uriInfo  the {@link java.net.URI} information of the request made.
+     * @param regionsStr A comma separated list of remote regions from which the instances will also be returned.
+     * @param sinceStr the version of the last delta applied by the client, if only the changes after it are wanted.
      * @return response containing the delta information of the
      *         {@link AbstractInstanceRegistry}.
      */
     @Path("delta")
     @GET
+    @Produces({"application/xml", "application/json", JacksonSmile.MEDIA_TYPE_VALUE})
     public Response getContainerDifferential(
             @PathParam("version") String version,
             @HeaderParam(HEADER_ACCEPT) String acceptHeader,
             @HeaderParam(HEADER_ACCEPT_ENCODING) String acceptEncoding,
             @HeaderParam(EurekaAccept.HTTP_X_EUREKA_ACCEPT) String eurekaAccept,
-            @Context UriInfo uriInfo, @Nullable @QueryParam("regions") String regionsStr) {
+            @Context UriInfo uriInfo, @Nullable @QueryParam("regions") String regionsStr,
+            @Nullable @QueryParam("since") String sinceStr) {
 
         boolean isRemoteRegionRequested = null != regionsStr && !regionsStr.isEmpty();
 
@@ -222,31 +247,166 @@ public class ApplicationsResource {
             EurekaMonitors.GET_ALL_DELTA_WITH_REMOTE_REGIONS.increment();
         }
 
+        long deltaSince = Key.NO_DELTA_SINCE;
+        if (null != sinceStr && !sinceStr.isEmpty()) {
+            try {
+                deltaSince = Long.parseLong(sinceStr);
+            } catch (NumberFormatException e) {
+                return Response.status(Status.BAD_REQUEST).build();
+            }
+            if (deltaSince < 0) {
+                return Response.status(Status.BAD_REQUEST).build();
+            }
+        }
+
         CurrentRequestVersion.set(Version.toEnum(version));
         KeyType keyType = Key.KeyType.JSON;
         String returnMediaType = MediaType.APPLICATION_JSON;
-        if (acceptHeader == null || !acceptHeader.contains(HEADER_JSON_VALUE)) {
+        if (acceptHeader != null && acceptHeader.contains(JacksonSmile.MEDIA_TYPE_VALUE)) {
+            keyType = Key.KeyType.SMILE;
+            returnMediaType = JacksonSmile.MEDIA_TYPE_VALUE;
+        } else if (acceptHeader == null || !acceptHeader.contains(HEADER_JSON_VALUE)) {
             keyType = Key.KeyType.XML;
             returnMediaType = MediaType.APPLICATION_XML;
         }
 
         Key cacheKey = new Key(Key.EntityType.Application,
                 ResponseCacheImpl.ALL_APPS_DELTA,
-                keyType, CurrentRequestVersion.get(), EurekaAccept.fromString(eurekaAccept), regions
+                keyType, CurrentRequestVersion.get(), EurekaAccept.fromString(eurekaAccept), regions, deltaSince
         );
 
         final Response response;
 
         if (acceptEncoding != null && acceptEncoding.contains(HEADER_GZIP_VALUE)) {
-             response = Response.ok(responseCache.getGZIP(cacheKey))
-                    .header(HEADER_CONTENT_ENCODING, HEADER_GZIP_VALUE)
-                    .header(HEADER_CONTENT_TYPE, returnMediaType)
-                    .build();
+            Object payload = getGZIPPayload(cacheKey);
+            if (payload == null && cacheKey.hasDeltaSince()) {
+                response = Response.status(Status.NOT_FOUND).build();
+            } else {
+                response = Response.ok(payload)
+                        .header(HEADER_CONTENT_ENCODING, HEADER_GZIP_VALUE)
+                        .header(HEADER_CONTENT_TYPE, returnMediaType)
+                        .build();
+            }
         } else {
-            response = Response.ok(responseCache.get(cacheKey)).build();
+            Object payload = getPayload(cacheKey);
+            if (payload == null && cacheKey.hasDeltaSince()) {
+                response = Response.status(Status.NOT_FOUND).build();
+            } else {
+                response = Response.ok(payload)
+                        .header(HEADER_CONTENT_TYPE, returnMediaType)
+                        .build();
+            }
         }
 
         CurrentRequestVersion.remove();
         return response;
     }
+
+    /**
+     * Waits until the registry has changes after the given delta version.
+     *
+     * <p>
+     * This lets clients learn about registry changes as soon as they happen, rather than at their next delta
+     * fetch. The response has no content: {@link Status#OK} tells that the client should fetch the delta since its
+     * version, and {@link Status#NOT_MODIFIED} that nothing changed in the local registry before the timeout. The
+     * wait is bounded by {@link EurekaServerConfig#getMaxDeltaWatchTimeoutMs()}. When too many clients are already
+     * watching, as configured by {@link EurekaServerConfig#getMaxConcurrentDeltaWatches()}, the watch is answered
+     * with 429 (Too Many Requests) right away, and the client should fall back to polling.
+     * </p>
+     *
+     * @param sinceStr the version of the last delta applied by the client.
+     * @param timeoutStr the maximum time to wait, in milliseconds.
+     * @return response telling whether there are changes to fetch.
+     */
+    @Path("delta/watch")
+    @GET
+    public Response watchContainerDifferential(
+            @QueryParam("since") String sinceStr,
+            @Nullable @QueryParam("timeoutMs") String timeoutStr) {
+        if ((serverConfig.shouldDisableDelta()) || (!registry.shouldAllowAccess(false))) {
+            return Response.status(Status.FORBIDDEN).build();
+        }
+
+        long sinceVersion;
+        long timeoutMs = serverConfig.getMaxDeltaWatchTimeoutMs();
+        try {
+            sinceVersion = Long.parseLong(sinceStr);
+            if (null != timeoutStr && !timeoutStr.isEmpty()) {
+                timeoutMs = Math.min(timeoutMs, Long.parseLong(timeoutStr));
+            }
+        } catch (NumberFormatException e) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        EurekaMonitors.WATCH_DELTA.increment();
+        DeltaWatchResult result;
+        try {
+            result = registry.awaitChangesSince(sinceVersion, timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.status(Status.SERVICE_UNAVAILABLE).build();
+        }
+        switch (result) {
+            case TimedOut:
+                return Response.status(Status.NOT_MODIFIED).build();
+            case Rejected:
+                return Response.status(TOO_MANY_REQUESTS).build();
+            default:
+                return Response.ok().build();
+        }
+    }
+
+    /**
+     * Renews the leases of many instances at once, such as all those running on a host, as if each of them had
+     * been renewed with {@link InstanceResource#renewLease}.
+     *
+     * @param isReplication a header parameter containing information whether this is replicated from other nodes.
+     * @param heartBeats the lease renewals.
+     * @return response containing the status code of each renewal, in the order of the heartbeats.
+     */
+    @Path("heartbeats")
+    @POST
+    @Consumes({"application/json", "application/xml"})
+    public Response renewLeases(
+            @HeaderParam(PeerEurekaNode.HEADER_REPLICATION) String isReplication,
+            HeartBeatList heartBeats) {
+        if (heartBeats == null || heartBeats.getHeartBeats() == null) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        HeartBeatListResponse batchResponse = new HeartBeatListResponse();
+        for (HeartBeat heartBeat : heartBeats.getHeartBeats()) {
+            try {
+                ApplicationResource applicationResource = new ApplicationResource(heartBeat.getAppName(), serverConfig, registry);
+                InstanceResource resource = new InstanceResource(applicationResource, heartBeat.getId(), serverConfig, registry);
+                Response response = resource.renewLease(isReplication, toString(heartBeat.getOverriddenStatus()),
+                        toString(heartBeat.getStatus()), toString(heartBeat.getLastDirtyTimestamp()));
+                batchResponse.addStatusCode(response.getStatus());
+            } catch (Exception e) {
+                batchResponse.addStatusCode(Status.INTERNAL_SERVER_ERROR.getStatusCode());
+                logger.error("Renew request processing failed for batch item {}/{}", heartBeat.getAppName(), heartBeat.getId(), e);
+            }
+        }
+        return Response.ok(batchResponse).build();
+    }
+
+    private Object getPayload(Key cacheKey) {
+        if (serverConfig.shouldUseDirectBufferResponseCache()) {
+            return ByteBufferStreamingOutput.of(responseCache.getBuffer(cacheKey));
+        }
+        return responseCache.getBytes(cacheKey);
+    }
+
+    private Object getGZIPPayload(Key cacheKey) {
+        if (serverConfig.shouldUseDirectBufferResponseCache()) {
+            return ByteBufferStreamingOutput.of(responseCache.getGZIPBuffer(cacheKey));
+        }
+        return responseCache.getGZIP(cacheKey);
+    }
+
+    private static <T> String toString(T value) {
+        if (value == null) {
+            return null;
+        }
+        return value.toString();
+    }
 }
@@ -0,0 +1,48 @@
+package com.netflix.eureka.resources;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Streams a cached payload to the response, without copying it into a heap array of its size first.
+ *
+ * <p>
+ * Payloads backed by a heap array are written at once. Payloads kept in direct buffers are transferred through a
+ * small chunk, as servlet output streams only accept heap arrays.
+ * </p>
+ */
+final class ByteBufferStreamingOutput implements StreamingOutput {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final ByteBuffer payload;
+
+    private ByteBufferStreamingOutput(ByteBuffer payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * @return the entity streaming the given payload, or <code>null</code> if there is no payload.
+     */
+    static ByteBufferStreamingOutput of(ByteBuffer payload) {
+        return payload == null ? null : new ByteBufferStreamingOutput(payload);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        // each response reads from its own view, as the same cached buffer is served concurrently
+        ByteBuffer source = payload.duplicate();
+        if (source.hasArray()) {
+            output.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, source.remaining())];
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            output.write(chunk, 0, length);
+        }
+    }
+}
@@ -22,6 +22,9 @@ public class DefaultServerCodecs implements ServerCodecs {
     protected final CodecWrapper fullXmlCodec;
     protected final CodecWrapper compactXmlCodec;
 
+    // Smile mirrors the full JSON format only, compact clients get the full payload
+    protected final CodecWrapper smileCodec = CodecWrappers.getCodec(CodecWrappers.JacksonSmile.class);
+
     private static CodecWrapper getFullJson(EurekaServerConfig serverConfig) {
         CodecWrapper codec = CodecWrappers.getCodec(serverConfig.getJsonCodecName());
         return codec == null ? CodecWrappers.getCodec(CodecWrappers.LegacyJacksonJson.class) : codec;
@@ -77,6 +80,8 @@ public class DefaultServerCodecs implements ServerCodecs {
         switch (keyType) {
             case JSON:
                 return compact ? compactJsonCodec : fullJsonCodec;
+            case SMILE:
+                return smileCodec;
             case XML:
             default:
                 return compact ? compactXmlCodec : fullXmlCodec;
@@ -10,6 +10,7 @@ import java.net.UnknownHostException;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.InstanceInfo.InstanceStatus;
 import com.netflix.discovery.EurekaIdentityHeaderFilter;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
 import com.netflix.discovery.shared.transport.jersey.AbstractJerseyEurekaHttpClient;
 import com.netflix.discovery.shared.transport.jersey.EurekaJerseyClient;
@@ -21,6 +22,7 @@ import com.netflix.eureka.cluster.HttpReplicationClient;
 import com.netflix.eureka.cluster.PeerEurekaNode;
 import com.netflix.eureka.cluster.protocol.ReplicationList;
 import com.netflix.eureka.cluster.protocol.ReplicationListResponse;
+import com.netflix.eureka.cluster.protocol.SmileReplicationListEncoder;
 import com.netflix.eureka.resources.ASGResource.ASGStatus;
 import com.netflix.eureka.resources.ServerCodecs;
 import com.sun.jersey.api.client.ClientResponse;
@@ -43,10 +45,21 @@ public class JerseyReplicationClient extends AbstractJerseyEurekaHttpClient impl
     private final EurekaJerseyClient jerseyClient;
     private final ApacheHttpClient4 jerseyApacheClient;
 
+    // Cleared once the peer turns down a Smile batch, so it is sent JSON batches from then on
+    private volatile boolean smileBatches;
+
     public JerseyReplicationClient(EurekaJerseyClient jerseyClient, String serviceUrl) {
+        this(jerseyClient, serviceUrl, false);
+    }
+
+    /**
+     * @param smileBatches whether the replication batches are encoded in Smile, as long as the peer accepts them.
+     */
+    public JerseyReplicationClient(EurekaJerseyClient jerseyClient, String serviceUrl, boolean smileBatches) {
         super(jerseyClient.getClient(), serviceUrl);
         this.jerseyClient = jerseyClient;
         this.jerseyApacheClient = jerseyClient.getClient();
+        this.smileBatches = smileBatches;
     }
 
     @Override
@@ -108,13 +121,26 @@ public class JerseyReplicationClient extends AbstractJerseyEurekaHttpClient impl
 
     @Override
     public EurekaHttpResponse<ReplicationListResponse> submitBatchUpdates(ReplicationList replicationList) {
+        if (smileBatches) {
+            EurekaHttpResponse<ReplicationListResponse> httpResponse = submitBatchUpdates(replicationList, JacksonSmile.MEDIA_TYPE);
+            if (httpResponse.getStatusCode() != Status.UNSUPPORTED_MEDIA_TYPE.getStatusCode()) {
+                return httpResponse;
+            }
+            logger.info("Peer {} does not accept Smile replication batches; sending JSON batches from now on", serviceUrl);
+            smileBatches = false;
+        }
+        return submitBatchUpdates(replicationList, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    private EurekaHttpResponse<ReplicationListResponse> submitBatchUpdates(ReplicationList replicationList, MediaType type) {
         ClientResponse response = null;
         try {
+            Object entity = JacksonSmile.MEDIA_TYPE.equals(type) ? SmileReplicationListEncoder.encode(replicationList) : replicationList;
             response = jerseyApacheClient.resource(serviceUrl)
                     .path(PeerEurekaNode.BATCH_URL_PATH)
                     .accept(MediaType.APPLICATION_JSON_TYPE)
-                    .type(MediaType.APPLICATION_JSON_TYPE)
-                    .post(ClientResponse.class, replicationList);
+                    .type(type)
+                    .post(ClientResponse.class, entity);
             if (!isSuccess(response.getStatus())) {
                 return anEurekaHttpResponse(response.getStatus(), ReplicationListResponse.class).build();
             }
@@ -183,7 +209,7 @@ public class JerseyReplicationClient extends AbstractJerseyEurekaHttpClient impl
         EurekaServerIdentity identity = new EurekaServerIdentity(ip);
         jerseyApacheClient.addFilter(new EurekaIdentityHeaderFilter(identity));
 
-        return new JerseyReplicationClient(jerseyClient, serviceUrl);
+        return new JerseyReplicationClient(jerseyClient, serviceUrl, config.shouldEncodeReplicationBatchesInSmile());
     }
 
     private static boolean isSuccess(int statusCode) {
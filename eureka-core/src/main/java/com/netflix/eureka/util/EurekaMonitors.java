@@ -52,6 +52,7 @@ public enum EurekaMonitors {
     GET_ALL_DELTA("getAllDeltaCounter", "Number of total deltas since startup"),
     GET_ALL_DELTA_WITH_REMOTE_REGIONS("getAllDeltaWithRemoteRegionCounter",
             "Number of total deltas with remote regions since startup"),
+    WATCH_DELTA("watchDeltaCounter", "Number of total delta watches since startup"),
     GET_ALL("getAllCounter", "Number of total registry queries seen since startup"),
     GET_ALL_WITH_REMOTE_REGIONS("getAllWithRemoteRegionCounter",
             "Number of total registry queries with remote regions, seen since startup"),
@@ -60,6 +61,9 @@ public enum EurekaMonitors {
     EXPIRED("expiredCounter", "Number of total expired leases since startup"),
     STATUS_UPDATE("statusUpdateCounter", "Number of total admin status updates since startup"),
     STATUS_OVERRIDE_DELETE("statusOverrideDeleteCounter", "Number of status override removals"),
+    CACHE_INVALIDATION("cacheInvalidationCounter", "Number of response cache invalidations requested since startup"),
+    CACHE_INVALIDATION_APPLIED("cacheInvalidationAppliedCounter",
+            "Number of response cache invalidations applied since startup, after coalescing the requested ones"),
     CANCEL_NOT_FOUND("cancelNotFoundCounter", "Number of total cancel requests on non-existing instance since startup"),
     RENEW_NOT_FOUND("renewNotFoundexpiredCounter", "Number of total renew on non-existing instance since startup"),
     REJECTED_REPLICATIONS("numOfRejectedReplications", "Number of replications rejected because of full queue"),
@@ -116,6 +120,17 @@ public enum EurekaMonitors {
         }
     }
 
+    /**
+     * Increment the counter for the given statistic by the given number of client initiated actions.
+     *
+     * @param count
+     *            the number of actions.
+     */
+    public void increment(int count) {
+        counter.addAndGet(count);
+        myZoneCounter.addAndGet(count);
+    }
+
     /**
      * Gets the statistic name of this monitor.
      *
@@ -15,74 +15,118 @@
  */
 package com.netflix.eureka.util;
 
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.atomic.AtomicLong;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
  * Utility class for getting a count in last X milliseconds.
+ * <p>
+ * The sample interval is divided in {@value #BUCKETS_PER_INTERVAL} buckets, each counting with a {@link LongAdder}
+ * so that concurrent increments do not contend on a single counter. A bucket is recycled by the first increment
+ * that falls in it once its time has passed, so no timer thread is needed.
+ * <p>
+ * By default the count is the one of the last complete sample interval, which changes once per interval.
+ * A sliding count sums the last {@value #BUCKETS_PER_INTERVAL} complete buckets instead, and so follows a change of
+ * rate within a fraction of the interval.
  *
  * @author Karthik Ranganathan,Greg Kim
  */
 public class MeasuredRate {
-    private static final Logger logger = LoggerFactory.getLogger(MeasuredRate.class);
-    private final AtomicLong lastBucket = new AtomicLong(0);
-    private final AtomicLong currentBucket = new AtomicLong(0);
 
-    private final long sampleInterval;
-    private final Timer timer;
+    static final int BUCKETS_PER_INTERVAL = 12;
+
+    private final long bucketWidth;
+    private final boolean sliding;
+    private final LongSupplier clock;
+    private final long origin;
 
-    private volatile boolean isActive;
+    // the buckets of the current and of the previous interval
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(2 * BUCKETS_PER_INTERVAL);
 
     /**
      * @param sampleInterval in milliseconds
      */
     public MeasuredRate(long sampleInterval) {
-        this.sampleInterval = sampleInterval;
-        this.timer = new Timer("Eureka-MeasureRateTimer", true);
-        this.isActive = false;
+        this(sampleInterval, false);
     }
 
-    public synchronized void start() {
-        if (!isActive) {
-            timer.schedule(new TimerTask() {
-
-                @Override
-                public void run() {
-                    try {
-                        // Zero out the current bucket.
-                        lastBucket.set(currentBucket.getAndSet(0));
-                    } catch (Throwable e) {
-                        logger.error("Cannot reset the Measured Rate", e);
-                    }
-                }
-            }, sampleInterval, sampleInterval);
-
-            isActive = true;
-        }
+    /**
+     * @param sampleInterval in milliseconds, rounded down to a multiple of {@value #BUCKETS_PER_INTERVAL}
+     * @param sliding whether the count is the one of a window sliding every 1/{@value #BUCKETS_PER_INTERVAL} of
+     *                the interval, rather than the one of the last complete interval
+     */
+    public MeasuredRate(long sampleInterval, boolean sliding) {
+        this(sampleInterval, sliding, System::currentTimeMillis);
     }
 
-    public synchronized void stop() {
-        if (isActive) {
-            timer.cancel();
-            isActive = false;
-        }
+    /* For testing */ MeasuredRate(long sampleInterval, boolean sliding, LongSupplier clock) {
+        this.bucketWidth = Math.max(1, sampleInterval / BUCKETS_PER_INTERVAL);
+        this.sliding = sliding;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * No-op, as the buckets are rotated by the increments. Kept for compatibility.
+     */
+    public void start() {
+    }
+
+    /**
+     * No-op, as there is no timer thread to stop. Kept for compatibility.
+     */
+    public void stop() {
     }
 
     /**
      * Returns the count in the last sample interval.
      */
     public long getCount() {
-        return lastBucket.get();
+        long epoch = currentEpoch();
+        long windowEnd = sliding ? epoch : epoch - Math.floorMod(epoch, BUCKETS_PER_INTERVAL);
+        long count = 0;
+        for (long bucketEpoch = windowEnd - BUCKETS_PER_INTERVAL; bucketEpoch < windowEnd; bucketEpoch++) {
+            Bucket bucket = buckets.get(indexOf(bucketEpoch));
+            if (bucket != null && bucket.epoch == bucketEpoch) {
+                count += bucket.count.sum();
+            }
+        }
+        return count;
     }
 
     /**
      * Increments the count in the current sample interval.
      */
     public void increment() {
-        currentBucket.incrementAndGet();
+        long epoch = currentEpoch();
+        int index = indexOf(epoch);
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.epoch < epoch) {
+            Bucket newBucket = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                bucket = newBucket;
+                break;
+            }
+            bucket = buckets.get(index);
+        }
+        bucket.count.increment();
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(clock.getAsLong() - origin, bucketWidth);
+    }
+
+    private int indexOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length());
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder count = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
     }
 }
@@ -14,6 +14,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.netflix.discovery.util.VirtualThreads;
 import com.netflix.eureka.util.batcher.TaskProcessor.ProcessingResult;
 import com.netflix.servo.annotations.DataSourceType;
 import com.netflix.servo.annotations.Monitor;
@@ -49,8 +50,6 @@ class AcceptorExecutor<ID, T> {
 
     private final String id;
     private final int maxBufferSize;
-    private final int maxBatchingSize;
-    private final long maxBatchingDelay;
 
     private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
@@ -68,6 +67,7 @@ class AcceptorExecutor<ID, T> {
     private final BlockingQueue<List<TaskHolder<ID, T>>> batchWorkQueue = new LinkedBlockingQueue<>();
 
     private final TrafficShaper trafficShaper;
+    private final BatchingPolicy batchingPolicy;
 
     /*
      * Metrics
@@ -95,15 +95,35 @@ class AcceptorExecutor<ID, T> {
                      long maxBatchingDelay,
                      long congestionRetryDelayMs,
                      long networkFailureRetryMs) {
+        this(id, maxBufferSize, maxBatchingSize, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs, false);
+    }
+
+    AcceptorExecutor(String id,
+                     int maxBufferSize,
+                     int maxBatchingSize,
+                     long maxBatchingDelay,
+                     long congestionRetryDelayMs,
+                     long networkFailureRetryMs,
+                     boolean adaptiveBatching) {
+        this(id, maxBufferSize, maxBatchingSize, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs,
+                adaptiveBatching, false);
+    }
+
+    AcceptorExecutor(String id,
+                     int maxBufferSize,
+                     int maxBatchingSize,
+                     long maxBatchingDelay,
+                     long congestionRetryDelayMs,
+                     long networkFailureRetryMs,
+                     boolean adaptiveBatching,
+                     boolean useVirtualThreads) {
         this.id = id;
         this.maxBufferSize = maxBufferSize;
-        this.maxBatchingSize = maxBatchingSize;
-        this.maxBatchingDelay = maxBatchingDelay;
         this.trafficShaper = new TrafficShaper(congestionRetryDelayMs, networkFailureRetryMs);
+        this.batchingPolicy = new BatchingPolicy(adaptiveBatching, maxBatchingSize, maxBatchingDelay);
 
         ThreadGroup threadGroup = new ThreadGroup("eurekaTaskExecutors");
-        this.acceptorThread = new Thread(threadGroup, new AcceptorRunner(), "TaskAcceptor-" + id);
-        this.acceptorThread.setDaemon(true);
+        this.acceptorThread = VirtualThreads.newThread(threadGroup, new AcceptorRunner(), "TaskAcceptor-" + id, useVirtualThreads);
         this.acceptorThread.start();
 
         final double[] percentiles = {50.0, 95.0, 99.0, 99.5};
@@ -130,6 +150,11 @@ class AcceptorExecutor<ID, T> {
         reprocessQueue.addAll(holders);
         replayedTasks += holders.size();
         trafficShaper.registerFailure(processingResult);
+        batchingPolicy.registerFailure(processingResult);
+    }
+
+    void registerBatchLatency(long latencyMs) {
+        batchingPolicy.registerLatency(latencyMs);
     }
 
     void reprocess(TaskHolder<ID, T> taskHolder, ProcessingResult processingResult) {
@@ -170,6 +195,16 @@ class AcceptorExecutor<ID, T> {
         return pendingTasks.size();
     }
 
+    @Monitor(name = METRIC_REPLICATION_PREFIX + "targetBatchSize", description = "Number of tasks a batch is currently made of at most", type = DataSourceType.GAUGE)
+    public long getTargetBatchSize() {
+        return batchingPolicy.getBatchSize();
+    }
+
+    @Monitor(name = METRIC_REPLICATION_PREFIX + "batchingDelay", description = "Time in ms a task currently waits for others to join its batch", type = DataSourceType.GAUGE)
+    public long getBatchingDelay() {
+        return batchingPolicy.getBatchingDelay();
+    }
+
     @Monitor(name = METRIC_REPLICATION_PREFIX + "pendingJobRequests", description = "Number of worker threads awaiting job assignment", type = DataSourceType.GAUGE)
     public long getPendingJobRequests() {
         return singleItemWorkRequests.availablePermits() + batchWorkRequests.availablePermits();
@@ -296,7 +331,7 @@ class AcceptorExecutor<ID, T> {
             if (hasEnoughTasksForNextBatch()) {
                 if (batchWorkRequests.tryAcquire(1)) {
                     long now = System.currentTimeMillis();
-                    int len = Math.min(maxBatchingSize, processingOrder.size());
+                    int len = Math.min(batchingPolicy.getBatchSize(), processingOrder.size());
                     List<TaskHolder<ID, T>> holders = new ArrayList<>(len);
                     while (holders.size() < len && !processingOrder.isEmpty()) {
                         ID id = processingOrder.poll();
@@ -311,6 +346,7 @@ class AcceptorExecutor<ID, T> {
                         batchWorkRequests.release();
                     } else {
                         batchSizeMetric.record(holders.size(), TimeUnit.MILLISECONDS);
+                        batchingPolicy.registerBatch(holders.size());
                         batchWorkQueue.add(holders);
                     }
                 }
@@ -324,10 +360,13 @@ class AcceptorExecutor<ID, T> {
             if (pendingTasks.size() >= maxBufferSize) {
                 return true;
             }
+            if (batchingPolicy.isAdaptive() && processingOrder.size() >= batchingPolicy.getBatchSize()) {
+                return true;
+            }
 
             TaskHolder<ID, T> nextHolder = pendingTasks.get(processingOrder.peek());
             long delay = System.currentTimeMillis() - nextHolder.getSubmitTimestamp();
-            return delay >= maxBatchingDelay;
+            return delay >= batchingPolicy.getBatchingDelay();
         }
     }
 }
@@ -0,0 +1,98 @@
+package com.netflix.eureka.util.batcher;
+
+import com.netflix.eureka.util.batcher.TaskProcessor.ProcessingResult;
+
+/**
+ * {@link BatchingPolicy} decides how many tasks {@link AcceptorExecutor} puts in a batch, and how long a task waits
+ * for others to join its batch. A fixed policy always uses the configured maximums. An adaptive policy tunes both
+ * from the feedback of the workers, within the configured maximums:
+ * <ul>
+ *     <li>the batching delay follows the average time it takes to process a batch, so a fast peer is replicated
+ *     to with a low latency, and a slow one with fewer, larger batches,</li>
+ *     <li>the batch size doubles whenever a batch is filled up, as tasks queue up faster than they are processed,
+ *     and halves whenever a batch is less than half full or the workers report a congestion. A batch is dispatched
+ *     as soon as it is full, without waiting for the batching delay. The batch size does not go below
+ *     {@value #MIN_BATCH_SIZE} tasks, so at low traffic the tasks still wait for the batching delay to be sent
+ *     together, rather than being dispatched one by one as soon as they are accepted.</li>
+ * </ul>
+ */
+class BatchingPolicy {
+
+    /**
+     * Lower bound on the adaptive batching delay, as the acceptor thread polls its queues every 10ms anyway.
+     */
+    private static final long MIN_DELAY = 10;
+
+    /**
+     * Lower bound on the adaptive batch size, unless the maximum batch size is lower.
+     */
+    static final int MIN_BATCH_SIZE = 8;
+
+    /**
+     * Weight of the last observation in the average batch processing time.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final boolean adaptive;
+    private final int maxBatchingSize;
+    private final int minBatchingSize;
+    private final long maxBatchingDelay;
+
+    private volatile int batchSize;
+    private volatile long batchingDelay;
+    private double averageLatency = -1;
+
+    BatchingPolicy(boolean adaptive, int maxBatchingSize, long maxBatchingDelay) {
+        this.adaptive = adaptive;
+        this.maxBatchingSize = maxBatchingSize;
+        this.minBatchingSize = Math.max(1, Math.min(MIN_BATCH_SIZE, maxBatchingSize));
+        this.maxBatchingDelay = maxBatchingDelay;
+        this.batchSize = maxBatchingSize;
+        this.batchingDelay = maxBatchingDelay;
+    }
+
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    long getBatchingDelay() {
+        return batchingDelay;
+    }
+
+    /**
+     * Called by the acceptor thread for each batch it dispatches.
+     */
+    synchronized void registerBatch(int size) {
+        if (!adaptive) {
+            return;
+        }
+        if (size >= batchSize) {
+            batchSize = Math.min(maxBatchingSize, batchSize * 2);
+        } else if (size < batchSize / 2) {
+            batchSize = Math.max(minBatchingSize, batchSize / 2);
+        }
+    }
+
+    /**
+     * Called by the workers for each batch processed successfully.
+     */
+    synchronized void registerLatency(long latencyMs) {
+        if (!adaptive) {
+            return;
+        }
+        averageLatency = averageLatency < 0
+                ? latencyMs
+                : LATENCY_SMOOTHING * latencyMs + (1 - LATENCY_SMOOTHING) * averageLatency;
+        batchingDelay = Math.max(Math.min(MIN_DELAY, maxBatchingDelay), Math.min(maxBatchingDelay, Math.round(averageLatency)));
+    }
+
+    synchronized void registerFailure(ProcessingResult processingResult) {
+        if (adaptive && processingResult == ProcessingResult.Congestion) {
+            batchSize = Math.max(minBatchingSize, batchSize / 2);
+        }
+    }
+}
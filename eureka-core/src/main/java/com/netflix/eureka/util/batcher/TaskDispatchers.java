@@ -14,10 +14,27 @@ public class TaskDispatchers {
                                                                                 long congestionRetryDelayMs,
                                                                                 long networkFailureRetryMs,
                                                                                 TaskProcessor<T> taskProcessor) {
+        return createNonBatchingTaskDispatcher(id, maxBufferSize, workerCount, maxBatchingDelay,
+                congestionRetryDelayMs, networkFailureRetryMs, false, taskProcessor);
+    }
+
+    /**
+     * @param useVirtualThreads whether the acceptor and the workers run on virtual threads, when the JVM supports
+     *                          them. See {@link com.netflix.discovery.util.VirtualThreads}.
+     */
+    public static <ID, T> TaskDispatcher<ID, T> createNonBatchingTaskDispatcher(String id,
+                                                                                int maxBufferSize,
+                                                                                int workerCount,
+                                                                                long maxBatchingDelay,
+                                                                                long congestionRetryDelayMs,
+                                                                                long networkFailureRetryMs,
+                                                                                boolean useVirtualThreads,
+                                                                                TaskProcessor<T> taskProcessor) {
         final AcceptorExecutor<ID, T> acceptorExecutor = new AcceptorExecutor<>(
-                id, maxBufferSize, 1, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs
+                id, maxBufferSize, 1, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs,
+                false, useVirtualThreads
         );
-        final TaskExecutors<ID, T> taskExecutor = TaskExecutors.singleItemExecutors(id, workerCount, taskProcessor, acceptorExecutor);
+        final TaskExecutors<ID, T> taskExecutor = TaskExecutors.singleItemExecutors(id, workerCount, taskProcessor, acceptorExecutor, useVirtualThreads);
         return new TaskDispatcher<ID, T>() {
             @Override
             public void process(ID id, T task, long expiryTime) {
@@ -40,10 +57,47 @@ public class TaskDispatchers {
                                                                              long congestionRetryDelayMs,
                                                                              long networkFailureRetryMs,
                                                                              TaskProcessor<T> taskProcessor) {
+        return createBatchingTaskDispatcher(id, maxBufferSize, workloadSize, workerCount, maxBatchingDelay,
+                congestionRetryDelayMs, networkFailureRetryMs, false, taskProcessor);
+    }
+
+    /**
+     * @param adaptiveBatching whether the batch size and batching delay are tuned from the processing feedback,
+     *                         with <code>workloadSize</code> and <code>maxBatchingDelay</code> as upper bounds.
+     *                         See {@link BatchingPolicy}.
+     */
+    public static <ID, T> TaskDispatcher<ID, T> createBatchingTaskDispatcher(String id,
+                                                                             int maxBufferSize,
+                                                                             int workloadSize,
+                                                                             int workerCount,
+                                                                             long maxBatchingDelay,
+                                                                             long congestionRetryDelayMs,
+                                                                             long networkFailureRetryMs,
+                                                                             boolean adaptiveBatching,
+                                                                             TaskProcessor<T> taskProcessor) {
+        return createBatchingTaskDispatcher(id, maxBufferSize, workloadSize, workerCount, maxBatchingDelay,
+                congestionRetryDelayMs, networkFailureRetryMs, adaptiveBatching, false, taskProcessor);
+    }
+
+    /**
+     * @param useVirtualThreads whether the acceptor and the workers run on virtual threads, when the JVM supports
+     *                          them. See {@link com.netflix.discovery.util.VirtualThreads}.
+     */
+    public static <ID, T> TaskDispatcher<ID, T> createBatchingTaskDispatcher(String id,
+                                                                             int maxBufferSize,
+                                                                             int workloadSize,
+                                                                             int workerCount,
+                                                                             long maxBatchingDelay,
+                                                                             long congestionRetryDelayMs,
+                                                                             long networkFailureRetryMs,
+                                                                             boolean adaptiveBatching,
+                                                                             boolean useVirtualThreads,
+                                                                             TaskProcessor<T> taskProcessor) {
         final AcceptorExecutor<ID, T> acceptorExecutor = new AcceptorExecutor<>(
-                id, maxBufferSize, workloadSize, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs
+                id, maxBufferSize, workloadSize, maxBatchingDelay, congestionRetryDelayMs, networkFailureRetryMs,
+                adaptiveBatching, useVirtualThreads
         );
-        final TaskExecutors<ID, T> taskExecutor = TaskExecutors.batchExecutors(id, workerCount, taskProcessor, acceptorExecutor);
+        final TaskExecutors<ID, T> taskExecutor = TaskExecutors.batchExecutors(id, workerCount, taskProcessor, acceptorExecutor, useVirtualThreads);
         return new TaskDispatcher<ID, T>() {
             @Override
             public void process(ID id, T task, long expiryTime) {
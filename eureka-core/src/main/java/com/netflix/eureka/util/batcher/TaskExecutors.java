@@ -8,6 +8,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.netflix.discovery.util.VirtualThreads;
 import com.netflix.eureka.util.batcher.TaskProcessor.ProcessingResult;
 import com.netflix.servo.annotations.DataSourceType;
 import com.netflix.servo.annotations.Monitor;
@@ -36,16 +37,16 @@ class TaskExecutors<ID, T> {
     private final AtomicBoolean isShutdown;
     private final List<Thread> workerThreads;
 
-    TaskExecutors(WorkerRunnableFactory<ID, T> workerRunnableFactory, int workerCount, AtomicBoolean isShutdown) {
+    TaskExecutors(WorkerRunnableFactory<ID, T> workerRunnableFactory, int workerCount, AtomicBoolean isShutdown,
+                  boolean useVirtualThreads) {
         this.isShutdown = isShutdown;
         this.workerThreads = new ArrayList<>();
 
         ThreadGroup threadGroup = new ThreadGroup("eurekaTaskExecutors");
         for (int i = 0; i < workerCount; i++) {
             WorkerRunnable<ID, T> runnable = workerRunnableFactory.create(i);
-            Thread workerThread = new Thread(threadGroup, runnable, runnable.getWorkerName());
+            Thread workerThread = VirtualThreads.newThread(threadGroup, runnable, runnable.getWorkerName(), useVirtualThreads);
             workerThreads.add(workerThread);
-            workerThread.setDaemon(true);
             workerThread.start();
         }
     }
@@ -63,20 +64,36 @@ class TaskExecutors<ID, T> {
                                                             int workerCount,
                                                             final TaskProcessor<T> processor,
                                                             final AcceptorExecutor<ID, T> acceptorExecutor) {
+        return singleItemExecutors(name, workerCount, processor, acceptorExecutor, false);
+    }
+
+    static <ID, T> TaskExecutors<ID, T> singleItemExecutors(final String name,
+                                                            int workerCount,
+                                                            final TaskProcessor<T> processor,
+                                                            final AcceptorExecutor<ID, T> acceptorExecutor,
+                                                            boolean useVirtualThreads) {
         final AtomicBoolean isShutdown = new AtomicBoolean();
         final TaskExecutorMetrics metrics = new TaskExecutorMetrics(name);
         registeredMonitors.put(name, metrics);
-        return new TaskExecutors<>(idx -> new SingleTaskWorkerRunnable<>("TaskNonBatchingWorker-" + name + '-' + idx, isShutdown, metrics, processor, acceptorExecutor), workerCount, isShutdown);
+        return new TaskExecutors<>(idx -> new SingleTaskWorkerRunnable<>("TaskNonBatchingWorker-" + name + '-' + idx, isShutdown, metrics, processor, acceptorExecutor), workerCount, isShutdown, useVirtualThreads);
     }
 
     static <ID, T> TaskExecutors<ID, T> batchExecutors(final String name,
                                                        int workerCount,
                                                        final TaskProcessor<T> processor,
                                                        final AcceptorExecutor<ID, T> acceptorExecutor) {
+        return batchExecutors(name, workerCount, processor, acceptorExecutor, false);
+    }
+
+    static <ID, T> TaskExecutors<ID, T> batchExecutors(final String name,
+                                                       int workerCount,
+                                                       final TaskProcessor<T> processor,
+                                                       final AcceptorExecutor<ID, T> acceptorExecutor,
+                                                       boolean useVirtualThreads) {
         final AtomicBoolean isShutdown = new AtomicBoolean();
         final TaskExecutorMetrics metrics = new TaskExecutorMetrics(name);
         registeredMonitors.put(name, metrics);
-        return new TaskExecutors<>(idx -> new BatchWorkerRunnable<>("TaskBatchingWorker-" + name + '-' + idx, isShutdown, metrics, processor, acceptorExecutor), workerCount, isShutdown);
+        return new TaskExecutors<>(idx -> new BatchWorkerRunnable<>("TaskBatchingWorker-" + name + '-' + idx, isShutdown, metrics, processor, acceptorExecutor), workerCount, isShutdown, useVirtualThreads);
     }
 
     static class TaskExecutorMetrics {
@@ -187,9 +204,11 @@ class TaskExecutors<ID, T> {
                     metrics.registerExpiryTimes(holders);
 
                     List<T> tasks = getTasksOf(holders);
+                    long startTime = System.currentTimeMillis();
                     ProcessingResult result = processor.process(tasks);
                     switch (result) {
                         case Success:
+                            taskDispatcher.registerBatchLatency(System.currentTimeMillis() - startTime);
                             break;
                         case Congestion:
                         case TransientError:
@@ -8,11 +8,17 @@ import java.util.zip.GZIPOutputStream;
 
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.netflix.config.ConfigurationManager;
 import com.netflix.discovery.converters.EurekaJacksonCodec;
+import com.netflix.discovery.converters.wrappers.CodecWrappers.JacksonSmile;
 import com.netflix.discovery.shared.transport.ClusterSampleData;
 import com.netflix.discovery.shared.transport.EurekaHttpResponse;
 import com.netflix.eureka.DefaultEurekaServerConfig;
 import com.netflix.eureka.EurekaServerConfig;
+import com.netflix.eureka.cluster.protocol.ReplicationInstance;
+import com.netflix.eureka.cluster.protocol.ReplicationList;
+import com.netflix.eureka.cluster.protocol.ReplicationListResponse;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl.Action;
 import com.netflix.eureka.resources.ASGResource.ASGStatus;
 import com.netflix.eureka.resources.DefaultServerCodecs;
 import com.netflix.eureka.resources.ServerCodecs;
@@ -23,7 +29,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.mockserver.client.server.MockServerClient;
 import org.mockserver.junit.MockServerRule;
+import org.mockserver.verify.VerificationTimes;
 
+import static com.netflix.eureka.cluster.protocol.ReplicationInstance.ReplicationInstanceBuilder.aReplicationInstance;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -64,6 +72,7 @@ public class JerseyReplicationClientTest {
         if (serverMockClient != null) {
             serverMockClient.reset();
         }
+        ConfigurationManager.getConfigInstance().clearProperty("eureka.shouldEncodeReplicationBatchesInSmile");
     }
 
     @Test
@@ -181,6 +190,51 @@ public class JerseyReplicationClientTest {
         assertThat(response.getStatusCode(), is(equalTo(204)));
     }
 
+    @Test
+    public void testBatchReplicationFallsBackToJsonWhenPeerDoesNotAcceptSmile() throws Exception {
+        ConfigurationManager.getConfigInstance().setProperty("eureka.shouldEncodeReplicationBatchesInSmile", true);
+        replicationClient = JerseyReplicationClient.createReplicationClient(
+                config, serverCodecs, "http://localhost:" + serverMockRule.getHttpPort() + "/eureka/v2"
+        );
+        serverMockClient.when(
+                request()
+                        .withMethod("POST")
+                        .withHeader(header("Content-Type", JacksonSmile.MEDIA_TYPE_VALUE))
+                        .withPath("/eureka/v2/" + PeerEurekaNode.BATCH_URL_PATH)
+        ).respond(
+                response().withStatusCode(Status.UNSUPPORTED_MEDIA_TYPE.getStatusCode())
+        );
+        serverMockClient.when(
+                request()
+                        .withMethod("POST")
+                        .withHeader(header("Content-Type", MediaType.APPLICATION_JSON))
+                        .withPath("/eureka/v2/" + PeerEurekaNode.BATCH_URL_PATH)
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(header("Content-Type", MediaType.APPLICATION_JSON))
+                        .withBody("{\"responseList\":[]}")
+        );
+
+        ReplicationInstance heartbeat = aReplicationInstance()
+                .withAppName(instanceInfo.getAppName())
+                .withId(instanceInfo.getId())
+                .withLastDirtyTimestamp(instanceInfo.getLastDirtyTimestamp())
+                .withStatus(instanceInfo.getStatus().name())
+                .withAction(Action.Heartbeat)
+                .build();
+        for (int i = 0; i < 2; i++) {
+            EurekaHttpResponse<ReplicationListResponse> response = replicationClient.submitBatchUpdates(new ReplicationList(heartbeat));
+            assertThat(response.getStatusCode(), is(equalTo(200)));
+        }
+
+        // Only the first batch is tried in Smile
+        serverMockClient.verify(
+                request().withHeader(header("Content-Type", JacksonSmile.MEDIA_TYPE_VALUE)),
+                VerificationTimes.exactly(1)
+        );
+    }
+
     private static byte[] toGzippedJson(InstanceInfo remoteInfo) throws IOException {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         GZIPOutputStream gos = new GZIPOutputStream(bos);
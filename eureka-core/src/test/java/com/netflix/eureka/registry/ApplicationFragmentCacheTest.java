@@ -0,0 +1,93 @@
+package com.netflix.eureka.registry;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.netflix.appinfo.EurekaAccept;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.util.InstanceInfoGenerator;
+import com.netflix.eureka.Version;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ApplicationFragmentCacheTest {
+
+    private static final Key ALL_APPS_KEY = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS,
+            Key.KeyType.JSON, Version.V2, EurekaAccept.full);
+
+    private final ApplicationFragmentCache cache = new ApplicationFragmentCache(180);
+    private final CodecWrappers.LegacyJacksonJson encoder = spy(new CodecWrappers.LegacyJacksonJson());
+    private final Map<String, Collection<InstanceInfo>> instancesByApp = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        for (Application app : InstanceInfoGenerator.newBuilder(6, 3).build().toApplications().getRegisteredApplications()) {
+            instancesByApp.put(app.getName(), app.getInstances());
+        }
+    }
+
+    @Test
+    public void testOnlyInvalidatedApplicationIsEncodedAgain() throws Exception {
+        String appName = instancesByApp.keySet().iterator().next();
+        cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        cache.invalidate(appName);
+        cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        verify(encoder, times(2)).encodeApplication(eq(appName), any());
+        verify(encoder, times(4)).encodeApplication(any(), any());
+    }
+
+    @Test
+    public void testApplicationInvalidatedWhileEncodingIsEncodedAgain() throws Exception {
+        String appName = instancesByApp.keySet().iterator().next();
+        long sequence = cache.getSequence();
+        cache.invalidate(appName);
+        cache.getEncodedApplications(ALL_APPS_KEY, sequence, instancesByApp, encoder);
+
+        cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        verify(encoder, times(2)).encodeApplication(eq(appName), any());
+    }
+
+    @Test
+    public void testApplicationWithReplacedInstanceIsEncodedAgain() throws Exception {
+        Map.Entry<String, Collection<InstanceInfo>> entry = instancesByApp.entrySet().iterator().next();
+        cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        List<InstanceInfo> instances = new ArrayList<>(entry.getValue());
+        instances.set(0, new InstanceInfo(instances.get(0)));
+        instancesByApp.put(entry.getKey(), instances);
+        cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        verify(encoder, times(2)).encodeApplication(eq(entry.getKey()), any());
+    }
+
+    @Test
+    public void testAssembledPayloadIsTheStreamedOne() throws Exception {
+        List<String> encodedApplications =
+                cache.getEncodedApplications(ALL_APPS_KEY, cache.getSequence(), instancesByApp, encoder);
+
+        ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+        encoder.encodeApplications(1L, "UP_6_", encodedApplications, assembled);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        encoder.encodeApplications(1L, "UP_6_", instancesByApp, streamed);
+
+        assertThat(assembled.toString("UTF-8"), is(equalTo(streamed.toString("UTF-8"))));
+    }
+}
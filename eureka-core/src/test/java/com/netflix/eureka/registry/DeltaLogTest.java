@@ -0,0 +1,90 @@
+package com.netflix.eureka.registry;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.lease.Lease;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DeltaLogTest {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    public void testSequenceIsSharedBetweenLogs() throws Exception {
+        DeltaLog first = new DeltaLog(sequence, 10);
+        DeltaLog second = new DeltaLog(sequence, 10);
+
+        assertThat(first.append(newLease()), is(equalTo(1L)));
+        assertThat(second.append(newLease()), is(equalTo(2L)));
+        assertThat(first.append(newLease()), is(equalTo(3L)));
+
+        List<DeltaLog.RecentlyChangedItem> items = first.all();
+        assertThat(items.size(), is(equalTo(2)));
+        assertThat(items.get(0).getSequence(), is(equalTo(1L)));
+        assertThat(items.get(1).getSequence(), is(equalTo(3L)));
+    }
+
+    @Test
+    public void testSinceReturnsOnlyNewerChanges() throws Exception {
+        DeltaLog deltaLog = new DeltaLog(sequence, 10);
+        for (int i = 0; i < 5; i++) {
+            deltaLog.append(newLease());
+        }
+
+        List<DeltaLog.RecentlyChangedItem> items = deltaLog.since(3);
+        assertThat(items.size(), is(equalTo(2)));
+        assertThat(items.get(0).getSequence(), is(equalTo(4L)));
+        assertThat(items.get(1).getSequence(), is(equalTo(5L)));
+        assertThat(deltaLog.since(5).size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testOverflowDropsOldestAndIsDetected() throws Exception {
+        DeltaLog deltaLog = new DeltaLog(sequence, 3);
+        for (int i = 0; i < 5; i++) {
+            deltaLog.append(newLease());
+        }
+
+        assertThat(deltaLog.size(), is(equalTo(3)));
+        assertThat(deltaLog.getLastDroppedSequence(), is(equalTo(2L)));
+        assertThat(deltaLog.since(1), is(nullValue()));
+        assertThat(deltaLog.since(2).size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        DeltaLog deltaLog = new DeltaLog(sequence, 10);
+        deltaLog.append(newLease());
+        deltaLog.append(newLease());
+
+        assertThat(deltaLog.expire(0), is(equalTo(0)));
+        assertThat(deltaLog.expire(Long.MAX_VALUE), is(equalTo(2)));
+        assertThat(deltaLog.size(), is(equalTo(0)));
+        assertThat(deltaLog.since(1), is(nullValue()));
+        assertThat(deltaLog.since(2), is(notNullValue()));
+    }
+
+    @Test
+    public void testClearInvalidatesAllPreviousSequences() throws Exception {
+        DeltaLog deltaLog = new DeltaLog(sequence, 10);
+        DeltaLog otherLog = new DeltaLog(sequence, 10);
+        deltaLog.append(newLease());
+        otherLog.append(newLease());
+
+        deltaLog.clear();
+        assertThat(deltaLog.since(1), is(nullValue()));
+        assertThat(deltaLog.since(2).size(), is(equalTo(0)));
+    }
+
+    private static Lease<InstanceInfo> newLease() {
+        return new Lease<>(InstanceInfo.Builder.newBuilder().setAppName("APP").setHostName("host").build(), 90);
+    }
+}
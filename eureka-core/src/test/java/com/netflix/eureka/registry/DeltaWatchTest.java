@@ -0,0 +1,60 @@
+package com.netflix.eureka.registry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.eureka.registry.InstanceRegistry.DeltaWatchResult;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DeltaWatchTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAwaitReturnsImmediatelyIfAlreadyPublished() throws Exception {
+        DeltaWatch deltaWatch = new DeltaWatch(10);
+        deltaWatch.publish(5);
+        assertThat(deltaWatch.await(4, 0), is(DeltaWatchResult.Changed));
+        assertThat(deltaWatch.await(5, 0), is(DeltaWatchResult.TimedOut));
+    }
+
+    @Test
+    public void testPublishedSequenceNeverGoesBack() throws Exception {
+        DeltaWatch deltaWatch = new DeltaWatch(10);
+        deltaWatch.publish(5);
+        deltaWatch.publish(3);
+        assertThat(deltaWatch.await(4, 0), is(DeltaWatchResult.Changed));
+    }
+
+    @Test
+    public void testAwaitIsWokenUpByPublish() throws Exception {
+        final DeltaWatch deltaWatch = new DeltaWatch(10);
+        final CountDownLatch waiting = new CountDownLatch(1);
+        Future<DeltaWatchResult> result = executor.submit(() -> {
+            waiting.countDown();
+            return deltaWatch.await(0, 30000);
+        });
+
+        waiting.await();
+        deltaWatch.publish(1);
+        assertThat(result.get(5, TimeUnit.SECONDS), is(DeltaWatchResult.Changed));
+    }
+
+    @Test
+    public void testWatchersOverTheLimitAreRejected() throws Exception {
+        final DeltaWatch deltaWatch = new DeltaWatch(0);
+        assertThat(deltaWatch.await(0, 30000), is(DeltaWatchResult.Rejected));
+    }
+}
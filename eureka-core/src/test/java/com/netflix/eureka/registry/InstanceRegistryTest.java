@@ -66,6 +66,42 @@ public class InstanceRegistryTest extends AbstractTester {
                 remApplication.getInstances().size());
     }
 
+    @Test
+    public void testGetAppsDeltaSinceVersion() throws Exception {
+        String[] localRegionOnly = new String[0];
+        registerInstanceLocally(createLocalInstance(LOCAL_REGION_INSTANCE_1_HOSTNAME));
+
+        // a version not issued by this registry gets all the retained changes
+        Applications delta = registry.getApplicationDeltasSince(1L, localRegionOnly);
+        assertThat(delta.getRegisteredApplications(LOCAL_REGION_APP_NAME).getInstances().size(), is(1));
+        long version = delta.getVersion();
+
+        delta = registry.getApplicationDeltasSince(version, localRegionOnly);
+        assertThat(delta.getRegisteredApplications().size(), is(0));
+        assertThat(delta.getVersion(), is(version));
+        assertThat(delta.getAppsHashCode(), is("UP_1_"));
+
+        registerInstanceLocally(createLocalInstance(LOCAL_REGION_INSTANCE_2_HOSTNAME));
+        delta = registry.getApplicationDeltasSince(version, localRegionOnly);
+        List<InstanceInfo> instances = delta.getRegisteredApplications(LOCAL_REGION_APP_NAME).getInstances();
+        assertThat(instances.size(), is(1));
+        assertThat(instances.get(0).getHostName(), is(LOCAL_REGION_INSTANCE_2_HOSTNAME));
+        assertThat(delta.getAppsHashCode(), is("UP_2_"));
+        Assert.assertNotEquals(version, delta.getVersion().longValue());
+    }
+
+    @Test
+    public void testGetAppsDeltaSinceDroppedVersion() throws Exception {
+        String[] localRegionOnly = new String[0];
+        long version = registry.getApplicationDeltasSince(1L, localRegionOnly).getVersion();
+
+        registerInstanceLocally(createLocalInstance(LOCAL_REGION_INSTANCE_1_HOSTNAME));
+        registry.clearRegistry();
+
+        Assert.assertNull("Delta returned for changes that are no longer retained",
+                registry.getApplicationDeltasSince(version, localRegionOnly));
+    }
+
     @Test
     public void testAppsHashCodeAfterRefresh() throws InterruptedException {
         Assert.assertEquals("UP_1_", registry.getApplicationsFromAllRemoteRegions().getAppsHashCode());
@@ -0,0 +1,85 @@
+package com.netflix.eureka.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class InvalidationCoalescerTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Set<String>> flushedAppNames = new ArrayList<>();
+
+    @Test
+    public void testInvalidationsAreAppliedInOneBatch() throws Exception {
+        InvalidationCoalescer coalescer = new InvalidationCoalescer(500, this::recordFlush, scheduler);
+
+        coalescer.invalidate("app1", "vip1", null, 1);
+        coalescer.invalidate("app2", null, null, 2);
+        coalescer.invalidate("app1", "vip1", null, 3);
+        assertThat(flushedAppNames.isEmpty(), is(true));
+
+        runScheduledFlushes(1);
+        assertThat(flushedAppNames.size(), is(equalTo(1)));
+        assertThat(flushedAppNames.get(0).size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testFailedFlushDoesNotStopCoalescing() throws Exception {
+        InvalidationCoalescer coalescer = new InvalidationCoalescer(500,
+                (appNames, vipAddresses, secureVipAddresses, deltaSequence) -> {
+                    recordFlush(appNames, vipAddresses, secureVipAddresses, deltaSequence);
+                    if (flushedAppNames.size() == 1) {
+                        throw new IllegalStateException("simulated failure");
+                    }
+                }, scheduler);
+
+        coalescer.invalidate("app1", null, null, 1);
+        runScheduledFlushes(1);
+
+        coalescer.invalidate("app2", null, null, 2);
+        runScheduledFlushes(2);
+        assertThat(flushedAppNames.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testInvalidationsAreAppliedRightAwayOnceStopped() throws Exception {
+        InvalidationCoalescer coalescer = new InvalidationCoalescer(500, this::recordFlush, scheduler);
+
+        coalescer.invalidate("app1", null, null, 1);
+        coalescer.stop();
+        assertThat(flushedAppNames.size(), is(equalTo(1)));
+
+        coalescer.invalidate("app2", null, null, 2);
+        assertThat(flushedAppNames.size(), is(equalTo(2)));
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private void recordFlush(Set<String> appNames, Set<String> vipAddresses, Set<String> secureVipAddresses,
+                             long deltaSequence) {
+        flushedAppNames.add(appNames);
+    }
+
+    /**
+     * Runs the last scheduled flush, out of the given number scheduled so far.
+     */
+    private void runScheduledFlushes(int scheduledCount) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(scheduledCount)).schedule(captor.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.netflix.eureka.registry;
+
+import java.util.List;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.lease.Lease;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LeaseExpiryIndexTest {
+
+    private final LeaseExpiryIndex index = new LeaseExpiryIndex(1000);
+
+    @Test
+    public void testOnlyDueBucketsArePolled() throws Exception {
+        Lease<InstanceInfo> shortLease = newLease(10);
+        Lease<InstanceInfo> longLease = newLease(90);
+        index.add(shortLease);
+        index.add(longLease);
+
+        assertThat(index.poll(System.currentTimeMillis()).size(), is(equalTo(0)));
+
+        List<Lease<InstanceInfo>> polled = index.poll(shortLease.getExpirationTimestamp() + 1000);
+        assertThat(polled.size(), is(equalTo(1)));
+        assertThat(polled.get(0), is(shortLease));
+        assertThat(index.size(), is(equalTo(1)));
+
+        assertThat(index.poll(longLease.getExpirationTimestamp() + 1000), hasItems(longLease));
+        assertThat(index.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testRenewedLeaseIsAddedBackToALaterBucket() throws Exception {
+        Lease<InstanceInfo> lease = newLease(10);
+        index.add(lease);
+        long firstExpiration = lease.getExpirationTimestamp();
+
+        lease.renew();
+        assertThat(index.poll(firstExpiration + 1000), hasItems(lease));
+
+        index.add(lease);
+        assertThat(index.poll(firstExpiration + 1000).size(), is(equalTo(0)));
+        assertThat(index.poll(lease.getExpirationTimestamp() + 1000), hasItems(lease));
+    }
+
+    private static Lease<InstanceInfo> newLease(int durationInSecs) {
+        return new Lease<>(InstanceInfo.Builder.newBuilder().setAppName("APP").setHostName("host").build(), durationInSecs);
+    }
+}
@@ -1,7 +1,14 @@
 package com.netflix.eureka.registry;
 
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
 import com.netflix.appinfo.EurekaAccept;
 import com.netflix.discovery.DefaultEurekaClientConfig;
+import com.netflix.discovery.converters.wrappers.ApplicationsFragmentEncoder;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.util.EurekaEntityComparators;
 import com.netflix.eureka.AbstractTester;
 import com.netflix.eureka.DefaultEurekaServerConfig;
 import com.netflix.eureka.EurekaServerConfig;
@@ -54,6 +61,21 @@ public class ResponseCacheTest extends AbstractTester {
         Assert.assertNull("Cache after invalidate did not return null for write view.", cache.get(key, true));
     }
 
+    @Test
+    public void testReadOnlyCacheIsRefreshedAfterInvalidate() throws Exception {
+        ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
+        Key key = new Key(Key.EntityType.Application, REMOTE_REGION_APP_NAME,
+                Key.KeyType.JSON, Version.V1, EurekaAccept.full);
+        Assert.assertNotNull("Cache get returned null.", cache.get(key, true));
+
+        testRegistry.cancel(REMOTE_REGION_APP_NAME, REMOTE_REGION_INSTANCE_1_HOSTNAME, true);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.get(key, true) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertNull("Read only cache was not refreshed after invalidate.", cache.get(key, true));
+    }
+
     @Test
     public void testInvalidateWithRemoteRegion() throws Exception {
         ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
@@ -91,4 +113,125 @@ public class ResponseCacheTest extends AbstractTester {
         Assert.assertNull("Cache after invalidate did not return null.", cache.get(key1, true));
         Assert.assertNull("Cache after invalidate did not return null.", cache.get(key2, true));
     }
+
+    @Test
+    public void testHeapBuffersExposeTheirArray() throws Exception {
+        ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
+        Key key = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS,
+                Key.KeyType.JSON, Version.V1, EurekaAccept.full);
+
+        // the array is what lets the resources write the payload without copying it
+        Assert.assertTrue(cache.getBuffer(key).hasArray());
+        Assert.assertTrue(cache.getGZIPBuffer(key).hasArray());
+    }
+
+    @Test
+    public void testDeltasSinceVersionAreKeptApartFromOtherPayloads() throws Exception {
+        ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
+        int sizeBefore = cache.getCurrentSize();
+
+        for (long since = 1; since <= 3; since++) {
+            Key key = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS_DELTA,
+                    Key.KeyType.JSON, Version.V1, EurekaAccept.full, null, since);
+            cache.get(key, true);
+        }
+
+        Assert.assertEquals(sizeBefore, cache.getCurrentSize());
+        Assert.assertEquals(3, cache.getDeltaSinceCacheSize());
+    }
+
+    @Test
+    public void testDeltaSincePayloadIsReusedUntilTheRegistryChanges() throws Exception {
+        ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
+        long version = ((AbstractInstanceRegistry) testRegistry).getDeltaVersion();
+        Key key = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS_DELTA,
+                Key.KeyType.JSON, Version.V1, EurekaAccept.full, null, version);
+
+        ResponseCacheImpl.Value payload = cache.getValue(key, true);
+        Assert.assertSame(payload, cache.getValue(key, true));
+
+        testRegistry.cancel(REMOTE_REGION_APP_NAME, REMOTE_REGION_INSTANCE_1_HOSTNAME, true);
+        Assert.assertNotSame(payload, cache.getValue(key, true));
+    }
+
+    @Test
+    public void testAllAppsPayloadIsStreamedFromRegistryInstances() throws Exception {
+        ResponseCacheImpl cache = (ResponseCacheImpl) testRegistry.getResponseCache();
+        Key key = new Key(
+                Key.EntityType.Application,
+                ResponseCacheImpl.ALL_APPS,
+                Key.KeyType.JSON, Version.V1, EurekaAccept.full, new String[]{REMOTE_REGION}
+        );
+
+        Applications decoded = CodecWrappers.getCodec(CodecWrappers.LegacyJacksonJson.class)
+                .decode(cache.get(key), Applications.class);
+        Applications expected = ((AbstractInstanceRegistry) testRegistry)
+                .getApplicationsFromMultipleRegions(new String[]{REMOTE_REGION});
+
+        Assert.assertTrue(EurekaEntityComparators.equal(decoded, expected));
+        Assert.assertEquals(expected.getAppsHashCode(), decoded.getAppsHashCode());
+        Assert.assertEquals(Long.valueOf(1L), decoded.getVersion());
+    }
+
+    @Test
+    public void testSmilePayloadIsEncodedWithoutFragments() throws Exception {
+        EurekaServerConfig fragmentConfig = spy(new DefaultEurekaServerConfig());
+        doReturn(true).when(fragmentConfig).disableTransparentFallbackToOtherRegion();
+        doReturn(true).when(fragmentConfig).shouldCacheApplicationFragments();
+        PeerAwareInstanceRegistryImpl fragmentRegistry = new PeerAwareInstanceRegistryImpl(
+                fragmentConfig,
+                new DefaultEurekaClientConfig(),
+                new DefaultServerCodecs(fragmentConfig),
+                client
+        );
+        fragmentRegistry.init(serverContext.getPeerEurekaNodes());
+        try {
+            fragmentRegistry.register(createLocalInstance(LOCAL_REGION_INSTANCE_1_HOSTNAME), false);
+            ResponseCacheImpl cache = (ResponseCacheImpl) fragmentRegistry.getResponseCache();
+            Key key = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS,
+                    Key.KeyType.SMILE, Version.V2, EurekaAccept.full);
+
+            // Smile applications cannot be encoded separately, so the fragment cache must not be used for them
+            Assert.assertFalse(new DefaultServerCodecs(fragmentConfig).getEncoder(Key.KeyType.SMILE, EurekaAccept.full)
+                    instanceof ApplicationsFragmentEncoder);
+            Applications decoded = CodecWrappers.getCodec(CodecWrappers.JacksonSmile.class)
+                    .decode(new ByteArrayInputStream(cache.getBytes(key)), Applications.class);
+
+            Assert.assertTrue(EurekaEntityComparators.equal(decoded, fragmentRegistry.getApplications()));
+        } finally {
+            fragmentRegistry.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvalidationsAreCoalesced() throws Exception {
+        EurekaServerConfig coalescingConfig = spy(new DefaultEurekaServerConfig());
+        doReturn(true).when(coalescingConfig).disableTransparentFallbackToOtherRegion();
+        // long enough for the scheduled flush never to happen during the test
+        doReturn(TimeUnit.HOURS.toMillis(1)).when(coalescingConfig).getResponseCacheInvalidationCoalescingMs();
+        PeerAwareInstanceRegistryImpl coalescingRegistry = new PeerAwareInstanceRegistryImpl(
+                coalescingConfig,
+                new DefaultEurekaClientConfig(),
+                new DefaultServerCodecs(coalescingConfig),
+                client
+        );
+        coalescingRegistry.init(serverContext.getPeerEurekaNodes());
+        try {
+            ResponseCacheImpl cache = (ResponseCacheImpl) coalescingRegistry.getResponseCache();
+            Key key = new Key(Key.EntityType.Application, ResponseCacheImpl.ALL_APPS,
+                    Key.KeyType.JSON, Version.V1, EurekaAccept.full);
+            String before = cache.get(key, false);
+
+            coalescingRegistry.register(createLocalInstance(LOCAL_REGION_INSTANCE_1_HOSTNAME), false);
+            coalescingRegistry.register(createLocalInstance(LOCAL_REGION_INSTANCE_2_HOSTNAME), false);
+            Assert.assertEquals("Invalidation applied before the coalescing delay.", before, cache.get(key, false));
+
+            coalescingRegistry.getInvalidationCoalescer().flush();
+            String after = cache.get(key, false);
+            Assert.assertTrue(after.contains(LOCAL_REGION_INSTANCE_1_HOSTNAME));
+            Assert.assertTrue(after.contains(LOCAL_REGION_INSTANCE_2_HOSTNAME));
+        } finally {
+            coalescingRegistry.shutdown();
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.netflix.eureka.registry;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.lease.Lease;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ShardedLeaseStoreTest {
+
+    @Test
+    public void testShardCountIsRoundedUpToPowerOfTwo() throws Exception {
+        assertThat(new ShardedLeaseStore(0, 16).shards().size(), is(equalTo(1)));
+        assertThat(new ShardedLeaseStore(5, 16).shards().size(), is(equalTo(8)));
+        assertThat(new ShardedLeaseStore(32, 16).shards().size(), is(equalTo(32)));
+    }
+
+    @Test
+    public void testLeaseMapsAreVisibleThroughTheirShard() throws Exception {
+        ShardedLeaseStore store = new ShardedLeaseStore(4, 16);
+        Map<String, Lease<InstanceInfo>> leaseMap = new ConcurrentHashMap<>();
+        assertThat(store.putIfAbsent("APP", leaseMap), is(equalTo(null)));
+        assertThat(store.putIfAbsent("APP", new ConcurrentHashMap<String, Lease<InstanceInfo>>()), is(sameInstance(leaseMap)));
+        assertThat(store.get("APP"), is(sameInstance(leaseMap)));
+        assertThat(store.shardFor("APP").getLeases().get("APP"), is(sameInstance(leaseMap)));
+
+        Set<String> appNames = new HashSet<>();
+        for (Map.Entry<String, Map<String, Lease<InstanceInfo>>> entry : store.entrySet()) {
+            appNames.add(entry.getKey());
+        }
+        assertThat(appNames.contains("APP"), is(true));
+
+        store.clear();
+        assertThat(store.get("APP"), is(equalTo(null)));
+    }
+
+    @Test
+    public void testVersionIsBumpedOnCompletedMutation() throws Exception {
+        ShardedLeaseStore.Shard shard = new ShardedLeaseStore(1, 16).shardFor("APP");
+        long version = shard.getVersion();
+        shard.beginMutation();
+        shard.endMutation();
+        assertThat(shard.getVersion(), is(not(equalTo(version))));
+    }
+
+    @Test
+    public void testOptimisticReadWithoutMutations() throws Exception {
+        ShardedLeaseStore.Shard shard = new ShardedLeaseStore(1, 16).shardFor("APP");
+        AtomicInteger invocations = new AtomicInteger();
+        String result = shard.read(() -> {
+            invocations.incrementAndGet();
+            return "snapshot";
+        }, 2);
+        assertThat(result, is(equalTo("snapshot")));
+        assertThat(invocations.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testReadFallsBackToLockWhenMutationInterferes() throws Exception {
+        final ShardedLeaseStore.Shard shard = new ShardedLeaseStore(1, 16).shardFor("APP");
+        final AtomicInteger invocations = new AtomicInteger();
+        String result = shard.read(() -> {
+            if (invocations.incrementAndGet() <= 2) {
+                // simulate a concurrent mutation completing while the optimistic read is in progress
+                shard.beginMutation();
+                shard.endMutation();
+            }
+            return "snapshot" + invocations.get();
+        }, 2);
+        assertThat(result, is(equalTo("snapshot3")));
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.Test;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -63,7 +64,7 @@ public class AbstractVIPResourceTest extends AbstractTester {
                 Key.EntityType.VIP
         );
 
-        String json = String.valueOf(response.getEntity());
+        String json = new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
         DecoderWrapper decoder = CodecWrappers.getDecoder(CodecWrappers.LegacyJacksonJson.class);
 
         Applications decodedApps = decoder.decode(json, Applications.class);
@@ -81,7 +82,7 @@ public class AbstractVIPResourceTest extends AbstractTester {
                 Key.EntityType.VIP
         );
 
-        String json = String.valueOf(response.getEntity());
+        String json = new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
         DecoderWrapper decoder = CodecWrappers.getDecoder(CodecWrappers.LegacyJacksonJson.class);
 
         Applications decodedApps = decoder.decode(json, Applications.class);
@@ -1,5 +1,6 @@
 package com.netflix.eureka.resources;
 
+import com.google.common.io.ByteStreams;
 import com.netflix.appinfo.EurekaAccept;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.util.EurekaEntityComparators;
@@ -7,6 +8,8 @@ import com.netflix.discovery.converters.wrappers.CodecWrappers;
 import com.netflix.discovery.converters.wrappers.DecoderWrapper;
 import com.netflix.discovery.shared.Application;
 import com.netflix.discovery.shared.Applications;
+import com.netflix.discovery.shared.transport.HeartBeatList;
+import com.netflix.discovery.shared.transport.HeartBeatListResponse;
 import com.netflix.discovery.util.InstanceInfoGenerator;
 import com.netflix.eureka.AbstractTester;
 import com.netflix.eureka.Version;
@@ -15,6 +18,10 @@ import org.junit.Test;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -53,7 +60,7 @@ public class ApplicationsResourceTest extends AbstractTester {
                 null  // remote regions
         );
 
-        String json = String.valueOf(response.getEntity());
+        String json = new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
         DecoderWrapper decoder = CodecWrappers.getDecoder(CodecWrappers.LegacyJacksonJson.class);
 
         Applications decoded = decoder.decode(json, Applications.class);
@@ -94,6 +101,17 @@ public class ApplicationsResourceTest extends AbstractTester {
         assertThat(response.getMetadata().getFirst("Content-Type").toString(), is(MediaType.APPLICATION_XML));
     }
 
+    @Test
+    public void testFullAppsGetGzipMatchesPlainPayload() throws Exception {
+        Response plain = applicationsResource.getContainers(
+                Version.V2.name(), MediaType.APPLICATION_JSON, null, EurekaAccept.full.name(), null, null);
+        Response gzipped = applicationsResource.getContainers(
+                Version.V2.name(), MediaType.APPLICATION_JSON, "gzip", EurekaAccept.full.name(), null, null);
+
+        GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) gzipped.getEntity()));
+        assertThat(ByteStreams.toByteArray(in), is((byte[]) plain.getEntity()));
+    }
+
     @Test
     public void testMiniAppsGet() throws Exception {
         Response response = applicationsResource.getContainers(
@@ -105,7 +123,7 @@ public class ApplicationsResourceTest extends AbstractTester {
                 null  // remote regions
         );
 
-        String json = String.valueOf(response.getEntity());
+        String json = new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
         DecoderWrapper decoder = CodecWrappers.getDecoder(CodecWrappers.LegacyJacksonJson.class);
 
         Applications decoded = decoder.decode(json, Applications.class);
@@ -126,4 +144,17 @@ public class ApplicationsResourceTest extends AbstractTester {
             }
         }
     }
+
+    @Test
+    public void testBatchRenew() throws Exception {
+        InstanceInfo registered = testApplications.getRegisteredApplications().get(0).getInstances().get(0);
+        InstanceInfo unknown = new InstanceInfo.Builder(registered).setInstanceId("unknown.id").build();
+        HeartBeatList heartBeats = new HeartBeatList()
+                .addHeartBeat(registered.getAppName(), registered.getId(), registered, null)
+                .addHeartBeat(unknown.getAppName(), unknown.getId(), unknown, null);
+
+        Response response = applicationsResource.renewLeases(null, heartBeats);
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getEntity(), is(new HeartBeatListResponse(Arrays.asList(200, 404))));
+    }
 }
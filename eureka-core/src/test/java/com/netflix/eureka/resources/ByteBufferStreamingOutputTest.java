@@ -0,0 +1,49 @@
+package com.netflix.eureka.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteBufferStreamingOutputTest {
+
+    @Test
+    public void testHeapBufferIsWrittenAsIs() throws Exception {
+        byte[] payload = randomPayload(1000);
+        assertThat(stream(ByteBuffer.wrap(payload)), is(payload));
+    }
+
+    @Test
+    public void testDirectBufferIsWrittenInChunks() throws Exception {
+        byte[] payload = randomPayload(100 * 1024 + 7);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length);
+        buffer.put(payload);
+        buffer.flip();
+
+        assertThat(stream(buffer.asReadOnlyBuffer()), is(payload));
+        // the cached buffer is left untouched for the next response
+        assertThat(stream(buffer), is(payload));
+    }
+
+    @Test
+    public void testNoPayload() throws Exception {
+        assertThat(ByteBufferStreamingOutput.of(null), is(nullValue()));
+    }
+
+    private static byte[] stream(ByteBuffer buffer) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBufferStreamingOutput.of(buffer).write(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] randomPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random(size).nextBytes(payload);
+        return payload;
+    }
+}
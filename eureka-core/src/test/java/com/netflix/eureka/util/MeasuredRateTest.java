@@ -0,0 +1,97 @@
+package com.netflix.eureka.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MeasuredRateTest {
+
+    private static final long INTERVAL_MS = 60 * 1000;
+    private static final long BUCKET_MS = INTERVAL_MS / MeasuredRate.BUCKETS_PER_INTERVAL;
+
+    private final AtomicLong time = new AtomicLong(1000000);
+
+    @Test
+    public void testCountOfLastCompleteIntervalIsReported() throws Exception {
+        MeasuredRate rate = new MeasuredRate(INTERVAL_MS, false, time::get);
+
+        increment(rate, 10);
+        time.addAndGet(INTERVAL_MS / 2);
+        increment(rate, 5);
+        assertThat(rate.getCount(), is(equalTo(0L)));
+
+        time.addAndGet(INTERVAL_MS / 2);
+        increment(rate, 3);
+        assertThat(rate.getCount(), is(equalTo(15L)));
+
+        time.addAndGet(INTERVAL_MS - 1);
+        assertThat(rate.getCount(), is(equalTo(15L)));
+
+        time.addAndGet(1);
+        assertThat(rate.getCount(), is(equalTo(3L)));
+
+        // Nothing counted during the last interval
+        time.addAndGet(INTERVAL_MS);
+        assertThat(rate.getCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testSlidingCountFollowsCompleteBuckets() throws Exception {
+        MeasuredRate rate = new MeasuredRate(INTERVAL_MS, true, time::get);
+
+        increment(rate, 10);
+        assertThat(rate.getCount(), is(equalTo(0L)));
+
+        time.addAndGet(BUCKET_MS);
+        increment(rate, 5);
+        assertThat(rate.getCount(), is(equalTo(10L)));
+
+        time.addAndGet(INTERVAL_MS - BUCKET_MS);
+        assertThat(rate.getCount(), is(equalTo(15L)));
+
+        // The first bucket leaves the window
+        time.addAndGet(BUCKET_MS);
+        assertThat(rate.getCount(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void testRecycledBucketsDoNotCarryOldCounts() throws Exception {
+        MeasuredRate rate = new MeasuredRate(INTERVAL_MS, true, time::get);
+
+        increment(rate, 10);
+        time.addAndGet(2 * INTERVAL_MS);
+        increment(rate, 1);
+        time.addAndGet(BUCKET_MS);
+
+        assertThat(rate.getCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testConcurrentIncrementsAreAllCounted() throws Exception {
+        MeasuredRate rate = new MeasuredRate(INTERVAL_MS, true, time::get);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> increment(rate, 10000));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        time.addAndGet(BUCKET_MS);
+        assertThat(rate.getCount(), is(equalTo(40000L)));
+    }
+
+    private static void increment(MeasuredRate rate, int count) {
+        for (int i = 0; i < count; i++) {
+            rate.increment();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.netflix.eureka.util.batcher;
+
+import com.netflix.eureka.util.batcher.TaskProcessor.ProcessingResult;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BatchingPolicyTest {
+
+    private static final int MAX_BATCHING_SIZE = 64;
+    private static final long MAX_BATCHING_DELAY_MS = 500;
+
+    private final BatchingPolicy policy = new BatchingPolicy(true, MAX_BATCHING_SIZE, MAX_BATCHING_DELAY_MS);
+
+    @Test
+    public void testFixedPolicyIgnoresFeedback() throws Exception {
+        BatchingPolicy fixedPolicy = new BatchingPolicy(false, MAX_BATCHING_SIZE, MAX_BATCHING_DELAY_MS);
+        fixedPolicy.registerBatch(1);
+        fixedPolicy.registerLatency(5);
+        fixedPolicy.registerFailure(ProcessingResult.Congestion);
+
+        assertThat(fixedPolicy.getBatchSize(), is(equalTo(MAX_BATCHING_SIZE)));
+        assertThat(fixedPolicy.getBatchingDelay(), is(equalTo(MAX_BATCHING_DELAY_MS)));
+    }
+
+    @Test
+    public void testBatchSizeFollowsTheQueuedTasks() throws Exception {
+        policy.registerBatch(1);
+        assertThat(policy.getBatchSize(), is(equalTo(MAX_BATCHING_SIZE / 2)));
+        policy.registerBatch(1);
+        policy.registerBatch(1);
+        assertThat(policy.getBatchSize(), is(equalTo(BatchingPolicy.MIN_BATCH_SIZE)));
+
+        policy.registerBatch(8);
+        assertThat(policy.getBatchSize(), is(equalTo(16)));
+        policy.registerBatch(16);
+        policy.registerBatch(32);
+        assertThat(policy.getBatchSize(), is(equalTo(MAX_BATCHING_SIZE)));
+    }
+
+    @Test
+    public void testBatchSizeDoesNotCollapseAtLowTraffic() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            policy.registerBatch(1);
+            policy.registerFailure(ProcessingResult.Congestion);
+        }
+        assertThat(policy.getBatchSize(), is(equalTo(BatchingPolicy.MIN_BATCH_SIZE)));
+
+        BatchingPolicy smallPolicy = new BatchingPolicy(true, 4, MAX_BATCHING_DELAY_MS);
+        smallPolicy.registerBatch(1);
+        assertThat(smallPolicy.getBatchSize(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testBatchSizeIsHalvedOnCongestion() throws Exception {
+        policy.registerFailure(ProcessingResult.Congestion);
+        assertThat(policy.getBatchSize(), is(equalTo(MAX_BATCHING_SIZE / 2)));
+
+        policy.registerFailure(ProcessingResult.TransientError);
+        assertThat(policy.getBatchSize(), is(equalTo(MAX_BATCHING_SIZE / 2)));
+    }
+
+    @Test
+    public void testBatchingDelayFollowsTheLatency() throws Exception {
+        policy.registerLatency(20);
+        assertThat(policy.getBatchingDelay(), is(equalTo(20L)));
+
+        for (int i = 0; i < 100; i++) {
+            policy.registerLatency(1);
+        }
+        assertThat(policy.getBatchingDelay(), is(equalTo(10L)));
+
+        for (int i = 0; i < 100; i++) {
+            policy.registerLatency(10 * MAX_BATCHING_DELAY_MS);
+        }
+        assertThat(policy.getBatchingDelay(), is(equalTo(MAX_BATCHING_DELAY_MS)));
+    }
+}
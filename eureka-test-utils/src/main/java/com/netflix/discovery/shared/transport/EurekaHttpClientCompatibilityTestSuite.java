@@ -19,6 +19,7 @@ package com.netflix.discovery.shared.transport;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -114,6 +115,21 @@ public abstract class EurekaHttpClientCompatibilityTestSuite {
         verifyResponseOkWithEntity(updated, httpResponse);
     }
 
+    @Test
+    public void testBatchHeartbeatRequest() throws Exception {
+        InstanceInfo first = InstanceInfoGenerator.takeOne();
+        InstanceInfo second = new InstanceInfo.Builder(first).setInstanceId("another.id").build();
+        HeartBeatList heartBeats = new HeartBeatList()
+                .addHeartBeat(first.getAppName(), first.getId(), first, null)
+                .addHeartBeat(second.getAppName(), second.getId(), second, InstanceStatus.OUT_OF_SERVICE);
+        HeartBeatListResponse heartBeatsResponse = new HeartBeatListResponse(Arrays.asList(200, 404));
+        when(requestHandler.sendHeartBeats(heartBeats)).thenReturn(createResponse(heartBeatsResponse));
+
+        EurekaHttpResponse<HeartBeatListResponse> httpResponse = getEurekaHttpClient().sendHeartBeats(heartBeats);
+        assertThat(httpResponse.getStatusCode(), is(equalTo(200)));
+        assertThat(httpResponse.getEntity(), is(equalTo(heartBeatsResponse)));
+    }
+
     @Test
     public void testStatusUpdateRequest() throws Exception {
         InstanceInfo instance = InstanceInfoGenerator.takeOne();
@@ -160,6 +176,23 @@ public abstract class EurekaHttpClientCompatibilityTestSuite {
         verifyResponseOkWithEntity(delta, httpResponse);
     }
 
+    @Test
+    public void testWatchDeltaRequest() throws Exception {
+        when(requestHandler.watchDelta(42L, 1000L)).thenReturn(EurekaHttpResponse.status(304));
+
+        EurekaHttpResponse<Void> httpResponse = getEurekaHttpClient().watchDelta(42L, 1000L);
+        assertThat(httpResponse.getStatusCode(), is(equalTo(304)));
+    }
+
+    @Test
+    public void testGetDeltaSinceVersionRequest() throws Exception {
+        Applications delta = InstanceInfoGenerator.newBuilder(2, 1).build().takeDelta(2);
+        when(requestHandler.getDelta(42L)).thenReturn(createResponse(delta));
+
+        EurekaHttpResponse<Applications> httpResponse = getEurekaHttpClient().getDelta(42L);
+        verifyResponseOkWithEntity(delta, httpResponse);
+    }
+
     @Test
     public void testGetInstanceRequest() throws Exception {
         InstanceInfo instance = InstanceInfoGenerator.takeOne();
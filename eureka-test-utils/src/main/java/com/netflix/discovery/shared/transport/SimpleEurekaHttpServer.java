@@ -136,9 +136,21 @@ public class SimpleEurekaHttpServer {
         if (path.matches("/v2/apps[/]?")) {
             String regions = getQueryParam(httpExchange, "regions");
             httpResponse = regions == null ? requestHandler.getApplications() : requestHandler.getApplications(regions);
+        } else if (path.matches("/v2/apps/delta/watch[/]?")) {
+            httpResponse = requestHandler.watchDelta(
+                    Long.parseLong(getQueryParam(httpExchange, "since")),
+                    Long.parseLong(getQueryParam(httpExchange, "timeoutMs"))
+            );
         } else if (path.matches("/v2/apps/delta[/]?")) {
             String regions = getQueryParam(httpExchange, "regions");
-            httpResponse = regions == null ? requestHandler.getDelta() : requestHandler.getDelta(regions);
+            String since = getQueryParam(httpExchange, "since");
+            if (since != null) {
+                httpResponse = regions == null
+                        ? requestHandler.getDelta(Long.parseLong(since))
+                        : requestHandler.getDelta(Long.parseLong(since), regions);
+            } else {
+                httpResponse = regions == null ? requestHandler.getDelta() : requestHandler.getDelta(regions);
+            }
         } else if ((matcher = Pattern.compile("/v2/apps/([^/]+)/([^/]+)").matcher(path)).matches()) {
             httpResponse = requestHandler.getInstance(matcher.group(1), matcher.group(2));
         } else {
@@ -155,7 +167,10 @@ public class SimpleEurekaHttpServer {
         EurekaHttpResponse<?> httpResponse;
         String path = httpExchange.getRequestURI().getPath();
 
-        if (path.matches("/v2/apps/([^/]+)(/)?")) {
+        if (path.matches("/v2/apps/heartbeats[/]?")) {
+            HeartBeatList heartBeats = decoder.decode(httpExchange.getRequestBody(), HeartBeatList.class);
+            httpResponse = requestHandler.sendHeartBeats(heartBeats);
+        } else if (path.matches("/v2/apps/([^/]+)(/)?")) {
             InstanceInfo instance = decoder.decode(httpExchange.getRequestBody(), InstanceInfo.class);
             httpResponse = requestHandler.register(instance);
         } else {